@@ -0,0 +1,59 @@
+package lsh.ext.gson.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import lsh.ext.gson.JsonElements;
+import lsh.ext.gson.benchmarks.Payloads.Shape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonElementsBenchmark {
+
+	@Param
+	public Shape shape;
+
+	private JsonObject left;
+	private JsonObject right;
+
+	@Setup
+	public void setUp() {
+		left = Payloads.generate(shape, 0);
+		right = Payloads.generate(shape, 1);
+	}
+
+	@Benchmark
+	public JsonObject mergeIntoNew() {
+		return JsonElements.mergeIntoNew(left, right);
+	}
+
+	@Benchmark
+	public JsonObject baselineGsonPutAll() {
+		final JsonObject merged = new JsonObject();
+		for ( final Map.Entry<String, JsonElement> e : left.entrySet() ) {
+			merged.add(e.getKey(), e.getValue());
+		}
+		for ( final Map.Entry<String, JsonElement> e : right.entrySet() ) {
+			merged.add(e.getKey(), e.getValue());
+		}
+		return merged;
+	}
+
+}
@@ -0,0 +1,152 @@
+package lsh.ext.gson.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import lsh.ext.gson.annotations.JsonPathExpression;
+import lsh.ext.gson.benchmarks.Payloads.Shape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static lsh.ext.gson.adapters.JsonPathTypeAdapterFactory.getJsonPathTypeAdapterFactory;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonPathTypeAdapterFactoryBenchmark {
+
+	private static final int itemsSize = 100;
+
+	private static final Gson gson = new GsonBuilder()
+			.registerTypeAdapterFactory(getJsonPathTypeAdapterFactory())
+			.create();
+
+	private static final Gson plainGson = new Gson();
+
+	/**
+	 * The shape of the payload that is not bound, but must be read or skipped.
+	 */
+	@Param
+	public Shape noise;
+
+	private String json;
+
+	@Setup
+	public void setUp() {
+		final JsonObject address = new JsonObject();
+		address.addProperty("city", "Kyiv");
+		final JsonObject user = new JsonObject();
+		user.addProperty("name", "John Doe");
+		user.add("address", address);
+		final JsonArray items = new JsonArray();
+		for ( int i = 0; i < itemsSize; i++ ) {
+			final JsonObject item = new JsonObject();
+			item.addProperty("price", i * 1.5);
+			items.add(item);
+		}
+		final JsonObject document = new JsonObject();
+		document.add("noise", Payloads.generate(noise, 0));
+		document.add("user", user);
+		document.add("items", items);
+		json = document.toString();
+	}
+
+	@Benchmark
+	public DefinitePaths readDefinitePaths() {
+		return gson.fromJson(json, DefinitePaths.class);
+	}
+
+	@Benchmark
+	public IndefinitePaths readIndefinitePaths() {
+		return gson.fromJson(json, IndefinitePaths.class);
+	}
+
+	@Benchmark
+	public WholeDocumentPaths readWholeDocumentPaths() {
+		return gson.fromJson(json, WholeDocumentPaths.class);
+	}
+
+	@Benchmark
+	public Document baselineGsonReadDocument() {
+		return plainGson.fromJson(json, Document.class);
+	}
+
+	public static final class DefinitePaths {
+
+		@JsonPathExpression("$.user.name")
+		private final String name = null;
+
+		@JsonPathExpression("$.user.address.city")
+		private final String city = null;
+
+		@JsonPathExpression("$.items[0].price")
+		private final Double price = null;
+
+	}
+
+	public static final class IndefinitePaths {
+
+		@JsonPathExpression("$.user.name")
+		private final String name = null;
+
+		@JsonPathExpression("$.user.address.city")
+		private final String city = null;
+
+		@JsonPathExpression("$.items[*].price")
+		private final List<Double> prices = null;
+
+	}
+
+	public static final class WholeDocumentPaths {
+
+		@JsonPathExpression("$.user.name")
+		private final String name = null;
+
+		@JsonPathExpression("$..price")
+		private final List<Double> prices = null;
+
+	}
+
+	public static final class Document {
+
+		private final User user = null;
+		private final List<Item> items = null;
+
+	}
+
+	public static final class User {
+
+		private final String name = null;
+		private final Address address = null;
+
+	}
+
+	public static final class Address {
+
+		private final String city = null;
+
+	}
+
+	public static final class Item {
+
+		private final Double price = null;
+
+	}
+
+}
@@ -0,0 +1,91 @@
+package lsh.ext.gson.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import lsh.ext.gson.JsonPushParser;
+import lsh.ext.gson.JsonReaders;
+import lsh.ext.gson.benchmarks.Payloads.Shape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonPushParserBenchmark {
+
+	private static final Gson gson = new Gson();
+
+	private static final int elementCount = 20;
+
+	@Param
+	public Shape shape;
+
+	@Param({ "1024", "16384" })
+	public int chunkSize;
+
+	private byte[] bytes;
+
+	@Setup
+	public void setUp() {
+		final JsonArray array = new JsonArray();
+		for ( int i = 0; i < elementCount; i++ ) {
+			array.add(Payloads.generate(shape, i));
+		}
+		bytes = array.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public void pushTokens(final Blackhole blackhole)
+			throws IOException {
+		final JsonPushParser parser = JsonReaders.getJsonPushParser((token, value) -> blackhole.consume(value));
+		feedInChunks(parser);
+	}
+
+	@Benchmark
+	public void pushArrayElements(final Blackhole blackhole)
+			throws IOException {
+		final JsonPushParser parser = JsonReaders.getJsonArrayPushParser(JsonObject.class, gson, blackhole::consume);
+		feedInChunks(parser);
+	}
+
+	@Benchmark
+	public void baselinePullArrayElements(final Blackhole blackhole)
+			throws IOException {
+		final JsonReader jsonReader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8));
+		jsonReader.beginArray();
+		while ( jsonReader.hasNext() ) {
+			blackhole.consume(gson.fromJson(jsonReader, JsonObject.class));
+		}
+		jsonReader.endArray();
+	}
+
+	private void feedInChunks(final JsonPushParser parser)
+			throws IOException {
+		for ( int offset = 0; offset < bytes.length; offset += chunkSize ) {
+			parser.feed(bytes, offset, Math.min(chunkSize, bytes.length - offset));
+		}
+		parser.finish();
+	}
+
+}
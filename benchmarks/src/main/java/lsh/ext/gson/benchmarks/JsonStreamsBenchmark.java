@@ -0,0 +1,64 @@
+package lsh.ext.gson.benchmarks;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import lsh.ext.gson.JsonStreams;
+import lsh.ext.gson.benchmarks.Payloads.Shape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonStreamsBenchmark {
+
+	private static final TypeAdapter<JsonElement> jsonElementTypeAdapter = new Gson().getAdapter(JsonElement.class);
+
+	@Param
+	public Shape shape;
+
+	private String json;
+
+	@Setup
+	public void setUp() {
+		json = Payloads.generate(shape, 0).toString();
+	}
+
+	@Benchmark
+	public String copyTo()
+			throws IOException {
+		final StringWriter writer = new StringWriter();
+		JsonStreams.copyTo(new JsonReader(new StringReader(json)), new JsonWriter(writer));
+		return writer.toString();
+	}
+
+	@Benchmark
+	public String baselineGsonTreeRoundTrip()
+			throws IOException {
+		final JsonElement jsonElement = jsonElementTypeAdapter.read(new JsonReader(new StringReader(json)));
+		final StringWriter writer = new StringWriter();
+		jsonElementTypeAdapter.write(new JsonWriter(writer), jsonElement);
+		return writer.toString();
+	}
+
+}
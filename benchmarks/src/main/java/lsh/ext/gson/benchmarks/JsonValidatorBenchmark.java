@@ -0,0 +1,52 @@
+package lsh.ext.gson.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import lsh.ext.gson.Json;
+import lsh.ext.gson.benchmarks.Payloads.Shape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonValidatorBenchmark {
+
+	@Param
+	public Shape shape;
+
+	private String json;
+	private byte[] bytes;
+
+	@Setup
+	public void setUp() {
+		json = Payloads.generate(shape, 0).toString();
+		bytes = json.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public boolean isStrictJsonValidForBytes() {
+		return Json.isStrictJsonValid(bytes);
+	}
+
+	@Benchmark
+	public boolean baselineIsJsonValidForString()
+			throws IOException {
+		return Json.isJsonValid(json);
+	}
+
+}
@@ -0,0 +1,82 @@
+package lsh.ext.gson.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import lsh.ext.gson.Json;
+import lsh.ext.gson.JsonValidationResult;
+import lsh.ext.gson.JsonValidators;
+import lsh.ext.gson.benchmarks.Payloads.Shape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonValidatorsBenchmark {
+
+	private static final int recordCount = 20_000;
+	private static final int chunkSize = 1 << 20;
+
+	@Param
+	public Shape shape;
+
+	@Param({ "1", "4" })
+	public int threads;
+
+	private ExecutorService executorService;
+	private ByteBuffer jsonArray;
+	private ByteBuffer jsonLines;
+
+	@Setup
+	public void setUp() {
+		executorService = Executors.newFixedThreadPool(threads);
+		final StringBuilder arrayBuilder = new StringBuilder("[");
+		final StringBuilder linesBuilder = new StringBuilder();
+		for ( int i = 0; i < recordCount; i++ ) {
+			final String record = Payloads.generate(shape, i % 16).toString();
+			arrayBuilder.append(i == 0 ? "" : ",").append(record);
+			linesBuilder.append(record).append('\n');
+		}
+		arrayBuilder.append(']');
+		jsonArray = ByteBuffer.wrap(arrayBuilder.toString().getBytes(StandardCharsets.UTF_8));
+		jsonLines = ByteBuffer.wrap(linesBuilder.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	@TearDown
+	public void tearDown() {
+		executorService.shutdown();
+	}
+
+	@Benchmark
+	public JsonValidationResult validateJsonArray() {
+		return JsonValidators.validateJsonArray(jsonArray, executorService, chunkSize);
+	}
+
+	@Benchmark
+	public JsonValidationResult validateJsonLines() {
+		return JsonValidators.validateJsonLines(jsonLines, executorService, chunkSize);
+	}
+
+	@Benchmark
+	public boolean baselineIsJsonValidForBytes() {
+		return Json.isStrictJsonValid(jsonArray.duplicate());
+	}
+
+}
@@ -0,0 +1,93 @@
+package lsh.ext.gson.benchmarks;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import lsh.ext.gson.adapters.JsonValueTypeAdapter;
+import lsh.ext.gson.benchmarks.Payloads.Shape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonValueTypeAdapterBenchmark {
+
+	private static final TypeAdapter<JsonValue> jsonValueTypeAdapter = JsonValueTypeAdapter.getJsonValueTypeAdapter();
+	private static final TypeAdapter<JsonValue> lazyJsonValueTypeAdapter = JsonValueTypeAdapter.getLazyJsonValueTypeAdapter();
+	private static final TypeAdapter<JsonElement> jsonElementTypeAdapter = new Gson().getAdapter(JsonElement.class);
+
+	@Param
+	public Shape shape;
+
+	private String json;
+	private String firstName;
+	private JsonValue jsonValue;
+	private JsonElement jsonElement;
+
+	@Setup
+	public void setUp()
+			throws IOException {
+		json = Payloads.generate(shape, 0).toString();
+		jsonValue = jsonValueTypeAdapter.fromJson(json);
+		firstName = ((JsonObject) jsonValue).keySet().iterator().next();
+		jsonElement = jsonElementTypeAdapter.fromJson(json);
+	}
+
+	@Benchmark
+	public JsonValue read()
+			throws IOException {
+		return jsonValueTypeAdapter.read(new JsonReader(new StringReader(json)));
+	}
+
+	@Benchmark
+	public JsonValue readLazyAndGetOne()
+			throws IOException {
+		final JsonObject jsonObject = (JsonObject) lazyJsonValueTypeAdapter.read(new JsonReader(new StringReader(json)));
+		return jsonObject.get(firstName);
+	}
+
+	@Benchmark
+	public String write()
+			throws IOException {
+		final StringWriter writer = new StringWriter();
+		jsonValueTypeAdapter.write(new JsonWriter(writer), jsonValue);
+		return writer.toString();
+	}
+
+	@Benchmark
+	public JsonElement baselineGsonRead()
+			throws IOException {
+		return jsonElementTypeAdapter.read(new JsonReader(new StringReader(json)));
+	}
+
+	@Benchmark
+	public String baselineGsonWrite()
+			throws IOException {
+		final StringWriter writer = new StringWriter();
+		jsonElementTypeAdapter.write(new JsonWriter(writer), jsonElement);
+		return writer.toString();
+	}
+
+}
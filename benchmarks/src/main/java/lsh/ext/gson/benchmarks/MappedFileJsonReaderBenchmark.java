@@ -0,0 +1,84 @@
+package lsh.ext.gson.benchmarks;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import lsh.ext.gson.adapters.CloseableIterators;
+import lsh.ext.gson.adapters.IteratorTypeAdapter;
+import lsh.ext.gson.adapters.JsonReaderStreams;
+import lsh.ext.gson.benchmarks.Payloads.Shape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappedFileJsonReaderBenchmark {
+
+	private static final Gson gson = new Gson();
+
+	private static final int elementCount = 200;
+
+	@Param
+	public Shape shape;
+
+	private Path path;
+
+	@Setup
+	public void setUp()
+			throws IOException {
+		final JsonArray array = new JsonArray();
+		for ( int i = 0; i < elementCount; i++ ) {
+			array.add(Payloads.generate(shape, i));
+		}
+		path = Files.createTempFile("benchmark-", ".json");
+		Files.write(path, array.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	@TearDown
+	public void tearDown()
+			throws IOException {
+		Files.delete(path);
+	}
+
+	@Benchmark
+	public void readElementsFromMappedFile(final Blackhole blackhole)
+			throws Exception {
+		final Iterator<JsonObject> iterator = JsonReaderStreams.getMappedFileIterator(JsonObject.class, gson, path);
+		CloseableIterators.forEachAndTryClose(iterator, blackhole::consume);
+	}
+
+	@Benchmark
+	public void baselineReadElementsFromBufferedReader(final Blackhole blackhole)
+			throws Exception {
+		try ( final Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8) ) {
+			final Iterator<JsonObject> iterator = IteratorTypeAdapter.<JsonObject>getIteratorTypeAdapter(JsonObject.class, gson)
+					.read(new JsonReader(reader));
+			CloseableIterators.forEachAndTryClose(iterator, blackhole::consume);
+		}
+	}
+
+}
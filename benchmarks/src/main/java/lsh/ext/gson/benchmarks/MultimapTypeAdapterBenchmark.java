@@ -0,0 +1,92 @@
+package lsh.ext.gson.benchmarks;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static lsh.ext.gson.adapters.MultimapTypeAdapterFactory.getMultimapTypeAdapterFactory;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultimapTypeAdapterBenchmark {
+
+	private static final int valuesPerKey = 3;
+
+	private static final Type multimapType = new TypeToken<Multimap<String, Integer>>() {
+	}.getType();
+
+	private static final Type mapType = new TypeToken<Map<String, List<Integer>>>() {
+	}.getType();
+
+	private static final Gson gson = new GsonBuilder()
+			.registerTypeAdapterFactory(getMultimapTypeAdapterFactory())
+			.create();
+
+	private static final Gson plainGson = new Gson();
+
+	@Param({ "10", "1000" })
+	public int keys;
+
+	private Multimap<String, Integer> multimap;
+	private Map<String, List<Integer>> map;
+	private String multimapJson;
+	private String mapJson;
+
+	@Setup
+	public void setUp() {
+		final ArrayListMultimap<String, Integer> multimap = ArrayListMultimap.create();
+		for ( int i = 0; i < keys; i++ ) {
+			for ( int j = 0; j < valuesPerKey; j++ ) {
+				multimap.put("key" + i, i * valuesPerKey + j);
+			}
+		}
+		this.multimap = multimap;
+		map = Multimaps.asMap(multimap);
+		multimapJson = gson.toJson(multimap, multimapType);
+		mapJson = plainGson.toJson(map, mapType);
+	}
+
+	@Benchmark
+	public Multimap<String, Integer> read() {
+		return gson.fromJson(multimapJson, multimapType);
+	}
+
+	@Benchmark
+	public String write() {
+		return gson.toJson(multimap, multimapType);
+	}
+
+	@Benchmark
+	public Map<String, List<Integer>> baselineGsonReadMapOfLists() {
+		return plainGson.fromJson(mapJson, mapType);
+	}
+
+	@Benchmark
+	public String baselineGsonWriteMapOfLists() {
+		return plainGson.toJson(map, mapType);
+	}
+
+}
@@ -0,0 +1,164 @@
+package lsh.ext.gson.benchmarks;
+
+import java.util.Random;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * Generates reproducible JSON payloads of different shapes.
+ *
+ * @author Lyubomyr Shaydariv
+ * @since 0-SNAPSHOT
+ */
+public final class Payloads {
+
+	private static final int wideSize = 1000;
+	private static final int deepSize = 64;
+	private static final int numbersSize = 2000;
+	private static final int stringsSize = 500;
+
+	private Payloads() {
+	}
+
+	public enum Shape {
+
+		/**
+		 * A few properties of all kinds.
+		 */
+		SMALL,
+
+		/**
+		 * A thousand properties of all kinds.
+		 */
+		WIDE,
+
+		/**
+		 * Objects nested 64 levels deep.
+		 */
+		DEEP,
+
+		/**
+		 * Mostly integral and floating point numbers.
+		 */
+		NUMBER_HEAVY,
+
+		/**
+		 * Mostly long strings having escape sequences and non-ASCII characters.
+		 */
+		STRING_HEAVY
+
+	}
+
+	/**
+	 * @param shape Payload shape
+	 * @param seed  Random generator seed. The same seeds generate the same payloads.
+	 *
+	 * @return A new JSON object.
+	 */
+	public static JsonObject generate(final Shape shape, final long seed) {
+		final Random random = new Random(seed);
+		switch ( shape ) {
+		case SMALL:
+			return small(random);
+		case WIDE:
+			return wide(random);
+		case DEEP:
+			return deep(random);
+		case NUMBER_HEAVY:
+			return numberHeavy(random);
+		case STRING_HEAVY:
+			return stringHeavy(random);
+		default:
+			throw new AssertionError(shape);
+		}
+	}
+
+	private static JsonObject small(final Random random) {
+		final JsonObject jsonObject = new JsonObject();
+		jsonObject.addProperty("id", random.nextInt(1_000_000));
+		jsonObject.addProperty("name", string(random, 12));
+		jsonObject.addProperty("active", random.nextBoolean());
+		jsonObject.addProperty("score", random.nextDouble() * 100);
+		final JsonArray tags = new JsonArray();
+		tags.add(string(random, 6));
+		tags.add(string(random, 6));
+		jsonObject.add("tags", tags);
+		return jsonObject;
+	}
+
+	private static JsonObject wide(final Random random) {
+		final JsonObject jsonObject = new JsonObject();
+		for ( int i = 0; i < wideSize; i++ ) {
+			final String name = "property" + i;
+			switch ( i % 4 ) {
+			case 0:
+				jsonObject.addProperty(name, random.nextLong());
+				break;
+			case 1:
+				jsonObject.addProperty(name, random.nextDouble());
+				break;
+			case 2:
+				jsonObject.addProperty(name, string(random, 16));
+				break;
+			case 3:
+				jsonObject.addProperty(name, random.nextBoolean());
+				break;
+			default:
+				throw new AssertionError(i);
+			}
+		}
+		return jsonObject;
+	}
+
+	private static JsonObject deep(final Random random) {
+		JsonObject jsonObject = small(random);
+		for ( int i = 0; i < deepSize; i++ ) {
+			final JsonObject parent = new JsonObject();
+			parent.addProperty("level", deepSize - i);
+			parent.add("child", jsonObject);
+			jsonObject = parent;
+		}
+		return jsonObject;
+	}
+
+	private static JsonObject numberHeavy(final Random random) {
+		final JsonArray values = new JsonArray();
+		for ( int i = 0; i < numbersSize; i++ ) {
+			if ( random.nextBoolean() ) {
+				values.add(random.nextLong() >> random.nextInt(64));
+			} else {
+				values.add(random.nextGaussian() * Math.pow(10, random.nextInt(20) - 10));
+			}
+		}
+		final JsonObject jsonObject = new JsonObject();
+		jsonObject.add("values", values);
+		return jsonObject;
+	}
+
+	private static JsonObject stringHeavy(final Random random) {
+		final JsonArray strings = new JsonArray();
+		for ( int i = 0; i < stringsSize; i++ ) {
+			strings.add(string(random, 16 + random.nextInt(240)));
+		}
+		final JsonObject jsonObject = new JsonObject();
+		jsonObject.add("strings", strings);
+		return jsonObject;
+	}
+
+	private static String string(final Random random, final int length) {
+		final StringBuilder builder = new StringBuilder(length);
+		for ( int i = 0; i < length; i++ ) {
+			final int kind = random.nextInt(32);
+			if ( kind == 0 ) {
+				builder.append("\"\\\n\t".charAt(random.nextInt(4)));
+			} else if ( kind == 1 ) {
+				builder.append((char) ('Ѐ' + random.nextInt(256)));
+			} else {
+				builder.append((char) ('a' + random.nextInt(26)));
+			}
+		}
+		return builder.toString();
+	}
+
+}
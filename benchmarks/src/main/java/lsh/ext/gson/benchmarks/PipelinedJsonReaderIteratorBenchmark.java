@@ -0,0 +1,92 @@
+package lsh.ext.gson.benchmarks;
+
+import java.io.StringReader;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import lsh.ext.gson.adapters.CloseableIterators;
+import lsh.ext.gson.adapters.IteratorTypeAdapter;
+import lsh.ext.gson.adapters.JsonReaderStreams;
+import lsh.ext.gson.benchmarks.Payloads.Shape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelinedJsonReaderIteratorBenchmark {
+
+	private static final Gson gson = new Gson();
+
+	private static final int elementCount = 200;
+
+	@Param
+	public Shape shape;
+
+	@Param({ "0", "10000" })
+	public int consumerTokens;
+
+	private String json;
+	private ExecutorService executorService;
+
+	@Setup
+	public void setUp() {
+		final JsonArray array = new JsonArray();
+		for ( int i = 0; i < elementCount; i++ ) {
+			array.add(Payloads.generate(shape, i));
+		}
+		json = array.toString();
+		executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+	}
+
+	@TearDown
+	public void tearDown() {
+		executorService.shutdownNow();
+	}
+
+	@Benchmark
+	public void readPipelined(final Blackhole blackhole)
+			throws Exception {
+		final Iterator<JsonObject> iterator = JsonReaderStreams.getPipelinedJsonReaderIterator(JsonObject.class, gson, new JsonReader(new StringReader(json)),
+				executorService, 64, true);
+		consume(iterator, blackhole);
+	}
+
+	@Benchmark
+	public void baselineReadSequentially(final Blackhole blackhole)
+			throws Exception {
+		final Iterator<JsonObject> iterator = IteratorTypeAdapter.<JsonObject>getIteratorTypeAdapter(JsonObject.class, gson)
+				.read(new JsonReader(new StringReader(json)));
+		consume(iterator, blackhole);
+	}
+
+	private void consume(final Iterator<JsonObject> iterator, final Blackhole blackhole)
+			throws Exception {
+		CloseableIterators.forEachAndTryClose(iterator, element -> {
+			// Simulates a slow consumer
+			Blackhole.consumeCPU(consumerTokens);
+			blackhole.consume(element);
+		});
+	}
+
+}
@@ -0,0 +1,114 @@
+package lsh.ext.gson.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static lsh.ext.gson.adapters.AbstractTypeTypeAdapterFactory.getAbstractTypeTypeAdapterFactory;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeAwareTypeAdapterBenchmark {
+
+	private static final Gson gson = new GsonBuilder()
+			.registerTypeAdapterFactory(getAbstractTypeTypeAdapterFactory("$T", "$V"))
+			.create();
+
+	private static final Gson plainGson = new Gson();
+
+	@Param({ "10", "1000" })
+	public int size;
+
+	private Figures figures;
+	private Circles circles;
+	private String figuresJson;
+	private String circlesJson;
+
+	@Setup
+	public void setUp() {
+		final List<Figure> figureList = new ArrayList<>(size);
+		final List<Circle> circleList = new ArrayList<>(size);
+		for ( int i = 0; i < size; i++ ) {
+			final Circle circle = new Circle(i);
+			figureList.add(circle);
+			circleList.add(circle);
+		}
+		figures = new Figures(figureList);
+		circles = new Circles(circleList);
+		figuresJson = gson.toJson(figures);
+		circlesJson = plainGson.toJson(circles);
+	}
+
+	@Benchmark
+	public Figures read() {
+		return gson.fromJson(figuresJson, Figures.class);
+	}
+
+	@Benchmark
+	public String write() {
+		return gson.toJson(figures);
+	}
+
+	@Benchmark
+	public Circles baselineGsonReadConcreteType() {
+		return plainGson.fromJson(circlesJson, Circles.class);
+	}
+
+	@Benchmark
+	public String baselineGsonWriteConcreteType() {
+		return plainGson.toJson(circles);
+	}
+
+	public abstract static class Figure {
+	}
+
+	public static final class Circle
+			extends Figure {
+
+		private final double radius;
+
+		private Circle(final double radius) {
+			this.radius = radius;
+		}
+
+	}
+
+	public static final class Figures {
+
+		private final List<Figure> figures;
+
+		private Figures(final List<Figure> figures) {
+			this.figures = figures;
+		}
+
+	}
+
+	public static final class Circles {
+
+		private final List<Circle> circles;
+
+		private Circles(final List<Circle> circles) {
+			this.circles = circles;
+		}
+
+	}
+
+}
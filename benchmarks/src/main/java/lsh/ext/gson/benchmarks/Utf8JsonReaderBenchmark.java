@@ -0,0 +1,68 @@
+package lsh.ext.gson.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
+import lsh.ext.gson.JsonReaders;
+import lsh.ext.gson.benchmarks.Payloads.Shape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Utf8JsonReaderBenchmark {
+
+	private static final Gson gson = new Gson();
+
+	@Param
+	public Shape shape;
+
+	private byte[] bytes;
+
+	@Setup
+	public void setUp() {
+		bytes = Payloads.generate(shape, 0).toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public JsonElement readJsonElementFromUtf8JsonReader() {
+		return gson.fromJson(JsonReaders.getUtf8JsonReader(new ByteArrayInputStream(bytes)), JsonElement.class);
+	}
+
+	@Benchmark
+	public JsonElement baselineReadJsonElementFromInputStreamReader() {
+		return gson.fromJson(new JsonReader(new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)), JsonElement.class);
+	}
+
+	@Benchmark
+	public void skipValueFromUtf8JsonReader()
+			throws IOException {
+		JsonReaders.getUtf8JsonReader(new ByteArrayInputStream(bytes)).skipValue();
+	}
+
+	@Benchmark
+	public void baselineSkipValueFromInputStreamReader()
+			throws IOException {
+		new JsonReader(new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)).skipValue();
+	}
+
+}
@@ -0,0 +1,35 @@
+package lsh.ext.gson;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * Strategy that specifies how JSON arrays are merged by {@link JsonElements#deepMergeIntoLeft(JsonObject, JsonObject, IJsonObjectMergePredicate,
+ * IJsonArrayMergeStrategy)} and {@link JsonElements#deepMergeIntoNew(JsonObject, JsonObject, IJsonObjectMergePredicate, IJsonArrayMergeStrategy)}.
+ *
+ * @author Lyubomyr Shaydariv
+ * @see JsonArrayMergeStrategies
+ * @since 0-SNAPSHOT
+ */
+@FunctionalInterface
+public interface IJsonArrayMergeStrategy {
+
+	/**
+	 * Merges two JSON arrays. Implementations must not modify the given arrays.
+	 *
+	 * @param path       JSON arrays path as a JSON pointer, for example {@code /foo/bar}
+	 * @param leftArray  Left JSON array to be merged
+	 * @param rightArray Right JSON array to be merged
+	 * @param predicate  Predicate the deep merge is run with
+	 *
+	 * @return A merged JSON array, or {@code null} to let the predicate determine if the left array can be replaced with the right array.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	@Nullable
+	JsonArray merge(@Nonnull String path, @Nonnull JsonArray leftArray, @Nonnull JsonArray rightArray, @Nonnull IJsonObjectMergePredicate predicate);
+
+}
@@ -8,7 +8,7 @@ import com.google.gson.JsonObject;
 
 /**
  * Predicate that specifies merging strategy for {@link JsonElements#mergeIntoLeft(JsonObject, JsonObject, IJsonObjectMergePredicate)}
- * and {@link JsonElements#mergeIntoNew(JsonObject, JsonObject, IJsonObjectMergePredicate)}
+ * and {@link JsonElements#mergeIntoNew(JsonObject, JsonObject, IJsonObjectMergePredicate)}, and the deep merge methods
  *
  * @author Lyubomyr Shaydariv
  * @since 0-SNAPSHOT
@@ -32,4 +32,25 @@ public interface IJsonObjectMergePredicate {
 	boolean replace(@Nonnull String key, @Nonnull JsonObject leftObject, @Nullable JsonElement leftValue, @Nonnull JsonObject rightObject,
 			@Nullable JsonElement rightValue);
 
+	/**
+	 * Determines if the left object value can be replaced with the right object value during deep merge. By default, the path is ignored.
+	 *
+	 * @param path        JSON object value path as a JSON pointer, for example {@code /foo/bar}
+	 * @param key         JSON object key
+	 * @param leftObject  Left JSON object to be merged
+	 * @param leftValue   Left JSON object value to be merge
+	 * @param rightObject Right JSON object to be merged
+	 * @param rightValue  Right JSON object value to be merge
+	 *
+	 * @return {@code true} if the left object value can be replaced with the right object value, otherwise {@code false}.
+	 *
+	 * @see JsonElements#deepMergeIntoLeft(JsonObject, JsonObject, IJsonObjectMergePredicate, IJsonArrayMergeStrategy)
+	 * @see JsonElements#deepMergeIntoNew(JsonObject, JsonObject, IJsonObjectMergePredicate, IJsonArrayMergeStrategy)
+	 * @since 0-SNAPSHOT
+	 */
+	default boolean replace(@Nonnull final String path, @Nonnull final String key, @Nonnull final JsonObject leftObject, @Nullable final JsonElement leftValue,
+			@Nonnull final JsonObject rightObject, @Nullable final JsonElement rightValue) {
+		return replace(key, leftObject, leftValue, rightObject, rightValue);
+	}
+
 }
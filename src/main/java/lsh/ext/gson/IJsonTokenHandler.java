@@ -0,0 +1,29 @@
+package lsh.ext.gson;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Handles tokens emitted by {@link JsonPushParser}.
+ *
+ * @author Lyubomyr Shaydariv
+ * @see JsonReaders#getJsonPushParser(IJsonTokenHandler)
+ * @since 0-SNAPSHOT
+ */
+@FunctionalInterface
+public interface IJsonTokenHandler {
+
+	/**
+	 * Handles a complete token. Tokens are emitted in the same order {@link com.google.gson.stream.JsonReader#peek()} reports them.
+	 *
+	 * @param token A token
+	 * @param value The decoded name or string, the number literal, {@code true} or {@code false} for {@link JsonToken#NAME}, {@link JsonToken#STRING},
+	 *              {@link JsonToken#NUMBER} and {@link JsonToken#BOOLEAN} respectively, otherwise {@code null}.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	void handle(@Nonnull JsonToken token, @Nullable String value);
+
+}
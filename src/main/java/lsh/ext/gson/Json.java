@@ -1,8 +1,10 @@
 package lsh.ext.gson;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
 
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
@@ -10,6 +12,7 @@ import com.google.gson.stream.MalformedJsonException;
 
 import static com.google.gson.stream.JsonToken.END_DOCUMENT;
 import static lsh.ext.gson.JsonReaders.skipToken;
+import static lsh.ext.gson.JsonValidator.getJsonValidator;
 
 /**
  * Provides generic JSON methods.
@@ -75,4 +78,76 @@ public final class Json {
 		}
 	}
 
+	/**
+	 * <p>
+	 * Checks if the given UTF-8 encoded bytes represent a valid JSON using {@link JsonValidator}.
+	 * </p>
+	 *
+	 * <p>
+	 * Unlike the {@code isJsonValid} methods that accept whatever a strict {@link JsonReader} accepts, this method follows
+	 * <a href="https://tools.ietf.org/html/rfc7159">RFC 7159</a> strictly, so it rejects unescaped control characters like tabs in strings, a leading byte
+	 * order mark, malformed UTF-8 sequences and documents nested deeper than 512 levels.
+	 * </p>
+	 *
+	 * @param json UTF-8 encoded JSON
+	 *
+	 * @return {@code true} if the given bytes represent a valid JSON, otherwise {@code false}.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static boolean isStrictJsonValid(final byte[] json) {
+		final JsonValidator validator = getJsonValidator();
+		return validator.feed(json, 0, json.length) && validator.finish();
+	}
+
+	/**
+	 * <p>
+	 * Checks if the remaining bytes of the given UTF-8 encoded byte buffer represent a valid JSON using {@link JsonValidator}.
+	 * </p>
+	 *
+	 * <p>
+	 * The check is stricter than the {@code isJsonValid} methods: see {@link #isStrictJsonValid(byte[])} for the input that is rejected by RFC 7159 only.
+	 * </p>
+	 *
+	 * @param json UTF-8 encoded JSON
+	 *
+	 * @return {@code true} if the given bytes represent a valid JSON, otherwise {@code false}.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static boolean isStrictJsonValid(final ByteBuffer json) {
+		final JsonValidator validator = getJsonValidator();
+		return validator.feed(json) && validator.finish();
+	}
+
+	/**
+	 * <p>
+	 * Checks if the given UTF-8 encoded input stream represents a valid JSON using {@link JsonValidator}. The input stream is read until the first error or
+	 * its end.
+	 * </p>
+	 *
+	 * <p>
+	 * The input stream must not start with a byte order mark, and it is validated as strictly as {@link #isStrictJsonValid(byte[])} describes, so it may be
+	 * rejected even if {@link #isJsonValid(Reader)} accepts the same decoded characters.
+	 * </p>
+	 *
+	 * @param inputStream UTF-8 encoded JSON input stream
+	 *
+	 * @return {@code true} if the given input stream represents a valid JSON, otherwise {@code false}.
+	 *
+	 * @throws IOException A rethrown exception
+	 * @since 0-SNAPSHOT
+	 */
+	public static boolean isStrictJsonValid(final InputStream inputStream)
+			throws IOException {
+		final JsonValidator validator = getJsonValidator();
+		final byte[] buffer = new byte[8192];
+		for ( int read = inputStream.read(buffer); read != -1; read = inputStream.read(buffer) ) {
+			if ( !validator.feed(buffer, 0, read) ) {
+				return false;
+			}
+		}
+		return validator.finish();
+	}
+
 }
@@ -0,0 +1,125 @@
+package lsh.ext.gson;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * Provides some default array merge strategies for {@link IJsonArrayMergeStrategy}.
+ *
+ * @author Lyubomyr Shaydariv
+ * @since 0-SNAPSHOT
+ */
+public final class JsonArrayMergeStrategies {
+
+	private JsonArrayMergeStrategies() {
+	}
+
+	/**
+	 * @return A strategy that does not merge arrays, but lets the merge predicate determine if the left array can be replaced with the right array.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static IJsonArrayMergeStrategy replaceArrays() {
+		return DefaultJsonArrayMergeStrategy.REPLACE;
+	}
+
+	/**
+	 * @return A strategy that appends the right array elements to the left array elements.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static IJsonArrayMergeStrategy concatArrays() {
+		return DefaultJsonArrayMergeStrategy.CONCAT;
+	}
+
+	/**
+	 * @param keyProperty Key property name
+	 *
+	 * @return A strategy that deeply merges the right array objects into the left array objects having the same primitive key property value, and appends
+	 * the rest of the right array elements. The merged objects are merged into new objects, and their nested arrays are merged with the same strategy.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static IJsonArrayMergeStrategy mergeArraysByKey(final String keyProperty) {
+		return new MergeByKeyJsonArrayMergeStrategy(keyProperty);
+	}
+
+	private enum DefaultJsonArrayMergeStrategy
+			implements IJsonArrayMergeStrategy {
+
+		REPLACE {
+			@Nullable
+			@Override
+			public JsonArray merge(@Nonnull final String path, @Nonnull final JsonArray leftArray, @Nonnull final JsonArray rightArray,
+					@Nonnull final IJsonObjectMergePredicate predicate) {
+				return null;
+			}
+		},
+
+		CONCAT {
+			@Nullable
+			@Override
+			public JsonArray merge(@Nonnull final String path, @Nonnull final JsonArray leftArray, @Nonnull final JsonArray rightArray,
+					@Nonnull final IJsonObjectMergePredicate predicate) {
+				final JsonArray merged = new JsonArray();
+				merged.addAll(leftArray);
+				merged.addAll(rightArray);
+				return merged;
+			}
+		}
+
+	}
+
+	private static final class MergeByKeyJsonArrayMergeStrategy
+			implements IJsonArrayMergeStrategy {
+
+		private final String keyProperty;
+
+		private MergeByKeyJsonArrayMergeStrategy(final String keyProperty) {
+			this.keyProperty = keyProperty;
+		}
+
+		@Nullable
+		@Override
+		public JsonArray merge(@Nonnull final String path, @Nonnull final JsonArray leftArray, @Nonnull final JsonArray rightArray,
+				@Nonnull final IJsonObjectMergePredicate predicate) {
+			final Map<JsonElement, Integer> indexesByKey = new HashMap<>();
+			for ( int i = 0; i < leftArray.size(); i++ ) {
+				final JsonElement key = getKey(leftArray.get(i));
+				if ( key != null ) {
+					indexesByKey.putIfAbsent(key, i);
+				}
+			}
+			final JsonArray merged = new JsonArray();
+			merged.addAll(leftArray);
+			for ( final JsonElement rightElement : rightArray ) {
+				final JsonElement key = getKey(rightElement);
+				final Integer index = key != null ? indexesByKey.get(key) : null;
+				if ( index == null ) {
+					merged.add(rightElement);
+				} else {
+					final JsonObject leftObject = (JsonObject) merged.get(index);
+					merged.set(index, JsonElements.deepMerge(path + '/' + index, leftObject, (JsonObject) rightElement, predicate, this, true));
+				}
+			}
+			return merged;
+		}
+
+		@Nullable
+		private JsonElement getKey(final JsonElement jsonElement) {
+			if ( !jsonElement.isJsonObject() ) {
+				return null;
+			}
+			final JsonElement key = ((JsonObject) jsonElement).get(keyProperty);
+			return key != null && key.isJsonPrimitive() ? key : null;
+		}
+
+	}
+
+}
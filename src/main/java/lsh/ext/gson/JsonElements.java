@@ -1,6 +1,10 @@
 package lsh.ext.gson;
 
+import java.util.Collection;
 import java.util.Map.Entry;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collector;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -11,6 +15,7 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.TypeAdapter;
 
+import static lsh.ext.gson.JsonArrayMergeStrategies.replaceArrays;
 import static lsh.ext.gson.JsonObjectMergePredicates.alwaysReplaceLeft;
 
 /**
@@ -663,6 +668,215 @@ public final class JsonElements {
 		return left;
 	}
 
+	/**
+	 * Deeply merges two {@link JsonObject} objects, left and right, into a new {@link JsonObject} object using the
+	 * {@link JsonObjectMergePredicates#alwaysReplaceLeft()} predicate and the {@link JsonArrayMergeStrategies#replaceArrays()} strategy.
+	 *
+	 * @param left  Left
+	 * @param right Right
+	 *
+	 * @return A merged result of both {@link JsonObject} arguments.
+	 *
+	 * @see #deepMergeIntoNew(JsonObject, JsonObject, IJsonObjectMergePredicate, IJsonArrayMergeStrategy)
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonObject deepMergeIntoNew(final JsonObject left, final JsonObject right) {
+		return deepMergeIntoNew(left, right, alwaysReplaceLeft(), replaceArrays());
+	}
+
+	/**
+	 * Deeply merges two {@link JsonObject} objects, left and right, without modifying them. Nested objects having common keys are merged recursively, nested
+	 * arrays having common keys are merged with the array merge strategy, and other values are merged using the predicate. The result is always a new
+	 * {@link JsonObject}, and so are the nested objects on the merged paths, whereas nested values that are not merged, both left and right ones, are shared
+	 * with the result rather than copied, so the merge cost is proportional to the right object size. Modifying such shared values modifies the arguments.
+	 *
+	 * @param left               Left
+	 * @param right              Right
+	 * @param predicate          Predicate
+	 * @param arrayMergeStrategy Array merge strategy
+	 *
+	 * @return A merged result of both {@link JsonObject} arguments.
+	 *
+	 * @see IJsonObjectMergePredicate#replace(String, String, JsonObject, JsonElement, JsonObject, JsonElement)
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonObject deepMergeIntoNew(final JsonObject left, final JsonObject right, final IJsonObjectMergePredicate predicate,
+			final IJsonArrayMergeStrategy arrayMergeStrategy) {
+		final JsonObject merged = deepMerge("", left, right, predicate, arrayMergeStrategy, true);
+		return merged != left ? merged : copyOf(left);
+	}
+
+	/**
+	 * Deeply merges the right {@link JsonObject} into the left {@link JsonObject} using the {@link JsonObjectMergePredicates#alwaysReplaceLeft()} predicate
+	 * and the {@link JsonArrayMergeStrategies#replaceArrays()} strategy.
+	 *
+	 * @param left  Left
+	 * @param right Right
+	 *
+	 * @return The modified {@code left} parameter.
+	 *
+	 * @see #deepMergeIntoLeft(JsonObject, JsonObject, IJsonObjectMergePredicate, IJsonArrayMergeStrategy)
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonObject deepMergeIntoLeft(final JsonObject left, final JsonObject right) {
+		return deepMergeIntoLeft(left, right, alwaysReplaceLeft(), replaceArrays());
+	}
+
+	/**
+	 * Deeply merges the right {@link JsonObject} into the left {@link JsonObject}. Nested objects having common keys are merged recursively in place, nested
+	 * arrays having common keys are merged with the array merge strategy, and other values are merged using the predicate. The right subtrees that have no
+	 * counterparts in the left object are added as is, so they are shared with the left object.
+	 *
+	 * @param left               Left
+	 * @param right              Right
+	 * @param predicate          Predicate
+	 * @param arrayMergeStrategy Array merge strategy
+	 *
+	 * @return The modified {@code left} parameter.
+	 *
+	 * @see IJsonObjectMergePredicate#replace(String, String, JsonObject, JsonElement, JsonObject, JsonElement)
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonObject deepMergeIntoLeft(final JsonObject left, final JsonObject right, final IJsonObjectMergePredicate predicate,
+			final IJsonArrayMergeStrategy arrayMergeStrategy) {
+		return deepMerge("", left, right, predicate, arrayMergeStrategy, false);
+	}
+
+	static JsonObject deepMerge(final String path, final JsonObject left, final JsonObject right, final IJsonObjectMergePredicate predicate,
+			final IJsonArrayMergeStrategy arrayMergeStrategy, final boolean copyOnWrite) {
+		// Copy-on-write merges copy the left object only once something is merged into it
+		JsonObject merged = copyOnWrite ? null : left;
+		for ( final Entry<String, JsonElement> rightEntry : right.entrySet() ) {
+			final String key = rightEntry.getKey();
+			final JsonElement leftValue = left.get(key);
+			final JsonElement rightValue = rightEntry.getValue();
+			final String valuePath = path + '/' + toJsonPointerToken(key);
+			final JsonElement mergedValue;
+			if ( leftValue instanceof JsonObject && rightValue instanceof JsonObject ) {
+				mergedValue = deepMerge(valuePath, (JsonObject) leftValue, (JsonObject) rightValue, predicate, arrayMergeStrategy, copyOnWrite);
+				if ( mergedValue == leftValue ) {
+					continue;
+				}
+			} else {
+				final JsonArray mergedArray = leftValue instanceof JsonArray && rightValue instanceof JsonArray
+						? arrayMergeStrategy.merge(valuePath, (JsonArray) leftValue, (JsonArray) rightValue, predicate)
+						: null;
+				if ( mergedArray != null ) {
+					mergedValue = mergedArray;
+				} else if ( predicate.replace(valuePath, key, left, leftValue, right, rightValue) ) {
+					mergedValue = rightValue;
+				} else {
+					continue;
+				}
+			}
+			if ( merged == null ) {
+				merged = copyOf(left);
+			}
+			merged.add(key, mergedValue);
+		}
+		return merged != null ? merged : left;
+	}
+
+	/**
+	 * @return A collector that merges {@link JsonObject} objects in the encounter order using the {@link JsonObjectMergePredicates#alwaysReplaceLeft()}
+	 * strategy.
+	 *
+	 * @see #toMergedJsonObject(IJsonObjectMergePredicate)
+	 * @since 0-SNAPSHOT
+	 */
+	public static Collector<JsonObject, ?, JsonObject> toMergedJsonObject() {
+		return toMergedJsonObject(alwaysReplaceLeft());
+	}
+
+	/**
+	 * Returns a collector that merges {@link JsonObject} objects like a left fold with {@link #mergeIntoLeft(JsonObject, JsonObject, IJsonObjectMergePredicate)}
+	 * does, but without modifying the collected objects. In parallel streams, partial results are merged as a tree in the encounter order, so the result is
+	 * the same as the sequential result as long as the predicate is associative, for example {@link JsonObjectMergePredicates#alwaysReplaceLeft()} or
+	 * {@link JsonObjectMergePredicates#neverReplaceLeft()}, even if it depends on the merge order.
+	 *
+	 * @param predicate Predicate
+	 *
+	 * @return A collector that merges {@link JsonObject} objects. An empty stream is collected to an empty {@link JsonObject}.
+	 *
+	 * @see #mergeAll(Collection, IJsonObjectMergePredicate)
+	 * @since 0-SNAPSHOT
+	 */
+	public static Collector<JsonObject, ?, JsonObject> toMergedJsonObject(final IJsonObjectMergePredicate predicate) {
+		return toMergedJsonObject(JsonElements::copyOf, (left, right) -> mergeIntoLeft(left, right, predicate));
+	}
+
+	/**
+	 * Returns a collector that deeply merges {@link JsonObject} objects like a left fold with
+	 * {@link #deepMergeIntoNew(JsonObject, JsonObject, IJsonObjectMergePredicate, IJsonArrayMergeStrategy)} does. Partial results are merged as
+	 * {@link #toMergedJsonObject(IJsonObjectMergePredicate)} does.
+	 *
+	 * @param predicate          Predicate
+	 * @param arrayMergeStrategy Array merge strategy
+	 *
+	 * @return A collector that deeply merges {@link JsonObject} objects. An empty stream is collected to an empty {@link JsonObject}.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static Collector<JsonObject, ?, JsonObject> toDeepMergedJsonObject(final IJsonObjectMergePredicate predicate,
+			final IJsonArrayMergeStrategy arrayMergeStrategy) {
+		return toMergedJsonObject(JsonElements::copyOf, (left, right) -> deepMerge("", left, right, predicate, arrayMergeStrategy, true));
+	}
+
+	/**
+	 * Merges {@link JsonObject} objects in parallel in the common fork/join pool.
+	 *
+	 * @param jsonObjects JSON objects to merge in the collection iteration order
+	 * @param predicate   Predicate
+	 *
+	 * @return A new {@link JsonObject} containing a merged result of all the given {@link JsonObject} objects.
+	 *
+	 * @see #toMergedJsonObject(IJsonObjectMergePredicate)
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonObject mergeAll(final Collection<? extends JsonObject> jsonObjects, final IJsonObjectMergePredicate predicate) {
+		return jsonObjects.parallelStream()
+				.collect(toMergedJsonObject(predicate));
+	}
+
+	private static Collector<JsonObject, ?, JsonObject> toMergedJsonObject(final UnaryOperator<JsonObject> first, final BinaryOperator<JsonObject> merger) {
+		return Collector.of(
+				MergeAccumulator::new,
+				(accumulator, jsonObject) -> accumulator.merged = accumulator.merged == null ? first.apply(jsonObject) : merger.apply(accumulator.merged, jsonObject),
+				(left, right) -> {
+					if ( left.merged == null ) {
+						return right;
+					}
+					if ( right.merged != null ) {
+						left.merged = merger.apply(left.merged, right.merged);
+					}
+					return left;
+				},
+				accumulator -> accumulator.merged != null ? accumulator.merged : new JsonObject()
+		);
+	}
+
+	static JsonObject copyOf(final JsonObject jsonObject) {
+		final JsonObject copy = new JsonObject();
+		for ( final Entry<String, JsonElement> e : jsonObject.entrySet() ) {
+			copy.add(e.getKey(), e.getValue());
+		}
+		return copy;
+	}
+
+	static String toJsonPointerToken(final String key) {
+		if ( key.indexOf('~') < 0 && key.indexOf('/') < 0 ) {
+			return key;
+		}
+		return key.replace("~", "~0").replace("/", "~1");
+	}
+
+	private static final class MergeAccumulator {
+
+		// The first collected object or an own copy of it, depending on whether the merger modifies the left object
+		private JsonObject merged;
+
+	}
+
 	/**
 	 * Represents a {@link JsonObject} accumulator. Unlike a builder, the accumulator does not create a new object in with its final method, but accumulates
 	 * a certain state with builder-like syntax.
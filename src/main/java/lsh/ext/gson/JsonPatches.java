@@ -0,0 +1,519 @@
+package lsh.ext.gson;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import static lsh.ext.gson.JsonElements.copyOf;
+import static lsh.ext.gson.JsonElements.toJsonPointerToken;
+
+/**
+ * <p>
+ * Provides methods to diff JSON documents and apply the differences, as <a href="https://tools.ietf.org/html/rfc6902">JSON Patch (RFC 6902)</a> and
+ * <a href="https://tools.ietf.org/html/rfc7386">JSON Merge Patch (RFC 7386)</a> documents.
+ * </p>
+ *
+ * <p>
+ * Patches can be applied either in place, modifying the target document, or in the copy-on-write manner: in the latter case, only the objects and arrays on
+ * the patched paths are copied, whereas the rest of the target document is shared with the result. Patch values are not copied and become a part of the
+ * result. Patches can also be read directly from JSON streams, so a patch does not need to be read into a {@link JsonElement} tree first.
+ * </p>
+ *
+ * @author Lyubomyr Shaydariv
+ * @since 0-SNAPSHOT
+ */
+public final class JsonPatches {
+
+	private static final TypeAdapter<JsonElement> jsonElementTypeAdapter = new Gson().getAdapter(JsonElement.class);
+
+	private JsonPatches() {
+	}
+
+	/**
+	 * @param source Source JSON document
+	 * @param target Target JSON document
+	 *
+	 * @return A JSON Patch array that transforms the source document into the target document. Objects are diffed by keys, and arrays are diffed by
+	 * indexes once their common leading and trailing elements are skipped.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonArray diff(@Nonnull final JsonElement source, @Nonnull final JsonElement target) {
+		final JsonArray patch = new JsonArray();
+		diff("", source, target, patch);
+		return patch;
+	}
+
+	/**
+	 * @param patch   JSON Patch array
+	 * @param target  Target JSON document
+	 * @param inPlace {@code true} to modify the target document, otherwise {@code false} to leave the target document unmodified
+	 *
+	 * @return The patched JSON document. The result may be a new root if the patch replaces the whole document.
+	 *
+	 * @throws IllegalArgumentException If the patch is malformed, refers not existing paths or a {@code test} operation fails. A patch applied in place may
+	 *                                  be applied partially.
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonElement apply(@Nonnull final JsonArray patch, @Nonnull final JsonElement target, final boolean inPlace)
+			throws IllegalArgumentException {
+		final Patcher patcher = new Patcher(target, inPlace);
+		for ( final JsonElement operation : patch ) {
+			if ( !operation.isJsonObject() ) {
+				throw new IllegalArgumentException("Not a JSON Patch operation: " + operation);
+			}
+			patcher.apply((JsonObject) operation);
+		}
+		return patcher.root;
+	}
+
+	/**
+	 * @param patch   JSON reader to read a JSON Patch array from. Operations are read and applied one by one.
+	 * @param target  Target JSON document
+	 * @param inPlace {@code true} to modify the target document, otherwise {@code false} to leave the target document unmodified
+	 *
+	 * @return The patched JSON document.
+	 *
+	 * @throws IOException              A rethrown exception
+	 * @throws IllegalArgumentException If the patch is malformed, refers not existing paths or a {@code test} operation fails.
+	 * @see #apply(JsonArray, JsonElement, boolean)
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonElement apply(@Nonnull final JsonReader patch, @Nonnull final JsonElement target, final boolean inPlace)
+			throws IOException, IllegalArgumentException {
+		final Patcher patcher = new Patcher(target, inPlace);
+		patch.beginArray();
+		while ( patch.hasNext() ) {
+			final JsonElement operation = jsonElementTypeAdapter.read(patch);
+			if ( !operation.isJsonObject() ) {
+				throw new IllegalArgumentException("Not a JSON Patch operation: " + operation);
+			}
+			patcher.apply((JsonObject) operation);
+		}
+		patch.endArray();
+		return patcher.root;
+	}
+
+	/**
+	 * @param source Source JSON document
+	 * @param target Target JSON document
+	 *
+	 * @return A JSON Merge Patch document that transforms the source document into the target document. Note that JSON Merge Patch cannot express
+	 * {@code null} values in objects, and arrays are always replaced as a whole.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonElement diffMergePatch(@Nonnull final JsonElement source, @Nonnull final JsonElement target) {
+		if ( !source.isJsonObject() || !target.isJsonObject() ) {
+			return target;
+		}
+		final JsonObject sourceObject = (JsonObject) source;
+		final JsonObject targetObject = (JsonObject) target;
+		final JsonObject patch = new JsonObject();
+		for ( final Entry<String, JsonElement> e : sourceObject.entrySet() ) {
+			if ( !targetObject.has(e.getKey()) ) {
+				patch.add(e.getKey(), JsonNull.INSTANCE);
+			}
+		}
+		for ( final Entry<String, JsonElement> e : targetObject.entrySet() ) {
+			final String key = e.getKey();
+			final JsonElement sourceValue = sourceObject.get(key);
+			final JsonElement targetValue = e.getValue();
+			if ( sourceValue == null ) {
+				patch.add(key, targetValue);
+			} else if ( sourceValue.isJsonObject() && targetValue.isJsonObject() ) {
+				final JsonObject valuePatch = (JsonObject) diffMergePatch(sourceValue, targetValue);
+				if ( valuePatch.entrySet().size() != 0 ) {
+					patch.add(key, valuePatch);
+				}
+			} else if ( !sourceValue.equals(targetValue) ) {
+				patch.add(key, targetValue);
+			}
+		}
+		return patch;
+	}
+
+	/**
+	 * @param patch   JSON Merge Patch document
+	 * @param target  Target JSON document
+	 * @param inPlace {@code true} to modify the target document objects, otherwise {@code false} to leave the target document unmodified
+	 *
+	 * @return The patched JSON document.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonElement applyMergePatch(@Nonnull final JsonElement patch, @Nullable final JsonElement target, final boolean inPlace) {
+		if ( !patch.isJsonObject() ) {
+			return patch;
+		}
+		final JsonObject result = toPatchableObject(target, inPlace);
+		for ( final Entry<String, JsonElement> e : ((JsonObject) patch).entrySet() ) {
+			final String key = e.getKey();
+			final JsonElement value = e.getValue();
+			if ( value.isJsonNull() ) {
+				result.remove(key);
+			} else {
+				result.add(key, applyMergePatch(value, result.get(key), inPlace));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @param patch   JSON reader to read a JSON Merge Patch document from. Only non-object values are read into {@link JsonElement} trees.
+	 * @param target  Target JSON document
+	 * @param inPlace {@code true} to modify the target document objects, otherwise {@code false} to leave the target document unmodified
+	 *
+	 * @return The patched JSON document.
+	 *
+	 * @throws IOException A rethrown exception
+	 * @see #applyMergePatch(JsonElement, JsonElement, boolean)
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonElement applyMergePatch(@Nonnull final JsonReader patch, @Nullable final JsonElement target, final boolean inPlace)
+			throws IOException {
+		if ( patch.peek() != JsonToken.BEGIN_OBJECT ) {
+			return jsonElementTypeAdapter.read(patch);
+		}
+		final JsonObject result = toPatchableObject(target, inPlace);
+		patch.beginObject();
+		while ( patch.hasNext() ) {
+			final String key = patch.nextName();
+			if ( patch.peek() == JsonToken.NULL ) {
+				patch.nextNull();
+				result.remove(key);
+			} else {
+				result.add(key, applyMergePatch(patch, result.get(key), inPlace));
+			}
+		}
+		patch.endObject();
+		return result;
+	}
+
+	private static JsonObject toPatchableObject(@Nullable final JsonElement target, final boolean inPlace) {
+		if ( target == null || !target.isJsonObject() ) {
+			return new JsonObject();
+		}
+		return inPlace ? (JsonObject) target : copyOf((JsonObject) target);
+	}
+
+	private static void diff(final String path, final JsonElement source, final JsonElement target, final JsonArray patch) {
+		if ( source == target ) {
+			return;
+		}
+		if ( source.isJsonObject() && target.isJsonObject() ) {
+			final JsonObject sourceObject = (JsonObject) source;
+			final JsonObject targetObject = (JsonObject) target;
+			for ( final Entry<String, JsonElement> e : sourceObject.entrySet() ) {
+				if ( !targetObject.has(e.getKey()) ) {
+					patch.add(operation("remove", path + '/' + toJsonPointerToken(e.getKey()), null));
+				}
+			}
+			for ( final Entry<String, JsonElement> e : targetObject.entrySet() ) {
+				final String valuePath = path + '/' + toJsonPointerToken(e.getKey());
+				final JsonElement sourceValue = sourceObject.get(e.getKey());
+				if ( sourceValue == null ) {
+					patch.add(operation("add", valuePath, e.getValue()));
+				} else {
+					diff(valuePath, sourceValue, e.getValue(), patch);
+				}
+			}
+		} else if ( source.isJsonArray() && target.isJsonArray() ) {
+			final JsonArray sourceArray = (JsonArray) source;
+			final JsonArray targetArray = (JsonArray) target;
+			final int sourceSize = sourceArray.size();
+			final int targetSize = targetArray.size();
+			// Skip the common leading and trailing elements so that an insertion or a removal does not shift the rest of the array into replacements
+			int prefixSize = 0;
+			final int maxCommonSize = Math.min(sourceSize, targetSize);
+			while ( prefixSize < maxCommonSize && sourceArray.get(prefixSize).equals(targetArray.get(prefixSize)) ) {
+				prefixSize++;
+			}
+			int suffixSize = 0;
+			while ( suffixSize < maxCommonSize - prefixSize
+					&& sourceArray.get(sourceSize - 1 - suffixSize).equals(targetArray.get(targetSize - 1 - suffixSize)) ) {
+				suffixSize++;
+			}
+			final int sourceEnd = sourceSize - suffixSize;
+			final int targetEnd = targetSize - suffixSize;
+			final int commonEnd = Math.min(sourceEnd, targetEnd);
+			for ( int i = prefixSize; i < commonEnd; i++ ) {
+				diff(path + '/' + i, sourceArray.get(i), targetArray.get(i), patch);
+			}
+			for ( int i = commonEnd; i < targetEnd; i++ ) {
+				patch.add(operation("add", path + '/' + i, targetArray.get(i)));
+			}
+			// Remove from the end so that the indexes do not shift
+			for ( int i = sourceEnd - 1; i >= commonEnd; i-- ) {
+				patch.add(operation("remove", path + '/' + i, null));
+			}
+		} else if ( !source.equals(target) ) {
+			patch.add(operation("replace", path, target));
+		}
+	}
+
+	private static JsonObject operation(final String op, final String path, @Nullable final JsonElement value) {
+		final JsonObject operation = new JsonObject();
+		operation.addProperty("op", op);
+		operation.addProperty("path", path);
+		if ( value != null ) {
+			operation.add("value", value);
+		}
+		return operation;
+	}
+
+	private static final class Patcher {
+
+		// null if the patch is applied in place, thus all containers are owned
+		@Nullable
+		private final Set<JsonElement> ownedContainers;
+
+		private JsonElement root;
+
+		private Patcher(final JsonElement root, final boolean inPlace) {
+			this.root = root;
+			ownedContainers = inPlace ? null : Collections.newSetFromMap(new IdentityHashMap<>());
+		}
+
+		private void apply(final JsonObject operation) {
+			final String op = getString(operation, "op");
+			final List<String> path = parsePointer(getString(operation, "path"));
+			switch ( op ) {
+			case "add":
+				add(path, getValue(operation));
+				break;
+			case "remove":
+				remove(path);
+				break;
+			case "replace": {
+				final JsonElement value = getValue(operation);
+				if ( !path.isEmpty() ) {
+					remove(path);
+				}
+				add(path, value);
+				break;
+			}
+			case "move": {
+				final List<String> from = parsePointer(getString(operation, "from"));
+				if ( path.size() > from.size() && path.subList(0, from.size()).equals(from) ) {
+					throw new IllegalArgumentException("Cannot move " + operation.get("from") + " into its child " + operation.get("path"));
+				}
+				add(path, remove(from));
+				break;
+			}
+			case "copy": {
+				final List<String> from = parsePointer(getString(operation, "from"));
+				// The copied value must not be shared since both copies can be patched independently
+				add(path, deepCopy(get(from)));
+				break;
+			}
+			case "test":
+				if ( !get(path).equals(getValue(operation)) ) {
+					throw new IllegalArgumentException("Test failed at " + operation.get("path"));
+				}
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown JSON Patch operation: " + op);
+			}
+		}
+
+		private JsonElement get(final List<String> path) {
+			JsonElement current = root;
+			for ( final String token : path ) {
+				current = getChild(current, token);
+			}
+			return current;
+		}
+
+		private void add(final List<String> path, final JsonElement value) {
+			if ( path.isEmpty() ) {
+				root = value;
+				return;
+			}
+			final JsonElement parent = getOwnedParent(path);
+			final String token = path.get(path.size() - 1);
+			if ( parent.isJsonObject() ) {
+				((JsonObject) parent).add(token, value);
+			} else if ( parent.isJsonArray() ) {
+				final JsonArray array = (JsonArray) parent;
+				if ( token.equals("-") ) {
+					array.add(value);
+				} else {
+					final int index = parseIndex(token, array.size() + 1);
+					// JsonArray cannot insert elements, so the tail is shifted right manually
+					array.add(value);
+					for ( int i = array.size() - 1; i > index; i-- ) {
+						array.set(i, array.get(i - 1));
+					}
+					array.set(index, value);
+				}
+			} else {
+				throw new IllegalArgumentException("Cannot add a value to " + parent);
+			}
+		}
+
+		private JsonElement remove(final List<String> path) {
+			if ( path.isEmpty() ) {
+				throw new IllegalArgumentException("Cannot remove the root");
+			}
+			final JsonElement parent = getOwnedParent(path);
+			final String token = path.get(path.size() - 1);
+			if ( parent.isJsonObject() ) {
+				final JsonElement removed = ((JsonObject) parent).remove(token);
+				if ( removed == null ) {
+					throw new IllegalArgumentException("No " + token + " in " + parent);
+				}
+				return removed;
+			}
+			if ( parent.isJsonArray() ) {
+				final JsonArray array = (JsonArray) parent;
+				return array.remove(parseIndex(token, array.size()));
+			}
+			throw new IllegalArgumentException("Cannot remove a value from " + parent);
+		}
+
+		private JsonElement getOwnedParent(final List<String> path) {
+			root = own(root);
+			JsonElement current = root;
+			for ( final String token : path.subList(0, path.size() - 1) ) {
+				final JsonElement child = getChild(current, token);
+				final JsonElement ownedChild = own(child);
+				if ( ownedChild != child ) {
+					if ( current.isJsonObject() ) {
+						((JsonObject) current).add(token, ownedChild);
+					} else {
+						((JsonArray) current).set(Integer.parseInt(token), ownedChild);
+					}
+				}
+				current = ownedChild;
+			}
+			return current;
+		}
+
+		private JsonElement own(final JsonElement jsonElement) {
+			if ( ownedContainers == null || ownedContainers.contains(jsonElement) ) {
+				return jsonElement;
+			}
+			final JsonElement copy;
+			if ( jsonElement.isJsonObject() ) {
+				copy = copyOf((JsonObject) jsonElement);
+			} else if ( jsonElement.isJsonArray() ) {
+				final JsonArray array = new JsonArray();
+				array.addAll((JsonArray) jsonElement);
+				copy = array;
+			} else {
+				return jsonElement;
+			}
+			ownedContainers.add(copy);
+			return copy;
+		}
+
+		private static JsonElement getChild(final JsonElement parent, final String token) {
+			if ( parent.isJsonObject() ) {
+				final JsonElement child = ((JsonObject) parent).get(token);
+				if ( child == null ) {
+					throw new IllegalArgumentException("No " + token + " in " + parent);
+				}
+				return child;
+			}
+			if ( parent.isJsonArray() ) {
+				final JsonArray array = (JsonArray) parent;
+				return array.get(parseIndex(token, array.size()));
+			}
+			throw new IllegalArgumentException("Cannot resolve " + token + " in " + parent);
+		}
+
+		private static int parseIndex(final String token, final int size) {
+			if ( token.isEmpty() || token.length() > 1 && token.charAt(0) == '0' ) {
+				throw new IllegalArgumentException("Invalid array index: " + token);
+			}
+			final int index;
+			try {
+				index = Integer.parseInt(token);
+			} catch ( final NumberFormatException ex ) {
+				throw new IllegalArgumentException("Invalid array index: " + token, ex);
+			}
+			if ( index < 0 || index >= size ) {
+				throw new IllegalArgumentException("Array index out of bounds: " + token);
+			}
+			return index;
+		}
+
+		private static List<String> parsePointer(final String pointer) {
+			if ( pointer.isEmpty() ) {
+				return Collections.emptyList();
+			}
+			if ( pointer.charAt(0) != '/' ) {
+				throw new IllegalArgumentException("Invalid JSON pointer: " + pointer);
+			}
+			final List<String> tokens = new ArrayList<>();
+			int start = 1;
+			for ( int end = pointer.indexOf('/', start); end >= 0; end = pointer.indexOf('/', start) ) {
+				tokens.add(unescape(pointer.substring(start, end)));
+				start = end + 1;
+			}
+			tokens.add(unescape(pointer.substring(start)));
+			return tokens;
+		}
+
+		private static String unescape(final String token) {
+			if ( token.indexOf('~') < 0 ) {
+				return token;
+			}
+			return token.replace("~1", "/").replace("~0", "~");
+		}
+
+		private static String getString(final JsonObject operation, final String property) {
+			final JsonElement jsonElement = operation.get(property);
+			if ( jsonElement == null || !jsonElement.isJsonPrimitive() || !((JsonPrimitive) jsonElement).isString() ) {
+				throw new IllegalArgumentException("Expected a string " + property + " in " + operation);
+			}
+			return jsonElement.getAsString();
+		}
+
+		private static JsonElement getValue(final JsonObject operation) {
+			final JsonElement value = operation.get("value");
+			if ( value == null ) {
+				throw new IllegalArgumentException("Expected a value in " + operation);
+			}
+			return value;
+		}
+
+		private static JsonElement deepCopy(final JsonElement jsonElement) {
+			if ( jsonElement.isJsonObject() ) {
+				final JsonObject copy = new JsonObject();
+				for ( final Entry<String, JsonElement> e : ((JsonObject) jsonElement).entrySet() ) {
+					copy.add(e.getKey(), deepCopy(e.getValue()));
+				}
+				return copy;
+			}
+			if ( jsonElement.isJsonArray() ) {
+				final JsonArray copy = new JsonArray();
+				for ( final JsonElement e : (JsonArray) jsonElement ) {
+					copy.add(deepCopy(e));
+				}
+				return copy;
+			}
+			// Primitives and nulls are immutable
+			return jsonElement;
+		}
+
+	}
+
+}
@@ -0,0 +1,696 @@
+package lsh.ext.gson;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+/**
+ * <p>
+ * Represents a non-blocking push parser for UTF-8 encoded JSON. Unlike {@link com.google.gson.stream.JsonReader} that pulls its input from a blocking
+ * reader, the push parser is fed with input chunks as they arrive, and it emits either tokens or complete top-level JSON array elements as soon as they are
+ * complete. The parser keeps its state between chunks, so a single thread can interleave any number of parsers, for example, one parser per non-blocking
+ * connection.
+ * </p>
+ *
+ * <p>
+ * The parser follows <a href="https://tools.ietf.org/html/rfc7159">RFC 7159</a> strictly: a JSON document is a single value of any type surrounded with
+ * optional whitespace, and string contents must be well-formed UTF-8. A parser instance is not thread-safe, but can be reused with {@link #reset()}.
+ * </p>
+ *
+ * @author Lyubomyr Shaydariv
+ * @see JsonReaders#getJsonPushParser(IJsonTokenHandler)
+ * @see JsonReaders#getJsonArrayPushParser(java.lang.reflect.Type, com.google.gson.Gson, Consumer)
+ * @see JsonValidator
+ * @since 0-SNAPSHOT
+ */
+public final class JsonPushParser {
+
+	private static final int initialStackSize = 32;
+	private static final int initialElementSize = 1024;
+	private static final int scratchSize = 8192;
+
+	private static final byte[] trueLiteral = { 't', 'r', 'u', 'e' };
+	private static final byte[] falseLiteral = { 'f', 'a', 'l', 's', 'e' };
+	private static final byte[] nullLiteral = { 'n', 'u', 'l', 'l' };
+
+	private static final byte OBJECT = 1;
+	private static final byte ARRAY = 2;
+
+	private static final int VALUE = 0;
+	private static final int VALUE_OR_END_ARRAY = 1;
+	private static final int NAME_OR_END_OBJECT = 2;
+	private static final int NAME = 3;
+	private static final int COLON = 4;
+	private static final int AFTER_VALUE = 5;
+	private static final int STRING = 6;
+	private static final int STRING_ESCAPE = 7;
+	private static final int STRING_UNICODE_ESCAPE = 8;
+	private static final int STRING_UTF8_SEQUENCE = 9;
+	private static final int NUMBER_MINUS = 10;
+	private static final int NUMBER_ZERO = 11;
+	private static final int NUMBER_INTEGER = 12;
+	private static final int NUMBER_DOT = 13;
+	private static final int NUMBER_FRACTION = 14;
+	private static final int NUMBER_EXPONENT = 15;
+	private static final int NUMBER_EXPONENT_SIGN = 16;
+	private static final int NUMBER_EXPONENT_DIGITS = 17;
+	private static final int LITERAL = 18;
+	private static final int FINISHED = 19;
+	private static final int ERROR = 20;
+
+	private final IJsonTokenHandler tokenHandler;
+	private final IElementHandler elementHandler;
+	private final StringBuilder text = new StringBuilder();
+
+	private byte[] stack = new byte[initialStackSize];
+	private byte[] scratch;
+	private byte[] element;
+
+	private int state;
+	private int depth;
+	private long position;
+	private long errorOffset;
+	private boolean stringIsName;
+	private int remaining;
+	private int utf8Min;
+	private int utf8Max;
+	private int codePoint;
+	private byte[] literal;
+	private boolean withinElement;
+	private int elementStart;
+	private int elementLength;
+
+	private JsonPushParser(final IJsonTokenHandler tokenHandler, final IElementHandler elementHandler) {
+		this.tokenHandler = tokenHandler;
+		this.elementHandler = elementHandler;
+		reset();
+	}
+
+	static JsonPushParser getJsonPushParser(final IJsonTokenHandler tokenHandler) {
+		return new JsonPushParser(tokenHandler, null);
+	}
+
+	static <T> JsonPushParser getJsonArrayPushParser(final TypeAdapter<T> elementTypeAdapter, final Consumer<? super T> consumer) {
+		return new JsonPushParser(null, (bytes, offset, length) -> {
+			final T element = elementTypeAdapter.read(Utf8JsonReader.getUtf8JsonReader(ByteBuffer.wrap(bytes, offset, length)));
+			consumer.accept(element);
+		});
+	}
+
+	/**
+	 * Resets the parser to its initial state.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public void reset() {
+		state = VALUE;
+		depth = 0;
+		position = 0;
+		errorOffset = -1;
+		literal = null;
+		withinElement = false;
+		elementLength = 0;
+		text.setLength(0);
+	}
+
+	/**
+	 * @param bytes  Input chunk
+	 * @param offset Chunk offset
+	 * @param length Chunk length
+	 *
+	 * @throws MalformedJsonException If the input is not a valid JSON document
+	 * @throws IllegalStateException  If the parser has already finished
+	 * @throws IOException            A rethrown exception
+	 * @since 0-SNAPSHOT
+	 */
+	public void feed(final byte[] bytes, final int offset, final int length)
+			throws IllegalStateException, IOException {
+		checkNotFinished();
+		final int end = offset + length;
+		elementStart = offset;
+		int i = offset;
+		while ( i < end ) {
+			final int c = bytes[i] & 0xFF;
+			switch ( state ) {
+			case VALUE:
+			case VALUE_OR_END_ARRAY:
+				if ( isWhitespace(c) ) {
+					break;
+				}
+				if ( c == ']' && state == VALUE_OR_END_ARRAY ) {
+					endContainer(JsonToken.END_ARRAY, bytes, i + 1);
+					break;
+				}
+				if ( depth == 0 && elementHandler != null && c != '[' ) {
+					throw fail(i, offset);
+				}
+				if ( depth == 1 && elementHandler != null ) {
+					withinElement = true;
+					elementStart = i;
+				}
+				if ( !beginValue(c) ) {
+					throw fail(i, offset);
+				}
+				break;
+			case NAME_OR_END_OBJECT:
+			case NAME:
+				if ( isWhitespace(c) ) {
+					break;
+				}
+				if ( c == '"' ) {
+					stringIsName = true;
+					state = STRING;
+					break;
+				}
+				if ( c == '}' && state == NAME_OR_END_OBJECT ) {
+					endContainer(JsonToken.END_OBJECT, bytes, i + 1);
+					break;
+				}
+				throw fail(i, offset);
+			case COLON:
+				if ( isWhitespace(c) ) {
+					break;
+				}
+				if ( c != ':' ) {
+					throw fail(i, offset);
+				}
+				state = VALUE;
+				break;
+			case AFTER_VALUE:
+				if ( isWhitespace(c) ) {
+					break;
+				}
+				if ( depth == 0 ) {
+					throw fail(i, offset);
+				}
+				if ( stack[depth - 1] == OBJECT ) {
+					if ( c == ',' ) {
+						state = NAME;
+					} else if ( c == '}' ) {
+						endContainer(JsonToken.END_OBJECT, bytes, i + 1);
+					} else {
+						throw fail(i, offset);
+					}
+				} else {
+					if ( c == ',' ) {
+						state = VALUE;
+					} else if ( c == ']' ) {
+						endContainer(JsonToken.END_ARRAY, bytes, i + 1);
+					} else {
+						throw fail(i, offset);
+					}
+				}
+				break;
+			case STRING: {
+				final int next = scanString(bytes, i, end);
+				if ( next < 0 ) {
+					throw fail(~next, offset);
+				}
+				i = next;
+				continue;
+			}
+			case STRING_ESCAPE:
+				if ( c == 'u' ) {
+					codePoint = 0;
+					remaining = 4;
+					state = STRING_UNICODE_ESCAPE;
+					break;
+				}
+				final char unescaped = unescape(c);
+				if ( unescaped == 0 ) {
+					throw fail(i, offset);
+				}
+				append(unescaped);
+				state = STRING;
+				break;
+			case STRING_UNICODE_ESCAPE: {
+				final int digit = Character.digit(c, 16);
+				if ( digit < 0 ) {
+					throw fail(i, offset);
+				}
+				codePoint = codePoint << 4 | digit;
+				if ( --remaining == 0 ) {
+					// Surrogate pairs are escaped as two separate escapes, so the escaped code units are appended as is
+					append((char) codePoint);
+					state = STRING;
+				}
+				break;
+			}
+			case STRING_UTF8_SEQUENCE:
+				if ( c < utf8Min || c > utf8Max ) {
+					throw fail(i, offset);
+				}
+				codePoint = codePoint << 6 | c & 0x3F;
+				utf8Min = 0x80;
+				utf8Max = 0xBF;
+				if ( --remaining == 0 ) {
+					appendCodePoint();
+					state = STRING;
+				}
+				break;
+			case NUMBER_MINUS:
+				if ( c == '0' ) {
+					state = NUMBER_ZERO;
+				} else if ( c >= '1' && c <= '9' ) {
+					state = NUMBER_INTEGER;
+				} else {
+					throw fail(i, offset);
+				}
+				append((char) c);
+				break;
+			case NUMBER_ZERO:
+			case NUMBER_INTEGER:
+				if ( c >= '0' && c <= '9' ) {
+					if ( state == NUMBER_ZERO ) {
+						throw fail(i, offset);
+					}
+				} else if ( c == '.' ) {
+					state = NUMBER_DOT;
+				} else if ( c == 'e' || c == 'E' ) {
+					state = NUMBER_EXPONENT;
+				} else {
+					// The number ends here, and the current byte is processed once again
+					endNumber(bytes, i);
+					continue;
+				}
+				append((char) c);
+				break;
+			case NUMBER_DOT:
+				if ( c < '0' || c > '9' ) {
+					throw fail(i, offset);
+				}
+				state = NUMBER_FRACTION;
+				append((char) c);
+				break;
+			case NUMBER_FRACTION:
+				if ( c == 'e' || c == 'E' ) {
+					state = NUMBER_EXPONENT;
+				} else if ( c < '0' || c > '9' ) {
+					endNumber(bytes, i);
+					continue;
+				}
+				append((char) c);
+				break;
+			case NUMBER_EXPONENT:
+				if ( c == '+' || c == '-' ) {
+					state = NUMBER_EXPONENT_SIGN;
+				} else if ( c >= '0' && c <= '9' ) {
+					state = NUMBER_EXPONENT_DIGITS;
+				} else {
+					throw fail(i, offset);
+				}
+				append((char) c);
+				break;
+			case NUMBER_EXPONENT_SIGN:
+				if ( c < '0' || c > '9' ) {
+					throw fail(i, offset);
+				}
+				state = NUMBER_EXPONENT_DIGITS;
+				append((char) c);
+				break;
+			case NUMBER_EXPONENT_DIGITS:
+				if ( c < '0' || c > '9' ) {
+					endNumber(bytes, i);
+					continue;
+				}
+				append((char) c);
+				break;
+			case LITERAL:
+				if ( c != literal[remaining] ) {
+					throw fail(i, offset);
+				}
+				if ( ++remaining == literal.length ) {
+					endLiteral(bytes, i + 1);
+				}
+				break;
+			case FINISHED:
+			case ERROR:
+			default:
+				throw new AssertionError(state);
+			}
+			i++;
+		}
+		if ( withinElement ) {
+			// The element continues in the next chunks
+			appendElement(bytes, elementStart, end);
+		}
+		position += length;
+	}
+
+	/**
+	 * @param buffer Input chunk. All remaining bytes are consumed.
+	 *
+	 * @throws MalformedJsonException If the input is not a valid JSON document
+	 * @throws IllegalStateException  If the parser has already finished
+	 * @throws IOException            A rethrown exception
+	 * @since 0-SNAPSHOT
+	 */
+	public void feed(final ByteBuffer buffer)
+			throws IllegalStateException, IOException {
+		if ( buffer.hasArray() ) {
+			final int length = buffer.remaining();
+			feed(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+			buffer.position(buffer.position() + length);
+			return;
+		}
+		if ( scratch == null ) {
+			scratch = new byte[scratchSize];
+		}
+		while ( buffer.hasRemaining() ) {
+			final int length = Math.min(buffer.remaining(), scratch.length);
+			buffer.get(scratch, 0, length);
+			feed(scratch, 0, length);
+		}
+	}
+
+	/**
+	 * Signals the end of input, and emits {@link JsonToken#END_DOCUMENT}.
+	 *
+	 * @throws EOFException           If the input ends prematurely
+	 * @throws MalformedJsonException If the input is not a valid JSON document
+	 * @throws IllegalStateException  If the parser has already finished
+	 * @since 0-SNAPSHOT
+	 */
+	public void finish()
+			throws IllegalStateException, IOException {
+		checkNotFinished();
+		if ( depth == 0 ) {
+			switch ( state ) {
+			case NUMBER_ZERO:
+			case NUMBER_INTEGER:
+			case NUMBER_FRACTION:
+			case NUMBER_EXPONENT_DIGITS:
+				endNumber(null, 0);
+				endDocument();
+				return;
+			case AFTER_VALUE:
+				endDocument();
+				return;
+			default:
+				break;
+			}
+		}
+		errorOffset = position;
+		state = ERROR;
+		throw new EOFException("End of input at offset " + position);
+	}
+
+	private void endDocument() {
+		state = FINISHED;
+		emit(JsonToken.END_DOCUMENT, null);
+	}
+
+	private void checkNotFinished()
+			throws IllegalStateException, MalformedJsonException {
+		if ( state == FINISHED ) {
+			throw new IllegalStateException("The parser has already finished");
+		}
+		if ( state == ERROR ) {
+			throw malformed();
+		}
+	}
+
+	private int scanString(final byte[] bytes, final int start, final int end)
+			throws IOException {
+		// Scans as many string bytes as possible without returning to the main loop, and returns either the next index or the bitwise complement of the
+		// invalid byte index
+		int i = start;
+		while ( i < end ) {
+			final int c = bytes[i] & 0xFF;
+			if ( c >= 0x20 && c < 0x80 ) {
+				if ( c == '"' ) {
+					endString(bytes, i + 1);
+					return i + 1;
+				}
+				if ( c == '\\' ) {
+					state = STRING_ESCAPE;
+					return i + 1;
+				}
+				append((char) c);
+				i++;
+				continue;
+			}
+			if ( !beginUtf8Sequence(c) ) {
+				return ~i;
+			}
+			i++;
+			while ( remaining > 0 ) {
+				if ( i == end ) {
+					return i;
+				}
+				final int d = bytes[i] & 0xFF;
+				if ( d < utf8Min || d > utf8Max ) {
+					return ~i;
+				}
+				codePoint = codePoint << 6 | d & 0x3F;
+				utf8Min = 0x80;
+				utf8Max = 0xBF;
+				remaining--;
+				i++;
+			}
+			appendCodePoint();
+			state = STRING;
+		}
+		return i;
+	}
+
+	private boolean beginValue(final int c) {
+		switch ( c ) {
+		case '{':
+			push(OBJECT);
+			state = NAME_OR_END_OBJECT;
+			emit(JsonToken.BEGIN_OBJECT, null);
+			return true;
+		case '[':
+			push(ARRAY);
+			state = VALUE_OR_END_ARRAY;
+			emit(JsonToken.BEGIN_ARRAY, null);
+			return true;
+		case '"':
+			stringIsName = false;
+			state = STRING;
+			return true;
+		case '-':
+			state = NUMBER_MINUS;
+			append((char) c);
+			return true;
+		case '0':
+			state = NUMBER_ZERO;
+			append((char) c);
+			return true;
+		case '1':
+		case '2':
+		case '3':
+		case '4':
+		case '5':
+		case '6':
+		case '7':
+		case '8':
+		case '9':
+			state = NUMBER_INTEGER;
+			append((char) c);
+			return true;
+		case 't':
+			return beginLiteral(trueLiteral);
+		case 'f':
+			return beginLiteral(falseLiteral);
+		case 'n':
+			return beginLiteral(nullLiteral);
+		default:
+			return false;
+		}
+	}
+
+	private boolean beginLiteral(final byte[] literal) {
+		this.literal = literal;
+		remaining = 1;
+		state = LITERAL;
+		return true;
+	}
+
+	private void endContainer(final JsonToken token, final byte[] bytes, final int end)
+			throws IOException {
+		depth--;
+		state = AFTER_VALUE;
+		emit(token, null);
+		endValue(bytes, end);
+	}
+
+	private void endString(final byte[] bytes, final int end)
+			throws IOException {
+		if ( stringIsName ) {
+			state = COLON;
+			emit(JsonToken.NAME, takeText());
+			return;
+		}
+		state = AFTER_VALUE;
+		emit(JsonToken.STRING, takeText());
+		endValue(bytes, end);
+	}
+
+	private void endNumber(final byte[] bytes, final int end)
+			throws IOException {
+		state = AFTER_VALUE;
+		emit(JsonToken.NUMBER, takeText());
+		if ( bytes != null ) {
+			endValue(bytes, end);
+		}
+	}
+
+	private void endLiteral(final byte[] bytes, final int end)
+			throws IOException {
+		final byte[] literal = this.literal;
+		this.literal = null;
+		state = AFTER_VALUE;
+		if ( literal == nullLiteral ) {
+			emit(JsonToken.NULL, null);
+		} else {
+			emit(JsonToken.BOOLEAN, literal == trueLiteral ? "true" : "false");
+		}
+		endValue(bytes, end);
+	}
+
+	private void endValue(final byte[] bytes, final int end)
+			throws IOException {
+		if ( !withinElement || depth != 1 ) {
+			return;
+		}
+		withinElement = false;
+		if ( elementLength == 0 ) {
+			// The whole element is in the current chunk, so it is not copied
+			elementHandler.handle(bytes, elementStart, end - elementStart);
+			return;
+		}
+		appendElement(bytes, elementStart, end);
+		final int length = elementLength;
+		elementLength = 0;
+		elementHandler.handle(element, 0, length);
+	}
+
+	private void appendElement(final byte[] bytes, final int start, final int end) {
+		final int length = end - start;
+		if ( element == null ) {
+			element = new byte[Math.max(initialElementSize, length)];
+		} else if ( elementLength + length > element.length ) {
+			element = Arrays.copyOf(element, Math.max(element.length * 2, elementLength + length));
+		}
+		System.arraycopy(bytes, start, element, elementLength, length);
+		elementLength += length;
+	}
+
+	private void push(final byte container) {
+		if ( depth == stack.length ) {
+			stack = Arrays.copyOf(stack, depth * 2);
+		}
+		stack[depth++] = container;
+	}
+
+	private boolean beginUtf8Sequence(final int c) {
+		// See the well-formed UTF-8 byte sequences table in the Unicode standard, section 3.9
+		utf8Min = 0x80;
+		utf8Max = 0xBF;
+		if ( c >= 0xC2 && c <= 0xDF ) {
+			remaining = 1;
+			codePoint = c & 0x1F;
+		} else if ( c >= 0xE0 && c <= 0xEF ) {
+			remaining = 2;
+			codePoint = c & 0x0F;
+			if ( c == 0xE0 ) {
+				utf8Min = 0xA0;
+			} else if ( c == 0xED ) {
+				utf8Max = 0x9F;
+			}
+		} else if ( c >= 0xF0 && c <= 0xF4 ) {
+			remaining = 3;
+			codePoint = c & 0x07;
+			if ( c == 0xF0 ) {
+				utf8Min = 0x90;
+			} else if ( c == 0xF4 ) {
+				utf8Max = 0x8F;
+			}
+		} else {
+			// Control characters, continuation bytes and invalid lead bytes
+			return false;
+		}
+		state = STRING_UTF8_SEQUENCE;
+		return true;
+	}
+
+	private void emit(final JsonToken token, final String value) {
+		if ( tokenHandler != null ) {
+			tokenHandler.handle(token, value);
+		}
+	}
+
+	private void append(final char c) {
+		// Array elements are bound from their bytes, so the text is collected for token handlers only
+		if ( tokenHandler != null ) {
+			text.append(c);
+		}
+	}
+
+	private void appendCodePoint() {
+		if ( tokenHandler != null ) {
+			text.appendCodePoint(codePoint);
+		}
+	}
+
+	private String takeText() {
+		if ( tokenHandler == null ) {
+			return null;
+		}
+		final String value = text.toString();
+		text.setLength(0);
+		return value;
+	}
+
+	private MalformedJsonException fail(final int index, final int offset) {
+		errorOffset = position + index - offset;
+		state = ERROR;
+		return malformed();
+	}
+
+	private MalformedJsonException malformed() {
+		return new MalformedJsonException("Malformed JSON at offset " + errorOffset);
+	}
+
+	private static boolean isWhitespace(final int c) {
+		return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+	}
+
+	private static char unescape(final int c) {
+		switch ( c ) {
+		case '"':
+		case '\\':
+		case '/':
+			return (char) c;
+		case 'b':
+			return '\b';
+		case 'f':
+			return '\f';
+		case 'n':
+			return '\n';
+		case 'r':
+			return '\r';
+		case 't':
+			return '\t';
+		default:
+			return 0;
+		}
+	}
+
+	@FunctionalInterface
+	private interface IElementHandler {
+
+		void handle(byte[] bytes, int offset, int length)
+				throws IOException;
+
+	}
+
+}
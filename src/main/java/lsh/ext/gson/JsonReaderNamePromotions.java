@@ -0,0 +1,114 @@
+package lsh.ext.gson;
+
+import java.io.StringReader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+
+import com.google.gson.stream.JsonReader;
+
+/**
+ * <p>
+ * Provides support for {@link JsonReader} subclasses that tokenize their input themselves instead of reading it through the base class. Gson map type adapters
+ * read property names as map keys by promoting the peeked name to a string value in the base class internal state, so such subclasses must check and reset
+ * that state whenever they peek a property name.
+ * </p>
+ *
+ * <p>
+ * The internal state is not a part of the Gson public API. If it cannot be accessed, the name promotion is considered unsupported: names are never reported
+ * as promoted, resetting the state has no effect, and Gson map type adapters fail to read maps from such subclasses, whereas reading anything else is not
+ * affected.
+ * </p>
+ *
+ * @author Lyubomyr Shaydariv
+ * @since 0-SNAPSHOT
+ */
+public final class JsonReaderNamePromotions {
+
+	// null if the name promotion is not supported
+	private static final MethodHandle peekedGetter;
+	private static final MethodHandle peekedSetter;
+
+	// See com.google.gson.stream.JsonReader, the values are probed in the static initializer
+	private static final int peekedDoubleQuoted;
+	private static final int peekedDoubleQuotedName;
+
+	static {
+		MethodHandle getter = null;
+		MethodHandle setter = null;
+		int doubleQuoted = -1;
+		int doubleQuotedName = -1;
+		try {
+			final Field field = JsonReader.class.getDeclaredField("peeked");
+			field.setAccessible(true);
+			final MethodHandle probeGetter = MethodHandles.lookup().unreflectGetter(field);
+			final JsonReader probe = new JsonReader(new StringReader("{\"name\":\"value\"}"));
+			probe.beginObject();
+			probe.peek();
+			doubleQuotedName = (int) probeGetter.invokeExact(probe);
+			probe.nextName();
+			probe.peek();
+			doubleQuoted = (int) probeGetter.invokeExact(probe);
+			if ( doubleQuoted != doubleQuotedName ) {
+				getter = probeGetter;
+				setter = MethodHandles.lookup().unreflectSetter(field);
+			}
+		} catch ( final Throwable ignored ) {
+			// The name promotion is not supported then
+		}
+		peekedGetter = getter;
+		peekedSetter = setter;
+		peekedDoubleQuoted = doubleQuoted;
+		peekedDoubleQuotedName = doubleQuotedName;
+	}
+
+	private JsonReaderNamePromotions() {
+	}
+
+	/**
+	 * @return {@code true} if the name promotion internal state can be accessed, otherwise {@code false}.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static boolean isSupported() {
+		return peekedGetter != null;
+	}
+
+	/**
+	 * @param reader A reader that has peeked a property name
+	 *
+	 * @return {@code true} if the property name has been promoted to a string value since the last {@link #setNameNotPromoted(JsonReader)} call, otherwise
+	 * {@code false}. Always {@code false} if the name promotion is not supported.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static boolean isNamePromoted(final JsonReader reader) {
+		if ( peekedGetter == null ) {
+			return false;
+		}
+		try {
+			return (int) peekedGetter.invokeExact(reader) == peekedDoubleQuoted;
+		} catch ( final Throwable ex ) {
+			throw new AssertionError(ex);
+		}
+	}
+
+	/**
+	 * Marks a property name as peeked, but not promoted, in the base class internal state. Has no effect if the name promotion is not supported.
+	 *
+	 * @param reader A reader that has just peeked a property name
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static void setNameNotPromoted(final JsonReader reader) {
+		if ( peekedSetter == null ) {
+			return;
+		}
+		try {
+			peekedSetter.invokeExact(reader, peekedDoubleQuotedName);
+		} catch ( final Throwable ex ) {
+			throw new AssertionError(ex);
+		}
+	}
+
+}
@@ -2,9 +2,17 @@ package lsh.ext.gson;
 
 import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.function.Consumer;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 
@@ -16,6 +24,8 @@ import com.google.gson.stream.JsonToken;
  */
 public final class JsonReaders {
 
+	private static final int defaultMappedWindowSize = 1 << 28;
+
 	private JsonReaders() {
 	}
 
@@ -52,6 +62,100 @@ public final class JsonReaders {
 		return new EmptyStringFailFastJsonReader(reader);
 	}
 
+	/**
+	 * @param bytes UTF-8 encoded JSON
+	 *
+	 * @return A JSON reader that tokenizes the given bytes directly, and decodes string contents only when they are consumed.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonReader getUtf8JsonReader(final byte[] bytes) {
+		return Utf8JsonReader.getUtf8JsonReader(bytes);
+	}
+
+	/**
+	 * @param byteBuffer UTF-8 encoded JSON. The buffer position is not changed.
+	 *
+	 * @return A JSON reader that tokenizes the remaining bytes of the given buffer directly, and decodes string contents only when they are consumed.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonReader getUtf8JsonReader(final ByteBuffer byteBuffer) {
+		return Utf8JsonReader.getUtf8JsonReader(byteBuffer);
+	}
+
+	/**
+	 * @param inputStream UTF-8 encoded JSON input stream. The input stream is read in chunks, so it does not need to be buffered.
+	 *
+	 * @return A JSON reader that tokenizes the given input stream bytes directly, and decodes string contents only when they are consumed. Closing the JSON
+	 * reader closes the given input stream.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonReader getUtf8JsonReader(final InputStream inputStream) {
+		return Utf8JsonReader.getUtf8JsonReader(inputStream);
+	}
+
+	/**
+	 * @param path UTF-8 encoded JSON file
+	 *
+	 * @return A JSON reader that tokenizes the given file bytes directly from memory-mapped windows of the default size. Closing the JSON reader closes the
+	 * file.
+	 *
+	 * @throws IOException A rethrown exception
+	 * @see #getMappedFileJsonReader(Path, int)
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonReader getMappedFileJsonReader(final Path path)
+			throws IOException {
+		return getMappedFileJsonReader(path, defaultMappedWindowSize);
+	}
+
+	/**
+	 * @param path       UTF-8 encoded JSON file
+	 * @param windowSize The size of a memory-mapped window in bytes. Only one window is mapped at a time, so files larger than 2 GB can be read as well.
+	 *
+	 * @return A JSON reader that tokenizes the given file bytes directly from memory-mapped windows. Closing the JSON reader closes the file.
+	 *
+	 * @throws IllegalArgumentException If the window size is not positive
+	 * @throws IOException              A rethrown exception
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonReader getMappedFileJsonReader(final Path path, final int windowSize)
+			throws IllegalArgumentException, IOException {
+		return Utf8JsonReader.getUtf8JsonReader(MappedFileInputStream.getMappedFileInputStream(path, windowSize));
+	}
+
+	/**
+	 * @param tokenHandler A handler to receive tokens as soon as they are complete
+	 *
+	 * @return A non-blocking push parser that is fed with UTF-8 encoded JSON chunks, and emits tokens of a single JSON document.
+	 *
+	 * @see JsonPushParser
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonPushParser getJsonPushParser(final IJsonTokenHandler tokenHandler) {
+		return JsonPushParser.getJsonPushParser(tokenHandler);
+	}
+
+	/**
+	 * @param elementType Element type
+	 * @param gson        Gson instance
+	 * @param consumer    A consumer to receive the bound elements as soon as they are complete
+	 * @param <T>         Element type
+	 *
+	 * @return A non-blocking push parser that is fed with UTF-8 encoded JSON chunks of a top-level JSON array, and binds every element once its last byte
+	 * arrives. Only the bytes of the current element are retained between chunks.
+	 *
+	 * @see JsonPushParser
+	 * @since 0-SNAPSHOT
+	 */
+	public static <T> JsonPushParser getJsonArrayPushParser(final Type elementType, final Gson gson, final Consumer<? super T> consumer) {
+		@SuppressWarnings("unchecked")
+		final TypeAdapter<T> elementTypeAdapter = (TypeAdapter<T>) gson.getAdapter(TypeToken.get(elementType));
+		return JsonPushParser.getJsonArrayPushParser(elementTypeAdapter, consumer);
+	}
+
 	/**
 	 * <p>Skips a token of any type for the given {@link JsonReader}. Unlike {@link JsonReader#skipValue()}, this method can also skip tokens such as:</p>
 	 *
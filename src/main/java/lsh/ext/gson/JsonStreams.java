@@ -1,13 +1,25 @@
 package lsh.ext.gson;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
+import lsh.ext.gson.Numbers.ParsedNumber;
 
-import static java.lang.Double.parseDouble;
-import static java.lang.Long.parseLong;
+import static lsh.ext.gson.JsonArrayMergeStrategies.replaceArrays;
+import static lsh.ext.gson.JsonElements.deepMerge;
+import static lsh.ext.gson.JsonElements.toJsonPointerToken;
+import static lsh.ext.gson.JsonObjectMergePredicates.alwaysReplaceLeft;
+import static lsh.ext.gson.Numbers.tryParse;
 
 /**
  * Provides miscellaneous utility methods for JSON streams.
@@ -17,6 +29,8 @@ import static java.lang.Long.parseLong;
  */
 public final class JsonStreams {
 
+	private static final TypeAdapter<JsonElement> jsonElementTypeAdapter = new Gson().getAdapter(JsonElement.class);
+
 	private JsonStreams() {
 	}
 
@@ -49,88 +63,220 @@ public final class JsonStreams {
 	@SuppressWarnings("resource")
 	public static void copyTo(final JsonReader reader, final JsonWriter writer, final boolean ignoreTrailingTokens)
 			throws IOException {
-		final long[] longBuffer = new long[1];
-		final double[] doubleBuffer = new double[1];
+		final ParsedNumber parsedNumber = new ParsedNumber();
 		int level = 0;
-		loop:
-		for ( JsonToken token = reader.peek(); token != null; token = reader.peek() ) {
-			switch ( token ) {
-			case BEGIN_ARRAY:
-				reader.beginArray();
-				writer.beginArray();
-				++level;
-				break;
-			case END_ARRAY:
-				reader.endArray();
-				writer.endArray();
-				if ( --level == 0 && ignoreTrailingTokens ) {
-					return;
-				}
-				break;
-			case BEGIN_OBJECT:
-				reader.beginObject();
-				writer.beginObject();
-				++level;
-				break;
-			case END_OBJECT:
-				reader.endObject();
-				writer.endObject();
-				if ( --level == 0 && ignoreTrailingTokens ) {
-					return;
-				}
-				break;
-			case NAME:
-				final String name = reader.nextName();
-				writer.name(name);
-				break;
-			case STRING:
-				final String s = reader.nextString();
-				writer.value(s);
-				break;
-			case NUMBER:
-				final String rawN = reader.nextString();
-				if ( tryParseLong(rawN, longBuffer) ) {
-					writer.value(longBuffer[0]);
-				} else {
-					if ( tryParseDouble(rawN, doubleBuffer) ) {
-						writer.value(doubleBuffer[0]);
-					} else {
-						throw new AssertionError(rawN);
-					}
-				}
-				break;
-			case BOOLEAN:
-				final boolean b = reader.nextBoolean();
-				writer.value(b);
+		for ( JsonToken token = reader.peek(); token != JsonToken.END_DOCUMENT; token = reader.peek() ) {
+			level += copyToken(token, reader, writer, parsedNumber);
+			if ( level == 0 && ignoreTrailingTokens && (token == JsonToken.END_ARRAY || token == JsonToken.END_OBJECT) ) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Merges two JSON objects read from {@link JsonReader}s, left and right, to the given {@link JsonWriter} using the
+	 * {@link JsonObjectMergePredicates#alwaysReplaceLeft()} strategy.
+	 *
+	 * @param left   Left JSON object reader
+	 * @param right  Right JSON object reader
+	 * @param writer JSON writer
+	 *
+	 * @throws IOException A rethrown exception
+	 * @see #mergeTo(JsonReader, JsonReader, JsonWriter, IJsonObjectMergePredicate)
+	 * @since 0-SNAPSHOT
+	 */
+	public static void mergeTo(final JsonReader left, final JsonReader right, final JsonWriter writer)
+			throws IOException {
+		mergeTo(left, right, writer, alwaysReplaceLeft());
+	}
+
+	/**
+	 * <p>
+	 * Deeply merges two JSON objects read from {@link JsonReader}s, left and right, to the given {@link JsonWriter} like
+	 * {@link JsonElements#deepMergeIntoNew(JsonObject, JsonObject, IJsonObjectMergePredicate, IJsonArrayMergeStrategy)} does with the
+	 * {@link JsonArrayMergeStrategies#replaceArrays()} strategy, but without reading the objects into {@link JsonElement} trees.
+	 * </p>
+	 *
+	 * <p>
+	 * The left object is read in a streaming manner. The right object is read ahead until the current left key is found, so only the right object members
+	 * that have not been matched yet are buffered. If both objects have their keys in the same order, nothing is buffered. The values that are passed to the
+	 * predicate, thus the common non-object values and the right-only values, are read into {@link JsonElement} trees. Since the merged objects are not
+	 * read into trees, the predicate receives empty JSON objects as the left and right objects, unless the right value has been buffered: in that case the
+	 * left value is read into a tree as well, and both values are merged like {@link JsonElements#deepMergeIntoLeft(JsonObject, JsonObject,
+	 * IJsonObjectMergePredicate, IJsonArrayMergeStrategy)} does.
+	 * </p>
+	 *
+	 * @param left      Left JSON object reader
+	 * @param right     Right JSON object reader
+	 * @param writer    JSON writer
+	 * @param predicate Predicate
+	 *
+	 * @throws IOException A rethrown exception
+	 * @see IJsonObjectMergePredicate#replace(String, String, JsonObject, JsonElement, JsonObject, JsonElement)
+	 * @since 0-SNAPSHOT
+	 */
+	public static void mergeTo(final JsonReader left, final JsonReader right, final JsonWriter writer, final IJsonObjectMergePredicate predicate)
+			throws IOException {
+		new StreamingMerger(writer, predicate).mergeObjects("", left, right);
+	}
+
+	private static void copyValue(final JsonReader reader, final JsonWriter writer, final ParsedNumber parsedNumber)
+			throws IOException {
+		int level = 0;
+		do {
+			final JsonToken token = reader.peek();
+			if ( token == JsonToken.END_DOCUMENT ) {
+				throw new EOFException("Unexpected " + token + " at " + reader);
+			}
+			level += copyToken(token, reader, writer, parsedNumber);
+		} while ( level > 0 );
+	}
+
+	private static int copyToken(final JsonToken token, final JsonReader reader, final JsonWriter writer, final ParsedNumber parsedNumber)
+			throws IOException {
+		switch ( token ) {
+		case BEGIN_ARRAY:
+			reader.beginArray();
+			writer.beginArray();
+			return 1;
+		case END_ARRAY:
+			reader.endArray();
+			writer.endArray();
+			return -1;
+		case BEGIN_OBJECT:
+			reader.beginObject();
+			writer.beginObject();
+			return 1;
+		case END_OBJECT:
+			reader.endObject();
+			writer.endObject();
+			return -1;
+		case NAME:
+			final String name = reader.nextName();
+			writer.name(name);
+			return 0;
+		case STRING:
+			final String s = reader.nextString();
+			writer.value(s);
+			return 0;
+		case NUMBER:
+			final String rawN = reader.nextString();
+			if ( !tryParse(rawN, parsedNumber) ) {
+				throw new AssertionError(rawN);
+			}
+			switch ( parsedNumber.getNumberType() ) {
+			case LONG:
+				writer.value(parsedNumber.getLongValue());
 				break;
-			case NULL:
-				reader.nextNull();
-				writer.nullValue();
+			case DOUBLE:
+				writer.value(parsedNumber.getDoubleValue());
 				break;
-			case END_DOCUMENT:
-				break loop;
+			case NONE:
 			default:
-				throw new AssertionError(token);
+				throw new AssertionError(parsedNumber.getNumberType());
 			}
+			return 0;
+		case BOOLEAN:
+			final boolean b = reader.nextBoolean();
+			writer.value(b);
+			return 0;
+		case NULL:
+			reader.nextNull();
+			writer.nullValue();
+			return 0;
+		case END_DOCUMENT:
+		default:
+			throw new AssertionError(token);
 		}
 	}
 
-	private static boolean tryParseLong(final String value, final long[] buffer) {
-		try {
-			buffer[0] = parseLong(value);
-			return true;
-		} catch ( final NumberFormatException ignored ) {
-			return false;
+	private static final class StreamingMerger {
+
+		private final JsonWriter writer;
+		private final IJsonObjectMergePredicate predicate;
+		private final ParsedNumber parsedNumber = new ParsedNumber();
+		private final JsonObject leftObject = new JsonObject();
+		private final JsonObject rightObject = new JsonObject();
+
+		private StreamingMerger(final JsonWriter writer, final IJsonObjectMergePredicate predicate) {
+			this.writer = writer;
+			this.predicate = predicate;
 		}
-	}
 
-	private static boolean tryParseDouble(final String value, final double[] buffer) {
-		try {
-			buffer[0] = parseDouble(value);
-			return true;
-		} catch ( final NumberFormatException ignored ) {
+		private void mergeObjects(final String path, final JsonReader left, final JsonReader right)
+				throws IOException {
+			left.beginObject();
+			right.beginObject();
+			writer.beginObject();
+			final Map<String, JsonElement> unmatchedRightValues = new LinkedHashMap<>();
+			while ( left.hasNext() ) {
+				final String key = left.nextName();
+				final String valuePath = path + '/' + toJsonPointerToken(key);
+				writer.name(key);
+				final JsonElement bufferedRightValue = unmatchedRightValues.remove(key);
+				if ( bufferedRightValue != null ) {
+					mergeBufferedValue(valuePath, key, left, bufferedRightValue);
+				} else if ( seek(key, right, unmatchedRightValues) ) {
+					mergeValues(valuePath, key, left, right);
+				} else {
+					copyValue(left, writer, parsedNumber);
+				}
+			}
+			left.endObject();
+			for ( final Entry<String, JsonElement> e : unmatchedRightValues.entrySet() ) {
+				writeRightOnly(path, e.getKey(), e.getValue());
+			}
+			while ( right.hasNext() ) {
+				final String key = right.nextName();
+				writeRightOnly(path, key, jsonElementTypeAdapter.read(right));
+			}
+			right.endObject();
+			writer.endObject();
+		}
+
+		private void mergeValues(final String path, final String key, final JsonReader left, final JsonReader right)
+				throws IOException {
+			if ( left.peek() == JsonToken.BEGIN_OBJECT && right.peek() == JsonToken.BEGIN_OBJECT ) {
+				mergeObjects(path, left, right);
+				return;
+			}
+			final JsonElement leftValue = jsonElementTypeAdapter.read(left);
+			final JsonElement rightValue = jsonElementTypeAdapter.read(right);
+			jsonElementTypeAdapter.write(writer, predicate.replace(path, key, leftObject, leftValue, rightObject, rightValue) ? rightValue : leftValue);
+		}
+
+		private void mergeBufferedValue(final String path, final String key, final JsonReader left, final JsonElement rightValue)
+				throws IOException {
+			final JsonElement leftValue = jsonElementTypeAdapter.read(left);
+			final JsonElement mergedValue;
+			if ( leftValue instanceof JsonObject && rightValue instanceof JsonObject ) {
+				mergedValue = deepMerge(path, (JsonObject) leftValue, (JsonObject) rightValue, predicate, replaceArrays(), false);
+			} else {
+				mergedValue = predicate.replace(path, key, leftObject, leftValue, rightObject, rightValue) ? rightValue : leftValue;
+			}
+			jsonElementTypeAdapter.write(writer, mergedValue);
+		}
+
+		private void writeRightOnly(final String path, final String key, final JsonElement rightValue)
+				throws IOException {
+			if ( predicate.replace(path + '/' + toJsonPointerToken(key), key, leftObject, null, rightObject, rightValue) ) {
+				writer.name(key);
+				jsonElementTypeAdapter.write(writer, rightValue);
+			}
+		}
+
+		private static boolean seek(final String key, final JsonReader right, final Map<String, JsonElement> unmatchedRightValues)
+				throws IOException {
+			while ( right.hasNext() ) {
+				final String rightKey = right.nextName();
+				if ( rightKey.equals(key) ) {
+					return true;
+				}
+				unmatchedRightValues.put(rightKey, jsonElementTypeAdapter.read(right));
+			}
 			return false;
 		}
+
 	}
 
 }
@@ -0,0 +1,96 @@
+package lsh.ext.gson;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents an aggregated result of validating a sequence of JSON records: lines of newline-delimited JSON, or elements of a top-level JSON array.
+ *
+ * @author Lyubomyr Shaydariv
+ * @see JsonValidators
+ * @since 0-SNAPSHOT
+ */
+public final class JsonValidationResult {
+
+	private final long recordCount;
+	private final List<RecordError> errors;
+
+	JsonValidationResult(final long recordCount, final List<RecordError> errors) {
+		this.recordCount = recordCount;
+		this.errors = Collections.unmodifiableList(errors);
+	}
+
+	/**
+	 * @return {@code true} if no errors have been detected, otherwise {@code false}.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public boolean isValid() {
+		return errors.isEmpty();
+	}
+
+	/**
+	 * @return The number of validated records including invalid ones. Blank lines of newline-delimited JSON are not records.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public long getRecordCount() {
+		return recordCount;
+	}
+
+	/**
+	 * @return An unmodifiable list of errors ordered by their offsets.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public List<RecordError> getErrors() {
+		return errors;
+	}
+
+	@Override
+	public String toString() {
+		return "JsonValidationResult{recordCount=" + recordCount + ", errors=" + errors + '}';
+	}
+
+	/**
+	 * Represents a record-level error location.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static final class RecordError {
+
+		private final long recordIndex;
+		private final long offset;
+
+		RecordError(final long recordIndex, final long offset) {
+			this.recordIndex = recordIndex;
+			this.offset = offset;
+		}
+
+		/**
+		 * @return The zero-based line index for newline-delimited JSON, or the zero-based element index for top-level JSON arrays.
+		 *
+		 * @since 0-SNAPSHOT
+		 */
+		public long getRecordIndex() {
+			return recordIndex;
+		}
+
+		/**
+		 * @return The offset of the first invalid byte from the beginning of the input, or the record end offset if the record ends prematurely.
+		 *
+		 * @see JsonValidator#getErrorOffset()
+		 * @since 0-SNAPSHOT
+		 */
+		public long getOffset() {
+			return offset;
+		}
+
+		@Override
+		public String toString() {
+			return "RecordError{recordIndex=" + recordIndex + ", offset=" + offset + '}';
+		}
+
+	}
+
+}
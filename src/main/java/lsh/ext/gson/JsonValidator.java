@@ -0,0 +1,572 @@
+package lsh.ext.gson;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ * Represents a structural JSON validator that works directly on UTF-8 encoded bytes. The validator is a state machine that can be fed with input chunks, it
+ * does not decode or allocate anything per token, and it uses a fixed-size nesting depth stack. The validator follows
+ * <a href="https://tools.ietf.org/html/rfc7159">RFC 7159</a> strictly: a JSON document is a single value of any type surrounded with optional whitespace,
+ * and string contents must be well-formed UTF-8.
+ * </p>
+ *
+ * <p>
+ * A validator instance is not thread-safe, but can be reused with {@link #reset()}.
+ * </p>
+ *
+ * @author Lyubomyr Shaydariv
+ * @see Json#isStrictJsonValid(byte[])
+ * @see Json#isStrictJsonValid(ByteBuffer)
+ * @see Json#isStrictJsonValid(java.io.InputStream)
+ * @since 0-SNAPSHOT
+ */
+public final class JsonValidator {
+
+	private static final int defaultMaxDepth = 512;
+	private static final int scratchSize = 8192;
+
+	private static final byte[] trueLiteral = { 't', 'r', 'u', 'e' };
+	private static final byte[] falseLiteral = { 'f', 'a', 'l', 's', 'e' };
+	private static final byte[] nullLiteral = { 'n', 'u', 'l', 'l' };
+
+	private static final byte OBJECT = 1;
+	private static final byte ARRAY = 2;
+
+	private static final int VALUE = 0;
+	private static final int VALUE_OR_END_ARRAY = 1;
+	private static final int NAME_OR_END_OBJECT = 2;
+	private static final int NAME = 3;
+	private static final int COLON = 4;
+	private static final int AFTER_VALUE = 5;
+	private static final int STRING = 6;
+	private static final int STRING_ESCAPE = 7;
+	private static final int STRING_UNICODE_ESCAPE = 8;
+	private static final int STRING_UTF8_SEQUENCE = 9;
+	private static final int NUMBER_MINUS = 10;
+	private static final int NUMBER_ZERO = 11;
+	private static final int NUMBER_INTEGER = 12;
+	private static final int NUMBER_DOT = 13;
+	private static final int NUMBER_FRACTION = 14;
+	private static final int NUMBER_EXPONENT = 15;
+	private static final int NUMBER_EXPONENT_SIGN = 16;
+	private static final int NUMBER_EXPONENT_DIGITS = 17;
+	private static final int LITERAL = 18;
+	private static final int ERROR = 19;
+
+	private final byte[] stack;
+
+	private byte[] scratch;
+
+	private int state;
+	private int depth;
+	private long position;
+	private long errorOffset;
+	private boolean stringIsName;
+	private int remaining;
+	private int utf8Min;
+	private int utf8Max;
+	private byte[] literal;
+	private long topLevelElementCount;
+
+	private JsonValidator(final int maxDepth) {
+		stack = new byte[maxDepth];
+		reset();
+	}
+
+	/**
+	 * @return A new validator with the default maximum nesting depth.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonValidator getJsonValidator() {
+		return new JsonValidator(defaultMaxDepth);
+	}
+
+	/**
+	 * @param maxDepth Maximum nesting depth of objects and arrays
+	 *
+	 * @return A new validator.
+	 *
+	 * @throws IllegalArgumentException If the maximum depth is not positive.
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonValidator getJsonValidator(final int maxDepth)
+			throws IllegalArgumentException {
+		if ( maxDepth <= 0 ) {
+			throw new IllegalArgumentException("Max depth must be positive: " + maxDepth);
+		}
+		return new JsonValidator(maxDepth);
+	}
+
+	/**
+	 * Resets the validator to its initial state.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public void reset() {
+		state = VALUE;
+		depth = 0;
+		position = 0;
+		errorOffset = -1;
+		literal = null;
+		topLevelElementCount = 0;
+	}
+
+	/**
+	 * @param bytes  Input chunk
+	 * @param offset Chunk offset
+	 * @param length Chunk length
+	 *
+	 * @return {@code false} if an error has been detected so far, otherwise {@code true}.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public boolean feed(final byte[] bytes, final int offset, final int length) {
+		if ( state == ERROR ) {
+			return false;
+		}
+		final int end = offset + length;
+		int i = offset;
+		while ( i < end ) {
+			final int c = bytes[i] & 0xFF;
+			switch ( state ) {
+			case VALUE:
+			case VALUE_OR_END_ARRAY:
+				if ( isWhitespace(c) ) {
+					break;
+				}
+				if ( c == ']' && state == VALUE_OR_END_ARRAY ) {
+					depth--;
+					state = AFTER_VALUE;
+					break;
+				}
+				if ( depth == 1 ) {
+					topLevelElementCount++;
+				}
+				if ( !beginValue(c) ) {
+					return fail(i, offset);
+				}
+				break;
+			case NAME_OR_END_OBJECT:
+			case NAME:
+				if ( isWhitespace(c) ) {
+					break;
+				}
+				if ( c == '"' ) {
+					stringIsName = true;
+					state = STRING;
+					break;
+				}
+				if ( c == '}' && state == NAME_OR_END_OBJECT ) {
+					depth--;
+					state = AFTER_VALUE;
+					break;
+				}
+				return fail(i, offset);
+			case COLON:
+				if ( isWhitespace(c) ) {
+					break;
+				}
+				if ( c != ':' ) {
+					return fail(i, offset);
+				}
+				state = VALUE;
+				break;
+			case AFTER_VALUE:
+				if ( isWhitespace(c) ) {
+					break;
+				}
+				if ( depth == 0 ) {
+					return fail(i, offset);
+				}
+				if ( stack[depth - 1] == OBJECT ) {
+					if ( c == ',' ) {
+						state = NAME;
+					} else if ( c == '}' ) {
+						depth--;
+					} else {
+						return fail(i, offset);
+					}
+				} else {
+					if ( c == ',' ) {
+						state = VALUE;
+					} else if ( c == ']' ) {
+						depth--;
+					} else {
+						return fail(i, offset);
+					}
+				}
+				break;
+			case STRING: {
+				final int next = scanString(bytes, i, end);
+				if ( next < 0 ) {
+					return fail(~next, offset);
+				}
+				i = next;
+				continue;
+			}
+			case STRING_ESCAPE:
+				if ( isSingleCharacterEscape(c) ) {
+					state = STRING;
+				} else if ( c == 'u' ) {
+					remaining = 4;
+					state = STRING_UNICODE_ESCAPE;
+				} else {
+					return fail(i, offset);
+				}
+				break;
+			case STRING_UNICODE_ESCAPE:
+				if ( !isHexDigit(c) ) {
+					return fail(i, offset);
+				}
+				if ( --remaining == 0 ) {
+					state = STRING;
+				}
+				break;
+			case STRING_UTF8_SEQUENCE:
+				if ( c < utf8Min || c > utf8Max ) {
+					return fail(i, offset);
+				}
+				utf8Min = 0x80;
+				utf8Max = 0xBF;
+				if ( --remaining == 0 ) {
+					state = STRING;
+				}
+				break;
+			case NUMBER_MINUS:
+				if ( c == '0' ) {
+					state = NUMBER_ZERO;
+				} else if ( c >= '1' && c <= '9' ) {
+					state = NUMBER_INTEGER;
+				} else {
+					return fail(i, offset);
+				}
+				break;
+			case NUMBER_ZERO:
+			case NUMBER_INTEGER:
+				if ( c >= '0' && c <= '9' ) {
+					if ( state == NUMBER_ZERO ) {
+						return fail(i, offset);
+					}
+				} else if ( c == '.' ) {
+					state = NUMBER_DOT;
+				} else if ( c == 'e' || c == 'E' ) {
+					state = NUMBER_EXPONENT;
+				} else {
+					// The number ends here, and the current byte is processed once again
+					state = AFTER_VALUE;
+					continue;
+				}
+				break;
+			case NUMBER_DOT:
+				if ( c < '0' || c > '9' ) {
+					return fail(i, offset);
+				}
+				state = NUMBER_FRACTION;
+				break;
+			case NUMBER_FRACTION:
+				if ( c == 'e' || c == 'E' ) {
+					state = NUMBER_EXPONENT;
+				} else if ( c < '0' || c > '9' ) {
+					state = AFTER_VALUE;
+					continue;
+				}
+				break;
+			case NUMBER_EXPONENT:
+				if ( c == '+' || c == '-' ) {
+					state = NUMBER_EXPONENT_SIGN;
+				} else if ( c >= '0' && c <= '9' ) {
+					state = NUMBER_EXPONENT_DIGITS;
+				} else {
+					return fail(i, offset);
+				}
+				break;
+			case NUMBER_EXPONENT_SIGN:
+				if ( c < '0' || c > '9' ) {
+					return fail(i, offset);
+				}
+				state = NUMBER_EXPONENT_DIGITS;
+				break;
+			case NUMBER_EXPONENT_DIGITS:
+				if ( c < '0' || c > '9' ) {
+					state = AFTER_VALUE;
+					continue;
+				}
+				break;
+			case LITERAL:
+				if ( c != literal[remaining] ) {
+					return fail(i, offset);
+				}
+				if ( ++remaining == literal.length ) {
+					literal = null;
+					state = AFTER_VALUE;
+				}
+				break;
+			case ERROR:
+			default:
+				throw new AssertionError(state);
+			}
+			i++;
+		}
+		position += length;
+		return true;
+	}
+
+	/**
+	 * @param buffer Input chunk. All remaining bytes are consumed.
+	 *
+	 * @return {@code false} if an error has been detected so far, otherwise {@code true}.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public boolean feed(final ByteBuffer buffer) {
+		if ( buffer.hasArray() ) {
+			final int length = buffer.remaining();
+			final boolean result = feed(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+			buffer.position(buffer.position() + length);
+			return result;
+		}
+		if ( scratch == null ) {
+			scratch = new byte[scratchSize];
+		}
+		while ( buffer.hasRemaining() ) {
+			final int length = Math.min(buffer.remaining(), scratch.length);
+			buffer.get(scratch, 0, length);
+			if ( !feed(scratch, 0, length) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Signals the end of input.
+	 *
+	 * @return {@code true} if the whole input represents a valid JSON document, otherwise {@code false}.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public boolean finish() {
+		if ( state == ERROR ) {
+			return false;
+		}
+		if ( depth == 0 ) {
+			switch ( state ) {
+			case AFTER_VALUE:
+			case NUMBER_ZERO:
+			case NUMBER_INTEGER:
+			case NUMBER_FRACTION:
+			case NUMBER_EXPONENT_DIGITS:
+				state = AFTER_VALUE;
+				return true;
+			default:
+				break;
+			}
+		}
+		// Premature end of input
+		errorOffset = position;
+		state = ERROR;
+		return false;
+	}
+
+	/**
+	 * @return The offset of the first invalid byte, or the input length if the input ends prematurely, or {@code -1} if no error has been detected.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public long getErrorOffset() {
+		return errorOffset;
+	}
+
+	boolean hasFailed() {
+		return state == ERROR;
+	}
+
+	void reject(final long offset) {
+		errorOffset = offset;
+		state = ERROR;
+	}
+
+	boolean isBlank() {
+		// No value has been started since the last reset, so only whitespace might have been fed
+		return state == VALUE && depth == 0;
+	}
+
+	void resetToArrayElement() {
+		// Resumes validation right after a separator of the top-level array elements
+		reset();
+		stack[0] = ARRAY;
+		depth = 1;
+	}
+
+	boolean isAtArrayElement() {
+		return state == VALUE && depth == 1 && stack[0] == ARRAY;
+	}
+
+	long getTopLevelElementCount() {
+		// The number of values started directly in the top-level container
+		return topLevelElementCount;
+	}
+
+	private int scanString(final byte[] bytes, final int start, final int end) {
+		// Scans as many string bytes as possible without returning to the main loop, and returns either the next index or the bitwise complement of the
+		// invalid byte index
+		int i = start;
+		while ( i < end ) {
+			final int c = bytes[i] & 0xFF;
+			if ( c >= 0x20 && c < 0x80 ) {
+				if ( c == '"' ) {
+					state = stringIsName ? COLON : AFTER_VALUE;
+					return i + 1;
+				}
+				if ( c == '\\' ) {
+					if ( i + 1 == end || !isSingleCharacterEscape(bytes[i + 1] & 0xFF) ) {
+						// Unicode escapes, invalid escapes and chunk boundaries are left to the main loop
+						state = STRING_ESCAPE;
+						return i + 1;
+					}
+					i += 2;
+					continue;
+				}
+				i++;
+				continue;
+			}
+			if ( c >= 0xC2 && c <= 0xDF && i + 1 < end && isContinuationByte(bytes[i + 1]) ) {
+				// Two-byte sequences that are not split by chunk boundaries
+				i += 2;
+				continue;
+			}
+			if ( !beginUtf8Sequence(c) ) {
+				return ~i;
+			}
+			i++;
+			while ( remaining > 0 ) {
+				if ( i == end ) {
+					return i;
+				}
+				final int d = bytes[i] & 0xFF;
+				if ( d < utf8Min || d > utf8Max ) {
+					return ~i;
+				}
+				utf8Min = 0x80;
+				utf8Max = 0xBF;
+				remaining--;
+				i++;
+			}
+			state = STRING;
+		}
+		return i;
+	}
+
+	private boolean beginValue(final int c) {
+		switch ( c ) {
+		case '{':
+			if ( !push(OBJECT) ) {
+				return false;
+			}
+			state = NAME_OR_END_OBJECT;
+			return true;
+		case '[':
+			if ( !push(ARRAY) ) {
+				return false;
+			}
+			state = VALUE_OR_END_ARRAY;
+			return true;
+		case '"':
+			stringIsName = false;
+			state = STRING;
+			return true;
+		case '-':
+			state = NUMBER_MINUS;
+			return true;
+		case '0':
+			state = NUMBER_ZERO;
+			return true;
+		case '1':
+		case '2':
+		case '3':
+		case '4':
+		case '5':
+		case '6':
+		case '7':
+		case '8':
+		case '9':
+			state = NUMBER_INTEGER;
+			return true;
+		case 't':
+			return beginLiteral(trueLiteral);
+		case 'f':
+			return beginLiteral(falseLiteral);
+		case 'n':
+			return beginLiteral(nullLiteral);
+		default:
+			return false;
+		}
+	}
+
+	private boolean beginLiteral(final byte[] literal) {
+		this.literal = literal;
+		remaining = 1;
+		state = LITERAL;
+		return true;
+	}
+
+	private boolean push(final byte container) {
+		if ( depth == stack.length ) {
+			return false;
+		}
+		stack[depth++] = container;
+		return true;
+	}
+
+	private boolean beginUtf8Sequence(final int c) {
+		// See the well-formed UTF-8 byte sequences table in the Unicode standard, section 3.9
+		utf8Min = 0x80;
+		utf8Max = 0xBF;
+		if ( c >= 0xC2 && c <= 0xDF ) {
+			remaining = 1;
+		} else if ( c >= 0xE0 && c <= 0xEF ) {
+			remaining = 2;
+			if ( c == 0xE0 ) {
+				utf8Min = 0xA0;
+			} else if ( c == 0xED ) {
+				utf8Max = 0x9F;
+			}
+		} else if ( c >= 0xF0 && c <= 0xF4 ) {
+			remaining = 3;
+			if ( c == 0xF0 ) {
+				utf8Min = 0x90;
+			} else if ( c == 0xF4 ) {
+				utf8Max = 0x8F;
+			}
+		} else {
+			// Control characters, continuation bytes and invalid lead bytes
+			return false;
+		}
+		state = STRING_UTF8_SEQUENCE;
+		return true;
+	}
+
+	private boolean fail(final int index, final int offset) {
+		errorOffset = position + index - offset;
+		state = ERROR;
+		return false;
+	}
+
+	private static boolean isWhitespace(final int c) {
+		return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+	}
+
+	private static boolean isContinuationByte(final byte b) {
+		return (b & 0xC0) == 0x80;
+	}
+
+	private static boolean isSingleCharacterEscape(final int c) {
+		return c == '"' || c == '\\' || c == '/' || c == 'b' || c == 'f' || c == 'n' || c == 'r' || c == 't';
+	}
+
+	private static boolean isHexDigit(final int c) {
+		return c >= '0' && c <= '9' || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F';
+	}
+
+}
@@ -0,0 +1,471 @@
+package lsh.ext.gson;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import lsh.ext.gson.JsonValidationResult.RecordError;
+
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static lsh.ext.gson.JsonValidator.getJsonValidator;
+
+/**
+ * <p>
+ * Provides methods to validate large UTF-8 encoded newline-delimited JSON documents and top-level JSON arrays in parallel. The input is split into chunks of
+ * the given size that are adjusted to record boundaries and validated with {@link JsonValidator} on the given executor, and then the chunk results are
+ * aggregated into record-level error locations.
+ * </p>
+ *
+ * <p>
+ * Newline-delimited JSON chunks always begin at line boundaries, and every line is validated independently, so all invalid lines are reported. Blank lines
+ * are skipped.
+ * </p>
+ *
+ * <p>
+ * Top-level JSON arrays cannot be split at arbitrary positions, since it is not known whether a position is inside a string or a nested value without
+ * scanning the whole preceding input. Therefore array chunks are split speculatively at element separators that look like {@code },{} or {@code ],[} (thus
+ * arrays of primitive values are validated sequentially), and every chunk is validated assuming it begins with an element of the top-level array. Once the
+ * preceding chunk is known to end exactly where a top-level element begins, the assumption is confirmed, otherwise the preceding chunk validation continues
+ * sequentially through the chunk. Since the input cannot be interpreted reliably after the first error, only the first error is reported for arrays.
+ * </p>
+ *
+ * @author Lyubomyr Shaydariv
+ * @see JsonValidator
+ * @see Json#isStrictJsonValid(ByteBuffer)
+ * @since 0-SNAPSHOT
+ */
+public final class JsonValidators {
+
+	private static final int windowSize = 65536;
+
+	private JsonValidators() {
+	}
+
+	/**
+	 * @param json      UTF-8 encoded newline-delimited JSON. The buffer position is not changed.
+	 * @param executor  Executor to validate chunks on
+	 * @param chunkSize Approximate chunk size in bytes
+	 *
+	 * @return The validation result.
+	 *
+	 * @throws IllegalArgumentException If the chunk size is not positive.
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonValidationResult validateJsonLines(final ByteBuffer json, final Executor executor, final int chunkSize)
+			throws IllegalArgumentException {
+		try {
+			return validateJsonLines(new ByteBufferSource(json), executor, chunkSize);
+		} catch ( final IOException ex ) {
+			throw new AssertionError(ex);
+		}
+	}
+
+	/**
+	 * @param path      UTF-8 encoded newline-delimited JSON file
+	 * @param executor  Executor to validate chunks on
+	 * @param chunkSize Approximate chunk size in bytes
+	 *
+	 * @return The validation result.
+	 *
+	 * @throws IllegalArgumentException If the chunk size is not positive.
+	 * @throws IOException              A rethrown exception
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonValidationResult validateJsonLines(final Path path, final Executor executor, final int chunkSize)
+			throws IllegalArgumentException, IOException {
+		try ( final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ) ) {
+			return validateJsonLines(new FileChannelSource(channel), executor, chunkSize);
+		}
+	}
+
+	/**
+	 * @param json      UTF-8 encoded top-level JSON array. The buffer position is not changed.
+	 * @param executor  Executor to validate chunks on
+	 * @param chunkSize Approximate chunk size in bytes
+	 *
+	 * @return The validation result.
+	 *
+	 * @throws IllegalArgumentException If the chunk size is not positive.
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonValidationResult validateJsonArray(final ByteBuffer json, final Executor executor, final int chunkSize)
+			throws IllegalArgumentException {
+		try {
+			return validateJsonArray(new ByteBufferSource(json), executor, chunkSize);
+		} catch ( final IOException ex ) {
+			throw new AssertionError(ex);
+		}
+	}
+
+	/**
+	 * @param path      UTF-8 encoded top-level JSON array file
+	 * @param executor  Executor to validate chunks on
+	 * @param chunkSize Approximate chunk size in bytes
+	 *
+	 * @return The validation result.
+	 *
+	 * @throws IllegalArgumentException If the chunk size is not positive.
+	 * @throws IOException              A rethrown exception
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonValidationResult validateJsonArray(final Path path, final Executor executor, final int chunkSize)
+			throws IllegalArgumentException, IOException {
+		try ( final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ) ) {
+			return validateJsonArray(new FileChannelSource(channel), executor, chunkSize);
+		}
+	}
+
+	private static JsonValidationResult validateJsonLines(final IByteSource source, final Executor executor, final int chunkSize)
+			throws IOException {
+		final long size = source.size();
+		requireChunkSize(chunkSize);
+		final List<CompletableFuture<LinesChunk>> futures = new ArrayList<>();
+		for ( long start = 0; start < size; start += chunkSize ) {
+			final long chunkStart = start;
+			final long chunkEnd = Math.min(size, start + chunkSize);
+			futures.add(supplyAsync(() -> LinesChunk.validate(source, chunkStart, chunkEnd), executor));
+		}
+		final List<RecordError> errors = new ArrayList<>();
+		long lineCount = 0;
+		long recordCount = 0;
+		for ( final CompletableFuture<LinesChunk> future : futures ) {
+			final LinesChunk chunk = join(future);
+			for ( final RecordError error : chunk.errors ) {
+				errors.add(new RecordError(lineCount + error.getRecordIndex(), error.getOffset()));
+			}
+			lineCount += chunk.lineCount;
+			recordCount += chunk.recordCount;
+		}
+		return new JsonValidationResult(recordCount, errors);
+	}
+
+	private static JsonValidationResult validateJsonArray(final IByteSource source, final Executor executor, final int chunkSize)
+			throws IOException {
+		final long size = source.size();
+		requireChunkSize(chunkSize);
+		final List<CompletableFuture<ArrayChunk>> futures = new ArrayList<>();
+		long start = 0;
+		do {
+			final long chunkStart = start;
+			final long chunkEnd = Math.min(size, start + chunkSize);
+			futures.add(supplyAsync(() -> ArrayChunk.validate(source, chunkStart, chunkEnd), executor));
+			start = chunkEnd;
+		} while ( start < size );
+		final ByteWindow window = new ByteWindow(source);
+		long elementCount = 0;
+		ArrayChunk chunk = join(futures.get(0));
+		for ( int i = 1; i < futures.size() && !chunk.validator.hasFailed(); i++ ) {
+			final ArrayChunk nextChunk = join(futures.get(i));
+			if ( nextChunk.start == nextChunk.end ) {
+				continue;
+			}
+			if ( chunk.validator.isAtArrayElement() ) {
+				elementCount += chunk.validator.getTopLevelElementCount();
+				chunk = nextChunk;
+			} else {
+				// The next chunk has been split inside a string or a nested value, so its result is discarded
+				chunk.feed(window, nextChunk.end);
+			}
+		}
+		for ( final CompletableFuture<ArrayChunk> future : futures ) {
+			future.cancel(false);
+		}
+		if ( !chunk.validator.hasFailed() ) {
+			chunk.validator.finish();
+		}
+		elementCount += chunk.validator.getTopLevelElementCount();
+		if ( !chunk.validator.hasFailed() ) {
+			return new JsonValidationResult(elementCount, Collections.emptyList());
+		}
+		final RecordError error = new RecordError(Math.max(elementCount - 1, 0), chunk.start + chunk.validator.getErrorOffset());
+		return new JsonValidationResult(elementCount, Collections.singletonList(error));
+	}
+
+	private static void requireChunkSize(final int chunkSize)
+			throws IllegalArgumentException {
+		if ( chunkSize <= 0 ) {
+			throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+		}
+	}
+
+	private static <T> T join(final CompletableFuture<T> future)
+			throws IOException {
+		try {
+			return future.join();
+		} catch ( final CompletionException ex ) {
+			final Throwable cause = ex.getCause();
+			if ( cause instanceof UncheckedIOException ) {
+				throw ((UncheckedIOException) cause).getCause();
+			}
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw ex;
+		}
+	}
+
+	private static boolean isWhitespace(final byte b) {
+		return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+	}
+
+	private interface IByteSource {
+
+		long size()
+				throws IOException;
+
+		int read(long position, byte[] buffer)
+				throws IOException;
+
+	}
+
+	private static final class ByteBufferSource
+			implements IByteSource {
+
+		private final ByteBuffer buffer;
+
+		private ByteBufferSource(final ByteBuffer buffer) {
+			// Every read works on its own duplicate, thus concurrent reads are safe
+			this.buffer = buffer.slice();
+		}
+
+		@Override
+		public long size() {
+			return buffer.limit();
+		}
+
+		@Override
+		public int read(final long position, final byte[] bytes) {
+			final ByteBuffer duplicate = buffer.duplicate();
+			duplicate.position((int) position);
+			final int length = Math.min(bytes.length, duplicate.remaining());
+			duplicate.get(bytes, 0, length);
+			return length;
+		}
+
+	}
+
+	private static final class FileChannelSource
+			implements IByteSource {
+
+		private final FileChannel channel;
+
+		private FileChannelSource(final FileChannel channel) {
+			this.channel = channel;
+		}
+
+		@Override
+		public long size()
+				throws IOException {
+			return channel.size();
+		}
+
+		@Override
+		public int read(final long position, final byte[] bytes)
+				throws IOException {
+			// Positional reads do not change the channel position, thus concurrent reads are safe
+			final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			while ( buffer.hasRemaining() ) {
+				final int read = channel.read(buffer, position + buffer.position());
+				if ( read == -1 ) {
+					break;
+				}
+			}
+			return buffer.position();
+		}
+
+	}
+
+	private static final class ByteWindow {
+
+		private final IByteSource source;
+		private final byte[] bytes = new byte[windowSize];
+
+		private long start;
+		private int length;
+
+		private ByteWindow(final IByteSource source) {
+			this.source = source;
+		}
+
+		private boolean moveTo(final long position) {
+			if ( position >= start && position < start + length ) {
+				return true;
+			}
+			try {
+				length = source.read(position, bytes);
+			} catch ( final IOException ex ) {
+				throw new UncheckedIOException(ex);
+			}
+			start = position;
+			return length > 0;
+		}
+
+		private int indexOf(final long position) {
+			return (int) (position - start);
+		}
+
+		private long positionOf(final int index) {
+			return start + index;
+		}
+
+		private long findElementBoundary(final long from, final long size) {
+			// Looks for `},{`, `],[`, `},[` or `],{` with optional whitespace, and returns the position right after the comma
+			int matched = 0;
+			long boundary = size;
+			for ( long position = from; position < size && moveTo(position); position = positionOf(length) ) {
+				for ( int i = indexOf(position); i < length; i++ ) {
+					final byte b = bytes[i];
+					if ( isWhitespace(b) ) {
+						continue;
+					}
+					if ( b == '}' || b == ']' ) {
+						matched = 1;
+					} else if ( b == ',' && matched == 1 ) {
+						matched = 2;
+						boundary = positionOf(i + 1);
+					} else if ( (b == '{' || b == '[') && matched == 2 ) {
+						return boundary;
+					} else {
+						matched = 0;
+					}
+				}
+			}
+			return size;
+		}
+
+	}
+
+	private static final class LinesChunk {
+
+		private final List<RecordError> errors = new ArrayList<>();
+
+		private long lineCount;
+		private long recordCount;
+
+		private static LinesChunk validate(final IByteSource source, final long start, final long end) {
+			// A chunk validates all lines that begin in the chunk, and the line that begins right at the chunk start belongs to the chunk only if it is
+			// preceded by a line feed
+			final LinesChunk chunk = new LinesChunk();
+			final ByteWindow window = new ByteWindow(source);
+			final JsonValidator validator = getJsonValidator();
+			long lineStart = start == 0 ? 0 : findLineStart(window, start - 1);
+			while ( lineStart < end ) {
+				validator.reset();
+				long position = lineStart;
+				long lineEnd = -1;
+				while ( lineEnd == -1 && window.moveTo(position) ) {
+					final byte[] bytes = window.bytes;
+					final int from = window.indexOf(position);
+					int i = from;
+					while ( i < window.length && bytes[i] != '\n' ) {
+						i++;
+					}
+					validator.feed(bytes, from, i - from);
+					position = window.positionOf(i);
+					if ( i < window.length ) {
+						lineEnd = position;
+					}
+				}
+				chunk.lineCount++;
+				if ( !validator.isBlank() ) {
+					chunk.recordCount++;
+					if ( !validator.finish() ) {
+						chunk.errors.add(new RecordError(chunk.lineCount - 1, lineStart + validator.getErrorOffset()));
+					}
+				}
+				if ( lineEnd == -1 ) {
+					break;
+				}
+				lineStart = lineEnd + 1;
+			}
+			return chunk;
+		}
+
+		private static long findLineStart(final ByteWindow window, final long from) {
+			for ( long position = from; window.moveTo(position); position = window.positionOf(window.length) ) {
+				for ( int i = window.indexOf(position); i < window.length; i++ ) {
+					if ( window.bytes[i] == '\n' ) {
+						return window.positionOf(i + 1);
+					}
+				}
+			}
+			return Long.MAX_VALUE;
+		}
+
+	}
+
+	private static final class ArrayChunk {
+
+		private final JsonValidator validator = getJsonValidator();
+		private final long start;
+
+		private long end;
+
+		private ArrayChunk(final long start) {
+			this.start = start;
+			end = start;
+		}
+
+		private static ArrayChunk validate(final IByteSource source, final long start, final long end) {
+			final ByteWindow window = new ByteWindow(source);
+			final long size;
+			try {
+				size = source.size();
+			} catch ( final IOException ex ) {
+				throw new UncheckedIOException(ex);
+			}
+			if ( start == 0 ) {
+				final ArrayChunk chunk = new ArrayChunk(0);
+				if ( !requireArray(window, size, chunk.validator) ) {
+					return chunk;
+				}
+				chunk.feed(window, end == size ? size : window.findElementBoundary(end, size));
+				return chunk;
+			}
+			final ArrayChunk chunk = new ArrayChunk(window.findElementBoundary(start, size));
+			chunk.validator.resetToArrayElement();
+			chunk.feed(window, end == size ? size : window.findElementBoundary(end, size));
+			return chunk;
+		}
+
+		private static boolean requireArray(final ByteWindow window, final long size, final JsonValidator validator) {
+			for ( long position = 0; position < size && window.moveTo(position); position++ ) {
+				final byte b = window.bytes[window.indexOf(position)];
+				if ( !isWhitespace(b) ) {
+					if ( b == '[' ) {
+						return true;
+					}
+					validator.reject(position);
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private void feed(final ByteWindow window, final long to) {
+			while ( end < to && window.moveTo(end) ) {
+				final int from = window.indexOf(end);
+				final int length = (int) Math.min(window.length - from, to - end);
+				end += length;
+				if ( !validator.feed(window.bytes, from, length) ) {
+					end = to;
+					return;
+				}
+			}
+		}
+
+	}
+
+}
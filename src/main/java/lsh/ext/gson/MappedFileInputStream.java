@@ -0,0 +1,118 @@
+package lsh.ext.gson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>
+ * Represents an input stream that reads a file through memory-mapped windows. Only one window is mapped at a time, and the next window is mapped once the
+ * current one is exhausted, so files of any size, including files larger than 2 GB, can be read with a flat heap profile.
+ * </p>
+ *
+ * <p>
+ * Note that the mapped windows are unmapped by the garbage collector only.
+ * </p>
+ *
+ * @author Lyubomyr Shaydariv
+ * @see JsonReaders#getMappedFileJsonReader(Path)
+ * @since 0-SNAPSHOT
+ */
+final class MappedFileInputStream
+		extends InputStream {
+
+	private final FileChannel channel;
+	private final long size;
+	private final int windowSize;
+
+	private long windowStart;
+	private MappedByteBuffer window;
+
+	private MappedFileInputStream(final FileChannel channel, final long size, final int windowSize) {
+		this.channel = channel;
+		this.size = size;
+		this.windowSize = windowSize;
+	}
+
+	static InputStream getMappedFileInputStream(final Path path, final int windowSize)
+			throws IllegalArgumentException, IOException {
+		if ( windowSize <= 0 ) {
+			throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+		}
+		final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			return new MappedFileInputStream(channel, channel.size(), windowSize);
+		} catch ( final RuntimeException ex ) {
+			channel.close();
+			throw ex;
+		}
+	}
+
+	@Override
+	public int read()
+			throws IOException {
+		if ( !ensureWindow() ) {
+			return -1;
+		}
+		return window.get() & 0xFF;
+	}
+
+	@Override
+	public int read(final byte[] bytes, final int offset, final int length)
+			throws IOException {
+		if ( length == 0 ) {
+			return 0;
+		}
+		if ( !ensureWindow() ) {
+			return -1;
+		}
+		final int read = Math.min(length, window.remaining());
+		window.get(bytes, offset, read);
+		return read;
+	}
+
+	@Override
+	public long skip(final long n)
+			throws IOException {
+		if ( n <= 0 ) {
+			return 0;
+		}
+		final long position = window != null ? windowStart + window.position() : windowStart;
+		final long skipped = Math.min(n, size - position);
+		// The next window is mapped lazily right from the new position
+		windowStart = position + skipped;
+		window = null;
+		return skipped;
+	}
+
+	@Override
+	public int available() {
+		return window != null ? window.remaining() : 0;
+	}
+
+	@Override
+	public void close()
+			throws IOException {
+		window = null;
+		channel.close();
+	}
+
+	private boolean ensureWindow()
+			throws IOException {
+		if ( window != null ) {
+			if ( window.hasRemaining() ) {
+				return true;
+			}
+			windowStart += window.capacity();
+		}
+		if ( windowStart >= size ) {
+			return false;
+		}
+		window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(windowSize, size - windowStart));
+		return true;
+	}
+
+}
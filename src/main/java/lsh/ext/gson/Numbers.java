@@ -4,16 +4,32 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import static java.lang.Double.parseDouble;
-import static java.lang.Long.parseLong;
 
 /**
- * Provides miscellaneous number utility methods.
+ * <p>Provides miscellaneous number utility methods.</p>
+ *
+ * <p>
+ * The {@code tryParse} methods classify and parse a number in a single pass without throwing exceptions and boxing for well-formed JSON numbers. Numbers
+ * that are not integral or do not fit {@code long} are parsed as {@code double} values exactly as {@link Double#parseDouble(String)} does. Other number
+ * notations accepted by {@link Double#parseDouble(String)} (like {@code NaN}, hexadecimal floating point literals or surrounding whitespaces) are still
+ * supported, but delegated to {@link Double#parseDouble(String)} directly.
+ * </p>
  *
  * @author Lyubomyr Shaydariv
  * @since 0-SNAPSHOT
  */
 public final class Numbers {
 
+	// Powers of ten that can be represented as double values exactly
+	private static final double[] exactPowersOfTen = {
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+			1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+			1e21, 1e22
+	};
+
+	// Any integer consisting of up to 15 digits can be represented as a double value exactly
+	private static final int maxExactDoubleDigits = 15;
+
 	private Numbers() {
 	}
 
@@ -25,33 +41,317 @@ public final class Numbers {
 	 * @return A {@link Long} value if the given {@code rawValue} can be parsed as a long value, or a {@link Double} value if the given {@code rawValue} can be
 	 * parsed as a double value, otherwise {@code null}.
 	 *
+	 * @see #tryParse(CharSequence, ParsedNumber)
 	 * @since 0-SNAPSHOT
 	 */
 	@Nullable
 	public static Number tryParseLongOrDouble(@Nonnull final String rawValue) {
-		final Long longValue = tryParseLong(rawValue);
-		if ( longValue == null ) {
-			return tryParseDouble(rawValue);
+		final ParsedNumber parsedNumber = new ParsedNumber();
+		return tryParse(rawValue, parsedNumber) ? parsedNumber.toNumber() : null;
+	}
+
+	/**
+	 * Tries to parse the given character sequence as a {@code long} value, or as a {@code double} value if it cannot be parsed as a {@code long} value.
+	 *
+	 * @param cs           A character sequence to parse
+	 * @param parsedNumber A holder to store the parsed value to. Can be reused across invocations.
+	 *
+	 * @return {@code true} if the given character sequence represents a number, otherwise {@code false}.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static boolean tryParse(@Nonnull final CharSequence cs, @Nonnull final ParsedNumber parsedNumber) {
+		return tryParse(cs, null, 0, cs.length(), parsedNumber);
+	}
+
+	/**
+	 * Tries to parse the given character sequence window as a {@code long} value, or as a {@code double} value if it cannot be parsed as a {@code long} value.
+	 *
+	 * @param cs           A character sequence to parse
+	 * @param start        Start index, inclusive
+	 * @param end          End index, exclusive
+	 * @param parsedNumber A holder to store the parsed value to. Can be reused across invocations.
+	 *
+	 * @return {@code true} if the given character sequence window represents a number, otherwise {@code false}.
+	 *
+	 * @throws IndexOutOfBoundsException If the given window is out of the character sequence bounds
+	 * @since 0-SNAPSHOT
+	 */
+	public static boolean tryParse(@Nonnull final CharSequence cs, final int start, final int end, @Nonnull final ParsedNumber parsedNumber)
+			throws IndexOutOfBoundsException {
+		if ( start < 0 || end > cs.length() || start > end ) {
+			throw new IndexOutOfBoundsException("start=" + start + ", end=" + end + ", length=" + cs.length());
 		}
-		return longValue;
+		return tryParse(cs, null, start, end, parsedNumber);
 	}
 
-	@Nullable
-	private static Long tryParseLong(final String s) {
-		try {
-			return parseLong(s);
-		} catch ( final NumberFormatException ignored ) {
-			return null;
+	/**
+	 * Tries to parse the given character array window as a {@code long} value, or as a {@code double} value if it cannot be parsed as a {@code long} value.
+	 *
+	 * @param chars        A character array to parse
+	 * @param offset       Window offset
+	 * @param length       Window length
+	 * @param parsedNumber A holder to store the parsed value to. Can be reused across invocations.
+	 *
+	 * @return {@code true} if the given character array window represents a number, otherwise {@code false}.
+	 *
+	 * @throws IndexOutOfBoundsException If the given window is out of the character array bounds
+	 * @since 0-SNAPSHOT
+	 */
+	public static boolean tryParse(@Nonnull final char[] chars, final int offset, final int length, @Nonnull final ParsedNumber parsedNumber)
+			throws IndexOutOfBoundsException {
+		if ( offset < 0 || length < 0 || offset + length > chars.length ) {
+			throw new IndexOutOfBoundsException("offset=" + offset + ", length=" + length + ", array length=" + chars.length);
 		}
+		return tryParse(null, chars, offset, offset + length, parsedNumber);
 	}
 
-	@Nullable
-	private static Double tryParseDouble(final String s) {
+	private static boolean tryParse(@Nullable final CharSequence cs, @Nullable final char[] chars, final int start, final int end,
+			final ParsedNumber parsedNumber) {
+		int i = start;
+		if ( i == end ) {
+			return parsedNumber.none();
+		}
+		final boolean isNegative;
+		char ch = charAt(cs, chars, i);
+		if ( ch == '-' || ch == '+' ) {
+			isNegative = ch == '-';
+			if ( ++i == end ) {
+				return parsedNumber.none();
+			}
+		} else {
+			isNegative = false;
+		}
+		// Integer part, accumulated negatively to cover Long.MIN_VALUE just like Long.parseLong does
+		long negativeLong = 0;
+		boolean isLongOverflow = false;
+		int integerDigits = 0;
+		for ( ; i < end; i++ ) {
+			ch = charAt(cs, chars, i);
+			if ( ch < '0' || ch > '9' ) {
+				break;
+			}
+			final int digit = ch - '0';
+			if ( negativeLong < Long.MIN_VALUE / 10 || negativeLong * 10 < Long.MIN_VALUE + digit ) {
+				isLongOverflow = true;
+			} else {
+				negativeLong = negativeLong * 10 - digit;
+			}
+			integerDigits++;
+		}
+		if ( i == end && integerDigits != 0 ) {
+			if ( !isLongOverflow ) {
+				if ( isNegative ) {
+					return parsedNumber.ofLong(negativeLong);
+				}
+				if ( negativeLong != Long.MIN_VALUE ) {
+					return parsedNumber.ofLong(-negativeLong);
+				}
+			}
+			// Too large for long, but still a valid double
+			return parseDoubleSlow(cs, chars, start, end, parsedNumber);
+		}
+		// Fractional and exponent parts, the significant digits are accumulated separately to check whether the fast path is applicable
+		i = start + (isNegative || charAt(cs, chars, start) == '+' ? 1 : 0);
+		long significand = 0;
+		int significantDigits = 0;
+		int exponent = 0;
+		int mantissaDigits = 0;
+		boolean hasDot = false;
+		for ( ; i < end; i++ ) {
+			ch = charAt(cs, chars, i);
+			if ( ch >= '0' && ch <= '9' ) {
+				mantissaDigits++;
+				if ( significantDigits == 0 && ch == '0' ) {
+					if ( hasDot ) {
+						exponent--;
+					}
+					continue;
+				}
+				if ( significantDigits < maxExactDoubleDigits + 1 ) {
+					significand = significand * 10 + (ch - '0');
+					if ( hasDot ) {
+						exponent--;
+					}
+				} else if ( !hasDot ) {
+					exponent++;
+				}
+				significantDigits++;
+			} else if ( ch == '.' && !hasDot ) {
+				hasDot = true;
+			} else {
+				break;
+			}
+		}
+		if ( mantissaDigits == 0 ) {
+			return parseDoubleSlow(cs, chars, start, end, parsedNumber);
+		}
+		if ( i < end ) {
+			ch = charAt(cs, chars, i);
+			if ( ch != 'e' && ch != 'E' || ++i == end ) {
+				return parseDoubleSlow(cs, chars, start, end, parsedNumber);
+			}
+			ch = charAt(cs, chars, i);
+			final boolean isNegativeExponent = ch == '-';
+			if ( ch == '-' || ch == '+' ) {
+				if ( ++i == end ) {
+					return parseDoubleSlow(cs, chars, start, end, parsedNumber);
+				}
+			}
+			int explicitExponent = 0;
+			final int exponentStart = i;
+			for ( ; i < end; i++ ) {
+				ch = charAt(cs, chars, i);
+				if ( ch < '0' || ch > '9' ) {
+					return parseDoubleSlow(cs, chars, start, end, parsedNumber);
+				}
+				if ( explicitExponent < 100_000 ) {
+					explicitExponent = explicitExponent * 10 + (ch - '0');
+				}
+			}
+			if ( i == exponentStart ) {
+				return parseDoubleSlow(cs, chars, start, end, parsedNumber);
+			}
+			exponent += isNegativeExponent ? -explicitExponent : explicitExponent;
+		}
+		if ( significand == 0 ) {
+			return parsedNumber.ofDouble(isNegative ? -0.0 : 0.0);
+		}
+		// Clinger's fast path: both the significand and the power of ten are exact, so a single IEEE 754 operation is rounded correctly
+		if ( significantDigits <= maxExactDoubleDigits && exponent >= -22 && exponent <= 22 ) {
+			final double value = exponent >= 0
+					? significand * exactPowersOfTen[exponent]
+					: significand / exactPowersOfTen[-exponent];
+			return parsedNumber.ofDouble(isNegative ? -value : value);
+		}
+		return parseDoubleSlow(cs, chars, start, end, parsedNumber);
+	}
+
+	private static boolean parseDoubleSlow(@Nullable final CharSequence cs, @Nullable final char[] chars, final int start, final int end,
+			final ParsedNumber parsedNumber) {
+		final String s = cs != null ? cs.subSequence(start, end).toString() : new String(chars, start, end - start);
 		try {
-			return parseDouble(s);
+			return parsedNumber.ofDouble(parseDouble(s));
 		} catch ( final NumberFormatException ignored ) {
-			return null;
+			return parsedNumber.none();
 		}
 	}
 
+	private static char charAt(@Nullable final CharSequence cs, @Nullable final char[] chars, final int index) {
+		return chars != null ? chars[index] : cs.charAt(index);
+	}
+
+	/**
+	 * Represents a reusable holder of a parsed number.
+	 *
+	 * @see #tryParse(CharSequence, ParsedNumber)
+	 * @see #tryParse(CharSequence, int, int, ParsedNumber)
+	 * @see #tryParse(char[], int, int, ParsedNumber)
+	 * @since 0-SNAPSHOT
+	 */
+	public static final class ParsedNumber {
+
+		private NumberType numberType = NumberType.NONE;
+		private long longValue;
+		private double doubleValue;
+
+		/**
+		 * @return The type of the last parsed number.
+		 *
+		 * @since 0-SNAPSHOT
+		 */
+		public NumberType getNumberType() {
+			return numberType;
+		}
+
+		/**
+		 * @return The last parsed {@code long} value.
+		 *
+		 * @throws IllegalStateException If the last parsed number is not a {@code long} value
+		 * @since 0-SNAPSHOT
+		 */
+		public long getLongValue()
+				throws IllegalStateException {
+			if ( numberType != NumberType.LONG ) {
+				throw new IllegalStateException("Not a long: " + numberType);
+			}
+			return longValue;
+		}
+
+		/**
+		 * @return The last parsed {@code double} value.
+		 *
+		 * @throws IllegalStateException If the last parsed number is not a {@code double} value
+		 * @since 0-SNAPSHOT
+		 */
+		public double getDoubleValue()
+				throws IllegalStateException {
+			if ( numberType != NumberType.DOUBLE ) {
+				throw new IllegalStateException("Not a double: " + numberType);
+			}
+			return doubleValue;
+		}
+
+		/**
+		 * @return A boxed {@link Long} or {@link Double} value, otherwise {@code null} if the last parsed value is not a number.
+		 *
+		 * @since 0-SNAPSHOT
+		 */
+		@Nullable
+		public Number toNumber() {
+			switch ( numberType ) {
+			case NONE:
+				return null;
+			case LONG:
+				return longValue;
+			case DOUBLE:
+				return doubleValue;
+			default:
+				throw new AssertionError(numberType);
+			}
+		}
+
+		private boolean none() {
+			numberType = NumberType.NONE;
+			return false;
+		}
+
+		private boolean ofLong(final long longValue) {
+			numberType = NumberType.LONG;
+			this.longValue = longValue;
+			return true;
+		}
+
+		private boolean ofDouble(final double doubleValue) {
+			numberType = NumberType.DOUBLE;
+			this.doubleValue = doubleValue;
+			return true;
+		}
+
+	}
+
+	/**
+	 * Represents a parsed number type.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public enum NumberType {
+
+		/**
+		 * Not a number.
+		 */
+		NONE,
+
+		/**
+		 * A {@code long} value.
+		 */
+		LONG,
+
+		/**
+		 * A {@code double} value.
+		 */
+		DOUBLE
+
+	}
+
 }
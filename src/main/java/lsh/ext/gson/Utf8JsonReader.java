@@ -0,0 +1,994 @@
+package lsh.ext.gson;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+/**
+ * <p>
+ * Represents a JSON reader that tokenizes UTF-8 encoded bytes directly instead of reading characters from a {@link Reader}. Only string contents are decoded,
+ * and only when they are consumed with {@link #nextString()}, {@link #nextName()} or the number methods. Skipped strings are never decoded.
+ * </p>
+ *
+ * <p>
+ * The reader accepts what a strict {@link JsonReader} accepts, including case-insensitive {@code true}, {@code false} and {@code null} literals, the
+ * {@code \'} escape sequence, unescaped control characters in strings and a leading byte order mark, whereas the lenient mode only allows multiple
+ * top-level values and non-finite double values. Like {@link JsonReader}, malformed UTF-8 sequences are replaced with the replacement character.
+ * </p>
+ *
+ * <p>
+ * Gson map type adapters promote object property names to values through the {@link JsonReader} internal state, so the reader keeps that state in sync
+ * when it peeks a property name, unless {@link JsonReaderNamePromotions} cannot access the state.
+ * </p>
+ *
+ * @author Lyubomyr Shaydariv
+ * @see JsonReaders#getUtf8JsonReader(byte[])
+ * @see JsonReaders#getUtf8JsonReader(ByteBuffer)
+ * @see JsonReaders#getUtf8JsonReader(InputStream)
+ * @since 0-SNAPSHOT
+ */
+final class Utf8JsonReader
+		extends JsonReader {
+
+	private static final int bufferSize = 8192;
+
+	private static final Reader emptyReader = new Reader() {
+		@Override
+		public int read(final char[] buffer, final int offset, final int length) {
+			return -1;
+		}
+
+		@Override
+		public void close() {
+		}
+	};
+
+	private static final int PEEKED_NONE = 0;
+	private static final int PEEKED_BEGIN_OBJECT = 1;
+	private static final int PEEKED_END_OBJECT = 2;
+	private static final int PEEKED_BEGIN_ARRAY = 3;
+	private static final int PEEKED_END_ARRAY = 4;
+	private static final int PEEKED_TRUE = 5;
+	private static final int PEEKED_FALSE = 6;
+	private static final int PEEKED_NULL = 7;
+	private static final int PEEKED_DOUBLE_QUOTED = 8;
+	private static final int PEEKED_DOUBLE_QUOTED_NAME = 9;
+	private static final int PEEKED_BUFFERED = 10;
+	private static final int PEEKED_LONG = 11;
+	private static final int PEEKED_NUMBER = 12;
+	private static final int PEEKED_EOF = 13;
+
+	private static final int EMPTY_ARRAY = 1;
+	private static final int NONEMPTY_ARRAY = 2;
+	private static final int EMPTY_OBJECT = 3;
+	private static final int DANGLING_NAME = 4;
+	private static final int NONEMPTY_OBJECT = 5;
+	private static final int EMPTY_DOCUMENT = 6;
+	private static final int NONEMPTY_DOCUMENT = 7;
+	private static final int CLOSED = 8;
+
+	private static final int NUMBER_CHAR_NONE = 0;
+	private static final int NUMBER_CHAR_SIGN = 1;
+	private static final int NUMBER_CHAR_DIGIT = 2;
+	private static final int NUMBER_CHAR_DECIMAL = 3;
+	private static final int NUMBER_CHAR_FRACTION_DIGIT = 4;
+	private static final int NUMBER_CHAR_EXP_E = 5;
+	private static final int NUMBER_CHAR_EXP_SIGN = 6;
+	private static final int NUMBER_CHAR_EXP_DIGIT = 7;
+
+	private static final long MIN_INCOMPLETE_INTEGER = Long.MIN_VALUE / 10;
+
+	private static final byte[] trueKeyword = { 't', 'r', 'u', 'e' };
+	private static final byte[] trueUpperKeyword = { 'T', 'R', 'U', 'E' };
+	private static final byte[] falseKeyword = { 'f', 'a', 'l', 's', 'e' };
+	private static final byte[] falseUpperKeyword = { 'F', 'A', 'L', 'S', 'E' };
+	private static final byte[] nullKeyword = { 'n', 'u', 'l', 'l' };
+	private static final byte[] nullUpperKeyword = { 'N', 'U', 'L', 'L' };
+
+
+	// null for byte arrays
+	private final InputStream inputStream;
+	// null for byte arrays and input streams
+	private final ByteBuffer byteBuffer;
+
+	private byte[] buffer;
+	private int pos;
+	private int limit;
+
+	private int lineNumber;
+	private int lineStart;
+
+	private int peeked = PEEKED_NONE;
+	private long peekedLong;
+	private int peekedNumberLength;
+	private String peekedString;
+	private boolean peekedStringHasEscapes;
+	private char[] numberChars = new char[32];
+
+	private int[] stack = new int[32];
+	private int stackSize;
+	private String[] pathNames = new String[32];
+	private int[] pathIndices = new int[32];
+
+	private Utf8JsonReader(final byte[] buffer, final int pos, final int limit, final InputStream inputStream, final ByteBuffer byteBuffer) {
+		super(emptyReader);
+		this.buffer = buffer;
+		this.pos = pos;
+		this.limit = limit;
+		lineStart = pos;
+		this.inputStream = inputStream;
+		this.byteBuffer = byteBuffer;
+		stack[stackSize++] = EMPTY_DOCUMENT;
+	}
+
+	static JsonReader getUtf8JsonReader(final byte[] bytes) {
+		return new Utf8JsonReader(bytes, 0, bytes.length, null, null);
+	}
+
+	static JsonReader getUtf8JsonReader(final ByteBuffer byteBuffer) {
+		if ( byteBuffer.hasArray() ) {
+			final int offset = byteBuffer.arrayOffset();
+			return new Utf8JsonReader(byteBuffer.array(), offset + byteBuffer.position(), offset + byteBuffer.limit(), null, null);
+		}
+		return new Utf8JsonReader(new byte[bufferSize], 0, 0, null, byteBuffer.duplicate());
+	}
+
+	static JsonReader getUtf8JsonReader(final InputStream inputStream) {
+		return new Utf8JsonReader(new byte[bufferSize], 0, 0, inputStream, null);
+	}
+
+	@Override
+	public void beginArray()
+			throws IOException {
+		if ( peekInternal() != PEEKED_BEGIN_ARRAY ) {
+			throw unexpected("BEGIN_ARRAY");
+		}
+		push(EMPTY_ARRAY);
+		pathIndices[stackSize - 1] = 0;
+		peeked = PEEKED_NONE;
+	}
+
+	@Override
+	public void endArray()
+			throws IOException {
+		if ( peekInternal() != PEEKED_END_ARRAY ) {
+			throw unexpected("END_ARRAY");
+		}
+		stackSize--;
+		pathIndices[stackSize - 1]++;
+		peeked = PEEKED_NONE;
+	}
+
+	@Override
+	public void beginObject()
+			throws IOException {
+		if ( peekInternal() != PEEKED_BEGIN_OBJECT ) {
+			throw unexpected("BEGIN_OBJECT");
+		}
+		push(EMPTY_OBJECT);
+		peeked = PEEKED_NONE;
+	}
+
+	@Override
+	public void endObject()
+			throws IOException {
+		if ( peekInternal() != PEEKED_END_OBJECT ) {
+			throw unexpected("END_OBJECT");
+		}
+		stackSize--;
+		pathNames[stackSize] = null;
+		pathIndices[stackSize - 1]++;
+		peeked = PEEKED_NONE;
+	}
+
+	@Override
+	public boolean hasNext()
+			throws IOException {
+		final int p = peekInternal();
+		return p != PEEKED_END_OBJECT && p != PEEKED_END_ARRAY && p != PEEKED_EOF;
+	}
+
+	@Override
+	public JsonToken peek()
+			throws IOException {
+		final int p = peekInternal();
+		switch ( p ) {
+		case PEEKED_BEGIN_OBJECT:
+			return JsonToken.BEGIN_OBJECT;
+		case PEEKED_END_OBJECT:
+			return JsonToken.END_OBJECT;
+		case PEEKED_BEGIN_ARRAY:
+			return JsonToken.BEGIN_ARRAY;
+		case PEEKED_END_ARRAY:
+			return JsonToken.END_ARRAY;
+		case PEEKED_DOUBLE_QUOTED_NAME:
+			return JsonToken.NAME;
+		case PEEKED_TRUE:
+		case PEEKED_FALSE:
+			return JsonToken.BOOLEAN;
+		case PEEKED_NULL:
+			return JsonToken.NULL;
+		case PEEKED_DOUBLE_QUOTED:
+		case PEEKED_BUFFERED:
+			return JsonToken.STRING;
+		case PEEKED_LONG:
+		case PEEKED_NUMBER:
+			return JsonToken.NUMBER;
+		case PEEKED_EOF:
+			return JsonToken.END_DOCUMENT;
+		default:
+			throw new AssertionError(p);
+		}
+	}
+
+	@Override
+	public String nextName()
+			throws IOException {
+		if ( peekInternal() != PEEKED_DOUBLE_QUOTED_NAME ) {
+			throw unexpected("a name");
+		}
+		final String result = nextQuotedValue();
+		pathNames[stackSize - 1] = result;
+		peeked = PEEKED_NONE;
+		return result;
+	}
+
+	@Override
+	public String nextString()
+			throws IOException {
+		final String result;
+		switch ( peekInternal() ) {
+		case PEEKED_DOUBLE_QUOTED:
+			result = nextQuotedValue();
+			break;
+		case PEEKED_BUFFERED:
+			result = peekedString;
+			peekedString = null;
+			break;
+		case PEEKED_LONG:
+			result = Long.toString(peekedLong);
+			break;
+		case PEEKED_NUMBER:
+			result = toNumberString();
+			pos += peekedNumberLength;
+			break;
+		default:
+			throw unexpected("a string");
+		}
+		peeked = PEEKED_NONE;
+		pathIndices[stackSize - 1]++;
+		return result;
+	}
+
+	@Override
+	public boolean nextBoolean()
+			throws IOException {
+		final int p = peekInternal();
+		if ( p != PEEKED_TRUE && p != PEEKED_FALSE ) {
+			throw unexpected("a boolean");
+		}
+		peeked = PEEKED_NONE;
+		pathIndices[stackSize - 1]++;
+		return p == PEEKED_TRUE;
+	}
+
+	@Override
+	public void nextNull()
+			throws IOException {
+		if ( peekInternal() != PEEKED_NULL ) {
+			throw unexpected("null");
+		}
+		peeked = PEEKED_NONE;
+		pathIndices[stackSize - 1]++;
+	}
+
+	@Override
+	public double nextDouble()
+			throws IOException {
+		final int p = peekInternal();
+		if ( p == PEEKED_LONG ) {
+			peeked = PEEKED_NONE;
+			pathIndices[stackSize - 1]++;
+			return peekedLong;
+		}
+		bufferNumberString(p, "a double");
+		final double result = Double.parseDouble(peekedString);
+		if ( !isLenient() && (Double.isNaN(result) || Double.isInfinite(result)) ) {
+			throw new MalformedJsonException("JSON forbids NaN and infinities: " + result + locationString());
+		}
+		peekedString = null;
+		peeked = PEEKED_NONE;
+		pathIndices[stackSize - 1]++;
+		return result;
+	}
+
+	@Override
+	public long nextLong()
+			throws IOException {
+		final int p = peekInternal();
+		if ( p == PEEKED_LONG ) {
+			peeked = PEEKED_NONE;
+			pathIndices[stackSize - 1]++;
+			return peekedLong;
+		}
+		final long result = parseLong(p, "a long");
+		peekedString = null;
+		peeked = PEEKED_NONE;
+		pathIndices[stackSize - 1]++;
+		return result;
+	}
+
+	@Override
+	public int nextInt()
+			throws IOException {
+		final int p = peekInternal();
+		final long result;
+		if ( p == PEEKED_LONG ) {
+			result = peekedLong;
+			if ( (int) result != result ) {
+				throw new NumberFormatException("Expected an int but was " + peekedLong + locationString());
+			}
+		} else {
+			result = parseLong(p, "an int");
+			if ( (int) result != result ) {
+				throw new NumberFormatException("Expected an int but was " + peekedString + locationString());
+			}
+			peekedString = null;
+		}
+		peeked = PEEKED_NONE;
+		pathIndices[stackSize - 1]++;
+		return (int) result;
+	}
+
+	@Override
+	public void skipValue()
+			throws IOException {
+		int count = 0;
+		do {
+			final int p = peekInternal();
+			switch ( p ) {
+			case PEEKED_BEGIN_ARRAY:
+				push(EMPTY_ARRAY);
+				count++;
+				break;
+			case PEEKED_BEGIN_OBJECT:
+				push(EMPTY_OBJECT);
+				count++;
+				break;
+			case PEEKED_END_ARRAY:
+			case PEEKED_END_OBJECT:
+				stackSize--;
+				count--;
+				break;
+			case PEEKED_DOUBLE_QUOTED:
+			case PEEKED_DOUBLE_QUOTED_NAME:
+				skipQuotedValue();
+				break;
+			case PEEKED_NUMBER:
+				pos += peekedNumberLength;
+				break;
+			case PEEKED_BUFFERED:
+				peekedString = null;
+				break;
+			case PEEKED_TRUE:
+			case PEEKED_FALSE:
+			case PEEKED_NULL:
+			case PEEKED_LONG:
+			case PEEKED_EOF:
+				break;
+			default:
+				throw new AssertionError(p);
+			}
+			peeked = PEEKED_NONE;
+		} while ( count > 0 );
+		pathIndices[stackSize - 1]++;
+		pathNames[stackSize - 1] = "null";
+	}
+
+	@Override
+	public void close()
+			throws IOException {
+		peeked = PEEKED_NONE;
+		stack[0] = CLOSED;
+		stackSize = 1;
+		if ( inputStream != null ) {
+			inputStream.close();
+		}
+	}
+
+	@Override
+	public String getPath() {
+		final StringBuilder result = new StringBuilder().append('$');
+		for ( int i = 0; i < stackSize; i++ ) {
+			switch ( stack[i] ) {
+			case EMPTY_ARRAY:
+			case NONEMPTY_ARRAY:
+				result.append('[').append(pathIndices[i]).append(']');
+				break;
+			case EMPTY_OBJECT:
+			case DANGLING_NAME:
+			case NONEMPTY_OBJECT:
+				result.append('.');
+				if ( pathNames[i] != null ) {
+					result.append(pathNames[i]);
+				}
+				break;
+			case EMPTY_DOCUMENT:
+			case NONEMPTY_DOCUMENT:
+			case CLOSED:
+				break;
+			default:
+				throw new AssertionError(stack[i]);
+			}
+		}
+		return result.toString();
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + locationString();
+	}
+
+	private int peekInternal()
+			throws IOException {
+		int p = peeked;
+		if ( p == PEEKED_NONE ) {
+			p = doPeek();
+		}
+		if ( p == PEEKED_DOUBLE_QUOTED_NAME && JsonReaderNamePromotions.isNamePromoted(this) ) {
+			// A Gson map type adapter reads the name as a value
+			p = PEEKED_DOUBLE_QUOTED;
+			peeked = p;
+		}
+		return p;
+	}
+
+	private int doPeek()
+			throws IOException {
+		final int peekStack = stack[stackSize - 1];
+		switch ( peekStack ) {
+		case EMPTY_ARRAY:
+			stack[stackSize - 1] = NONEMPTY_ARRAY;
+			break;
+		case NONEMPTY_ARRAY: {
+			final int c = nextNonWhitespace(true);
+			if ( c == ']' ) {
+				return peeked = PEEKED_END_ARRAY;
+			}
+			if ( c != ',' ) {
+				throw syntaxError("Unterminated array");
+			}
+			break;
+		}
+		case EMPTY_OBJECT:
+		case NONEMPTY_OBJECT: {
+			stack[stackSize - 1] = DANGLING_NAME;
+			if ( peekStack == NONEMPTY_OBJECT ) {
+				final int c = nextNonWhitespace(true);
+				if ( c == '}' ) {
+					return peeked = PEEKED_END_OBJECT;
+				}
+				if ( c != ',' ) {
+					throw syntaxError("Unterminated object");
+				}
+			}
+			final int c = nextNonWhitespace(true);
+			if ( c == '"' ) {
+				JsonReaderNamePromotions.setNameNotPromoted(this);
+				return peeked = PEEKED_DOUBLE_QUOTED_NAME;
+			}
+			if ( c == '}' && peekStack == EMPTY_OBJECT ) {
+				return peeked = PEEKED_END_OBJECT;
+			}
+			throw syntaxError("Expected name");
+		}
+		case DANGLING_NAME:
+			stack[stackSize - 1] = NONEMPTY_OBJECT;
+			if ( nextNonWhitespace(true) != ':' ) {
+				throw syntaxError("Expected ':'");
+			}
+			break;
+		case EMPTY_DOCUMENT:
+			stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+			skipByteOrderMark();
+			break;
+		case NONEMPTY_DOCUMENT:
+			if ( nextNonWhitespace(false) == -1 ) {
+				return peeked = PEEKED_EOF;
+			}
+			if ( !isLenient() ) {
+				throw syntaxError("Use JsonReader.setLenient(true) to accept multiple top-level values");
+			}
+			pos--;
+			break;
+		case CLOSED:
+			throw new IllegalStateException("JsonReader is closed");
+		default:
+			throw new AssertionError(peekStack);
+		}
+		final int c = nextNonWhitespace(true);
+		switch ( c ) {
+		case ']':
+			if ( peekStack == EMPTY_ARRAY ) {
+				return peeked = PEEKED_END_ARRAY;
+			}
+			throw syntaxError("Expected value");
+		case '"':
+			return peeked = PEEKED_DOUBLE_QUOTED;
+		case '[':
+			return peeked = PEEKED_BEGIN_ARRAY;
+		case '{':
+			return peeked = PEEKED_BEGIN_OBJECT;
+		default:
+			pos--;
+			break;
+		}
+		int result = peekKeyword();
+		if ( result != PEEKED_NONE ) {
+			return result;
+		}
+		result = peekNumber();
+		if ( result != PEEKED_NONE ) {
+			return result;
+		}
+		throw syntaxError("Expected value");
+	}
+
+	private int peekKeyword()
+			throws IOException {
+		final byte[] keyword;
+		final byte[] upperKeyword;
+		final int peeking;
+		switch ( buffer[pos] ) {
+		case 't':
+		case 'T':
+			keyword = trueKeyword;
+			upperKeyword = trueUpperKeyword;
+			peeking = PEEKED_TRUE;
+			break;
+		case 'f':
+		case 'F':
+			keyword = falseKeyword;
+			upperKeyword = falseUpperKeyword;
+			peeking = PEEKED_FALSE;
+			break;
+		case 'n':
+		case 'N':
+			keyword = nullKeyword;
+			upperKeyword = nullUpperKeyword;
+			peeking = PEEKED_NULL;
+			break;
+		default:
+			return PEEKED_NONE;
+		}
+		final int length = keyword.length;
+		for ( int i = 1; i < length; i++ ) {
+			if ( pos + i >= limit && !fillBuffer(i + 1) ) {
+				return PEEKED_NONE;
+			}
+			final byte c = buffer[pos + i];
+			if ( c != keyword[i] && c != upperKeyword[i] ) {
+				return PEEKED_NONE;
+			}
+		}
+		if ( (pos + length < limit || fillBuffer(length + 1)) && isLiteral(buffer[pos + length]) ) {
+			return PEEKED_NONE;
+		}
+		pos += length;
+		return peeked = peeking;
+	}
+
+	private int peekNumber()
+			throws IOException {
+		int p = pos;
+		int l = limit;
+		long value = 0;
+		boolean negative = false;
+		boolean fitsInLong = true;
+		int last = NUMBER_CHAR_NONE;
+		int i = 0;
+		charactersOfNumber:
+		for ( ; true; i++ ) {
+			if ( p + i == l ) {
+				if ( !fillBuffer(i + 1) ) {
+					break;
+				}
+				p = pos;
+				l = limit;
+			}
+			final byte c = buffer[p + i];
+			switch ( c ) {
+			case '-':
+				if ( last == NUMBER_CHAR_NONE ) {
+					negative = true;
+					last = NUMBER_CHAR_SIGN;
+					continue;
+				}
+				if ( last == NUMBER_CHAR_EXP_E ) {
+					last = NUMBER_CHAR_EXP_SIGN;
+					continue;
+				}
+				return PEEKED_NONE;
+			case '+':
+				if ( last == NUMBER_CHAR_EXP_E ) {
+					last = NUMBER_CHAR_EXP_SIGN;
+					continue;
+				}
+				return PEEKED_NONE;
+			case 'e':
+			case 'E':
+				if ( last == NUMBER_CHAR_DIGIT || last == NUMBER_CHAR_FRACTION_DIGIT ) {
+					last = NUMBER_CHAR_EXP_E;
+					continue;
+				}
+				return PEEKED_NONE;
+			case '.':
+				if ( last == NUMBER_CHAR_DIGIT ) {
+					last = NUMBER_CHAR_DECIMAL;
+					continue;
+				}
+				return PEEKED_NONE;
+			default:
+				if ( c < '0' || c > '9' ) {
+					if ( !isLiteral(c) ) {
+						break charactersOfNumber;
+					}
+					return PEEKED_NONE;
+				}
+				if ( last == NUMBER_CHAR_SIGN || last == NUMBER_CHAR_NONE ) {
+					value = -(c - '0');
+					last = NUMBER_CHAR_DIGIT;
+				} else if ( last == NUMBER_CHAR_DIGIT ) {
+					if ( value == 0 ) {
+						// Leading zeros are not allowed
+						return PEEKED_NONE;
+					}
+					final long newValue = value * 10 - (c - '0');
+					fitsInLong &= value > MIN_INCOMPLETE_INTEGER || value == MIN_INCOMPLETE_INTEGER && newValue < value;
+					value = newValue;
+				} else if ( last == NUMBER_CHAR_DECIMAL ) {
+					last = NUMBER_CHAR_FRACTION_DIGIT;
+				} else if ( last == NUMBER_CHAR_EXP_E || last == NUMBER_CHAR_EXP_SIGN ) {
+					last = NUMBER_CHAR_EXP_DIGIT;
+				}
+				break;
+			}
+		}
+		if ( last == NUMBER_CHAR_DIGIT && fitsInLong && (value != Long.MIN_VALUE || negative) ) {
+			peekedLong = negative ? value : -value;
+			pos += i;
+			return peeked = PEEKED_LONG;
+		}
+		if ( last == NUMBER_CHAR_DIGIT || last == NUMBER_CHAR_FRACTION_DIGIT || last == NUMBER_CHAR_EXP_DIGIT ) {
+			peekedNumberLength = i;
+			return peeked = PEEKED_NUMBER;
+		}
+		return PEEKED_NONE;
+	}
+
+	private void bufferNumberString(final int p, final String expected)
+			throws IOException {
+		switch ( p ) {
+		case PEEKED_NUMBER:
+			peekedString = toNumberString();
+			pos += peekedNumberLength;
+			break;
+		case PEEKED_DOUBLE_QUOTED:
+			peekedString = nextQuotedValue();
+			break;
+		case PEEKED_BUFFERED:
+			break;
+		default:
+			throw unexpected(expected);
+		}
+		// The string is kept buffered if it cannot be parsed, so it can still be read with nextString()
+		peeked = PEEKED_BUFFERED;
+	}
+
+	private String toNumberString() {
+		// Number literals are ASCII, so the bytes are widened instead of decoded
+		final int length = peekedNumberLength;
+		if ( length > numberChars.length ) {
+			numberChars = new char[Math.max(length, numberChars.length * 2)];
+		}
+		final char[] chars = numberChars;
+		final byte[] buffer = this.buffer;
+		final int start = pos;
+		for ( int i = 0; i < length; i++ ) {
+			chars[i] = (char) buffer[start + i];
+		}
+		return new String(chars, 0, length);
+	}
+
+	private long parseLong(final int p, final String expected)
+			throws IOException {
+		bufferNumberString(p, expected);
+		if ( p != PEEKED_NUMBER ) {
+			try {
+				return Long.parseLong(peekedString);
+			} catch ( final NumberFormatException ignored ) {
+				// Fall back to parsing a double
+			}
+		}
+		final double asDouble = Double.parseDouble(peekedString);
+		final long result = (long) asDouble;
+		if ( result != asDouble ) {
+			throw new NumberFormatException("Expected " + expected + " but was " + peekedString + locationString());
+		}
+		return result;
+	}
+
+	private String nextQuotedValue()
+			throws IOException {
+		// The opening quote is already consumed, and the whole string is buffered before decoding
+		final int end = findClosingQuote();
+		final int start = pos;
+		pos = end + 1;
+		if ( !peekedStringHasEscapes ) {
+			return new String(buffer, start, end - start, StandardCharsets.UTF_8);
+		}
+		final StringBuilder builder = new StringBuilder(end - start);
+		int segmentStart = start;
+		int i = start;
+		while ( i < end ) {
+			if ( buffer[i] != '\\' ) {
+				i++;
+				continue;
+			}
+			if ( i > segmentStart ) {
+				builder.append(new String(buffer, segmentStart, i - segmentStart, StandardCharsets.UTF_8));
+			}
+			i = readEscapeCharacter(i + 1, end, builder);
+			segmentStart = i;
+		}
+		if ( end > segmentStart ) {
+			builder.append(new String(buffer, segmentStart, end - segmentStart, StandardCharsets.UTF_8));
+		}
+		return builder.toString();
+	}
+
+	private int findClosingQuote()
+			throws IOException {
+		peekedStringHasEscapes = false;
+		int i = pos;
+		while ( true ) {
+			final byte[] buffer = this.buffer;
+			final int l = limit;
+			while ( i < l ) {
+				final byte c = buffer[i];
+				if ( c == '"' ) {
+					return i;
+				}
+				if ( c == '\\' ) {
+					peekedStringHasEscapes = true;
+					if ( i + 1 == l ) {
+						break;
+					}
+					i += 2;
+					continue;
+				}
+				i++;
+			}
+			// A pending escape character requires one more byte
+			final int scanned = i - pos;
+			if ( !fillBuffer(i < l ? scanned + 2 : scanned + 1) ) {
+				throw syntaxError("Unterminated string");
+			}
+			i = pos + scanned;
+		}
+	}
+
+	private int readEscapeCharacter(final int index, final int end, final StringBuilder builder)
+			throws IOException {
+		final byte escaped = buffer[index];
+		switch ( escaped ) {
+		case 'u':
+			if ( index + 4 >= end ) {
+				throw syntaxError("Unterminated escape sequence");
+			}
+			char result = 0;
+			for ( int i = index + 1; i < index + 5; i++ ) {
+				final int c = buffer[i];
+				result <<= 4;
+				if ( c >= '0' && c <= '9' ) {
+					result += c - '0';
+				} else if ( c >= 'a' && c <= 'f' ) {
+					result += c - 'a' + 10;
+				} else if ( c >= 'A' && c <= 'F' ) {
+					result += c - 'A' + 10;
+				} else {
+					throw syntaxError("Malformed Unicode escape sequence");
+				}
+			}
+			builder.append(result);
+			return index + 5;
+		case 't':
+			builder.append('\t');
+			break;
+		case 'b':
+			builder.append('\b');
+			break;
+		case 'n':
+			builder.append('\n');
+			break;
+		case 'r':
+			builder.append('\r');
+			break;
+		case 'f':
+			builder.append('\f');
+			break;
+		case '\'':
+		case '"':
+		case '\\':
+		case '/':
+			builder.append((char) escaped);
+			break;
+		default:
+			throw syntaxError("Invalid escape sequence");
+		}
+		return index + 1;
+	}
+
+	private void skipQuotedValue()
+			throws IOException {
+		int i = pos;
+		while ( true ) {
+			final byte[] buffer = this.buffer;
+			final int l = limit;
+			while ( i < l ) {
+				final byte c = buffer[i];
+				if ( c == '"' ) {
+					pos = i + 1;
+					return;
+				}
+				if ( c == '\\' ) {
+					if ( i + 1 == l ) {
+						break;
+					}
+					i += 2;
+					continue;
+				}
+				i++;
+			}
+			// Nothing but a pending escape character is kept, so skipping long strings does not grow the buffer
+			pos = i;
+			if ( !fillBuffer(i < l ? 2 : 1) ) {
+				throw syntaxError("Unterminated string");
+			}
+			i = pos;
+		}
+	}
+
+	private void skipByteOrderMark()
+			throws IOException {
+		// Like JsonReader, a byte order mark is skipped at the very beginning only, and it is not counted in the column number
+		if ( (limit - pos >= 3 || fillBuffer(3)) && buffer[pos] == (byte) 0xEF && buffer[pos + 1] == (byte) 0xBB && buffer[pos + 2] == (byte) 0xBF ) {
+			pos += 3;
+			lineStart += 3;
+		}
+	}
+
+	private int nextNonWhitespace(final boolean throwOnEof)
+			throws IOException {
+		int p = pos;
+		int l = limit;
+		while ( true ) {
+			if ( p == l ) {
+				pos = p;
+				if ( !fillBuffer(1) ) {
+					break;
+				}
+				p = pos;
+				l = limit;
+			}
+			final int c = buffer[p++] & 0xFF;
+			if ( c == '\n' ) {
+				lineNumber++;
+				lineStart = p;
+				continue;
+			}
+			if ( c == ' ' || c == '\r' || c == '\t' ) {
+				continue;
+			}
+			pos = p;
+			return c;
+		}
+		if ( throwOnEof ) {
+			throw new EOFException("End of input" + locationString());
+		}
+		return -1;
+	}
+
+	private boolean fillBuffer(final int minimum)
+			throws IOException {
+		// Keeps the bytes from the current position and reads more bytes until at least the given number of bytes is available
+		if ( inputStream == null && byteBuffer == null ) {
+			return false;
+		}
+		if ( pos != 0 ) {
+			lineStart -= pos;
+			limit -= pos;
+			System.arraycopy(buffer, pos, buffer, 0, limit);
+			pos = 0;
+		}
+		if ( minimum > buffer.length ) {
+			buffer = Arrays.copyOf(buffer, Math.max(minimum, buffer.length * 2));
+		}
+		while ( limit < minimum ) {
+			final int read = read(buffer, limit, buffer.length - limit);
+			if ( read == -1 ) {
+				return false;
+			}
+			limit += read;
+		}
+		return true;
+	}
+
+	private int read(final byte[] bytes, final int offset, final int length)
+			throws IOException {
+		if ( inputStream != null ) {
+			return inputStream.read(bytes, offset, length);
+		}
+		if ( !byteBuffer.hasRemaining() ) {
+			return -1;
+		}
+		final int read = Math.min(length, byteBuffer.remaining());
+		byteBuffer.get(bytes, offset, read);
+		return read;
+	}
+
+	private void push(final int newTop) {
+		if ( stackSize == stack.length ) {
+			stack = Arrays.copyOf(stack, stackSize * 2);
+			pathIndices = Arrays.copyOf(pathIndices, stackSize * 2);
+			pathNames = Arrays.copyOf(pathNames, stackSize * 2);
+		}
+		stack[stackSize++] = newTop;
+	}
+
+	private IllegalStateException unexpected(final String expected)
+			throws IOException {
+		return new IllegalStateException("Expected " + expected + " but was " + peek() + locationString());
+	}
+
+	private MalformedJsonException syntaxError(final String message) {
+		return new MalformedJsonException(message + locationString());
+	}
+
+	private String locationString() {
+		return " at line " + (lineNumber + 1) + " column " + (pos - lineStart + 1) + " path " + getPath();
+	}
+
+	private static boolean isLiteral(final byte c) {
+		switch ( c ) {
+		case '/':
+		case '\\':
+		case ';':
+		case '#':
+		case '=':
+		case '{':
+		case '}':
+		case '[':
+		case ']':
+		case ':':
+		case ',':
+		case ' ':
+		case '\t':
+		case '\f':
+		case '\r':
+		case '\n':
+			return false;
+		default:
+			return true;
+		}
+	}
+
+}
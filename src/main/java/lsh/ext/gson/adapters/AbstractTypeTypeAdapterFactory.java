@@ -7,7 +7,9 @@ import com.google.gson.reflect.TypeToken;
 
 import static java.lang.reflect.Modifier.isAbstract;
 
+import static lsh.ext.gson.adapters.TypeAwareTypeAdapter.getInlineTypeAwareTypeAdapter;
 import static lsh.ext.gson.adapters.TypeAwareTypeAdapter.getTypeAwareTypeAdapter;
+import static lsh.ext.gson.adapters.TypeIdResolvers.getClassNameTypeIdResolver;
 
 /**
  * Represents a type adapter factory for {@code abstract} classes. {@link TypeAwareTypeAdapter} is used behind the scenes.
@@ -20,11 +22,17 @@ public final class AbstractTypeTypeAdapterFactory
 		implements TypeAdapterFactory {
 
 	private final String typePropertyName;
+	// null for inline type properties
 	private final String valuePropertyName;
+	private final ITypeIdResolver typeIdResolver;
+	private final int maxLookAheadTokens;
 
-	private AbstractTypeTypeAdapterFactory(final String typePropertyName, final String valuePropertyName) {
+	private AbstractTypeTypeAdapterFactory(final String typePropertyName, final String valuePropertyName, final ITypeIdResolver typeIdResolver,
+			final int maxLookAheadTokens) {
 		this.typePropertyName = typePropertyName;
 		this.valuePropertyName = valuePropertyName;
+		this.typeIdResolver = typeIdResolver;
+		this.maxLookAheadTokens = maxLookAheadTokens;
 	}
 
 	/**
@@ -36,13 +44,47 @@ public final class AbstractTypeTypeAdapterFactory
 	 * @since 0-SNAPSHOT
 	 */
 	public static TypeAdapterFactory getAbstractTypeTypeAdapterFactory(final String typePropertyName, final String valuePropertyName) {
-		return new AbstractTypeTypeAdapterFactory(typePropertyName, valuePropertyName);
+		return getAbstractTypeTypeAdapterFactory(typePropertyName, valuePropertyName, getClassNameTypeIdResolver());
+	}
+
+	/**
+	 * @param typePropertyName  Type property name
+	 * @param valuePropertyName Value property name
+	 * @param typeIdResolver    Type id resolver
+	 *
+	 * @return An instance of {@link AbstractTypeTypeAdapterFactory}
+	 *
+	 * @see TypeIdResolvers
+	 * @since 0-SNAPSHOT
+	 */
+	public static TypeAdapterFactory getAbstractTypeTypeAdapterFactory(final String typePropertyName, final String valuePropertyName,
+			final ITypeIdResolver typeIdResolver) {
+		return new AbstractTypeTypeAdapterFactory(typePropertyName, valuePropertyName, typeIdResolver, 0);
+	}
+
+	/**
+	 * @param typePropertyName   Type property name that is inlined into the value object
+	 * @param typeIdResolver     Type id resolver
+	 * @param maxLookAheadTokens Maximum number of the value object tokens that may precede the type property
+	 *
+	 * @return An instance of {@link AbstractTypeTypeAdapterFactory} that reads and writes inline type properties.
+	 *
+	 * @see TypeAwareTypeAdapter#getInlineTypeAwareTypeAdapter(Gson, String, ITypeIdResolver, int)
+	 * @since 0-SNAPSHOT
+	 */
+	public static TypeAdapterFactory getInlineAbstractTypeTypeAdapterFactory(final String typePropertyName, final ITypeIdResolver typeIdResolver,
+			final int maxLookAheadTokens) {
+		return new AbstractTypeTypeAdapterFactory(typePropertyName, null, typeIdResolver, maxLookAheadTokens);
 	}
 
 	@Override
 	public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> typeToken) {
-		if ( isAbstract(typeToken.getRawType().getModifiers()) ) {
-			return getTypeAwareTypeAdapter(gson, typePropertyName, valuePropertyName);
+		final Class<? super T> rawType = typeToken.getRawType();
+		// Primitive types and array types are reported abstract as well
+		if ( !rawType.isPrimitive() && !rawType.isArray() && isAbstract(rawType.getModifiers()) ) {
+			return valuePropertyName != null
+					? getTypeAwareTypeAdapter(gson, typePropertyName, valuePropertyName, typeIdResolver)
+					: getInlineTypeAwareTypeAdapter(gson, typePropertyName, typeIdResolver, maxLookAheadTokens);
 		}
 		return null;
 	}
@@ -0,0 +1,27 @@
+package lsh.ext.gson.adapters;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A producer of elements that are received by subscribers on demand. The contract follows {@code java.util.concurrent.Flow.Publisher} that is not available
+ * in Java 8, so an adapter to either Java 9 or <a href="http://www.reactive-streams.org/">Reactive Streams</a> is a single method reference.
+ *
+ * @param <T> Element type
+ *
+ * @author Lyubomyr Shaydariv
+ * @see JsonFlows
+ * @since 0-SNAPSHOT
+ */
+@FunctionalInterface
+public interface IPublisher<T> {
+
+	/**
+	 * Adds the given subscriber. The publisher signals {@link ISubscriber#onSubscribe(ISubscription)} first, and then the elements as requested.
+	 *
+	 * @param subscriber A subscriber
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	void subscribe(@Nonnull ISubscriber<? super T> subscriber);
+
+}
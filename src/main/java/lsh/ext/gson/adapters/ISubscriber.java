@@ -0,0 +1,51 @@
+package lsh.ext.gson.adapters;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A receiver of elements published by {@link IPublisher}. The contract follows {@code java.util.concurrent.Flow.Subscriber}: the signals are never sent
+ * concurrently, and no more elements are sent than requested.
+ *
+ * @param <T> Element type
+ *
+ * @author Lyubomyr Shaydariv
+ * @see JsonFlows
+ * @since 0-SNAPSHOT
+ */
+public interface ISubscriber<T> {
+
+	/**
+	 * Receives the subscription before any other signal.
+	 *
+	 * @param subscription A subscription to request elements or to cancel
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	void onSubscribe(@Nonnull ISubscription subscription);
+
+	/**
+	 * Receives a requested element.
+	 *
+	 * @param element An element
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	void onNext(T element);
+
+	/**
+	 * Receives a terminal error. No other signals follow.
+	 *
+	 * @param throwable An error
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	void onError(@Nonnull Throwable throwable);
+
+	/**
+	 * Receives a terminal completion. No other signals follow.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	void onComplete();
+
+}
@@ -0,0 +1,28 @@
+package lsh.ext.gson.adapters;
+
+/**
+ * A link between {@link IPublisher} and {@link ISubscriber}. The contract follows {@code java.util.concurrent.Flow.Subscription}.
+ *
+ * @author Lyubomyr Shaydariv
+ * @see JsonFlows
+ * @since 0-SNAPSHOT
+ */
+public interface ISubscription {
+
+	/**
+	 * Adds the given number of elements to the demand. The demand is unbounded once it reaches {@link Long#MAX_VALUE}.
+	 *
+	 * @param n A positive number of elements. A non-positive number makes the publisher signal {@link IllegalArgumentException} to the subscriber.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	void request(long n);
+
+	/**
+	 * Stops sending elements to the subscriber, and releases the publisher resources eventually.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	void cancel();
+
+}
@@ -0,0 +1,38 @@
+package lsh.ext.gson.adapters;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Resolves type ids written by {@link TypeAwareTypeAdapter} to classes and vice versa.
+ *
+ * @author Lyubomyr Shaydariv
+ * @see TypeIdResolvers
+ * @since 0-SNAPSHOT
+ */
+public interface ITypeIdResolver {
+
+	/**
+	 * @param clazz A class to get a type id for
+	 *
+	 * @return A type id for the given class.
+	 *
+	 * @throws IllegalArgumentException If the given class has no type id.
+	 * @since 0-SNAPSHOT
+	 */
+	@Nonnull
+	String getTypeId(@Nonnull Class<?> clazz)
+			throws IllegalArgumentException;
+
+	/**
+	 * @param typeId A type id to resolve
+	 *
+	 * @return A class for the given type id.
+	 *
+	 * @throws ClassNotFoundException If the given type id cannot be resolved.
+	 * @since 0-SNAPSHOT
+	 */
+	@Nonnull
+	Class<?> resolveClass(@Nonnull String typeId)
+			throws ClassNotFoundException;
+
+}
@@ -0,0 +1,65 @@
+package lsh.ext.gson.adapters;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * <p>
+ * Provides demand-driven publishers and subscribers for top-level JSON arrays like {@link IteratorTypeAdapter} reads and writes them. A publisher parses
+ * only as many elements as its subscriber has requested, so the memory is bounded by the demand rather than by the reading speed.
+ * </p>
+ *
+ * <p>
+ * The {@link IPublisher}, {@link ISubscriber} and {@link ISubscription} contracts follow {@code java.util.concurrent.Flow} that is not available in Java 8.
+ * </p>
+ *
+ * @author Lyubomyr Shaydariv
+ * @see IteratorTypeAdapter
+ * @since 0-SNAPSHOT
+ */
+public final class JsonFlows {
+
+	private JsonFlows() {
+	}
+
+	/**
+	 * @param elementType Element type
+	 * @param gson        Gson instance
+	 * @param in          JSON reader
+	 * @param executor    Executor to read and bind the requested elements in, and to signal the subscriber from
+	 * @param <T>         Element type
+	 *
+	 * @return A publisher of the top-level JSON array elements. The publisher accepts a single subscriber only, and closes the given JSON reader on
+	 * completion, on error or on cancellation.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static <T> IPublisher<T> getJsonReaderPublisher(final Type elementType, final Gson gson, final JsonReader in, final Executor executor) {
+		return JsonReaderPublisher.getJsonReaderPublisher(elementType, gson, in, executor);
+	}
+
+	/**
+	 * @param elementType Element type
+	 * @param gson        Gson instance
+	 * @param out         JSON writer. The writer is flushed on completion, but never closed.
+	 * @param batchSize   The number of elements to request at once
+	 * @param completion  A future that is completed once the JSON array is written, or completed exceptionally on publisher or writing errors
+	 * @param <T>         Element type
+	 *
+	 * @return A subscriber that writes the received elements to a JSON array.
+	 *
+	 * @throws IllegalArgumentException If the batch size is not positive
+	 * @since 0-SNAPSHOT
+	 */
+	public static <T> ISubscriber<T> getJsonWriterSubscriber(final Type elementType, final Gson gson, final JsonWriter out, final long batchSize,
+			final CompletableFuture<Void> completion)
+			throws IllegalArgumentException {
+		return JsonWriterSubscriber.getJsonWriterSubscriber(elementType, gson, out, batchSize, completion);
+	}
+
+}
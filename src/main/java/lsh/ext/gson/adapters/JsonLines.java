@@ -0,0 +1,132 @@
+package lsh.ext.gson.adapters;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * <p>
+ * Provides methods to read and write <a href="http://jsonlines.org/">newline-delimited JSON</a> (also known as NDJSON or JSON Lines) streams. Unlike
+ * {@link IteratorTypeAdapter}, the elements are not wrapped into a JSON array, but written as top-level JSON values, one per line.
+ * </p>
+ *
+ * <p>
+ * Both reading and writing process one element at a time, so streams of any length can be processed in constant memory.
+ * </p>
+ *
+ * <p>
+ * <b>CAUTION</b> Note that the iterators and streams returned by the read methods must be closed manually.
+ * </p>
+ *
+ * @author Lyubomyr Shaydariv
+ * @see IteratorTypeAdapter
+ * @see CloseableIterators
+ * @since 0-SNAPSHOT
+ */
+public final class JsonLines {
+
+	private static final int bufferSize = 8192;
+
+	private JsonLines() {
+	}
+
+	/**
+	 * @param elementType Element type
+	 * @param gson        Gson instance
+	 * @param reader      Reader to read newline-delimited JSON from
+	 * @param <E>         Element type
+	 *
+	 * @return A closeable iterator over the top-level JSON values.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static <E> Iterator<E> getJsonLinesIterator(final Type elementType, final Gson gson, final Reader reader) {
+		return getJsonLinesIterator(elementType, gson, gson.newJsonReader(reader));
+	}
+
+	/**
+	 * @param elementType Element type
+	 * @param gson        Gson instance
+	 * @param in          JSON reader to read newline-delimited JSON from. The reader is set lenient in order to read multiple top-level values.
+	 * @param <E>         Element type
+	 *
+	 * @return A closeable iterator over the top-level JSON values.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static <E> Iterator<E> getJsonLinesIterator(final Type elementType, final Gson gson, final JsonReader in) {
+		return JsonLinesIterator.getJsonLinesIterator(getElementTypeAdapter(elementType, gson), in);
+	}
+
+	/**
+	 * @param elementType Element type
+	 * @param gson        Gson instance
+	 * @param in          JSON reader to read newline-delimited JSON from. The reader is set lenient in order to read multiple top-level values.
+	 * @param <E>         Element type
+	 *
+	 * @return A sequential ordered stream of the top-level JSON values. Closing the stream closes the given JSON reader.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static <E> Stream<E> getJsonLinesStream(final Type elementType, final Gson gson, final JsonReader in) {
+		final JsonLinesIterator<E> iterator = JsonLinesIterator.getJsonLinesIterator(getElementTypeAdapter(elementType, gson), in);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+				.onClose(() -> {
+					try {
+						iterator.close();
+					} catch ( final IOException ex ) {
+						throw new RuntimeException(ex);
+					}
+				});
+	}
+
+	/**
+	 * Writes the iterator elements as newline-delimited JSON. Every element is followed by a line feed. Pretty printing is ignored even if it is enabled in the
+	 * given Gson instance. The writer is flushed, but not closed.
+	 *
+	 * @param elementType Element type
+	 * @param gson        Gson instance
+	 * @param iterator    Elements to write
+	 * @param writer      Writer to write to. Writers other than {@link BufferedWriter} are buffered.
+	 * @param <E>         Element type
+	 *
+	 * @throws IOException A rethrown exception
+	 * @since 0-SNAPSHOT
+	 */
+	@SuppressWarnings("resource")
+	public static <E> void write(final Type elementType, final Gson gson, final Iterator<? extends E> iterator, final Writer writer)
+			throws IOException {
+		final Writer bufferedWriter = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer, bufferSize);
+		final TypeAdapter<E> elementTypeAdapter = getElementTypeAdapter(elementType, gson);
+		final JsonWriter out = gson.newJsonWriter(bufferedWriter);
+		// Lenient JSON writers accept multiple top-level values
+		out.setLenient(true);
+		out.setIndent("");
+		while ( iterator.hasNext() ) {
+			final E next = iterator.next();
+			elementTypeAdapter.write(out, next);
+			bufferedWriter.write('\n');
+		}
+		bufferedWriter.flush();
+	}
+
+	private static <E> TypeAdapter<E> getElementTypeAdapter(final Type elementType, final Gson gson) {
+		@SuppressWarnings("unchecked")
+		final TypeAdapter<E> elementTypeAdapter = (TypeAdapter<E>) gson.getAdapter(TypeToken.get(elementType));
+		return elementTypeAdapter;
+	}
+
+}
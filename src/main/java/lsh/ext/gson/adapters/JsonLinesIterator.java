@@ -0,0 +1,64 @@
+package lsh.ext.gson.adapters;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+import static com.google.gson.stream.JsonToken.END_DOCUMENT;
+
+/**
+ * Represents an iterator over top-level JSON values of a newline-delimited JSON stream. The JSON reader is reused for all values and is set lenient in order
+ * to let it read multiple top-level values.
+ *
+ * @author Lyubomyr Shaydariv
+ * @see JsonLines
+ * @since 0-SNAPSHOT
+ */
+final class JsonLinesIterator<T>
+		implements Iterator<T>, Closeable {
+
+	private final TypeAdapter<T> elementTypeAdapter;
+	private final JsonReader in;
+
+	private JsonLinesIterator(final TypeAdapter<T> elementTypeAdapter, final JsonReader in) {
+		this.elementTypeAdapter = elementTypeAdapter;
+		this.in = in;
+	}
+
+	static <T> JsonLinesIterator<T> getJsonLinesIterator(final TypeAdapter<T> elementTypeAdapter, final JsonReader in) {
+		in.setLenient(true);
+		return new JsonLinesIterator<>(elementTypeAdapter, in);
+	}
+
+	@Override
+	public boolean hasNext() {
+		try {
+			return in.peek() != END_DOCUMENT;
+		} catch ( final IOException ex ) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	@Override
+	public T next() {
+		if ( !hasNext() ) {
+			throw new NoSuchElementException();
+		}
+		try {
+			return elementTypeAdapter.read(in);
+		} catch ( final IOException ex ) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	@Override
+	public void close()
+			throws IOException {
+		in.close();
+	}
+
+}
@@ -0,0 +1,322 @@
+package lsh.ext.gson.adapters;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * <p>
+ * Represents a token-level matcher for a set of definite {@link JsonPath} expressions that consist of property names and array indexes only, for example
+ * {@code $.foo.bar[0].baz}. All expressions are compiled into a single prefix tree, so a JSON stream can be traversed once and only the matched subtrees
+ * are read into {@link JsonElement}s. Everything else is skipped at the token level.
+ * </p>
+ *
+ * <p>
+ * Other expressions are not matched by the matcher, but if they start with a root object property name and do not refer the root elsewhere, for example
+ * {@code $.foo[*].bar}, they only need that root object property value to be read into a {@link JsonElement} tree, so they can be evaluated against a root
+ * object containing the properties read as trees. Expressions that require the whole document to be evaluated (expressions that do not start with a root
+ * object property name, like recursive descent or the root itself, and expressions that refer the root in filters) are not supported, and
+ * {@link #tryCompile(List)} returns {@code null} for them.
+ * </p>
+ *
+ * @author Lyubomyr Shaydariv
+ * @see JsonPathTypeAdapterFactory
+ * @since 0-SNAPSHOT
+ */
+final class JsonPathMatcher {
+
+	private static final int[] emptyIntArray = {};
+
+	private final Node root;
+	private final int size;
+	private final Set<String> treeNames;
+	private final int[] treeIndexes;
+
+	private JsonPathMatcher(final Node root, final int size, final Set<String> treeNames, final int[] treeIndexes) {
+		this.root = root;
+		this.size = size;
+		this.treeNames = treeNames;
+		this.treeIndexes = treeIndexes;
+	}
+
+	/**
+	 * @param jsonPaths JSON paths to compile
+	 *
+	 * @return A matcher where every match is indexed by the position of its JSON path in {@code jsonPaths}, or {@code null} if at least one of the given JSON
+	 * paths requires the whole document to be read.
+	 */
+	@Nullable
+	static JsonPathMatcher tryCompile(final List<JsonPath> jsonPaths) {
+		final Node root = new Node();
+		final int size = jsonPaths.size();
+		final Set<String> treeNames = new HashSet<>();
+		int[] treeIndexes = emptyIntArray;
+		for ( int i = 0; i < size; i++ ) {
+			final JsonPath jsonPath = jsonPaths.get(i);
+			final String path = jsonPath.getPath();
+			final List<Object> segments = jsonPath.isDefinite() ? parse(path) : null;
+			if ( segments != null && !segments.isEmpty() ) {
+				root.add(segments, 0, i);
+				continue;
+			}
+			// The rest of the path is evaluated against the root object property read as a tree, unless the path refers the root elsewhere
+			final Object rootName = parseSegment(path, 1);
+			if ( !(rootName instanceof String) || path.indexOf('$', 1) != -1 ) {
+				return null;
+			}
+			treeNames.add((String) rootName);
+			treeIndexes = Arrays.copyOf(treeIndexes, treeIndexes.length + 1);
+			treeIndexes[treeIndexes.length - 1] = i;
+		}
+		return new JsonPathMatcher(root, size, treeNames, treeIndexes);
+	}
+
+	/**
+	 * @return A new array to hold matches of the current matcher.
+	 */
+	JsonElement[] newMatches() {
+		return new JsonElement[size];
+	}
+
+	/**
+	 * @param name Root object property name
+	 *
+	 * @return {@code true} if the root object property value must be read as a tree, matched with {@link #matchTree(String, JsonElement, JsonElement[])}, and
+	 * also passed to the JSON paths at {@link #getTreeIndexes()}, otherwise {@code false}.
+	 */
+	boolean isTreeRequired(final String name) {
+		return treeNames.contains(name);
+	}
+
+	/**
+	 * @return The positions of the JSON paths that are not matched by the matcher, and must be evaluated against a root object containing the root object
+	 * properties read as trees. The returned array must not be modified.
+	 */
+	int[] getTreeIndexes() {
+		return treeIndexes;
+	}
+
+	/**
+	 * Matches a root object property value that is not read yet.
+	 *
+	 * @param name                   Root object property name
+	 * @param in                     JSON reader positioned at the property value
+	 * @param jsonElementTypeAdapter JSON element type adapter to read matched subtrees
+	 * @param matches                Matches
+	 *
+	 * @throws IOException A rethrown exception
+	 */
+	void matchStream(final String name, final JsonReader in, final TypeAdapter<JsonElement> jsonElementTypeAdapter, final JsonElement[] matches)
+			throws IOException {
+		final Node child = root.names != null ? root.names.get(name) : null;
+		if ( child == null ) {
+			in.skipValue();
+			return;
+		}
+		child.matchStream(in, jsonElementTypeAdapter, matches);
+	}
+
+	/**
+	 * Matches a root object property value that is already read.
+	 *
+	 * @param name        Root object property name
+	 * @param jsonElement Root object property value
+	 * @param matches     Matches
+	 */
+	void matchTree(final String name, final JsonElement jsonElement, final JsonElement[] matches) {
+		final Node child = root.names != null ? root.names.get(name) : null;
+		if ( child != null ) {
+			child.matchTree(jsonElement, matches);
+		}
+	}
+
+	private static final class Node {
+
+		private Map<String, Node> names;
+		private Map<Integer, Node> indexes;
+		private int[] captures = emptyIntArray;
+
+		private void add(final List<Object> segments, final int offset, final int capture) {
+			if ( offset == segments.size() ) {
+				captures = Arrays.copyOf(captures, captures.length + 1);
+				captures[captures.length - 1] = capture;
+				return;
+			}
+			final Object segment = segments.get(offset);
+			if ( segment instanceof String ) {
+				if ( names == null ) {
+					names = new HashMap<>();
+				}
+				names.computeIfAbsent((String) segment, k -> new Node())
+						.add(segments, offset + 1, capture);
+			} else {
+				if ( indexes == null ) {
+					indexes = new HashMap<>();
+				}
+				indexes.computeIfAbsent((Integer) segment, k -> new Node())
+						.add(segments, offset + 1, capture);
+			}
+		}
+
+		private void matchStream(final JsonReader in, final TypeAdapter<JsonElement> jsonElementTypeAdapter, final JsonElement[] matches)
+				throws IOException {
+			if ( captures.length != 0 ) {
+				matchTree(jsonElementTypeAdapter.read(in), matches);
+				return;
+			}
+			switch ( in.peek() ) {
+			case BEGIN_OBJECT:
+				if ( names == null ) {
+					in.skipValue();
+					break;
+				}
+				in.beginObject();
+				while ( in.hasNext() ) {
+					final Node child = names.get(in.nextName());
+					if ( child == null ) {
+						in.skipValue();
+					} else {
+						child.matchStream(in, jsonElementTypeAdapter, matches);
+					}
+				}
+				in.endObject();
+				break;
+			case BEGIN_ARRAY:
+				if ( indexes == null ) {
+					in.skipValue();
+					break;
+				}
+				in.beginArray();
+				for ( int i = 0; in.hasNext(); i++ ) {
+					final Node child = indexes.get(i);
+					if ( child == null ) {
+						in.skipValue();
+					} else {
+						child.matchStream(in, jsonElementTypeAdapter, matches);
+					}
+				}
+				in.endArray();
+				break;
+			case END_ARRAY:
+			case END_OBJECT:
+			case NAME:
+			case STRING:
+			case NUMBER:
+			case BOOLEAN:
+			case NULL:
+			case END_DOCUMENT:
+				in.skipValue();
+				break;
+			default:
+				throw new AssertionError(in.peek());
+			}
+		}
+
+		private void matchTree(final JsonElement jsonElement, final JsonElement[] matches) {
+			for ( final int capture : captures ) {
+				matches[capture] = jsonElement;
+			}
+			if ( names != null && jsonElement.isJsonObject() ) {
+				final JsonObject jsonObject = jsonElement.getAsJsonObject();
+				for ( final Entry<String, Node> e : names.entrySet() ) {
+					final JsonElement childJsonElement = jsonObject.get(e.getKey());
+					if ( childJsonElement != null ) {
+						e.getValue().matchTree(childJsonElement, matches);
+					}
+				}
+			}
+			if ( indexes != null && jsonElement.isJsonArray() ) {
+				final JsonArray jsonArray = jsonElement.getAsJsonArray();
+				for ( final Entry<Integer, Node> e : indexes.entrySet() ) {
+					final int index = e.getKey();
+					if ( index < jsonArray.size() ) {
+						e.getValue().matchTree(jsonArray.get(index), matches);
+					}
+				}
+			}
+		}
+
+	}
+
+	// The path is expected to be normalized by JsonPath: $['foo']['bar'][0]
+	@Nullable
+	private static List<Object> parse(final String path) {
+		final List<Object> segments = new ArrayList<>();
+		for ( int offset = 1; offset < path.length(); offset = path.indexOf(']', offset) + 1 ) {
+			final Object segment = parseSegment(path, offset);
+			if ( segment == null ) {
+				return null;
+			}
+			segments.add(segment);
+		}
+		return segments;
+	}
+
+	// A name or an index at the given offset, otherwise null
+	@Nullable
+	private static Object parseSegment(final String path, final int offset) {
+		if ( offset >= path.length() || path.charAt(offset) != '[' ) {
+			return null;
+		}
+		final int end = path.indexOf(']', offset);
+		if ( end == -1 ) {
+			return null;
+		}
+		final String segment = path.substring(offset + 1, end);
+		if ( isName(segment) ) {
+			return segment.substring(1, segment.length() - 1);
+		}
+		if ( isIndex(segment) ) {
+			return Integer.parseInt(segment);
+		}
+		return null;
+	}
+
+	private static boolean isName(final String segment) {
+		final int length = segment.length();
+		if ( length < 2 ) {
+			return false;
+		}
+		final char quote = segment.charAt(0);
+		if ( quote != '\'' && quote != '"' || segment.charAt(length - 1) != quote ) {
+			return false;
+		}
+		// Normalized paths do not escape quotes, so multiple names and names containing quotes are rejected
+		for ( int i = 1; i < length - 1; i++ ) {
+			final char ch = segment.charAt(i);
+			if ( ch == '\'' || ch == '"' ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isIndex(final String segment) {
+		final int length = segment.length();
+		if ( length == 0 || length > 9 ) {
+			return false;
+		}
+		for ( int i = 0; i < length; i++ ) {
+			final char ch = segment.charAt(i);
+			if ( ch < '0' || ch > '9' ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -1,15 +1,34 @@
 package lsh.ext.gson.adapters;
 
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.function.Function;
 
+import com.google.gson.FieldNamingStrategy;
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
+import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
@@ -20,9 +39,9 @@ import com.jayway.jsonpath.spi.json.GsonJsonProvider;
 import com.jayway.jsonpath.spi.mapper.GsonMappingProvider;
 import lsh.ext.gson.annotations.JsonPathExpression;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
-
-import static com.jayway.jsonpath.JsonPath.compile;
+import static java.util.Collections.unmodifiableList;
 
 /**
  * <p>
@@ -66,6 +85,21 @@ import static com.jayway.jsonpath.JsonPath.compile;
  *
  * <p>JSON path expressions that point to not existing paths are ignored.</p>
  *
+ * <p>
+ * If the annotated class is bound by the Gson reflective type adapter, the JSON document is read in a streaming manner: the JSON stream is read once, and
+ * only the root properties named after the class fields and the subtrees selected by the expressions are buffered, whereas everything else is skipped.
+ * Definite expressions that consist of property names and array indexes only (like {@code $.l1.l2.l3.foo} or {@code $.l1.bar[0]}) are matched while
+ * streaming, and other expressions starting with a property name (like {@code $.l1.bar[*]}) are evaluated against the root properties they start with. The
+ * JSON document is read into a {@link JsonElement} tree first if any expression requires the whole document (like {@code $..foo}), if the class is bound by
+ * another type adapter that might need any root property, or if the JsonPath configuration has options or does not use {@link GsonJsonProvider}.
+ * </p>
+ *
+ * <p>
+ * Annotated fields, including the fields declared in super classes, are scanned once per class, and the scan results are shared across all factories and
+ * {@link Gson} instances. The JsonPath configuration is obtained once per {@link Gson} instance. JSON path expressions are compiled with
+ * {@link JsonPaths#compile(String)}. The type adapters for the annotated fields generic types are resolved once per type adapter.
+ * </p>
+ *
  * @author Lyubomyr Shaydariv
  * @see #getJsonPathTypeAdapterFactory()
  * @see #getJsonPathTypeAdapterFactory(Function)
@@ -78,7 +112,19 @@ public final class JsonPathTypeAdapterFactory
 	private static final TypeAdapterFactory jsonPathTypeAdapterFactory = new JsonPathTypeAdapterFactory(JsonPathTypeAdapterFactory::buildDefaultConfiguration);
 	private static final TypeAdapterFactory jsonPathTypeAdapterWithGlobalDefaults = new JsonPathTypeAdapterFactory(gson -> Configuration.defaultConfiguration());
 
+	// The reflective type adapter class is not a part of the Gson public API, so it is detected by the type adapter of a class having a field
+	private static final Class<?> reflectiveTypeAdapterClass = new Gson().getAdapter(ReflectiveProbe.class).getClass();
+
+	private static final ClassValue<List<FieldInfo>> fieldInfosCache = new ClassValue<List<FieldInfo>>() {
+		@Override
+		protected List<FieldInfo> computeValue(final Class<?> type) {
+			return FieldInfo.of(type);
+		}
+	};
+
 	private final Function<? super Gson, ? extends Configuration> configurationProvider;
+	// Configurations may refer the Gson instances they are created for, hence the values are weak too
+	private final Map<Gson, Reference<Configuration>> configurationsCache = new WeakHashMap<>();
 
 	private JsonPathTypeAdapterFactory(final Function<? super Gson, ? extends Configuration> configurationProvider) {
 		this.configurationProvider = configurationProvider;
@@ -145,27 +191,132 @@ public final class JsonPathTypeAdapterFactory
 	@Override
 	public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> typeToken) {
 		final TypeAdapter<T> delegateAdapter = gson.getDelegateAdapter(this, typeToken);
-		final Collection<FieldInfo> fieldInfos = FieldInfo.of(typeToken.getRawType());
-		return fieldInfos.isEmpty()
-				? delegateAdapter
-				: new JsonPathTypeAdapter<>(gson, delegateAdapter, gson.getAdapter(JsonElement.class), fieldInfos, configurationProvider.apply(gson));
+		final Class<? super T> rawType = typeToken.getRawType();
+		final List<FieldInfo> fieldInfos = fieldInfosCache.get(rawType);
+		if ( fieldInfos.isEmpty() ) {
+			return delegateAdapter;
+		}
+		final TypeAdapter<JsonElement> jsonElementTypeAdapter = gson.getAdapter(JsonElement.class);
+		final Configuration configuration = getConfiguration(gson);
+		final TypeAdapter<?>[] fieldTypeAdapters = resolveFieldTypeAdapters(gson, typeToken, fieldInfos);
+		final JsonPathMatcher jsonPathMatcher = isStreamable(delegateAdapter, configuration) ? JsonPathMatcher.tryCompile(FieldInfo.jsonPaths(fieldInfos)) : null;
+		return jsonPathMatcher == null
+				? new JsonPathTypeAdapter<>(delegateAdapter, jsonElementTypeAdapter, fieldInfos, fieldTypeAdapters, configuration)
+				: new StreamingJsonPathTypeAdapter<>(delegateAdapter, jsonElementTypeAdapter, fieldInfos, fieldTypeAdapters, configuration, jsonPathMatcher,
+				collectBoundNames(gson.fieldNamingStrategy(), rawType));
+	}
+
+	private static TypeAdapter<?>[] resolveFieldTypeAdapters(final Gson gson, final TypeToken<?> typeToken, final List<FieldInfo> fieldInfos) {
+		final Map<TypeVariable<?>, Type> typeVariables = bindTypeVariables(typeToken);
+		final TypeAdapter<?>[] fieldTypeAdapters = new TypeAdapter<?>[fieldInfos.size()];
+		for ( int i = 0; i < fieldTypeAdapters.length; i++ ) {
+			final Type fieldType = resolveType(fieldInfos.get(i).field.getGenericType(), typeVariables);
+			fieldTypeAdapters[i] = gson.getAdapter(TypeToken.get(fieldType));
+		}
+		return fieldTypeAdapters;
+	}
+
+	private static Map<TypeVariable<?>, Type> bindTypeVariables(final TypeToken<?> typeToken) {
+		// Type variables declared in generic super classes are bound walking from the bound type up to the super classes declaring the annotated fields
+		final Map<TypeVariable<?>, Type> typeVariables = new HashMap<>();
+		Type type = typeToken.getType();
+		for ( Class<?> c = typeToken.getRawType(); c != null && c != Object.class; c = c.getSuperclass() ) {
+			if ( type instanceof ParameterizedType ) {
+				final TypeVariable<?>[] typeParameters = c.getTypeParameters();
+				final Type[] typeArguments = ((ParameterizedType) type).getActualTypeArguments();
+				for ( int i = 0; i < typeParameters.length; i++ ) {
+					typeVariables.put(typeParameters[i], resolveType(typeArguments[i], typeVariables));
+				}
+			}
+			type = c.getGenericSuperclass();
+		}
+		return typeVariables;
+	}
+
+	private static Type resolveType(final Type type, final Map<TypeVariable<?>, Type> typeVariables) {
+		// Unbound type variables are left as is, so Gson treats them like it treats them for raw types
+		if ( type instanceof TypeVariable ) {
+			final Type boundType = typeVariables.get(type);
+			return boundType != null ? boundType : type;
+		}
+		if ( type instanceof ParameterizedType ) {
+			final ParameterizedType parameterizedType = (ParameterizedType) type;
+			final Type[] typeArguments = parameterizedType.getActualTypeArguments();
+			final Type[] resolvedTypeArguments = new Type[typeArguments.length];
+			boolean isResolved = false;
+			for ( int i = 0; i < typeArguments.length; i++ ) {
+				resolvedTypeArguments[i] = resolveType(typeArguments[i], typeVariables);
+				isResolved |= resolvedTypeArguments[i] != typeArguments[i];
+			}
+			return isResolved ? TypeToken.getParameterized(parameterizedType.getRawType(), resolvedTypeArguments).getType() : type;
+		}
+		if ( type instanceof GenericArrayType ) {
+			final Type componentType = ((GenericArrayType) type).getGenericComponentType();
+			final Type resolvedComponentType = resolveType(componentType, typeVariables);
+			return resolvedComponentType != componentType ? TypeToken.getArray(resolvedComponentType).getType() : type;
+		}
+		if ( type instanceof WildcardType ) {
+			// Wildcard types cannot be created with the Gson public API, but Gson reads wildcard types as their upper bounds anyway
+			final Type upperBound = ((WildcardType) type).getUpperBounds()[0];
+			final Type resolvedUpperBound = resolveType(upperBound, typeVariables);
+			return resolvedUpperBound != upperBound ? resolvedUpperBound : type;
+		}
+		return type;
+	}
+
+	private Configuration getConfiguration(final Gson gson) {
+		synchronized ( configurationsCache ) {
+			final Reference<Configuration> configurationReference = configurationsCache.get(gson);
+			final Configuration cachedConfiguration = configurationReference != null ? configurationReference.get() : null;
+			if ( cachedConfiguration != null ) {
+				return cachedConfiguration;
+			}
+			final Configuration configuration = configurationProvider.apply(gson);
+			configurationsCache.put(gson, new WeakReference<>(configuration));
+			return configuration;
+		}
+	}
+
+	private static boolean isStreamable(final TypeAdapter<?> delegateAdapter, final Configuration configuration) {
+		// Only the reflective type adapter is known not to require root object properties other than its bound fields names, since other type adapters would
+		// silently get fewer properties. Also, the configuration options may change the evaluation semantics so such configurations are not streamed.
+		return delegateAdapter.getClass() == reflectiveTypeAdapterClass
+				&& configuration.jsonProvider() instanceof GsonJsonProvider
+				&& configuration.getOptions().isEmpty();
+	}
+
+	private static Set<String> collectBoundNames(final FieldNamingStrategy fieldNamingStrategy, final Class<?> clazz) {
+		// Collecting more names than the reflective type adapter can bind is fine, but fewer names are not
+		final Set<String> boundNames = new HashSet<>();
+		for ( Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass() ) {
+			for ( final Field field : c.getDeclaredFields() ) {
+				final SerializedName serializedName = field.getAnnotation(SerializedName.class);
+				if ( serializedName == null ) {
+					boundNames.add(fieldNamingStrategy.translateName(field));
+				} else {
+					boundNames.add(serializedName.value());
+					boundNames.addAll(asList(serializedName.alternate()));
+				}
+			}
+		}
+		return boundNames;
 	}
 
 	private static final class JsonPathTypeAdapter<T>
 			extends TypeAdapter<T> {
 
-		private final Gson gson;
 		private final TypeAdapter<T> delegateAdapter;
 		private final TypeAdapter<JsonElement> jsonElementTypeAdapter;
-		private final Collection<FieldInfo> fieldInfos;
+		private final List<FieldInfo> fieldInfos;
+		private final TypeAdapter<?>[] fieldTypeAdapters;
 		private final Configuration configuration;
 
-		private JsonPathTypeAdapter(final Gson gson, final TypeAdapter<T> delegateAdapter, final TypeAdapter<JsonElement> jsonElementTypeAdapter,
-				final Collection<FieldInfo> fieldInfos, final Configuration configuration) {
-			this.gson = gson;
+		private JsonPathTypeAdapter(final TypeAdapter<T> delegateAdapter, final TypeAdapter<JsonElement> jsonElementTypeAdapter,
+				final List<FieldInfo> fieldInfos, final TypeAdapter<?>[] fieldTypeAdapters, final Configuration configuration) {
 			this.delegateAdapter = delegateAdapter;
 			this.jsonElementTypeAdapter = jsonElementTypeAdapter;
 			this.fieldInfos = fieldInfos;
+			this.fieldTypeAdapters = fieldTypeAdapters;
 			this.configuration = configuration;
 		}
 
@@ -180,14 +331,98 @@ public final class JsonPathTypeAdapterFactory
 				throws IOException {
 			final JsonElement outerJsonElement = jsonElementTypeAdapter.read(in);
 			final T value = delegateAdapter.fromJsonTree(outerJsonElement);
-			for ( final FieldInfo fieldInfo : fieldInfos ) {
+			for ( int i = 0; i < fieldTypeAdapters.length; i++ ) {
+				final FieldInfo fieldInfo = fieldInfos.get(i);
 				try {
 					final JsonElement innerJsonElement = fieldInfo.jsonPath.read(outerJsonElement, configuration);
-					final Object innerValue = gson.fromJson(innerJsonElement, fieldInfo.field.getType());
-					fieldInfo.field.set(value, innerValue);
+					fieldInfo.set(value, bindJsonTree(fieldTypeAdapters[i], innerJsonElement));
+				} catch ( final PathNotFoundException ignored ) {
+				}
+			}
+			return value;
+		}
+
+	}
+
+	private static final class StreamingJsonPathTypeAdapter<T>
+			extends TypeAdapter<T> {
+
+		private final TypeAdapter<T> delegateAdapter;
+		private final TypeAdapter<JsonElement> jsonElementTypeAdapter;
+		private final List<FieldInfo> fieldInfos;
+		private final TypeAdapter<?>[] fieldTypeAdapters;
+		private final Configuration configuration;
+		private final JsonPathMatcher jsonPathMatcher;
+		private final Set<String> boundNames;
+
+		private StreamingJsonPathTypeAdapter(final TypeAdapter<T> delegateAdapter, final TypeAdapter<JsonElement> jsonElementTypeAdapter,
+				final List<FieldInfo> fieldInfos, final TypeAdapter<?>[] fieldTypeAdapters, final Configuration configuration,
+				final JsonPathMatcher jsonPathMatcher, final Set<String> boundNames) {
+			this.delegateAdapter = delegateAdapter;
+			this.jsonElementTypeAdapter = jsonElementTypeAdapter;
+			this.fieldInfos = fieldInfos;
+			this.fieldTypeAdapters = fieldTypeAdapters;
+			this.configuration = configuration;
+			this.jsonPathMatcher = jsonPathMatcher;
+			this.boundNames = boundNames;
+		}
+
+		@Override
+		public void write(final JsonWriter out, final T value)
+				throws IOException {
+			delegateAdapter.write(out, value);
+		}
+
+		@Override
+		public T read(final JsonReader in)
+				throws IOException {
+			switch ( in.peek() ) {
+			case BEGIN_OBJECT:
+				break;
+			case NULL:
+				in.nextNull();
+				return null;
+			case BEGIN_ARRAY:
+			case END_ARRAY:
+			case END_OBJECT:
+			case NAME:
+			case STRING:
+			case NUMBER:
+			case BOOLEAN:
+			case END_DOCUMENT:
+				// Let the delegate type adapter report the error
+				return delegateAdapter.read(in);
+			default:
+				throw new AssertionError(in.peek());
+			}
+			// Holds the root properties bound by the delegate type adapter, and the root properties the not matched JSON paths start with
+			final JsonObject outerJsonObject = new JsonObject();
+			final JsonElement[] matches = jsonPathMatcher.newMatches();
+			in.beginObject();
+			while ( in.hasNext() ) {
+				final String name = in.nextName();
+				if ( boundNames.contains(name) || jsonPathMatcher.isTreeRequired(name) ) {
+					final JsonElement jsonElement = jsonElementTypeAdapter.read(in);
+					outerJsonObject.add(name, jsonElement);
+					jsonPathMatcher.matchTree(name, jsonElement, matches);
+				} else {
+					jsonPathMatcher.matchStream(name, in, jsonElementTypeAdapter, matches);
+				}
+			}
+			in.endObject();
+			final T value = delegateAdapter.fromJsonTree(outerJsonObject);
+			for ( int i = 0; i < matches.length; i++ ) {
+				final JsonElement innerJsonElement = matches[i];
+				if ( innerJsonElement != null ) {
+					fieldInfos.get(i).set(value, bindJsonTree(fieldTypeAdapters[i], innerJsonElement));
+				}
+			}
+			for ( final int i : jsonPathMatcher.getTreeIndexes() ) {
+				final FieldInfo fieldInfo = fieldInfos.get(i);
+				try {
+					final JsonElement innerJsonElement = fieldInfo.jsonPath.read(outerJsonObject, configuration);
+					fieldInfo.set(value, bindJsonTree(fieldTypeAdapters[i], innerJsonElement));
 				} catch ( final PathNotFoundException ignored ) {
-				} catch ( final IllegalAccessException ex ) {
-					throw new IOException(ex);
 				}
 			}
 			return value;
@@ -197,31 +432,74 @@ public final class JsonPathTypeAdapterFactory
 
 	private static final class FieldInfo {
 
+		private static final MethodType setterType = MethodType.methodType(void.class, Object.class, Object.class);
+
 		private final Field field;
 		private final JsonPath jsonPath;
+		private final MethodHandle setter;
 
-		private FieldInfo(final Field field, final JsonPath jsonPath) {
+		private FieldInfo(final Field field, final JsonPath jsonPath, final MethodHandle setter) {
 			this.field = field;
 			this.jsonPath = jsonPath;
+			this.setter = setter;
 		}
 
-		private static Collection<FieldInfo> of(final Class<?> clazz) {
-			Collection<FieldInfo> collection = emptyList();
-			for ( final Field field : clazz.getDeclaredFields() ) {
-				final JsonPathExpression jsonPathExpression = field.getAnnotation(JsonPathExpression.class);
-				if ( jsonPathExpression != null ) {
-					if ( collection.isEmpty() ) {
-						collection = new ArrayList<>();
+		private static List<FieldInfo> of(final Class<?> clazz) {
+			List<FieldInfo> collection = emptyList();
+			for ( Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass() ) {
+				for ( final Field field : c.getDeclaredFields() ) {
+					final JsonPathExpression jsonPathExpression = field.getAnnotation(JsonPathExpression.class);
+					if ( jsonPathExpression != null ) {
+						if ( collection.isEmpty() ) {
+							collection = new ArrayList<>();
+						}
+						collection.add(new FieldInfo(field, JsonPaths.compile(jsonPathExpression.value()), unreflectSetter(field)));
 					}
-					field.setAccessible(true);
-					collection.add(new FieldInfo(field, compile(jsonPathExpression.value())));
 				}
 			}
-			return collection;
+			return collection.isEmpty() ? collection : unmodifiableList(collection);
+		}
+
+		private static MethodHandle unreflectSetter(final Field field) {
+			try {
+				// Accessible final fields are writable too
+				field.setAccessible(true);
+				return MethodHandles.lookup().unreflectSetter(field).asType(setterType);
+			} catch ( final IllegalAccessException ex ) {
+				throw new IllegalArgumentException(ex);
+			}
+		}
+
+		private void set(final Object object, final Object value) {
+			try {
+				setter.invokeExact(object, value);
+			} catch ( final RuntimeException | Error ex ) {
+				throw ex;
+			} catch ( final Throwable ex ) {
+				throw new AssertionError(ex);
+			}
+		}
+
+		private static List<JsonPath> jsonPaths(final Collection<FieldInfo> fieldInfos) {
+			final List<JsonPath> jsonPaths = new ArrayList<>(fieldInfos.size());
+			for ( final FieldInfo fieldInfo : fieldInfos ) {
+				jsonPaths.add(fieldInfo.jsonPath);
+			}
+			return jsonPaths;
 		}
 
 	}
 
+	private static final class ReflectiveProbe {
+
+		private final Object field = null;
+
+	}
+
+	private static Object bindJsonTree(final TypeAdapter<?> typeAdapter, final JsonElement jsonElement) {
+		return jsonElement == null ? null : typeAdapter.fromJsonTree(jsonElement);
+	}
+
 	private static Configuration buildDefaultConfiguration(final Gson gson) {
 		return Configuration.builder()
 				.jsonProvider(new GsonJsonProvider(gson))
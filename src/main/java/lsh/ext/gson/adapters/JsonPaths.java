@@ -0,0 +1,155 @@
+package lsh.ext.gson.adapters;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.gson.JsonElement;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.PathNotFoundException;
+
+/**
+ * <p>
+ * Provides a process-wide cache of compiled JSON path expressions, and methods to query {@link JsonElement} trees with cached JSON paths.
+ * </p>
+ *
+ * <p>
+ * The cache is bounded: once a cache segment is full, its least recently used JSON path is evicted. The cache is split into a fixed number of segments
+ * selected by the expression hash code, so concurrent lookups of different expressions rarely contend. JSON path expressions are compiled outside the
+ * segment locks, therefore the same expression might be compiled more than once if it is looked up concurrently for the first time.
+ * </p>
+ *
+ * @author Lyubomyr Shaydariv
+ * @see JsonPathTypeAdapterFactory
+ * @since 0-SNAPSHOT
+ */
+public final class JsonPaths {
+
+	private static final int segmentCount = 16;
+	private static final int maxSegmentSize = 64;
+
+	private static final LruSegment[] segments = new LruSegment[segmentCount];
+
+	private static final LongAdder hitCount = new LongAdder();
+	private static final LongAdder missCount = new LongAdder();
+
+	static {
+		for ( int i = 0; i < segments.length; i++ ) {
+			segments[i] = new LruSegment(maxSegmentSize);
+		}
+	}
+
+	private JsonPaths() {
+	}
+
+	/**
+	 * @param path JSON path expression
+	 *
+	 * @return A compiled JSON path that is cached for subsequent calls.
+	 *
+	 * @see JsonPath#compile(String, com.jayway.jsonpath.Predicate...)
+	 * @since 0-SNAPSHOT
+	 */
+	public static JsonPath compile(final String path) {
+		final LruSegment segment = segmentFor(path);
+		final JsonPath cachedJsonPath;
+		synchronized ( segment ) {
+			cachedJsonPath = segment.get(path);
+		}
+		if ( cachedJsonPath != null ) {
+			hitCount.increment();
+			return cachedJsonPath;
+		}
+		missCount.increment();
+		final JsonPath jsonPath = JsonPath.compile(path);
+		synchronized ( segment ) {
+			segment.put(path, jsonPath);
+		}
+		return jsonPath;
+	}
+
+	/**
+	 * @param jsonElement   JSON element to query
+	 * @param path          JSON path expression
+	 * @param configuration JsonPath configuration that must use a Gson-backed JSON provider
+	 * @param <T>           Result type
+	 *
+	 * @return The result of the query.
+	 *
+	 * @throws PathNotFoundException If the JSON path points to a not existing path
+	 * @see #compile(String)
+	 * @since 0-SNAPSHOT
+	 */
+	public static <T> T read(final JsonElement jsonElement, final String path, final Configuration configuration)
+			throws PathNotFoundException {
+		return compile(path).read(jsonElement, configuration);
+	}
+
+	/**
+	 * @return The number of cache hits since the class was initialized.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static long getCacheHitCount() {
+		return hitCount.sum();
+	}
+
+	/**
+	 * @return The number of cache misses, thus the number of compiled JSON paths, since the class was initialized.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static long getCacheMissCount() {
+		return missCount.sum();
+	}
+
+	/**
+	 * @return The number of currently cached JSON paths.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static int getCacheSize() {
+		int size = 0;
+		for ( final LruSegment segment : segments ) {
+			synchronized ( segment ) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * @return The maximum number of cached JSON paths.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static int getMaxCacheSize() {
+		return segmentCount * maxSegmentSize;
+	}
+
+	private static LruSegment segmentFor(final String path) {
+		final int hashCode = path.hashCode();
+		return segments[(hashCode ^ hashCode >>> 16) & segmentCount - 1];
+	}
+
+	private static final class LruSegment
+			extends LinkedHashMap<String, JsonPath> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int maxSize;
+
+		private LruSegment(final int maxSize) {
+			super(16, 0.75F, true);
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<String, JsonPath> eldest) {
+			return size() > maxSize;
+		}
+
+	}
+
+}
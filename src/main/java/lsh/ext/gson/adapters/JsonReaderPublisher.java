@@ -0,0 +1,198 @@
+package lsh.ext.gson.adapters;
+
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+
+final class JsonReaderPublisher<T>
+		implements IPublisher<T> {
+
+	private final Type elementType;
+	private final Gson gson;
+	private final JsonReader in;
+	private final Executor executor;
+
+	private final AtomicBoolean subscribed = new AtomicBoolean();
+
+	private JsonReaderPublisher(final Type elementType, final Gson gson, final JsonReader in, final Executor executor) {
+		this.elementType = elementType;
+		this.gson = gson;
+		this.in = in;
+		this.executor = executor;
+	}
+
+	static <T> IPublisher<T> getJsonReaderPublisher(final Type elementType, final Gson gson, final JsonReader in, final Executor executor) {
+		return new JsonReaderPublisher<>(elementType, gson, in, executor);
+	}
+
+	@Override
+	public void subscribe(final ISubscriber<? super T> subscriber) {
+		if ( !subscribed.compareAndSet(false, true) ) {
+			// The JSON reader can be read once only
+			subscriber.onSubscribe(NoSubscription.instance);
+			subscriber.onError(new IllegalStateException("The publisher supports a single subscriber only"));
+			return;
+		}
+		subscriber.onSubscribe(new JsonReaderSubscription<>(JsonReaderIterator.getJsonReaderIterator(elementType, gson, in), executor, subscriber));
+	}
+
+	private static final class JsonReaderSubscription<T>
+			implements ISubscription {
+
+		private final Iterator<T> iterator;
+		private final Executor executor;
+		private final ISubscriber<? super T> subscriber;
+
+		private final AtomicLong demand = new AtomicLong();
+		private final AtomicInteger pending = new AtomicInteger();
+
+		private volatile boolean cancelled;
+		private volatile Throwable invalidRequest;
+
+		// Accessed by the draining thread only, since the drains never overlap
+		private boolean terminated;
+
+		private JsonReaderSubscription(final Iterator<T> iterator, final Executor executor, final ISubscriber<? super T> subscriber) {
+			this.iterator = iterator;
+			this.executor = executor;
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(final long n) {
+			if ( n <= 0 ) {
+				invalidRequest = new IllegalArgumentException("The number of requested elements must be positive: " + n);
+			} else {
+				long current;
+				do {
+					current = demand.get();
+					if ( current == Long.MAX_VALUE ) {
+						break;
+					}
+				} while ( !demand.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n) );
+			}
+			schedule();
+		}
+
+		@Override
+		public void cancel() {
+			// The reader is closed by the draining thread in order not to close it while an element is being read
+			cancelled = true;
+			schedule();
+		}
+
+		private void schedule() {
+			if ( pending.getAndIncrement() != 0 ) {
+				// The running drain picks the new demand up
+				return;
+			}
+			try {
+				executor.execute(this::drain);
+			} catch ( final RejectedExecutionException ex ) {
+				terminated = true;
+				close();
+				subscriber.onError(ex);
+			}
+		}
+
+		private void drain() {
+			if ( terminated ) {
+				return;
+			}
+			int missed = 1;
+			for ( ; ; ) {
+				final long requested = demand.get();
+				long emitted = 0;
+				for ( ; ; ) {
+					if ( cancelled ) {
+						terminated = true;
+						close();
+						return;
+					}
+					final Throwable invalidRequest = this.invalidRequest;
+					if ( invalidRequest != null ) {
+						terminate(invalidRequest);
+						return;
+					}
+					final T next;
+					try {
+						// Checked even if the demand is exhausted in order to complete right after the last element is requested
+						if ( !iterator.hasNext() ) {
+							terminate(null);
+							return;
+						}
+						if ( emitted == requested ) {
+							break;
+						}
+						next = iterator.next();
+					} catch ( final RuntimeException ex ) {
+						terminate(ex);
+						return;
+					}
+					subscriber.onNext(next);
+					emitted++;
+				}
+				if ( emitted != 0 && requested != Long.MAX_VALUE ) {
+					demand.addAndGet(-emitted);
+				}
+				missed = pending.addAndGet(-missed);
+				if ( missed == 0 ) {
+					return;
+				}
+			}
+		}
+
+		private void terminate(final Throwable throwable) {
+			terminated = true;
+			Throwable error = throwable;
+			try {
+				close();
+			} catch ( final RuntimeException ex ) {
+				if ( error == null ) {
+					error = ex;
+				}
+			}
+			if ( error == null ) {
+				subscriber.onComplete();
+			} else {
+				subscriber.onError(error);
+			}
+		}
+
+		private void close() {
+			try {
+				CloseableIterators.tryClose(iterator);
+			} catch ( final RuntimeException ex ) {
+				throw ex;
+			} catch ( final Exception ex ) {
+				throw new RuntimeException(ex);
+			}
+		}
+
+	}
+
+	private static final class NoSubscription
+			implements ISubscription {
+
+		private static final ISubscription instance = new NoSubscription();
+
+		@Override
+		public void request(final long n) {
+			// Nothing to request
+		}
+
+		@Override
+		public void cancel() {
+			// Nothing to cancel
+		}
+
+	}
+
+}
@@ -0,0 +1,180 @@
+package lsh.ext.gson.adapters;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+/**
+ * <p>
+ * Represents a spliterator over a top-level JSON array. Elements traversed with {@link #tryAdvance(Consumer)} are bound directly from the JSON stream, whereas
+ * {@link #trySplit()} only tokenizes a batch of elements into {@link JsonElement} trees on the calling thread, so that the returned spliterator can bind the
+ * batch elements in another thread. This allows the elements to be bound in parallel while the JSON stream is still read sequentially.
+ * </p>
+ *
+ * @author Lyubomyr Shaydariv
+ * @see JsonReaderStreams
+ * @since 0-SNAPSHOT
+ */
+final class JsonReaderSpliterator<T>
+		implements Spliterator<T>, Closeable {
+
+	private static final int batchUnit = 128;
+	private static final int maxBatchSize = 1 << 12;
+
+	private final TypeAdapter<T> elementTypeAdapter;
+	private final TypeAdapter<JsonElement> jsonElementTypeAdapter;
+	private final JsonReader in;
+	private final int characteristics;
+
+	private ReadingSpliteratorState state = ReadingSpliteratorState.BEFORE_ARRAY;
+	private int batchSize;
+
+	private JsonReaderSpliterator(final TypeAdapter<T> elementTypeAdapter, final TypeAdapter<JsonElement> jsonElementTypeAdapter, final JsonReader in,
+			final int characteristics) {
+		this.elementTypeAdapter = elementTypeAdapter;
+		this.jsonElementTypeAdapter = jsonElementTypeAdapter;
+		this.in = in;
+		this.characteristics = characteristics;
+	}
+
+	static <T> JsonReaderSpliterator<T> getJsonReaderSpliterator(final TypeAdapter<T> elementTypeAdapter,
+			final TypeAdapter<JsonElement> jsonElementTypeAdapter, final JsonReader in, final boolean ordered) {
+		return new JsonReaderSpliterator<>(elementTypeAdapter, jsonElementTypeAdapter, in, ordered ? ORDERED : 0);
+	}
+
+	@Override
+	public boolean tryAdvance(final Consumer<? super T> action) {
+		try {
+			if ( !hasNext() ) {
+				return false;
+			}
+			action.accept(elementTypeAdapter.read(in));
+			return true;
+		} catch ( final IOException ex ) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	@Override
+	public Spliterator<T> trySplit() {
+		try {
+			if ( !hasNext() ) {
+				return null;
+			}
+			batchSize = Math.min(batchSize + batchUnit, maxBatchSize);
+			final JsonElement[] batch = new JsonElement[batchSize];
+			int size = 0;
+			do {
+				batch[size++] = jsonElementTypeAdapter.read(in);
+			} while ( size < batch.length && hasNext() );
+			return new BatchSpliterator<>(elementTypeAdapter, batch, 0, size, characteristics);
+		} catch ( final IOException ex ) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	@Override
+	public long estimateSize() {
+		return Long.MAX_VALUE;
+	}
+
+	@Override
+	public int characteristics() {
+		return characteristics;
+	}
+
+	@Override
+	public void close()
+			throws IOException {
+		in.close();
+	}
+
+	private boolean hasNext()
+			throws IOException {
+		switch ( state ) {
+		case BEFORE_ARRAY:
+			in.beginArray();
+			state = ReadingSpliteratorState.WITHIN_ARRAY;
+			return hasNext();
+		case WITHIN_ARRAY:
+			if ( in.hasNext() ) {
+				return true;
+			}
+			in.endArray();
+			state = ReadingSpliteratorState.END_OF_STREAM;
+			return false;
+		case END_OF_STREAM:
+			return false;
+		default:
+			throw new AssertionError(state);
+		}
+	}
+
+	private enum ReadingSpliteratorState {
+
+		BEFORE_ARRAY,
+		WITHIN_ARRAY,
+		END_OF_STREAM
+
+	}
+
+	private static final class BatchSpliterator<T>
+			implements Spliterator<T> {
+
+		private final TypeAdapter<T> elementTypeAdapter;
+		private final JsonElement[] batch;
+		private final int characteristics;
+
+		private int index;
+		private final int fence;
+
+		private BatchSpliterator(final TypeAdapter<T> elementTypeAdapter, final JsonElement[] batch, final int origin, final int fence,
+				final int characteristics) {
+			this.elementTypeAdapter = elementTypeAdapter;
+			this.batch = batch;
+			index = origin;
+			this.fence = fence;
+			this.characteristics = characteristics | SIZED | SUBSIZED;
+		}
+
+		@Override
+		public boolean tryAdvance(final Consumer<? super T> action) {
+			if ( index >= fence ) {
+				return false;
+			}
+			final JsonElement jsonElement = batch[index];
+			// Let the tree be collected as soon as it is bound
+			batch[index++] = null;
+			action.accept(elementTypeAdapter.fromJsonTree(jsonElement));
+			return true;
+		}
+
+		@Override
+		public Spliterator<T> trySplit() {
+			final int middle = index + fence >>> 1;
+			if ( middle <= index ) {
+				return null;
+			}
+			final Spliterator<T> prefix = new BatchSpliterator<>(elementTypeAdapter, batch, index, middle, characteristics);
+			index = middle;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return fence - index;
+		}
+
+		@Override
+		public int characteristics() {
+			return characteristics;
+		}
+
+	}
+
+}
@@ -0,0 +1,165 @@
+package lsh.ext.gson.adapters;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import lsh.ext.gson.JsonReaders;
+
+/**
+ * <p>
+ * Provides {@link Spliterator} and {@link Stream} methods to stream top-level JSON array elements like {@link IteratorTypeAdapter} does.
+ * </p>
+ *
+ * <p>
+ * Parallel streams read the JSON stream sequentially on the thread that splits the stream, and only tokenize batches of elements into {@link JsonElement}
+ * trees there, whereas the batch elements are bound in the fork/join pool the stream terminal operation is run in. In order to run a parallel stream in a
+ * custom pool, run the stream terminal operation in that pool: {@code pool.submit(() -> stream.collect(...)).get()}.
+ * </p>
+ *
+ * <p>
+ * <b>CAUTION</b> The returned streams must be closed in order to close the underlying JSON reader.
+ * </p>
+ *
+ * @author Lyubomyr Shaydariv
+ * @see IteratorTypeAdapter
+ * @since 0-SNAPSHOT
+ */
+public final class JsonReaderStreams {
+
+	private JsonReaderStreams() {
+	}
+
+	/**
+	 * @param elementType Element type
+	 * @param gson        Gson instance
+	 * @param in          JSON reader
+	 * @param ordered     {@code true} to report {@link Spliterator#ORDERED}, thus preserving the encounter order in parallel streams,
+	 *                    otherwise {@code false}.
+	 * @param <T>         Element type
+	 *
+	 * @return A spliterator over the top-level JSON array elements. The spliterator implements {@link java.io.Closeable} to close the given JSON reader.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static <T> Spliterator<T> getJsonReaderSpliterator(final Type elementType, final Gson gson, final JsonReader in, final boolean ordered) {
+		@SuppressWarnings("unchecked")
+		final TypeAdapter<T> elementTypeAdapter = (TypeAdapter<T>) gson.getAdapter(TypeToken.get(elementType));
+		return JsonReaderSpliterator.getJsonReaderSpliterator(elementTypeAdapter, gson.getAdapter(JsonElement.class), in, ordered);
+	}
+
+	/**
+	 * @param elementType Element type
+	 * @param gson        Gson instance
+	 * @param in          JSON reader
+	 * @param <T>         Element type
+	 *
+	 * @return A sequential ordered stream of the top-level JSON array elements.
+	 *
+	 * @see #getParallelJsonReaderStream(Type, Gson, JsonReader, boolean)
+	 * @since 0-SNAPSHOT
+	 */
+	public static <T> Stream<T> getJsonReaderStream(final Type elementType, final Gson gson, final JsonReader in) {
+		return getJsonReaderStream(elementType, gson, in, true, false);
+	}
+
+	/**
+	 * @param elementType Element type
+	 * @param gson        Gson instance
+	 * @param in          JSON reader
+	 * @param ordered     {@code true} to preserve the encounter order, otherwise {@code false} that may improve parallel processing throughput.
+	 * @param <T>         Element type
+	 *
+	 * @return A parallel stream of the top-level JSON array elements.
+	 *
+	 * @see #getJsonReaderStream(Type, Gson, JsonReader)
+	 * @since 0-SNAPSHOT
+	 */
+	public static <T> Stream<T> getParallelJsonReaderStream(final Type elementType, final Gson gson, final JsonReader in, final boolean ordered) {
+		return getJsonReaderStream(elementType, gson, in, ordered, true);
+	}
+
+	/**
+	 * @param elementType Element type
+	 * @param gson        Gson instance
+	 * @param path        UTF-8 encoded JSON file containing a top-level JSON array
+	 * @param <T>         Element type
+	 *
+	 * @return A closeable iterator over the top-level JSON array elements read from the memory-mapped file.
+	 *
+	 * @throws IOException A rethrown exception
+	 * @see JsonReaders#getMappedFileJsonReader(Path)
+	 * @see CloseableIterators
+	 * @since 0-SNAPSHOT
+	 */
+	public static <T> Iterator<T> getMappedFileIterator(final Type elementType, final Gson gson, final Path path)
+			throws IOException {
+		return JsonReaderIterator.getJsonReaderIterator(elementType, gson, JsonReaders.getMappedFileJsonReader(path));
+	}
+
+	/**
+	 * @param elementType Element type
+	 * @param gson        Gson instance
+	 * @param path        UTF-8 encoded JSON file containing a top-level JSON array
+	 * @param <T>         Element type
+	 *
+	 * @return A sequential ordered stream of the top-level JSON array elements read from the memory-mapped file.
+	 *
+	 * @throws IOException A rethrown exception
+	 * @see JsonReaders#getMappedFileJsonReader(Path)
+	 * @since 0-SNAPSHOT
+	 */
+	public static <T> Stream<T> getMappedFileStream(final Type elementType, final Gson gson, final Path path)
+			throws IOException {
+		return getJsonReaderStream(elementType, gson, JsonReaders.getMappedFileJsonReader(path));
+	}
+
+	/**
+	 * @param elementType Element type
+	 * @param gson        Gson instance
+	 * @param in          JSON reader
+	 * @param executor    Executor to run the reader stage and the binding tasks in
+	 * @param depth       The maximum number of elements being read ahead, bound or waiting to be consumed
+	 * @param ordered     {@code true} to return the elements in the encounter order, otherwise {@code false} to return the elements as soon as they are bound.
+	 *                    Note that the unordered mode requires the executor to run the reader stage and binding tasks simultaneously.
+	 * @param <T>         Element type
+	 *
+	 * @return A closeable iterator over the top-level JSON array elements that reads, binds and returns the elements in a pipeline, so that I/O, binding and
+	 * the consumer work overlap. Closing the iterator closes the given JSON reader.
+	 *
+	 * @throws IllegalArgumentException If the depth is not positive
+	 * @see CloseableIterators
+	 * @since 0-SNAPSHOT
+	 */
+	public static <T> Iterator<T> getPipelinedJsonReaderIterator(final Type elementType, final Gson gson, final JsonReader in, final Executor executor,
+			final int depth, final boolean ordered)
+			throws IllegalArgumentException {
+		@SuppressWarnings("unchecked")
+		final TypeAdapter<T> elementTypeAdapter = (TypeAdapter<T>) gson.getAdapter(TypeToken.get(elementType));
+		return PipelinedJsonReaderIterator.getPipelinedJsonReaderIterator(elementTypeAdapter, gson.getAdapter(JsonElement.class), in, executor, depth, ordered);
+	}
+
+	private static <T> Stream<T> getJsonReaderStream(final Type elementType, final Gson gson, final JsonReader in, final boolean ordered,
+			final boolean parallel) {
+		final Spliterator<T> spliterator = getJsonReaderSpliterator(elementType, gson, in, ordered);
+		return StreamSupport.stream(spliterator, parallel)
+				.onClose(() -> {
+					try {
+						in.close();
+					} catch ( final IOException ex ) {
+						throw new RuntimeException(ex);
+					}
+				});
+	}
+
+}
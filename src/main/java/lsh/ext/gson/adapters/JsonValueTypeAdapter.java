@@ -1,14 +1,14 @@
 package lsh.ext.gson.adapters;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
-import javax.annotation.Nullable;
-import javax.json.Json;
 import javax.json.JsonArray;
-import javax.json.JsonArrayBuilder;
 import javax.json.JsonNumber;
 import javax.json.JsonObject;
-import javax.json.JsonObjectBuilder;
 import javax.json.JsonString;
 import javax.json.JsonValue;
 import javax.json.JsonValue.ValueType;
@@ -18,12 +18,18 @@ import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import com.google.gson.stream.MalformedJsonException;
+import lsh.ext.gson.Numbers.ParsedNumber;
 
-import static lsh.ext.gson.Numbers.tryParseLongOrDouble;
+import static lsh.ext.gson.Numbers.tryParse;
+import static lsh.ext.gson.adapters.JsonValues.jsonArray;
+import static lsh.ext.gson.adapters.JsonValues.jsonNumber;
+import static lsh.ext.gson.adapters.JsonValues.jsonObject;
+import static lsh.ext.gson.adapters.JsonValues.jsonString;
 
 /**
  * <p>Represents a type adapter for {@code javax.json} JSON values. During the {@link #read(JsonReader)} execution, numeric values are parsed as {@code long}
- * or {@code double} values using the {@link lsh.ext.gson.Numbers#tryParseDouble(String)} method.</p>
+ * or {@code double} values using the {@link lsh.ext.gson.Numbers#tryParse(CharSequence, ParsedNumber)} method. The read values are lightweight immutable
+ * implementations that are created directly, so no {@code javax.json} provider is required for reading.</p>
  *
  * @author Lyubomyr Shaydariv
  * @see JsonValue
@@ -36,9 +42,13 @@ import static lsh.ext.gson.Numbers.tryParseLongOrDouble;
 public final class JsonValueTypeAdapter
 		extends TypeAdapter<JsonValue> {
 
-	private static final TypeAdapter<JsonValue> jsonValueTypeAdapter = new JsonValueTypeAdapter();
+	private static final TypeAdapter<JsonValue> jsonValueTypeAdapter = new JsonValueTypeAdapter(false);
+	private static final TypeAdapter<JsonValue> lazyJsonValueTypeAdapter = new JsonValueTypeAdapter(true);
 
-	private JsonValueTypeAdapter() {
+	private final boolean lazy;
+
+	private JsonValueTypeAdapter(final boolean lazy) {
+		this.lazy = lazy;
 	}
 
 	/**
@@ -50,6 +60,17 @@ public final class JsonValueTypeAdapter
 		return jsonValueTypeAdapter;
 	}
 
+	/**
+	 * @return An instance of {@link JsonValueTypeAdapter} that reads JSON objects and JSON arrays into a compact token tape at once, and returns
+	 * {@link JsonObject} and {@link JsonArray} views that decode their members only when the members are accessed. This is useful for large documents where
+	 * only a few members are accessed.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static TypeAdapter<JsonValue> getLazyJsonValueTypeAdapter() {
+		return lazyJsonValueTypeAdapter;
+	}
+
 	@Override
 	public void write(final JsonWriter out, final JsonValue jsonValue)
 			throws IOException {
@@ -87,11 +108,11 @@ public final class JsonValueTypeAdapter
 		final JsonToken jsonToken = in.peek();
 		switch ( jsonToken ) {
 		case BEGIN_ARRAY:
-			return JsonArrayTypeAdapter.instance.read(in);
+			return lazy ? LazyJsonValues.read(in) : JsonArrayTypeAdapter.instance.read(in);
 		case END_ARRAY:
 			throw new AssertionError("Must never happen due to delegation to the array type adapter");
 		case BEGIN_OBJECT:
-			return JsonObjectTypeAdapter.instance.read(in);
+			return lazy ? LazyJsonValues.read(in) : JsonObjectTypeAdapter.instance.read(in);
 		case END_OBJECT:
 			throw new AssertionError("Must never happen due to delegation to the object type adapter");
 		case NAME:
@@ -111,6 +132,23 @@ public final class JsonValueTypeAdapter
 		}
 	}
 
+	private static JsonNumber readNumber(final JsonReader in, final ParsedNumber parsedNumber)
+			throws IOException {
+		final String rawValue = in.nextString();
+		if ( !tryParse(rawValue, parsedNumber) ) {
+			throw new MalformedJsonException("Cannot parse " + rawValue);
+		}
+		switch ( parsedNumber.getNumberType() ) {
+		case LONG:
+			return jsonNumber(parsedNumber.getLongValue());
+		case DOUBLE:
+			return jsonNumber(parsedNumber.getDoubleValue());
+		case NONE:
+		default:
+			throw new AssertionError(parsedNumber.getNumberType());
+		}
+	}
+
 	private static final class JsonNullTypeAdapter
 			extends TypeAdapter<JsonValue> {
 
@@ -187,24 +225,7 @@ public final class JsonValueTypeAdapter
 		@Override
 		public JsonNumber read(final JsonReader in)
 				throws IOException {
-			final String rawValue = in.nextString();
-			@Nullable
-			final Number number = tryParseLongOrDouble(rawValue);
-			if ( number == null ) {
-				throw new MalformedJsonException("Cannot parse " + rawValue);
-			}
-			// TODO is there a good way to instantiate a JsonNumber instance?
-			final JsonArrayBuilder jsonArrayBuilder = Json.createArrayBuilder();
-			if ( number instanceof Long ) {
-				jsonArrayBuilder.add(number.longValue());
-			} else if ( number instanceof Double ) {
-				jsonArrayBuilder.add(number.doubleValue());
-			} else {
-				throw new AssertionError("Unexpected: " + number.getClass());
-			}
-			return (JsonNumber) jsonArrayBuilder
-					.build()
-					.get(0);
+			return readNumber(in, new ParsedNumber());
 		}
 
 	}
@@ -224,11 +245,7 @@ public final class JsonValueTypeAdapter
 		@Override
 		public JsonString read(final JsonReader in)
 				throws IOException {
-			// TODO is there a good way to instantiate a JsonString instance?
-			return (JsonString) Json.createArrayBuilder()
-					.add(in.nextString())
-					.build()
-					.get(0);
+			return jsonString(in.nextString());
 		}
 
 	}
@@ -253,48 +270,38 @@ public final class JsonValueTypeAdapter
 		@Override
 		public JsonObject read(final JsonReader in)
 				throws IOException {
-			final JsonObjectBuilder jsonObjectBuilder = Json.createObjectBuilder();
+			final Map<String, JsonValue> map = new LinkedHashMap<>();
+			// Reused for all numbers of the object
+			final ParsedNumber parsedNumber = new ParsedNumber();
 			in.beginObject();
 			while ( in.hasNext() ) {
 				final String key = in.nextName();
 				final JsonToken token = in.peek();
 				switch ( token ) {
 				case BEGIN_ARRAY:
-					jsonObjectBuilder.add(key, jsonValueTypeAdapter.read(in));
+					map.put(key, jsonValueTypeAdapter.read(in));
 					break;
 				case END_ARRAY:
 					throw new AssertionError("Must never happen due to delegation to the array type adapter");
 				case BEGIN_OBJECT:
-					jsonObjectBuilder.add(key, jsonValueTypeAdapter.read(in));
+					map.put(key, jsonValueTypeAdapter.read(in));
 					break;
 				case END_OBJECT:
 					throw new AssertionError("Must never happen due to delegation to the object type adapter");
 				case NAME:
 					throw new AssertionError("Must never happen");
 				case STRING:
-					jsonObjectBuilder.add(key, in.nextString());
+					map.put(key, jsonString(in.nextString()));
 					break;
 				case NUMBER:
-					final String rawValue = in.nextString();
-					@Nullable
-					final Number number = tryParseLongOrDouble(rawValue);
-					if ( number == null ) {
-						throw new MalformedJsonException("Cannot parse " + rawValue);
-					}
-					if ( number instanceof Long ) {
-						jsonObjectBuilder.add(key, number.longValue());
-					} else if ( number instanceof Double ) {
-						jsonObjectBuilder.add(key, number.doubleValue());
-					} else {
-						throw new AssertionError("Unexpected: " + number.getClass());
-					}
+					map.put(key, readNumber(in, parsedNumber));
 					break;
 				case BOOLEAN:
-					jsonObjectBuilder.add(key, in.nextBoolean());
+					map.put(key, in.nextBoolean() ? JsonValue.TRUE : JsonValue.FALSE);
 					break;
 				case NULL:
 					in.nextNull();
-					jsonObjectBuilder.addNull(key);
+					map.put(key, JsonValue.NULL);
 					break;
 				case END_DOCUMENT:
 					// do nothing
@@ -304,7 +311,7 @@ public final class JsonValueTypeAdapter
 				}
 			}
 			in.endObject();
-			return jsonObjectBuilder.build();
+			return jsonObject(map);
 		}
 
 	}
@@ -328,47 +335,37 @@ public final class JsonValueTypeAdapter
 		@Override
 		public JsonArray read(final JsonReader in)
 				throws IOException {
-			final JsonArrayBuilder jsonArrayBuilder = Json.createArrayBuilder();
+			final List<JsonValue> list = new ArrayList<>();
+			// Reused for all numbers of the array
+			final ParsedNumber parsedNumber = new ParsedNumber();
 			in.beginArray();
 			while ( in.hasNext() ) {
 				final JsonToken token = in.peek();
 				switch ( token ) {
 				case BEGIN_ARRAY:
-					jsonArrayBuilder.add(jsonValueTypeAdapter.read(in));
+					list.add(jsonValueTypeAdapter.read(in));
 					break;
 				case END_ARRAY:
 					throw new AssertionError("Must never happen due to delegation to the array type adapter");
 				case BEGIN_OBJECT:
-					jsonArrayBuilder.add(jsonValueTypeAdapter.read(in));
+					list.add(jsonValueTypeAdapter.read(in));
 					break;
 				case END_OBJECT:
 					throw new AssertionError("Must never happen due to delegation to the object type adapter");
 				case NAME:
 					throw new AssertionError("Must never happen");
 				case STRING:
-					jsonArrayBuilder.add(in.nextString());
+					list.add(jsonString(in.nextString()));
 					break;
 				case NUMBER:
-					final String rawValue = in.nextString();
-					@Nullable
-					final Number number = tryParseLongOrDouble(rawValue);
-					if ( number == null ) {
-						throw new MalformedJsonException("Cannot parse " + rawValue);
-					}
-					if ( number instanceof Long ) {
-						jsonArrayBuilder.add(number.longValue());
-					} else if ( number instanceof Double ) {
-						jsonArrayBuilder.add(number.doubleValue());
-					} else {
-						throw new AssertionError("Unexpected: " + number.getClass());
-					}
+					list.add(readNumber(in, parsedNumber));
 					break;
 				case BOOLEAN:
-					jsonArrayBuilder.add(in.nextBoolean());
+					list.add(in.nextBoolean() ? JsonValue.TRUE : JsonValue.FALSE);
 					break;
 				case NULL:
 					in.nextNull();
-					jsonArrayBuilder.addNull();
+					list.add(JsonValue.NULL);
 					break;
 				case END_DOCUMENT:
 					// do nothing
@@ -378,7 +375,7 @@ public final class JsonValueTypeAdapter
 				}
 			}
 			in.endArray();
-			return jsonArrayBuilder.build();
+			return jsonArray(list);
 		}
 
 	}
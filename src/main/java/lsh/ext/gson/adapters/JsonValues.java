@@ -0,0 +1,516 @@
+package lsh.ext.gson.adapters;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.JsonValue.ValueType;
+
+import static java.util.Collections.unmodifiableMap;
+
+import static lsh.ext.gson.adapters.JsonValueTypeAdapter.getJsonValueTypeAdapter;
+
+/**
+ * <p>
+ * Provides lightweight immutable {@code javax.json} value implementations that do not require a {@code javax.json} provider and do not need intermediate
+ * builders to be instantiated.
+ * </p>
+ *
+ * <p>
+ * The implementations follow the {@code equals} and {@code hashCode} contracts declared in {@link JsonString}, {@link JsonNumber}, {@link JsonObject}
+ * ({@link Map}) and {@link JsonArray} ({@link List}), so they are interchangeable with values created by any other {@code javax.json} provider.
+ * </p>
+ *
+ * @author Lyubomyr Shaydariv
+ * @see JsonValueTypeAdapter
+ * @since 0-SNAPSHOT
+ */
+final class JsonValues {
+
+	private JsonValues() {
+	}
+
+	/**
+	 * @param s A string value
+	 *
+	 * @return A new JSON string.
+	 */
+	static JsonString jsonString(final String s) {
+		return new StringJsonString(s);
+	}
+
+	/**
+	 * @param l A long value
+	 *
+	 * @return A new integral JSON number.
+	 */
+	static JsonNumber jsonNumber(final long l) {
+		return new LongJsonNumber(l);
+	}
+
+	/**
+	 * @param d A double value
+	 *
+	 * @return A new JSON number.
+	 */
+	static JsonNumber jsonNumber(final double d) {
+		return new DoubleJsonNumber(d);
+	}
+
+	/**
+	 * @param map A map to wrap. The map must not be modified after the method invocation.
+	 *
+	 * @return A new JSON object backed by the given map.
+	 */
+	static JsonObject jsonObject(final Map<String, JsonValue> map) {
+		return new MapJsonObject(map);
+	}
+
+	/**
+	 * @param list A list to wrap. The list must not be modified after the method invocation.
+	 *
+	 * @return A new JSON array backed by the given list.
+	 */
+	static JsonArray jsonArray(final List<JsonValue> list) {
+		return new ListJsonArray(list);
+	}
+
+	private static final class StringJsonString
+			implements JsonString {
+
+		private final String s;
+
+		private StringJsonString(final String s) {
+			this.s = s;
+		}
+
+		@Override
+		public ValueType getValueType() {
+			return ValueType.STRING;
+		}
+
+		@Override
+		public String getString() {
+			return s;
+		}
+
+		@Override
+		public CharSequence getChars() {
+			return s;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			return o instanceof JsonString && s.equals(((JsonString) o).getString());
+		}
+
+		@Override
+		public int hashCode() {
+			return s.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return getJsonValueTypeAdapter().toJson(this);
+		}
+
+	}
+
+	private abstract static class AbstractJsonNumber
+			implements JsonNumber {
+
+		@Override
+		public final ValueType getValueType() {
+			return ValueType.NUMBER;
+		}
+
+		@Override
+		public final boolean equals(final Object o) {
+			return o instanceof JsonNumber && bigDecimalValue().equals(((JsonNumber) o).bigDecimalValue());
+		}
+
+		@Override
+		public final int hashCode() {
+			return bigDecimalValue().hashCode();
+		}
+
+		@Override
+		public final String toString() {
+			return getJsonValueTypeAdapter().toJson(this);
+		}
+
+	}
+
+	private static final class LongJsonNumber
+			extends AbstractJsonNumber {
+
+		private final long l;
+
+		private LongJsonNumber(final long l) {
+			this.l = l;
+		}
+
+		@Override
+		public boolean isIntegral() {
+			return true;
+		}
+
+		@Override
+		public int intValue() {
+			return (int) l;
+		}
+
+		@Override
+		public int intValueExact() {
+			return Math.toIntExact(l);
+		}
+
+		@Override
+		public long longValue() {
+			return l;
+		}
+
+		@Override
+		public long longValueExact() {
+			return l;
+		}
+
+		@Override
+		public BigInteger bigIntegerValue() {
+			return BigInteger.valueOf(l);
+		}
+
+		@Override
+		public BigInteger bigIntegerValueExact() {
+			return BigInteger.valueOf(l);
+		}
+
+		@Override
+		public double doubleValue() {
+			return l;
+		}
+
+		@Override
+		public BigDecimal bigDecimalValue() {
+			return BigDecimal.valueOf(l);
+		}
+
+	}
+
+	private static final class DoubleJsonNumber
+			extends AbstractJsonNumber {
+
+		private final double d;
+
+		private DoubleJsonNumber(final double d) {
+			this.d = d;
+		}
+
+		@Override
+		public boolean isIntegral() {
+			return bigDecimalValue().scale() == 0;
+		}
+
+		@Override
+		public int intValue() {
+			return bigDecimalValue().intValue();
+		}
+
+		@Override
+		public int intValueExact() {
+			return bigDecimalValue().intValueExact();
+		}
+
+		@Override
+		public long longValue() {
+			return bigDecimalValue().longValue();
+		}
+
+		@Override
+		public long longValueExact() {
+			return bigDecimalValue().longValueExact();
+		}
+
+		@Override
+		public BigInteger bigIntegerValue() {
+			return bigDecimalValue().toBigInteger();
+		}
+
+		@Override
+		public BigInteger bigIntegerValueExact() {
+			return bigDecimalValue().toBigIntegerExact();
+		}
+
+		@Override
+		public double doubleValue() {
+			return d;
+		}
+
+		@Override
+		public BigDecimal bigDecimalValue() {
+			return BigDecimal.valueOf(d);
+		}
+
+	}
+
+	/**
+	 * Implements the {@link JsonObject}-specific accessors on top of {@link Map#get(Object)}.
+	 */
+	abstract static class AbstractJsonObject
+			extends AbstractMap<String, JsonValue>
+			implements JsonObject {
+
+		@Override
+		public final ValueType getValueType() {
+			return ValueType.OBJECT;
+		}
+
+		@Override
+		public final JsonArray getJsonArray(final String name) {
+			return (JsonArray) get(name);
+		}
+
+		@Override
+		public final JsonObject getJsonObject(final String name) {
+			return (JsonObject) get(name);
+		}
+
+		@Override
+		public final JsonNumber getJsonNumber(final String name) {
+			return (JsonNumber) get(name);
+		}
+
+		@Override
+		public final JsonString getJsonString(final String name) {
+			return (JsonString) get(name);
+		}
+
+		@Override
+		public final String getString(final String name) {
+			return getJsonString(name).getString();
+		}
+
+		@Override
+		public final String getString(final String name, final String defaultValue) {
+			final JsonValue jsonValue = get(name);
+			return jsonValue instanceof JsonString ? ((JsonString) jsonValue).getString() : defaultValue;
+		}
+
+		@Override
+		public final int getInt(final String name) {
+			return getJsonNumber(name).intValue();
+		}
+
+		@Override
+		public final int getInt(final String name, final int defaultValue) {
+			final JsonValue jsonValue = get(name);
+			return jsonValue instanceof JsonNumber ? ((JsonNumber) jsonValue).intValue() : defaultValue;
+		}
+
+		@Override
+		public final boolean getBoolean(final String name) {
+			return toBoolean(get(name));
+		}
+
+		@Override
+		public final boolean getBoolean(final String name, final boolean defaultValue) {
+			return toBoolean(get(name), defaultValue);
+		}
+
+		@Override
+		public final boolean isNull(final String name) {
+			return get(name).equals(JsonValue.NULL);
+		}
+
+		@Override
+		public final String toString() {
+			return getJsonValueTypeAdapter().toJson(this);
+		}
+
+	}
+
+	/**
+	 * Implements the {@link JsonArray}-specific accessors on top of {@link List#get(int)}.
+	 */
+	abstract static class AbstractJsonArray
+			extends AbstractList<JsonValue>
+			implements JsonArray {
+
+		@Override
+		public final ValueType getValueType() {
+			return ValueType.ARRAY;
+		}
+
+		@Override
+		public final JsonObject getJsonObject(final int index) {
+			return (JsonObject) get(index);
+		}
+
+		@Override
+		public final JsonArray getJsonArray(final int index) {
+			return (JsonArray) get(index);
+		}
+
+		@Override
+		public final JsonNumber getJsonNumber(final int index) {
+			return (JsonNumber) get(index);
+		}
+
+		@Override
+		public final JsonString getJsonString(final int index) {
+			return (JsonString) get(index);
+		}
+
+		@Override
+		public final <T extends JsonValue> List<T> getValuesAs(final Class<T> clazz) {
+			@SuppressWarnings("unchecked")
+			final List<T> castList = (List<T>) this;
+			return castList;
+		}
+
+		@Override
+		public final String getString(final int index) {
+			return getJsonString(index).getString();
+		}
+
+		@Override
+		public final String getString(final int index, final String defaultValue) {
+			if ( index < 0 || index >= size() ) {
+				return defaultValue;
+			}
+			final JsonValue jsonValue = get(index);
+			return jsonValue instanceof JsonString ? ((JsonString) jsonValue).getString() : defaultValue;
+		}
+
+		@Override
+		public final int getInt(final int index) {
+			return getJsonNumber(index).intValue();
+		}
+
+		@Override
+		public final int getInt(final int index, final int defaultValue) {
+			if ( index < 0 || index >= size() ) {
+				return defaultValue;
+			}
+			final JsonValue jsonValue = get(index);
+			return jsonValue instanceof JsonNumber ? ((JsonNumber) jsonValue).intValue() : defaultValue;
+		}
+
+		@Override
+		public final boolean getBoolean(final int index) {
+			return toBoolean(get(index));
+		}
+
+		@Override
+		public final boolean getBoolean(final int index, final boolean defaultValue) {
+			if ( index < 0 || index >= size() ) {
+				return defaultValue;
+			}
+			return toBoolean(get(index), defaultValue);
+		}
+
+		@Override
+		public final boolean isNull(final int index) {
+			return get(index).equals(JsonValue.NULL);
+		}
+
+		@Override
+		public final String toString() {
+			return getJsonValueTypeAdapter().toJson(this);
+		}
+
+	}
+
+	private static final class MapJsonObject
+			extends AbstractJsonObject {
+
+		private final Map<String, JsonValue> map;
+
+		private MapJsonObject(final Map<String, JsonValue> map) {
+			this.map = unmodifiableMap(map);
+		}
+
+		@Override
+		public JsonValue get(final Object key) {
+			return map.get(key);
+		}
+
+		@Override
+		public boolean containsKey(final Object key) {
+			return map.containsKey(key);
+		}
+
+		@Override
+		public int size() {
+			return map.size();
+		}
+
+		@Override
+		public Set<Entry<String, JsonValue>> entrySet() {
+			return map.entrySet();
+		}
+
+	}
+
+	private static final class ListJsonArray
+			extends AbstractJsonArray {
+
+		private final List<JsonValue> list;
+
+		private ListJsonArray(final List<JsonValue> list) {
+			this.list = list;
+		}
+
+		@Override
+		public JsonValue get(final int index) {
+			return list.get(index);
+		}
+
+		@Override
+		public int size() {
+			return list.size();
+		}
+
+	}
+
+	private static boolean toBoolean(final JsonValue jsonValue)
+			throws NullPointerException, ClassCastException {
+		switch ( jsonValue.getValueType() ) {
+		case TRUE:
+			return true;
+		case FALSE:
+			return false;
+		case ARRAY:
+		case OBJECT:
+		case STRING:
+		case NUMBER:
+		case NULL:
+			throw new ClassCastException("Not a boolean: " + jsonValue.getValueType());
+		default:
+			throw new AssertionError(jsonValue.getValueType());
+		}
+	}
+
+	private static boolean toBoolean(final JsonValue jsonValue, final boolean defaultValue) {
+		if ( jsonValue == null ) {
+			return defaultValue;
+		}
+		final ValueType valueType = jsonValue.getValueType();
+		if ( valueType == ValueType.TRUE ) {
+			return true;
+		}
+		if ( valueType == ValueType.FALSE ) {
+			return false;
+		}
+		return defaultValue;
+	}
+
+}
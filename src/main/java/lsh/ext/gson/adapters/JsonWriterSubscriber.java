@@ -0,0 +1,106 @@
+package lsh.ext.gson.adapters;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+
+final class JsonWriterSubscriber<T>
+		implements ISubscriber<T> {
+
+	private final Type elementType;
+	private final Gson gson;
+	private final JsonWriter out;
+	private final long batchSize;
+	private final CompletableFuture<Void> completion;
+
+	// The signals are never sent concurrently, and the specification guarantees they are visible to each other
+	private ISubscription subscription;
+	private long remaining;
+	private boolean failed;
+
+	private JsonWriterSubscriber(final Type elementType, final Gson gson, final JsonWriter out, final long batchSize,
+			final CompletableFuture<Void> completion) {
+		this.elementType = elementType;
+		this.gson = gson;
+		this.out = out;
+		this.batchSize = batchSize;
+		this.completion = completion;
+	}
+
+	static <T> ISubscriber<T> getJsonWriterSubscriber(final Type elementType, final Gson gson, final JsonWriter out, final long batchSize,
+			final CompletableFuture<Void> completion)
+			throws IllegalArgumentException {
+		if ( batchSize <= 0 ) {
+			throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+		}
+		return new JsonWriterSubscriber<>(elementType, gson, out, batchSize, completion);
+	}
+
+	@Override
+	public void onSubscribe(final ISubscription subscription) {
+		if ( this.subscription != null ) {
+			// A subscriber writes a single JSON array
+			subscription.cancel();
+			return;
+		}
+		this.subscription = subscription;
+		try {
+			out.beginArray();
+		} catch ( final IOException ex ) {
+			fail(ex);
+			return;
+		}
+		remaining = batchSize;
+		subscription.request(batchSize);
+	}
+
+	@Override
+	public void onNext(final T element) {
+		if ( failed ) {
+			return;
+		}
+		try {
+			gson.toJson(element, elementType, out);
+		} catch ( final RuntimeException ex ) {
+			// Neither I/O nor type adapter errors may escape the subscriber
+			fail(ex);
+			return;
+		}
+		if ( --remaining == 0 ) {
+			remaining = batchSize;
+			subscription.request(batchSize);
+		}
+	}
+
+	@Override
+	public void onError(final Throwable throwable) {
+		if ( !failed ) {
+			completion.completeExceptionally(throwable);
+		}
+	}
+
+	@Override
+	public void onComplete() {
+		if ( failed ) {
+			return;
+		}
+		try {
+			out.endArray();
+			out.flush();
+		} catch ( final IOException ex ) {
+			completion.completeExceptionally(ex);
+			return;
+		}
+		completion.complete(null);
+	}
+
+	private void fail(final Throwable throwable) {
+		failed = true;
+		subscription.cancel();
+		completion.completeExceptionally(throwable);
+	}
+
+}
@@ -0,0 +1,405 @@
+package lsh.ext.gson.adapters;
+
+import java.io.IOException;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import javax.json.JsonValue;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import lsh.ext.gson.Numbers.ParsedNumber;
+import lsh.ext.gson.adapters.JsonValues.AbstractJsonArray;
+import lsh.ext.gson.adapters.JsonValues.AbstractJsonObject;
+
+import static lsh.ext.gson.Numbers.tryParse;
+import static lsh.ext.gson.adapters.JsonValues.jsonNumber;
+import static lsh.ext.gson.adapters.JsonValues.jsonString;
+
+/**
+ * <p>
+ * Provides lazy {@code javax.json} object and array views. A JSON value is read once into a compact token tape, and the views decode their members only
+ * when the members are accessed. Decoded members are cached without locking: a single reader decodes every member once only, whereas concurrent readers may
+ * decode the same member more than once, getting equal values. The views are immutable and can be read concurrently.
+ * </p>
+ *
+ * @author Lyubomyr Shaydariv
+ * @see JsonValueTypeAdapter#getLazyJsonValueTypeAdapter()
+ * @since 0-SNAPSHOT
+ */
+final class LazyJsonValues {
+
+	private static final byte OBJECT = 0;
+	private static final byte ARRAY = 1;
+	private static final byte NAME = 2;
+	private static final byte STRING = 3;
+	private static final byte LONG = 4;
+	private static final byte DOUBLE = 5;
+	private static final byte TRUE = 6;
+	private static final byte FALSE = 7;
+	private static final byte NULL = 8;
+
+	// Objects having more members are indexed with a hash map, otherwise looked up linearly
+	private static final int maxLinearLookupSize = 8;
+
+	private LazyJsonValues() {
+	}
+
+	/**
+	 * Reads a JSON object or a JSON array into a token tape.
+	 *
+	 * @param in JSON reader positioned at {@link JsonToken#BEGIN_OBJECT} or {@link JsonToken#BEGIN_ARRAY}
+	 *
+	 * @return A lazy JSON object or JSON array view.
+	 *
+	 * @throws IOException A rethrown exception
+	 */
+	static JsonValue read(final JsonReader in)
+			throws IOException {
+		final Tape tape = Tape.read(in);
+		return tape.decode(0);
+	}
+
+	private static final class Tape {
+
+		private byte[] types = new byte[16];
+		// Container end positions (exclusive) or string indexes
+		private int[] ints = new int[16];
+		// Container sizes or number bits
+		private long[] longs = new long[16];
+		private String[] strings = new String[8];
+		private int size;
+		private int stringsSize;
+
+		private static Tape read(final JsonReader in)
+				throws IOException {
+			final Tape tape = new Tape();
+			final ParsedNumber parsedNumber = new ParsedNumber();
+			int[] containers = new int[8];
+			int depth = 0;
+			do {
+				final JsonToken token = in.peek();
+				switch ( token ) {
+				case BEGIN_OBJECT:
+					in.beginObject();
+					final int objectPosition = tape.addValue(OBJECT, 0, 0, containers, depth);
+					if ( depth == containers.length ) {
+						containers = Arrays.copyOf(containers, depth * 2);
+					}
+					containers[depth++] = objectPosition;
+					break;
+				case END_OBJECT:
+					in.endObject();
+					tape.ints[containers[--depth]] = tape.size;
+					break;
+				case BEGIN_ARRAY:
+					in.beginArray();
+					final int arrayPosition = tape.addValue(ARRAY, 0, 0, containers, depth);
+					if ( depth == containers.length ) {
+						containers = Arrays.copyOf(containers, depth * 2);
+					}
+					containers[depth++] = arrayPosition;
+					break;
+				case END_ARRAY:
+					in.endArray();
+					tape.ints[containers[--depth]] = tape.size;
+					break;
+				case NAME:
+					tape.add(NAME, tape.addString(in.nextName()), 0);
+					break;
+				case STRING:
+					tape.addValue(STRING, tape.addString(in.nextString()), 0, containers, depth);
+					break;
+				case NUMBER:
+					final String rawValue = in.nextString();
+					if ( !tryParse(rawValue, parsedNumber) ) {
+						throw new MalformedJsonException("Cannot parse " + rawValue);
+					}
+					switch ( parsedNumber.getNumberType() ) {
+					case LONG:
+						tape.addValue(LONG, 0, parsedNumber.getLongValue(), containers, depth);
+						break;
+					case DOUBLE:
+						tape.addValue(DOUBLE, 0, Double.doubleToRawLongBits(parsedNumber.getDoubleValue()), containers, depth);
+						break;
+					case NONE:
+					default:
+						throw new AssertionError(parsedNumber.getNumberType());
+					}
+					break;
+				case BOOLEAN:
+					tape.addValue(in.nextBoolean() ? TRUE : FALSE, 0, 0, containers, depth);
+					break;
+				case NULL:
+					in.nextNull();
+					tape.addValue(NULL, 0, 0, containers, depth);
+					break;
+				case END_DOCUMENT:
+					throw new MalformedJsonException("Unexpected " + token);
+				default:
+					throw new AssertionError(token);
+				}
+			} while ( depth != 0 );
+			return tape;
+		}
+
+		private int addValue(final byte type, final int i, final long l, final int[] containers, final int depth) {
+			if ( depth > 0 ) {
+				longs[containers[depth - 1]]++;
+			}
+			return add(type, i, l);
+		}
+
+		private int add(final byte type, final int i, final long l) {
+			if ( size == types.length ) {
+				final int capacity = size * 2;
+				types = Arrays.copyOf(types, capacity);
+				ints = Arrays.copyOf(ints, capacity);
+				longs = Arrays.copyOf(longs, capacity);
+			}
+			types[size] = type;
+			ints[size] = i;
+			longs[size] = l;
+			return size++;
+		}
+
+		private int addString(final String s) {
+			if ( stringsSize == strings.length ) {
+				strings = Arrays.copyOf(strings, stringsSize * 2);
+			}
+			strings[stringsSize] = s;
+			return stringsSize++;
+		}
+
+		private int next(final int position) {
+			final byte type = types[position];
+			return type == OBJECT || type == ARRAY ? ints[position] : position + 1;
+		}
+
+		private JsonValue decode(final int position) {
+			final byte type = types[position];
+			switch ( type ) {
+			case OBJECT:
+				return new LazyJsonObject(this, position);
+			case ARRAY:
+				return new LazyJsonArray(this, position);
+			case STRING:
+				return jsonString(strings[ints[position]]);
+			case LONG:
+				return jsonNumber(longs[position]);
+			case DOUBLE:
+				return jsonNumber(Double.longBitsToDouble(longs[position]));
+			case TRUE:
+				return JsonValue.TRUE;
+			case FALSE:
+				return JsonValue.FALSE;
+			case NULL:
+				return JsonValue.NULL;
+			case NAME:
+			default:
+				throw new AssertionError(type);
+			}
+		}
+
+	}
+
+	private static final class LazyJsonObject
+			extends AbstractJsonObject {
+
+		private final Tape tape;
+		private final int position;
+
+		private volatile Index index;
+		private Set<Entry<String, JsonValue>> entrySet;
+
+		private LazyJsonObject(final Tape tape, final int position) {
+			this.tape = tape;
+			this.position = position;
+		}
+
+		@Override
+		public JsonValue get(final Object key) {
+			final Index index = getIndex();
+			final int i = index.indexOf(key);
+			return i != -1 ? index.valueAt(tape, i) : null;
+		}
+
+		@Override
+		public boolean containsKey(final Object key) {
+			return getIndex().indexOf(key) != -1;
+		}
+
+		@Override
+		public int size() {
+			return getIndex().names.length;
+		}
+
+		@Override
+		public Set<Entry<String, JsonValue>> entrySet() {
+			if ( entrySet == null ) {
+				entrySet = new AbstractSet<Entry<String, JsonValue>>() {
+					@Override
+					public Iterator<Entry<String, JsonValue>> iterator() {
+						final Index index = getIndex();
+						return new Iterator<Entry<String, JsonValue>>() {
+							private int i;
+
+							@Override
+							public boolean hasNext() {
+								return i < index.names.length;
+							}
+
+							@Override
+							public Entry<String, JsonValue> next() {
+								if ( !hasNext() ) {
+									throw new NoSuchElementException();
+								}
+								final int current = i++;
+								return new SimpleImmutableEntry<>(index.names[current], index.valueAt(tape, current));
+							}
+						};
+					}
+
+					@Override
+					public int size() {
+						return LazyJsonObject.this.size();
+					}
+				};
+			}
+			return entrySet;
+		}
+
+		private Index getIndex() {
+			Index index = this.index;
+			if ( index == null ) {
+				index = Index.of(tape, position);
+				this.index = index;
+			}
+			return index;
+		}
+
+		private static final class Index {
+
+			private final String[] names;
+			private final int[] positions;
+			private final JsonValue[] values;
+			private final Map<String, Integer> indexesByName;
+
+			private Index(final String[] names, final int[] positions, final Map<String, Integer> indexesByName) {
+				this.names = names;
+				this.positions = positions;
+				values = new JsonValue[names.length];
+				this.indexesByName = indexesByName;
+			}
+
+			private static Index of(final Tape tape, final int position) {
+				final int count = (int) tape.longs[position];
+				String[] names = new String[count];
+				int[] positions = new int[count];
+				final Map<String, Integer> indexesByName = count > maxLinearLookupSize ? new HashMap<>(count * 4 / 3 + 1) : null;
+				int size = 0;
+				final int end = tape.ints[position];
+				for ( int p = position + 1; p < end; p = tape.next(p + 1) ) {
+					final String name = tape.strings[tape.ints[p]];
+					// Duplicate names keep their first position, but the last value just like LinkedHashMap.put() does
+					final int i = indexOf(names, size, indexesByName, name);
+					if ( i != -1 ) {
+						positions[i] = p + 1;
+					} else {
+						names[size] = name;
+						positions[size] = p + 1;
+						if ( indexesByName != null ) {
+							indexesByName.put(name, size);
+						}
+						size++;
+					}
+				}
+				if ( size != count ) {
+					names = Arrays.copyOf(names, size);
+					positions = Arrays.copyOf(positions, size);
+				}
+				return new Index(names, positions, indexesByName);
+			}
+
+			private int indexOf(final Object key) {
+				return indexOf(names, names.length, indexesByName, key);
+			}
+
+			private static int indexOf(final String[] names, final int size, final Map<String, Integer> indexesByName, final Object key) {
+				if ( indexesByName != null ) {
+					final Integer i = indexesByName.get(key);
+					return i != null ? i : -1;
+				}
+				for ( int i = 0; i < size; i++ ) {
+					if ( names[i].equals(key) ) {
+						return i;
+					}
+				}
+				return -1;
+			}
+
+			private JsonValue valueAt(final Tape tape, final int i) {
+				JsonValue value = values[i];
+				if ( value == null ) {
+					value = tape.decode(positions[i]);
+					values[i] = value;
+				}
+				return value;
+			}
+
+		}
+
+	}
+
+	private static final class LazyJsonArray
+			extends AbstractJsonArray {
+
+		private final Tape tape;
+		private final int position;
+		private final int size;
+
+		private volatile int[] positions;
+		private JsonValue[] values;
+
+		private LazyJsonArray(final Tape tape, final int position) {
+			this.tape = tape;
+			this.position = position;
+			size = (int) tape.longs[position];
+		}
+
+		@Override
+		public JsonValue get(final int index) {
+			if ( index < 0 || index >= size ) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+			}
+			int[] positions = this.positions;
+			if ( positions == null ) {
+				positions = new int[size];
+				for ( int i = 0, p = position + 1; i < size; i++, p = tape.next(p) ) {
+					positions[i] = p;
+				}
+				values = new JsonValue[size];
+				this.positions = positions;
+			}
+			JsonValue value = values[index];
+			if ( value == null ) {
+				value = tape.decode(positions[index]);
+				values[index] = value;
+			}
+			return value;
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+	}
+
+}
@@ -2,19 +2,33 @@ package lsh.ext.gson.adapters;
 
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Map.Entry;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
 import com.google.gson.Gson;
 import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 
 import static com.google.gson.stream.JsonToken.END_OBJECT;
 
 /**
- * Represents a type adapter for {@link Multimap} from Google Guava. Multimaps are deserialized to {@link ArrayListMultimap}.
+ * <p>
+ * Represents a type adapter for {@link Multimap} from Google Guava. Multimaps are deserialized to {@link ArrayListMultimap} unless a multimap collector is
+ * specified. A multimap collector can create multimaps with expected sizes in order not to rehash large multimaps, or build immutable multimaps directly:
+ * </p>
+ *
+ * <pre>
+ * Multimaps.toMultimap(Entry::getKey, Entry::getValue, () -&gt; ArrayListMultimap.create(expectedKeys, expectedValuesPerKey))
+ * Multimaps.toMultimap(Entry::getKey, Entry::getValue, LinkedHashMultimap::create)
+ * ImmutableListMultimap.toImmutableListMultimap(Entry::getKey, Entry::getValue)
+ * </pre>
  *
  * @author Lyubomyr Shaydariv
  * @see MultimapTypeAdapterFactory
@@ -23,12 +37,15 @@ import static com.google.gson.stream.JsonToken.END_OBJECT;
 public final class MultimapTypeAdapter<V>
 		extends TypeAdapter<Multimap<String, V>> {
 
-	private final Gson gson;
-	private final Type valueType;
+	private static final Collector<Entry<String, Object>, ?, ? extends Multimap<String, Object>> arrayListMultimapCollector
+			= Multimaps.toMultimap(Entry::getKey, Entry::getValue, ArrayListMultimap::create);
+
+	private final TypeAdapter<V> valueTypeAdapter;
+	private final Collector<Entry<String, V>, ?, ? extends Multimap<String, V>> multimapCollector;
 
-	private MultimapTypeAdapter(final Gson gson, final Type valueType) {
-		this.gson = gson;
-		this.valueType = valueType;
+	private MultimapTypeAdapter(final TypeAdapter<V> valueTypeAdapter, final Collector<Entry<String, V>, ?, ? extends Multimap<String, V>> multimapCollector) {
+		this.valueTypeAdapter = valueTypeAdapter;
+		this.multimapCollector = multimapCollector;
 	}
 
 	/**
@@ -43,7 +60,41 @@ public final class MultimapTypeAdapter<V>
 	 * @since 0-SNAPSHOT
 	 */
 	public static <V> TypeAdapter<Multimap<String, V>> getMultimapTypeAdapter(final Gson gson, final Type valueType) {
-		return new MultimapTypeAdapter<>(gson, valueType);
+		@SuppressWarnings("unchecked")
+		final TypeAdapter<V> valueTypeAdapter = (TypeAdapter<V>) gson.getAdapter(TypeToken.get(valueType));
+		return getMultimapTypeAdapter(valueTypeAdapter);
+	}
+
+	/**
+	 * Returns a {@link Multimap} type adapter.
+	 *
+	 * @param valueTypeAdapter Multimap value type adapter
+	 * @param <V>              Multimap value type parameter
+	 *
+	 * @return Type adapter instance
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static <V> TypeAdapter<Multimap<String, V>> getMultimapTypeAdapter(final TypeAdapter<V> valueTypeAdapter) {
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		final Collector<Entry<String, V>, ?, ? extends Multimap<String, V>> castMultimapCollector = (Collector) arrayListMultimapCollector;
+		return getMultimapTypeAdapter(valueTypeAdapter, castMultimapCollector);
+	}
+
+	/**
+	 * Returns a {@link Multimap} type adapter.
+	 *
+	 * @param valueTypeAdapter  Multimap value type adapter
+	 * @param multimapCollector A collector to collect read entries to a multimap
+	 * @param <V>               Multimap value type parameter
+	 *
+	 * @return Type adapter instance
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static <V> TypeAdapter<Multimap<String, V>> getMultimapTypeAdapter(final TypeAdapter<V> valueTypeAdapter,
+			final Collector<Entry<String, V>, ?, ? extends Multimap<String, V>> multimapCollector) {
+		return new MultimapTypeAdapter<>(valueTypeAdapter, multimapCollector);
 	}
 
 	@Override
@@ -55,7 +106,7 @@ public final class MultimapTypeAdapter<V>
 			final String key = e.getKey();
 			final V value = e.getValue();
 			out.name(key);
-			gson.toJson(value, valueType, out);
+			valueTypeAdapter.write(out, value);
 		}
 		out.endObject();
 	}
@@ -63,15 +114,21 @@ public final class MultimapTypeAdapter<V>
 	@Override
 	public Multimap<String, V> read(final JsonReader in)
 			throws IOException {
-		final Multimap<String, V> multimap = ArrayListMultimap.create();
+		return read(in, multimapCollector);
+	}
+
+	private <A> Multimap<String, V> read(final JsonReader in, final Collector<Entry<String, V>, A, ? extends Multimap<String, V>> multimapCollector)
+			throws IOException {
+		final A container = multimapCollector.supplier().get();
+		final BiConsumer<A, Entry<String, V>> accumulator = multimapCollector.accumulator();
 		in.beginObject();
 		while ( in.peek() != END_OBJECT ) {
 			final String key = in.nextName();
-			final V value = gson.fromJson(in, valueType);
-			multimap.put(key, value);
+			final V value = valueTypeAdapter.read(in);
+			accumulator.accept(container, new SimpleImmutableEntry<>(key, value));
 		}
 		in.endObject();
-		return multimap;
+		return multimapCollector.finisher().apply(container);
 	}
 
 }
@@ -1,6 +1,8 @@
 package lsh.ext.gson.adapters;
 
 import java.lang.reflect.Type;
+import java.util.Map.Entry;
+import java.util.stream.Collector;
 import javax.annotation.Nonnull;
 
 import com.google.common.collect.Multimap;
@@ -23,9 +25,12 @@ import static lsh.ext.gson.adapters.MultimapTypeAdapter.getMultimapTypeAdapter;
 public final class MultimapTypeAdapterFactory
 		extends AbstractBoundTypeAdapterFactory<Multimap<String, Object>> {
 
-	private static final TypeAdapterFactory multimapTypeAdapterFactory = new MultimapTypeAdapterFactory();
+	private static final TypeAdapterFactory multimapTypeAdapterFactory = new MultimapTypeAdapterFactory(null);
 
-	private MultimapTypeAdapterFactory() {
+	private final Collector<Entry<String, Object>, ?, ? extends Multimap<String, Object>> multimapCollector;
+
+	private MultimapTypeAdapterFactory(final Collector<Entry<String, Object>, ?, ? extends Multimap<String, Object>> multimapCollector) {
+		this.multimapCollector = multimapCollector;
 	}
 
 	/**
@@ -35,6 +40,19 @@ public final class MultimapTypeAdapterFactory
 		return multimapTypeAdapterFactory;
 	}
 
+	/**
+	 * @param multimapCollector A collector to collect read entries to a multimap
+	 *
+	 * @return An instance of {@link MultimapTypeAdapterFactory} that creates multimaps using the given collector.
+	 *
+	 * @see MultimapTypeAdapter
+	 * @since 0-SNAPSHOT
+	 */
+	public static TypeAdapterFactory getMultimapTypeAdapterFactory(
+			final Collector<Entry<String, Object>, ?, ? extends Multimap<String, Object>> multimapCollector) {
+		return new MultimapTypeAdapterFactory(multimapCollector);
+	}
+
 	@Override
 	protected boolean isSupported(@Nonnull final TypeToken<?> typeToken) {
 		return Multimap.class.isAssignableFrom(typeToken.getRawType());
@@ -46,7 +64,11 @@ public final class MultimapTypeAdapterFactory
 		final Type type = typeToken.getType();
 		final Type[][] typeArguments = resolveTypeArguments(type);
 		final Type valueType = typeArguments[1][0];
-		return getMultimapTypeAdapter(gson, valueType);
+		@SuppressWarnings("unchecked")
+		final TypeAdapter<Object> valueTypeAdapter = (TypeAdapter<Object>) gson.getAdapter(TypeToken.get(valueType));
+		return multimapCollector == null
+				? getMultimapTypeAdapter(valueTypeAdapter)
+				: getMultimapTypeAdapter(valueTypeAdapter, multimapCollector);
 	}
 
 }
@@ -8,6 +8,7 @@ import java.io.Writer;
 
 import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 
 import static lsh.ext.gson.JsonStreams.copyTo;
@@ -50,6 +51,11 @@ import static lsh.ext.gson.JsonStreams.copyTo;
  * Thus, the {@code inner} field can hold arbitrary data.
  * </p>
  *
+ * <p>
+ * The default instance normalizes both the read and the written JSON. The {@linkplain #getRawPackedJsonTypeAdapter() raw} instance is designed to store
+ * opaque JSON documents: it keeps number literals as is, and writes the stored JSON to the output as is.
+ * </p>
+ *
  * @author Lyubomyr Shaydariv
  * @see UnpackedJsonTypeAdapterFactory
  * @since 0-SNAPSHOT
@@ -58,8 +64,18 @@ public final class PackedJsonTypeAdapter
 		extends TypeAdapter<String> {
 
 	private static final TypeAdapter<String> packedJsonTypeAdapter = new PackedJsonTypeAdapter();
+	private static final TypeAdapter<String> rawPackedJsonTypeAdapter = new PackedJsonTypeAdapter(true);
+
+	private static final int initialBufferCapacity = 256;
+
+	private final boolean raw;
 
 	private PackedJsonTypeAdapter() {
+		this(false);
+	}
+
+	private PackedJsonTypeAdapter(final boolean raw) {
+		this.raw = raw;
 	}
 
 	/**
@@ -71,9 +87,24 @@ public final class PackedJsonTypeAdapter
 		return packedJsonTypeAdapter;
 	}
 
+	/**
+	 * @return An instance of {@link PackedJsonTypeAdapter} that does not normalize JSON. Read JSON values are packed into compact JSON, however number
+	 * literals are packed as is, without being parsed and formatted. Packed JSON is written to the output as is, so it must be well-formed JSON, for example,
+	 * JSON that was read with this type adapter.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static TypeAdapter<String> getRawPackedJsonTypeAdapter() {
+		return rawPackedJsonTypeAdapter;
+	}
+
 	@Override
 	public void write(final JsonWriter out, final String json)
 			throws IOException {
+		if ( raw ) {
+			out.jsonValue(json);
+			return;
+		}
 		@SuppressWarnings("resource")
 		final Reader reader = new StringReader(json);
 		copyTo(new JsonReader(reader), out);
@@ -82,10 +113,114 @@ public final class PackedJsonTypeAdapter
 	@Override
 	public String read(final JsonReader in)
 			throws IOException {
+		if ( raw ) {
+			final StringBuilderWriter writer = new StringBuilderWriter(initialBufferCapacity);
+			copyRawTo(in, new JsonWriter(writer));
+			return writer.toString();
+		}
 		@SuppressWarnings("resource")
 		final Writer writer = new StringWriter();
 		copyTo(in, new JsonWriter(writer));
 		return writer.toString();
 	}
 
+	private static void copyRawTo(final JsonReader in, final JsonWriter out)
+			throws IOException {
+		int level = 0;
+		do {
+			final JsonToken token = in.peek();
+			switch ( token ) {
+			case BEGIN_ARRAY:
+				in.beginArray();
+				out.beginArray();
+				++level;
+				break;
+			case END_ARRAY:
+				in.endArray();
+				out.endArray();
+				--level;
+				break;
+			case BEGIN_OBJECT:
+				in.beginObject();
+				out.beginObject();
+				++level;
+				break;
+			case END_OBJECT:
+				in.endObject();
+				out.endObject();
+				--level;
+				break;
+			case NAME:
+				out.name(in.nextName());
+				break;
+			case STRING:
+				out.value(in.nextString());
+				break;
+			case NUMBER:
+				// The number literal has already been validated by the reader, so there is no need to parse and format it
+				out.jsonValue(in.nextString());
+				break;
+			case BOOLEAN:
+				out.value(in.nextBoolean());
+				break;
+			case NULL:
+				in.nextNull();
+				out.nullValue();
+				break;
+			case END_DOCUMENT:
+				throw new IllegalStateException("Unexpected " + token);
+			default:
+				throw new AssertionError(token);
+			}
+		} while ( level != 0 );
+	}
+
+	/**
+	 * Unlike {@link StringWriter}, does not synchronize on every write.
+	 */
+	private static final class StringBuilderWriter
+			extends Writer {
+
+		private final StringBuilder builder;
+
+		private StringBuilderWriter(final int initialCapacity) {
+			builder = new StringBuilder(initialCapacity);
+		}
+
+		@Override
+		public void write(final int c) {
+			builder.append((char) c);
+		}
+
+		@Override
+		public void write(final char[] buffer, final int offset, final int length) {
+			builder.append(buffer, offset, length);
+		}
+
+		@Override
+		public void write(final String s, final int offset, final int length) {
+			builder.append(s, offset, offset + length);
+		}
+
+		@Override
+		public Writer append(final CharSequence s) {
+			builder.append(s);
+			return this;
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+
+		@Override
+		public String toString() {
+			return builder.toString();
+		}
+
+	}
+
 }
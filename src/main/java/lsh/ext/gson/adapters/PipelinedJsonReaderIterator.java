@@ -0,0 +1,221 @@
+package lsh.ext.gson.adapters;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+/**
+ * <p>
+ * Represents an iterator over a top-level JSON array that runs reading, binding and consuming in a pipeline. A reader stage tokenizes the elements into
+ * {@link JsonElement} trees in a task of its own, a binding stage binds the trees in separate tasks, and the consumer takes the bound elements. The number of
+ * elements being read ahead, bound or waiting to be consumed is bounded by the pipeline depth.
+ * </p>
+ *
+ * <p>
+ * In the ordered mode, the elements are returned in the encounter order, and the consumer binds the next element itself if the executor has not started
+ * binding it yet, so any executor with a single thread at least is sufficient. In the unordered mode, the elements are returned as soon as they are bound,
+ * so the executor must be able to run the reader stage task and binding tasks simultaneously.
+ * </p>
+ *
+ * @author Lyubomyr Shaydariv
+ * @see JsonReaderStreams#getPipelinedJsonReaderIterator(java.lang.reflect.Type, com.google.gson.Gson, JsonReader, Executor, int, boolean)
+ * @since 0-SNAPSHOT
+ */
+final class PipelinedJsonReaderIterator<T>
+		implements Iterator<T>, Closeable {
+
+	private static final CompletableFuture<?> endOfStream = new CompletableFuture<>();
+
+	private final TypeAdapter<T> elementTypeAdapter;
+	private final TypeAdapter<JsonElement> jsonElementTypeAdapter;
+	private final JsonReader in;
+	private final Executor executor;
+	private final int depth;
+	private final boolean ordered;
+
+	private final BlockingQueue<CompletableFuture<T>> queue = new LinkedBlockingQueue<>();
+	private final Semaphore permits;
+	private final AtomicInteger pending = new AtomicInteger(1);
+
+	private volatile boolean closed;
+
+	// Accessed by the consumer only
+	private boolean started;
+	private CompletableFuture<T> next;
+
+	private PipelinedJsonReaderIterator(final TypeAdapter<T> elementTypeAdapter, final TypeAdapter<JsonElement> jsonElementTypeAdapter, final JsonReader in,
+			final Executor executor, final int depth, final boolean ordered) {
+		this.elementTypeAdapter = elementTypeAdapter;
+		this.jsonElementTypeAdapter = jsonElementTypeAdapter;
+		this.in = in;
+		this.executor = executor;
+		this.depth = depth;
+		this.ordered = ordered;
+		permits = new Semaphore(depth);
+	}
+
+	static <T> Iterator<T> getPipelinedJsonReaderIterator(final TypeAdapter<T> elementTypeAdapter, final TypeAdapter<JsonElement> jsonElementTypeAdapter,
+			final JsonReader in, final Executor executor, final int depth, final boolean ordered)
+			throws IllegalArgumentException {
+		if ( depth <= 0 ) {
+			throw new IllegalArgumentException("Depth must be positive: " + depth);
+		}
+		return new PipelinedJsonReaderIterator<>(elementTypeAdapter, jsonElementTypeAdapter, in, executor, depth, ordered);
+	}
+
+	@Override
+	public boolean hasNext() {
+		if ( next == null ) {
+			if ( !started ) {
+				started = true;
+				executor.execute(this::read);
+			}
+			try {
+				next = queue.take();
+			} catch ( final InterruptedException ex ) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(ex);
+			}
+		}
+		return next != endOfStream;
+	}
+
+	@Override
+	public T next() {
+		if ( !hasNext() ) {
+			throw new NoSuchElementException();
+		}
+		final CompletableFuture<T> future = next;
+		next = null;
+		permits.release();
+		if ( future instanceof BindTask ) {
+			// Binds the element on the consumer thread unless a binding task has already started
+			((BindTask<T>) future).run();
+		}
+		try {
+			return future.join();
+		} catch ( final CompletionException ex ) {
+			final Throwable cause = ex.getCause();
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			throw new RuntimeException(cause);
+		}
+	}
+
+	@Override
+	public void close()
+			throws IOException {
+		closed = true;
+		next = getEndOfStream();
+		if ( !started ) {
+			started = true;
+			in.close();
+			return;
+		}
+		// The reader stage closes the JSON reader itself in order not to close it while an element is being read
+		permits.release(depth);
+	}
+
+	private void read() {
+		try {
+			in.beginArray();
+			while ( !closed && in.hasNext() ) {
+				permits.acquire();
+				if ( closed ) {
+					break;
+				}
+				final BindTask<T> task = new BindTask<>(elementTypeAdapter, jsonElementTypeAdapter.read(in));
+				if ( ordered ) {
+					queue.add(task);
+				} else {
+					pending.incrementAndGet();
+					task.whenComplete((element, throwable) -> {
+						queue.add(task);
+						endIfNotPending();
+					});
+				}
+				try {
+					executor.execute(task);
+				} catch ( final RejectedExecutionException ignored ) {
+					// Falls back to binding on the reader stage thread
+					task.run();
+				}
+			}
+			if ( !closed ) {
+				in.endArray();
+			}
+		} catch ( final IOException | RuntimeException ex ) {
+			queue.add(getFailed(ex));
+		} catch ( final InterruptedException ex ) {
+			Thread.currentThread().interrupt();
+			queue.add(getFailed(ex));
+		} finally {
+			try {
+				in.close();
+			} catch ( final IOException ex ) {
+				queue.add(getFailed(ex));
+			}
+			endIfNotPending();
+		}
+	}
+
+	private void endIfNotPending() {
+		if ( pending.decrementAndGet() == 0 ) {
+			queue.add(getEndOfStream());
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> CompletableFuture<T> getEndOfStream() {
+		return (CompletableFuture<T>) endOfStream;
+	}
+
+	private static <T> CompletableFuture<T> getFailed(final Throwable throwable) {
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		future.completeExceptionally(throwable);
+		return future;
+	}
+
+	private static final class BindTask<T>
+			extends CompletableFuture<T>
+			implements Runnable {
+
+		private final TypeAdapter<T> elementTypeAdapter;
+		private final JsonElement jsonElement;
+		private final AtomicBoolean claimed = new AtomicBoolean();
+
+		private BindTask(final TypeAdapter<T> elementTypeAdapter, final JsonElement jsonElement) {
+			this.elementTypeAdapter = elementTypeAdapter;
+			this.jsonElement = jsonElement;
+		}
+
+		@Override
+		public void run() {
+			if ( !claimed.compareAndSet(false, true) ) {
+				return;
+			}
+			try {
+				complete(elementTypeAdapter.fromJsonTree(jsonElement));
+			} catch ( final RuntimeException ex ) {
+				completeExceptionally(ex);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,413 @@
+package lsh.ext.gson.adapters;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import lsh.ext.gson.JsonReaderNamePromotions;
+import lsh.ext.gson.Numbers.ParsedNumber;
+
+import static lsh.ext.gson.JsonReaderNamePromotions.isNamePromoted;
+import static lsh.ext.gson.JsonReaderNamePromotions.setNameNotPromoted;
+import static lsh.ext.gson.Numbers.tryParse;
+
+/**
+ * <p>
+ * Represents a JSON reader that replays recorded tokens first, and then reads the rest tokens from the underlying JSON reader. This allows to look ahead a
+ * JSON stream, buffering only the tokens that were read during the look-ahead.
+ * </p>
+ *
+ * <p>
+ * Gson map type adapters promote object property names to values through the {@link JsonReader} internal state that is never used by this reader
+ * otherwise, so the reader keeps that state in sync when it peeks a property name, unless {@link JsonReaderNamePromotions} cannot access the state.
+ * </p>
+ *
+ * @author Lyubomyr Shaydariv
+ * @see TypeAwareTypeAdapter
+ * @since 0-SNAPSHOT
+ */
+final class ReplayingJsonReader
+		extends JsonReader {
+
+	private static final Reader emptyReader = new Reader() {
+		@Override
+		public int read(final char[] buffer, final int offset, final int length) {
+			return -1;
+		}
+
+		@Override
+		public void close() {
+		}
+	};
+
+	private final JsonReader in;
+	private final ParsedNumber parsedNumber = new ParsedNumber();
+
+	private JsonToken[] tokens = new JsonToken[16];
+	private String[] values = new String[16];
+	private int size;
+	private int position;
+
+	private ReplayingJsonReader(final JsonReader in) {
+		super(emptyReader);
+		this.in = in;
+		setLenient(in.isLenient());
+	}
+
+	/**
+	 * @param in A JSON reader whose current object has just been begun with {@link JsonReader#beginObject()}
+	 *
+	 * @return A replaying JSON reader with the object beginning recorded. The object beginning is not counted in the maximum look-ahead size.
+	 */
+	static ReplayingJsonReader getReplayingObjectJsonReader(final JsonReader in) {
+		final ReplayingJsonReader replayingJsonReader = new ReplayingJsonReader(in);
+		replayingJsonReader.record(JsonToken.BEGIN_OBJECT, null);
+		return replayingJsonReader;
+	}
+
+	/**
+	 * @param name             A name to record
+	 * @param maxLookAheadSize The maximum number of recorded tokens following the object beginning
+	 *
+	 * @return {@code true} if the name has been recorded, otherwise {@code false} if the maximum number of recorded tokens would be exceeded.
+	 */
+	boolean recordName(final String name, final int maxLookAheadSize) {
+		if ( isLookAheadFull(maxLookAheadSize) ) {
+			return false;
+		}
+		record(JsonToken.NAME, name);
+		return true;
+	}
+
+	/**
+	 * Reads a single value from the underlying JSON reader and records its tokens.
+	 *
+	 * @param maxLookAheadSize The maximum number of recorded tokens following the object beginning
+	 *
+	 * @return {@code true} if the value has been recorded, otherwise {@code false} if the maximum number of recorded tokens would be exceeded. In the latter
+	 * case, the value is read partially, and no token is read beyond the limit.
+	 *
+	 * @throws IOException A rethrown exception
+	 */
+	boolean recordValue(final int maxLookAheadSize)
+			throws IOException {
+		int depth = 0;
+		do {
+			if ( isLookAheadFull(maxLookAheadSize) ) {
+				return false;
+			}
+			final JsonToken token = in.peek();
+			switch ( token ) {
+			case BEGIN_ARRAY:
+				in.beginArray();
+				record(token, null);
+				++depth;
+				break;
+			case END_ARRAY:
+				in.endArray();
+				record(token, null);
+				--depth;
+				break;
+			case BEGIN_OBJECT:
+				in.beginObject();
+				record(token, null);
+				++depth;
+				break;
+			case END_OBJECT:
+				in.endObject();
+				record(token, null);
+				--depth;
+				break;
+			case NAME:
+				record(token, in.nextName());
+				break;
+			case STRING:
+			case NUMBER:
+				record(token, in.nextString());
+				break;
+			case BOOLEAN:
+				record(token, in.nextBoolean() ? "true" : "false");
+				break;
+			case NULL:
+				in.nextNull();
+				record(token, null);
+				break;
+			case END_DOCUMENT:
+				throw new MalformedJsonException("Unexpected " + token + " at " + in);
+			default:
+				throw new AssertionError(token);
+			}
+		} while ( depth != 0 );
+		return true;
+	}
+
+	@Override
+	public void beginArray()
+			throws IOException {
+		if ( position < size ) {
+			next(JsonToken.BEGIN_ARRAY);
+		} else {
+			in.beginArray();
+		}
+	}
+
+	@Override
+	public void endArray()
+			throws IOException {
+		if ( position < size ) {
+			next(JsonToken.END_ARRAY);
+		} else {
+			in.endArray();
+		}
+	}
+
+	@Override
+	public void beginObject()
+			throws IOException {
+		if ( position < size ) {
+			next(JsonToken.BEGIN_OBJECT);
+		} else {
+			in.beginObject();
+		}
+	}
+
+	@Override
+	public void endObject()
+			throws IOException {
+		if ( position < size ) {
+			next(JsonToken.END_OBJECT);
+		} else {
+			in.endObject();
+		}
+	}
+
+	@Override
+	public boolean hasNext()
+			throws IOException {
+		final JsonToken token = peek();
+		return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+	}
+
+	@Override
+	public JsonToken peek()
+			throws IOException {
+		final JsonToken token = position < size ? tokens[position] : in.peek();
+		if ( token != JsonToken.NAME ) {
+			return token;
+		}
+		if ( isNamePromoted(this) ) {
+			return JsonToken.STRING;
+		}
+		// A Gson map type adapter may promote the name once it is peeked
+		setNameNotPromoted(this);
+		return token;
+	}
+
+	@Override
+	public String nextName()
+			throws IOException {
+		return position < size ? next(JsonToken.NAME) : in.nextName();
+	}
+
+	@Override
+	public String nextString()
+			throws IOException {
+		if ( isNamePromoted(this) ) {
+			return nextPromotedName();
+		}
+		if ( position < size ) {
+			final JsonToken token = tokens[position];
+			if ( token != JsonToken.STRING && token != JsonToken.NUMBER ) {
+				throw unexpected(JsonToken.STRING, token);
+			}
+			return values[position++];
+		}
+		return in.nextString();
+	}
+
+	@Override
+	public boolean nextBoolean()
+			throws IOException {
+		return position < size ? "true".equals(next(JsonToken.BOOLEAN)) : in.nextBoolean();
+	}
+
+	@Override
+	public void nextNull()
+			throws IOException {
+		if ( position < size ) {
+			next(JsonToken.NULL);
+		} else {
+			in.nextNull();
+		}
+	}
+
+	@Override
+	public double nextDouble()
+			throws IOException {
+		if ( isNamePromoted(this) ) {
+			return Double.parseDouble(nextPromotedName());
+		}
+		if ( position < size ) {
+			final String s = peekNumber();
+			final double d = Double.parseDouble(s);
+			if ( !isLenient() && (Double.isNaN(d) || Double.isInfinite(d)) ) {
+				throw new MalformedJsonException("JSON forbids NaN and infinities: " + d);
+			}
+			position++;
+			return d;
+		}
+		return in.nextDouble();
+	}
+
+	@Override
+	public long nextLong()
+			throws IOException {
+		if ( isNamePromoted(this) ) {
+			return parseLong(nextPromotedName());
+		}
+		if ( position < size ) {
+			final long l = parseLong(peekNumber());
+			position++;
+			return l;
+		}
+		return in.nextLong();
+	}
+
+	@Override
+	public int nextInt()
+			throws IOException {
+		if ( isNamePromoted(this) ) {
+			return parseInt(nextPromotedName());
+		}
+		if ( position < size ) {
+			final int i = parseInt(peekNumber());
+			position++;
+			return i;
+		}
+		return in.nextInt();
+	}
+
+	@Override
+	public void skipValue()
+			throws IOException {
+		if ( isNamePromoted(this) ) {
+			nextPromotedName();
+			return;
+		}
+		if ( position < size ) {
+			int depth = 0;
+			do {
+				switch ( tokens[position++] ) {
+				case BEGIN_ARRAY:
+				case BEGIN_OBJECT:
+					++depth;
+					break;
+				case END_ARRAY:
+				case END_OBJECT:
+					--depth;
+					break;
+				case NAME:
+				case STRING:
+				case NUMBER:
+				case BOOLEAN:
+				case NULL:
+				case END_DOCUMENT:
+					break;
+				default:
+					throw new AssertionError(tokens[position - 1]);
+				}
+			} while ( depth != 0 );
+		} else {
+			in.skipValue();
+		}
+	}
+
+	@Override
+	public void close()
+			throws IOException {
+		in.close();
+	}
+
+	@Override
+	public String getPath() {
+		return in.getPath();
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " at " + in;
+	}
+
+	private boolean isLookAheadFull(final int maxLookAheadSize) {
+		// The recorded object beginning is not a look-ahead token
+		return size - 1 >= maxLookAheadSize;
+	}
+
+	private void record(final JsonToken token, final String value) {
+		if ( size == tokens.length ) {
+			tokens = Arrays.copyOf(tokens, size * 2);
+			values = Arrays.copyOf(values, size * 2);
+		}
+		tokens[size] = token;
+		values[size] = value;
+		size++;
+	}
+
+	private String next(final JsonToken expectedToken) {
+		final JsonToken token = tokens[position];
+		if ( token != expectedToken ) {
+			throw unexpected(expectedToken, token);
+		}
+		return values[position++];
+	}
+
+	private String nextPromotedName()
+			throws IOException {
+		final String name = position < size ? next(JsonToken.NAME) : in.nextName();
+		setNameNotPromoted(this);
+		return name;
+	}
+
+	private String peekNumber() {
+		final JsonToken token = tokens[position];
+		if ( token != JsonToken.NUMBER && token != JsonToken.STRING ) {
+			throw unexpected(JsonToken.NUMBER, token);
+		}
+		return values[position];
+	}
+
+	private IllegalStateException unexpected(final JsonToken expectedToken, final JsonToken actualToken) {
+		return new IllegalStateException("Expected " + expectedToken + " but was " + actualToken + " at " + this);
+	}
+
+	private int parseInt(final String s) {
+		final long l = parseLong(s);
+		if ( (int) l != l ) {
+			throw new NumberFormatException("Expected an int but was " + s);
+		}
+		return (int) l;
+	}
+
+	private long parseLong(final String s) {
+		if ( tryParse(s, parsedNumber) ) {
+			switch ( parsedNumber.getNumberType() ) {
+			case LONG:
+				return parsedNumber.getLongValue();
+			case DOUBLE:
+				final double d = parsedNumber.getDoubleValue();
+				if ( (long) d == d ) {
+					return (long) d;
+				}
+				break;
+			case NONE:
+			default:
+				throw new AssertionError(parsedNumber.getNumberType());
+			}
+		}
+		throw new NumberFormatException("Expected a long but was " + s);
+	}
+
+}
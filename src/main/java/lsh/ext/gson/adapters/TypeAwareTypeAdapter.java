@@ -1,14 +1,20 @@
 package lsh.ext.gson.adapters;
 
 import java.io.IOException;
+import java.util.Map.Entry;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import com.google.gson.stream.MalformedJsonException;
 
+import static lsh.ext.gson.adapters.ReplayingJsonReader.getReplayingObjectJsonReader;
+import static lsh.ext.gson.adapters.TypeIdResolvers.getClassNameTypeIdResolver;
+
 /**
  * <p>
  * Represents a type adapter to hold both object type name and object value. Example result JSON document:
@@ -21,6 +27,29 @@ import com.google.gson.stream.MalformedJsonException;
  * }
  * </pre>
  *
+ * <p>
+ * Alternatively, the type property can be inlined into the value object in arbitrary position:
+ * </p>
+ *
+ * <pre>
+ * {
+ *     "foo": 1,
+ *     "@type": "foo.bar.Baz",
+ *     "bar": 2
+ * }
+ * </pre>
+ *
+ * <p>
+ * In this case the value object members that precede the type property are buffered as tokens, and then replayed to the value type adapter followed by the
+ * rest members read directly from the JSON stream. The number of buffered tokens is limited. Since the type property is written first, the value object is
+ * serialized into a {@link JsonElement} tree before it is written, and a value object that has its own property named like the type property is rejected.
+ * </p>
+ *
+ * <p>
+ * Type names are resolved with a {@linkplain ITypeIdResolver type id resolver}. A registry type id resolver can be used to write short type ids instead of
+ * type names.
+ * </p>
+ *
  * @author Lyubomyr Shaydariv
  * @see AbstractTypeTypeAdapterFactory
  * @since 0-SNAPSHOT
@@ -30,12 +59,18 @@ public final class TypeAwareTypeAdapter<T>
 
 	private final Gson gson;
 	private final String typePropertyName;
+	// null for inline type properties
 	private final String valuePropertyName;
+	private final ITypeIdResolver typeIdResolver;
+	private final int maxLookAheadTokens;
 
-	private TypeAwareTypeAdapter(final Gson gson, final String typePropertyName, final String valuePropertyName) {
+	private TypeAwareTypeAdapter(final Gson gson, final String typePropertyName, final String valuePropertyName, final ITypeIdResolver typeIdResolver,
+			final int maxLookAheadTokens) {
 		this.gson = gson;
 		this.typePropertyName = typePropertyName;
 		this.valuePropertyName = valuePropertyName;
+		this.typeIdResolver = typeIdResolver;
+		this.maxLookAheadTokens = maxLookAheadTokens;
 	}
 
 	/**
@@ -50,7 +85,39 @@ public final class TypeAwareTypeAdapter<T>
 	 */
 	public static <T> TypeAdapter<T> getTypeAwareTypeAdapter(final Gson gson, final String typePropertyName,
 			final String valuePropertyName) {
-		return new TypeAwareTypeAdapter<>(gson, typePropertyName, valuePropertyName);
+		return getTypeAwareTypeAdapter(gson, typePropertyName, valuePropertyName, getClassNameTypeIdResolver());
+	}
+
+	/**
+	 * @param gson              Gson instance
+	 * @param typePropertyName  Type property name
+	 * @param valuePropertyName Value property name
+	 * @param typeIdResolver    Type id resolver
+	 * @param <T>               Any type parameter
+	 *
+	 * @return An instance of {@link TypeAwareTypeAdapter}.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static <T> TypeAdapter<T> getTypeAwareTypeAdapter(final Gson gson, final String typePropertyName,
+			final String valuePropertyName, final ITypeIdResolver typeIdResolver) {
+		return new TypeAwareTypeAdapter<>(gson, typePropertyName, valuePropertyName, typeIdResolver, 0);
+	}
+
+	/**
+	 * @param gson               Gson instance
+	 * @param typePropertyName   Type property name that is inlined into the value object
+	 * @param typeIdResolver     Type id resolver
+	 * @param maxLookAheadTokens Maximum number of the value object tokens that may precede the type property
+	 * @param <T>                Any type parameter
+	 *
+	 * @return An instance of {@link TypeAwareTypeAdapter} that reads and writes inline type properties.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static <T> TypeAdapter<T> getInlineTypeAwareTypeAdapter(final Gson gson, final String typePropertyName, final ITypeIdResolver typeIdResolver,
+			final int maxLookAheadTokens) {
+		return new TypeAwareTypeAdapter<>(gson, typePropertyName, null, typeIdResolver, maxLookAheadTokens);
 	}
 
 	@Override
@@ -61,12 +128,17 @@ public final class TypeAwareTypeAdapter<T>
 			out.nullValue();
 			return;
 		}
-		final Class<?> type = value.getClass();
+		@SuppressWarnings("unchecked")
+		final Class<Object> type = (Class<Object>) value.getClass();
+		if ( valuePropertyName == null ) {
+			writeInline(out, type, value);
+			return;
+		}
 		out.beginObject();
 		out.name(typePropertyName);
-		out.value(type.getTypeName());
+		out.value(typeIdResolver.getTypeId(type));
 		out.name(valuePropertyName);
-		gson.toJson(value, type, out);
+		gson.getAdapter(type).write(out, value);
 		out.endObject();
 	}
 
@@ -78,7 +150,7 @@ public final class TypeAwareTypeAdapter<T>
 		case NULL:
 			return null;
 		case BEGIN_OBJECT:
-			return parseObject(in);
+			return valuePropertyName != null ? parseObject(in) : parseInlineObject(in);
 		case BEGIN_ARRAY:
 		case END_ARRAY:
 		case END_OBJECT:
@@ -98,9 +170,10 @@ public final class TypeAwareTypeAdapter<T>
 		try {
 			in.beginObject();
 			requireName(typePropertyName, in);
-			final Class<?> type = Class.forName(in.nextString());
+			@SuppressWarnings("unchecked")
+			final Class<T> type = (Class<T>) typeIdResolver.resolveClass(in.nextString());
 			requireName(valuePropertyName, in);
-			final T value = gson.fromJson(in, type);
+			final T value = gson.getAdapter(type).read(in);
 			in.endObject();
 			return value;
 		} catch ( final ClassNotFoundException ex ) {
@@ -108,6 +181,50 @@ public final class TypeAwareTypeAdapter<T>
 		}
 	}
 
+	private void writeInline(final JsonWriter out, final Class<Object> type, final Object value)
+			throws IOException {
+		// The value type adapter must not write the object beginning itself, so the value is not streamed
+		final JsonElement jsonElement = gson.getAdapter(type).toJsonTree(value);
+		if ( !jsonElement.isJsonObject() ) {
+			throw new IllegalArgumentException(type + " is not serialized to a JSON object");
+		}
+		if ( ((JsonObject) jsonElement).has(typePropertyName) ) {
+			throw new IllegalArgumentException(type + " is serialized to a JSON object that already has the " + typePropertyName + " property");
+		}
+		final TypeAdapter<JsonElement> jsonElementTypeAdapter = gson.getAdapter(JsonElement.class);
+		out.beginObject();
+		out.name(typePropertyName);
+		out.value(typeIdResolver.getTypeId(type));
+		for ( final Entry<String, JsonElement> e : ((JsonObject) jsonElement).entrySet() ) {
+			out.name(e.getKey());
+			jsonElementTypeAdapter.write(out, e.getValue());
+		}
+		out.endObject();
+	}
+
+	private T parseInlineObject(final JsonReader in)
+			throws IOException {
+		try {
+			in.beginObject();
+			final ReplayingJsonReader replayingIn = getReplayingObjectJsonReader(in);
+			while ( in.hasNext() ) {
+				final String name = in.nextName();
+				if ( name.equals(typePropertyName) ) {
+					@SuppressWarnings("unchecked")
+					final Class<T> type = (Class<T>) typeIdResolver.resolveClass(in.nextString());
+					return gson.getAdapter(type).read(replayingIn);
+				}
+				// The limit is checked per token so that a large value is never buffered as a whole
+				if ( !replayingIn.recordName(name, maxLookAheadTokens) || !replayingIn.recordValue(maxLookAheadTokens) ) {
+					throw new MalformedJsonException("Expected " + typePropertyName + " within " + maxLookAheadTokens + " tokens at " + in);
+				}
+			}
+			throw new MalformedJsonException("Expected " + typePropertyName + " at " + in);
+		} catch ( final ClassNotFoundException ex ) {
+			throw new IOException(ex);
+		}
+	}
+
 	private static void requireName(final String expectedName, final JsonReader reader)
 			throws IOException {
 		final String actualName = reader.nextName();
@@ -0,0 +1,116 @@
+package lsh.ext.gson.adapters;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nonnull;
+
+/**
+ * Provides type id resolvers for {@link ITypeIdResolver}.
+ *
+ * @author Lyubomyr Shaydariv
+ * @see TypeAwareTypeAdapter
+ * @see AbstractTypeTypeAdapterFactory
+ * @since 0-SNAPSHOT
+ */
+public final class TypeIdResolvers {
+
+	private TypeIdResolvers() {
+	}
+
+	/**
+	 * @return A new type id resolver that uses type names as type ids. Resolved classes are cached by the resolver instance, so every type name is looked up
+	 * with {@link Class#forName(String)} once per resolver only, and the cached classes can be unloaded once the resolver is unreachable.
+	 *
+	 * @since 0-SNAPSHOT
+	 */
+	public static ITypeIdResolver getClassNameTypeIdResolver() {
+		return new ClassNameTypeIdResolver();
+	}
+
+	/**
+	 * @param classesByTypeId Classes by type ids. Every class must be registered once only.
+	 *
+	 * @return A type id resolver that uses the given short type ids, for example {@code "1"} or {@code "circle"}, instead of type names. The resolver does
+	 * not resolve classes that are not registered, thus arbitrary classes cannot be instantiated from the incoming JSON documents.
+	 *
+	 * @throws IllegalArgumentException If a class is registered more than once.
+	 * @since 0-SNAPSHOT
+	 */
+	public static ITypeIdResolver getRegistryTypeIdResolver(final Map<String, ? extends Class<?>> classesByTypeId)
+			throws IllegalArgumentException {
+		final Map<String, Class<?>> classes = new HashMap<>(classesByTypeId);
+		final Map<Class<?>, String> typeIds = new HashMap<>();
+		for ( final Map.Entry<String, Class<?>> e : classes.entrySet() ) {
+			final String previousTypeId = typeIds.put(e.getValue(), e.getKey());
+			if ( previousTypeId != null ) {
+				throw new IllegalArgumentException(e.getValue() + " is registered as both " + previousTypeId + " and " + e.getKey());
+			}
+		}
+		return new RegistryTypeIdResolver(classes, typeIds);
+	}
+
+	private static final class ClassNameTypeIdResolver
+			implements ITypeIdResolver {
+
+		private final ConcurrentMap<String, Class<?>> classesByTypeName = new ConcurrentHashMap<>();
+
+		@Nonnull
+		@Override
+		public String getTypeId(@Nonnull final Class<?> clazz) {
+			return clazz.getTypeName();
+		}
+
+		@Nonnull
+		@Override
+		public Class<?> resolveClass(@Nonnull final String typeId)
+				throws ClassNotFoundException {
+			final Class<?> cachedClass = classesByTypeName.get(typeId);
+			if ( cachedClass != null ) {
+				return cachedClass;
+			}
+			// Not found classes are not cached in order not to let the incoming JSON documents fill the cache
+			final Class<?> clazz = Class.forName(typeId);
+			classesByTypeName.putIfAbsent(typeId, clazz);
+			return clazz;
+		}
+
+	}
+
+	private static final class RegistryTypeIdResolver
+			implements ITypeIdResolver {
+
+		private final Map<String, Class<?>> classesByTypeId;
+		private final Map<Class<?>, String> typeIdsByClass;
+
+		private RegistryTypeIdResolver(final Map<String, Class<?>> classesByTypeId, final Map<Class<?>, String> typeIdsByClass) {
+			this.classesByTypeId = classesByTypeId;
+			this.typeIdsByClass = typeIdsByClass;
+		}
+
+		@Nonnull
+		@Override
+		public String getTypeId(@Nonnull final Class<?> clazz)
+				throws IllegalArgumentException {
+			final String typeId = typeIdsByClass.get(clazz);
+			if ( typeId == null ) {
+				throw new IllegalArgumentException(clazz + " is not registered");
+			}
+			return typeId;
+		}
+
+		@Nonnull
+		@Override
+		public Class<?> resolveClass(@Nonnull final String typeId)
+				throws ClassNotFoundException {
+			final Class<?> clazz = classesByTypeId.get(typeId);
+			if ( clazz == null ) {
+				throw new ClassNotFoundException(typeId + " is not registered");
+			}
+			return clazz;
+		}
+
+	}
+
+}
@@ -1,16 +1,25 @@
 package lsh.ext.gson;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonParser;
 import org.hamcrest.Matcher;
 import org.junit.Test;
 
 import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
 
+import static lsh.ext.gson.JsonArrayMergeStrategies.concatArrays;
+import static lsh.ext.gson.JsonArrayMergeStrategies.mergeArraysByKey;
+import static lsh.ext.gson.JsonArrayMergeStrategies.replaceArrays;
+import static lsh.ext.gson.JsonElements.deepMergeIntoLeft;
+import static lsh.ext.gson.JsonElements.deepMergeIntoNew;
 import static lsh.ext.gson.JsonElements.jsonArray;
 import static lsh.ext.gson.JsonElements.jsonArrayWith;
 import static lsh.ext.gson.JsonElements.jsonNull;
@@ -18,7 +27,10 @@ import static lsh.ext.gson.JsonElements.jsonObject;
 import static lsh.ext.gson.JsonElements.jsonObjectWith;
 import static lsh.ext.gson.JsonElements.jsonPrimitive;
 import static lsh.ext.gson.JsonElements.mergeIntoLeft;
+import static lsh.ext.gson.JsonElements.mergeAll;
 import static lsh.ext.gson.JsonElements.mergeIntoNew;
+import static lsh.ext.gson.JsonElements.toDeepMergedJsonObject;
+import static lsh.ext.gson.JsonElements.toMergedJsonObject;
 import static lsh.ext.gson.JsonObjectMergePredicates.alwaysReplaceLeft;
 import static lsh.ext.gson.JsonObjectMergePredicates.neverReplaceLeft;
 import static lsh.ext.gson.MoreMatchers.hasProperty;
@@ -26,6 +38,7 @@ import static lsh.ext.gson.MoreMatchers.refersFirst;
 import static lsh.ext.gson.MoreMatchers.refersNone;
 import static org.hamcrest.CoreMatchers.allOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
@@ -472,6 +485,129 @@ public final class JsonElementsTest {
 		assertThat(result, hasPropertiesOf(l, r, r));
 	}
 
+	@Test
+	public void testDeepMergeIntoNew() {
+		final JsonObject left = parseObject("{\"a\":{\"x\":1,\"y\":{\"z\":1}},\"b\":{\"k\":1}}");
+		final JsonObject right = parseObject("{\"a\":{\"x\":2,\"n\":{\"m\":3}}}");
+		final JsonObject result = deepMergeIntoNew(left, right);
+		assertThat(result, is(parseObject("{\"a\":{\"x\":2,\"y\":{\"z\":1},\"n\":{\"m\":3}},\"b\":{\"k\":1}}")));
+		assertThat(left, is(parseObject("{\"a\":{\"x\":1,\"y\":{\"z\":1}},\"b\":{\"k\":1}}")));
+		assertThat(result.getAsJsonObject("a").get("y"), sameInstance(left.getAsJsonObject("a").get("y")));
+		assertThat(result.getAsJsonObject("a").get("n"), sameInstance(right.getAsJsonObject("a").get("n")));
+		assertThat(result.get("b"), sameInstance(left.get("b")));
+	}
+
+	@Test
+	public void testDeepMergeIntoNewWithNeverReplaceLeft() {
+		final JsonObject left = parseObject("{\"a\":{\"x\":1}}");
+		final JsonObject right = parseObject("{\"a\":{\"x\":2,\"n\":3}}");
+		final JsonObject result = deepMergeIntoNew(left, right, neverReplaceLeft(), replaceArrays());
+		assertThat(result, is(left));
+		assertThat(result, not(sameInstance(left)));
+		assertThat(result.get("a"), sameInstance(left.get("a")));
+	}
+
+	@Test
+	public void testDeepMergeIntoLeft() {
+		final JsonObject left = parseObject("{\"a\":{\"x\":1,\"y\":{\"z\":1}},\"b\":[1]}");
+		final JsonObject leftA = left.getAsJsonObject("a");
+		final JsonObject right = parseObject("{\"a\":{\"x\":2},\"b\":[2]}");
+		final JsonObject result = deepMergeIntoLeft(left, right);
+		assertThat(result, sameInstance(left));
+		assertThat(result.get("a"), sameInstance(leftA));
+		assertThat(result, is(parseObject("{\"a\":{\"x\":2,\"y\":{\"z\":1}},\"b\":[2]}")));
+	}
+
+	@Test
+	public void testDeepMergeWithConcatArrays() {
+		final JsonObject left = parseObject("{\"a\":{\"b\":[1,2]}}");
+		final JsonObject right = parseObject("{\"a\":{\"b\":[3]}}");
+		final JsonObject result = deepMergeIntoNew(left, right, alwaysReplaceLeft(), concatArrays());
+		assertThat(result, is(parseObject("{\"a\":{\"b\":[1,2,3]}}")));
+		assertThat(left, is(parseObject("{\"a\":{\"b\":[1,2]}}")));
+	}
+
+	@Test
+	public void testDeepMergeWithArraysMergedByKey() {
+		final JsonObject left = parseObject("{\"items\":[{\"id\":1,\"v\":\"a\",\"w\":1},{\"id\":2,\"v\":\"b\"},3]}");
+		final JsonObject right = parseObject("{\"items\":[{\"id\":2,\"v\":\"B\"},{\"id\":4,\"v\":\"d\"},5]}");
+		final JsonObject result = deepMergeIntoNew(left, right, alwaysReplaceLeft(), mergeArraysByKey("id"));
+		assertThat(result, is(parseObject("{\"items\":[{\"id\":1,\"v\":\"a\",\"w\":1},{\"id\":2,\"v\":\"B\"},3,{\"id\":4,\"v\":\"d\"},5]}")));
+		assertThat(result.getAsJsonArray("items").get(0), sameInstance(left.getAsJsonArray("items").get(0)));
+	}
+
+	@Test
+	public void testDeepMergeWithPathAwarePredicate() {
+		final JsonObject left = parseObject("{\"a\":{\"x\":1,\"y\":1},\"x\":1}");
+		final JsonObject right = parseObject("{\"a\":{\"x\":2,\"y\":2},\"x\":2}");
+		final JsonObject result = deepMergeIntoNew(left, right, new IJsonObjectMergePredicate() {
+			@Override
+			public boolean replace(final String key, final JsonObject leftObject, final JsonElement leftValue, final JsonObject rightObject,
+					final JsonElement rightValue) {
+				throw new AssertionError();
+			}
+
+			@Override
+			public boolean replace(final String path, final String key, final JsonObject leftObject, final JsonElement leftValue,
+					final JsonObject rightObject, final JsonElement rightValue) {
+				return !path.equals("/a/x");
+			}
+		}, replaceArrays());
+		assertThat(result, is(parseObject("{\"a\":{\"x\":1,\"y\":2},\"x\":2}")));
+	}
+
+	@Test
+	public void testMergeAll() {
+		final List<JsonObject> jsonObjects = createPartialObjects();
+		final JsonObject expected = new JsonObject();
+		for ( final JsonObject jsonObject : jsonObjects ) {
+			mergeIntoLeft(expected, jsonObject);
+		}
+		assertThat(mergeAll(jsonObjects, alwaysReplaceLeft()), is(expected));
+		assertThat(jsonObjects.get(0), is(jsonObject("k0", jsonPrimitive(0))));
+	}
+
+	@Test
+	public void testMergeAllWithNeverReplaceLeft() {
+		final List<JsonObject> jsonObjects = createPartialObjects();
+		assertThat(mergeAll(jsonObjects, neverReplaceLeft()), is(jsonObject("k0", jsonPrimitive(0))));
+	}
+
+	@Test
+	public void testToMergedJsonObjectWithEmptyStream() {
+		assertThat(new ArrayList<JsonObject>().parallelStream().collect(toMergedJsonObject()), is(new JsonObject()));
+	}
+
+	@Test
+	public void testToDeepMergedJsonObject() {
+		final List<JsonObject> jsonObjects = new ArrayList<>();
+		for ( int i = 0; i < 1000; i++ ) {
+			jsonObjects.add(jsonObject("a", jsonObject("k" + i % 10, jsonPrimitive(i)), "b", jsonArray(jsonPrimitive(i))));
+		}
+		final JsonObject result = jsonObjects.parallelStream()
+				.collect(toDeepMergedJsonObject(alwaysReplaceLeft(), concatArrays()));
+		final JsonObject a = result.getAsJsonObject("a");
+		assertThat(a.entrySet().size(), is(10));
+		assertThat(a.get("k9"), is(jsonPrimitive(999)));
+		final JsonArray b = result.getAsJsonArray("b");
+		assertThat(b.size(), is(1000));
+		for ( int i = 0; i < 1000; i++ ) {
+			assertThat(b.get(i), is(jsonPrimitive(i)));
+		}
+	}
+
+	private static List<JsonObject> createPartialObjects() {
+		final List<JsonObject> jsonObjects = new ArrayList<>();
+		for ( int i = 0; i < 10000; i++ ) {
+			jsonObjects.add(jsonObject("k" + i % 100, jsonPrimitive(i)));
+		}
+		return jsonObjects;
+	}
+
+	private static JsonObject parseObject(final String json) {
+		return new JsonParser().parse(json).getAsJsonObject();
+	}
+
 	private static JsonObject createLeftObject() {
 		return jsonObject(K1, l, K2, l, K3, l);
 	}
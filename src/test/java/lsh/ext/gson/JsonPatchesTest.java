@@ -0,0 +1,152 @@
+package lsh.ext.gson;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import org.junit.Test;
+
+import static lsh.ext.gson.JsonPatches.apply;
+import static lsh.ext.gson.JsonPatches.applyMergePatch;
+import static lsh.ext.gson.JsonPatches.diff;
+import static lsh.ext.gson.JsonPatches.diffMergePatch;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public final class JsonPatchesTest {
+
+	private static final String source = "{\"a\":\"b\",\"c\":{\"d\":\"e\",\"f\":\"g\"},\"h\":[1,2,3],\"i\":{\"j\":1}}";
+	private static final String target = "{\"a\":\"z\",\"c\":{\"d\":\"e\"},\"h\":[1,4],\"i\":{\"j\":1},\"k\":{\"l\":[true]}}";
+
+	@Test
+	public void testApply() {
+		final JsonElement document = parse("{\"foo\":[\"bar\",\"baz\"],\"qux\":{\"quux\":1}}");
+		final JsonArray patch = parse("["
+				+ "{\"op\":\"test\",\"path\":\"/qux/quux\",\"value\":1},"
+				+ "{\"op\":\"add\",\"path\":\"/foo/1\",\"value\":\"new\"},"
+				+ "{\"op\":\"remove\",\"path\":\"/foo/0\"},"
+				+ "{\"op\":\"replace\",\"path\":\"/qux/quux\",\"value\":2},"
+				+ "{\"op\":\"copy\",\"from\":\"/qux\",\"path\":\"/copy\"},"
+				+ "{\"op\":\"move\",\"from\":\"/foo/1\",\"path\":\"/foo/-\"},"
+				+ "{\"op\":\"add\",\"path\":\"/a~1b\",\"value\":null}"
+				+ "]").getAsJsonArray();
+		final JsonElement result = apply(patch, document, false);
+		assertThat(result, is(parse("{\"foo\":[\"new\",\"baz\"],\"qux\":{\"quux\":2},\"copy\":{\"quux\":2},\"a/b\":null}")));
+		assertThat(document, is(parse("{\"foo\":[\"bar\",\"baz\"],\"qux\":{\"quux\":1}}")));
+	}
+
+	@Test
+	public void testApplyInPlace() {
+		final JsonObject document = parse("{\"foo\":{\"bar\":1}}").getAsJsonObject();
+		final JsonObject foo = document.getAsJsonObject("foo");
+		final JsonElement result = apply(parse("[{\"op\":\"add\",\"path\":\"/foo/baz\",\"value\":2}]").getAsJsonArray(), document, true);
+		assertThat(result, sameInstance(document));
+		assertThat(document.get("foo"), sameInstance(foo));
+		assertThat(foo, is(parse("{\"bar\":1,\"baz\":2}")));
+	}
+
+	@Test
+	public void testApplySharesUntouchedSubtrees() {
+		final JsonObject document = parse("{\"foo\":{\"bar\":1},\"baz\":{\"qux\":2}}").getAsJsonObject();
+		final JsonObject result = apply(parse("[{\"op\":\"remove\",\"path\":\"/foo/bar\"}]").getAsJsonArray(), document, false).getAsJsonObject();
+		assertThat(result.get("baz"), sameInstance(document.get("baz")));
+		assertThat(document.getAsJsonObject("foo").has("bar"), is(true));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testApplyWithFailedTest() {
+		apply(parse("[{\"op\":\"test\",\"path\":\"/foo\",\"value\":2}]").getAsJsonArray(), parse("{\"foo\":1}"), false);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testApplyWithNotExistingPath() {
+		apply(parse("[{\"op\":\"remove\",\"path\":\"/foo/bar\"}]").getAsJsonArray(), parse("{\"foo\":{}}"), false);
+	}
+
+	@Test
+	public void testApplyFromJsonReader()
+			throws IOException {
+		final JsonReader patch = new JsonReader(new StringReader("[{\"op\":\"replace\",\"path\":\"/foo\",\"value\":[1]},{\"op\":\"add\",\"path\":\"/foo/0\",\"value\":0}]"));
+		assertThat(apply(patch, parse("{\"foo\":1}"), false), is(parse("{\"foo\":[0,1]}")));
+	}
+
+	@Test
+	public void testDiff() {
+		final JsonElement sourceElement = parse(source);
+		final JsonElement targetElement = parse(target);
+		final JsonArray patch = diff(sourceElement, targetElement);
+		assertThat(patch.size(), is(5));
+		assertThat(apply(patch, sourceElement, false), is(targetElement));
+		assertThat(sourceElement, is(parse(source)));
+	}
+
+	@Test
+	public void testDiffOfArrayWithInsertedElement() {
+		final JsonElement sourceElement = parse("[1,2,3,4]");
+		final JsonElement targetElement = parse("[0,1,2,3,4]");
+		final JsonArray patch = diff(sourceElement, targetElement);
+		assertThat(patch, is(parse("[{\"op\":\"add\",\"path\":\"/0\",\"value\":0}]")));
+		assertThat(apply(patch, sourceElement, false), is(targetElement));
+	}
+
+	@Test
+	public void testDiffOfArrayWithRemovedAndReplacedElements() {
+		final JsonElement sourceElement = parse("[1,2,3,4,5]");
+		final JsonElement targetElement = parse("[1,{\"foo\":1},5]");
+		final JsonArray patch = diff(sourceElement, targetElement);
+		assertThat(patch, is(parse("[{\"op\":\"replace\",\"path\":\"/1\",\"value\":{\"foo\":1}},{\"op\":\"remove\",\"path\":\"/3\"},"
+				+ "{\"op\":\"remove\",\"path\":\"/2\"}]")));
+		assertThat(apply(patch, sourceElement, false), is(targetElement));
+	}
+
+	@Test
+	public void testDiffOfEqualDocuments() {
+		assertThat(diff(parse(source), parse(source)).size(), is(0));
+	}
+
+	@Test
+	public void testApplyMergePatch() {
+		// RFC 7386, appendix A
+		final JsonElement document = parse("{\"title\":\"Goodbye!\",\"author\":{\"givenName\":\"John\",\"familyName\":\"Doe\"},\"tags\":[\"example\",\"sample\"],"
+				+ "\"content\":\"This will be unchanged\"}");
+		final JsonElement patch = parse("{\"title\":\"Hello!\",\"phoneNumber\":\"+01-123-456-7890\",\"author\":{\"familyName\":null},\"tags\":[\"example\"]}");
+		final JsonElement expected = parse("{\"title\":\"Hello!\",\"author\":{\"givenName\":\"John\"},\"tags\":[\"example\"],"
+				+ "\"content\":\"This will be unchanged\",\"phoneNumber\":\"+01-123-456-7890\"}");
+		assertThat(applyMergePatch(patch, document, false), is(expected));
+		assertThat(document.getAsJsonObject().getAsJsonObject("author").has("familyName"), is(true));
+		assertThat(applyMergePatch(patch, document, true), sameInstance(document));
+		assertThat(document, is(expected));
+	}
+
+	@Test
+	public void testApplyMergePatchWithNestedNulls() {
+		assertThat(applyMergePatch(parse("{\"a\":{\"bb\":{\"ccc\":null}}}"), parse("{}"), false), is(parse("{\"a\":{\"bb\":{}}}")));
+		assertThat(applyMergePatch(parse("[1]"), parse("{\"a\":1}"), false), is(parse("[1]")));
+	}
+
+	@Test
+	public void testApplyMergePatchFromJsonReader()
+			throws IOException {
+		final JsonReader patch = new JsonReader(new StringReader("{\"a\":{\"b\":null,\"c\":[1]},\"d\":null}"));
+		assertThat(applyMergePatch(patch, parse("{\"a\":{\"b\":1,\"e\":2},\"d\":3}"), false), is(parse("{\"a\":{\"e\":2,\"c\":[1]}}")));
+	}
+
+	@Test
+	public void testDiffMergePatch() {
+		final JsonElement sourceElement = parse(source);
+		final JsonElement targetElement = parse(target);
+		final JsonElement patch = diffMergePatch(sourceElement, targetElement);
+		assertThat(patch, is(parse("{\"a\":\"z\",\"c\":{\"f\":null},\"h\":[1,4],\"k\":{\"l\":[true]}}")));
+		assertThat(applyMergePatch(patch, sourceElement, false), is(targetElement));
+	}
+
+	private static JsonElement parse(final String json) {
+		return new JsonParser().parse(json);
+	}
+
+}
@@ -0,0 +1,273 @@
+package lsh.ext.gson;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import org.junit.Test;
+
+import static lsh.ext.gson.JsonReaders.getJsonArrayPushParser;
+import static lsh.ext.gson.JsonReaders.getJsonPushParser;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public final class JsonPushParserTest {
+
+	private static final Gson gson = new Gson();
+
+	private static final String[] validJsons = {
+			"{}",
+			"[]",
+			" { \"foo\" : [ 1 , -2.5e+3 , 0 , 0.5 , 1E2 , true , false , null , \"\" ] , \"bar\" : { } } \r\n\t",
+			"1",
+			"-10",
+			"12.5e-7",
+			"\"a\\\"\\\\\\/\\b\\f\\n\\r\\t\\u00e9\\u20AC\\ud83d\\ude00\"",
+			"\"\u00e9\u20ac\ud83d\ude00\"",
+			"[[[[[]]]]]",
+			"{\"a\":{\"b\":[1,{\"c\":\"d\"}]},\"e\":[],\"\u00e9\":null}",
+			"null"
+	};
+
+	private static final String[] invalidJsons = {
+			"[1,]",
+			"[01]",
+			"[1.]",
+			"[-]",
+			"[1e]",
+			"{\"a\":1}{}",
+			"[1] 2",
+			"[\"\\u12\"]",
+			"[\"\\x\"]",
+			"[\"\t\"]",
+			"{a:1}",
+			"['a']",
+			"[NaN]",
+			"[1 2]",
+			"{\"a\" 1}",
+			"{\"a\":}",
+			"[tru]",
+			"[truex]",
+			"]",
+			"{\"a\":1,}",
+			"[1}"
+	};
+
+	private static final String[] prematureJsons = {
+			"",
+			" ",
+			"[",
+			"{\"a\"",
+			"\"abc",
+			"-",
+			"tru"
+	};
+
+	@Test
+	public void testTokensForAllChunkSizes()
+			throws IOException {
+		for ( final String json : validJsons ) {
+			final List<String> expected = trace(new JsonReader(new StringReader(json)));
+			final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+			for ( int chunkSize = 1; chunkSize <= bytes.length; chunkSize++ ) {
+				final List<String> actual = new ArrayList<>();
+				final JsonPushParser parser = getJsonPushParser((token, value) -> actual.add(value != null ? token + " " + value : token.toString()));
+				feed(parser, bytes, chunkSize);
+				parser.finish();
+				assertThat(json + " by " + chunkSize, actual, is(expected));
+			}
+		}
+	}
+
+	@Test
+	public void testInvalidJsons()
+			throws IOException {
+		for ( final String json : invalidJsons ) {
+			final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+			for ( int chunkSize = 1; chunkSize <= bytes.length; chunkSize++ ) {
+				final JsonPushParser parser = getJsonPushParser((token, value) -> {
+				});
+				try {
+					feed(parser, bytes, chunkSize);
+					parser.finish();
+					throw new AssertionError(json);
+				} catch ( final MalformedJsonException ignored ) {
+					// Expected
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testPrematureJsons()
+			throws IOException {
+		for ( final String json : prematureJsons ) {
+			final JsonPushParser parser = getJsonPushParser((token, value) -> {
+			});
+			feed(parser, json.getBytes(StandardCharsets.UTF_8), 1);
+			try {
+				parser.finish();
+				throw new AssertionError(json);
+			} catch ( final EOFException ignored ) {
+				// Expected
+			}
+		}
+	}
+
+	@Test
+	public void testErrorOffset()
+			throws IOException {
+		final JsonPushParser parser = getJsonPushParser((token, value) -> {
+		});
+		parser.feed(bytes("[1, \u00e9"), 0, 3);
+		try {
+			parser.feed(bytes(" \u00e9]"), 0, 3);
+			throw new AssertionError();
+		} catch ( final MalformedJsonException ex ) {
+			assertThat(ex.getMessage(), is("Malformed JSON at offset 4"));
+		}
+		try {
+			parser.feed(bytes("]"), 0, 1);
+			throw new AssertionError();
+		} catch ( final MalformedJsonException ex ) {
+			assertThat(ex.getMessage(), is("Malformed JSON at offset 4"));
+		}
+	}
+
+	@Test
+	public void testReset()
+			throws IOException {
+		final List<JsonToken> tokens = new ArrayList<>();
+		final JsonPushParser parser = getJsonPushParser((token, value) -> tokens.add(token));
+		parser.feed(ByteBuffer.wrap(bytes("[")));
+		parser.reset();
+		final ByteBuffer directBuffer = ByteBuffer.allocateDirect(2);
+		directBuffer.put(bytes("{}")).flip();
+		parser.feed(directBuffer);
+		parser.finish();
+		assertThat(tokens, is(Arrays.asList(JsonToken.BEGIN_ARRAY, JsonToken.BEGIN_OBJECT, JsonToken.END_OBJECT, JsonToken.END_DOCUMENT)));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testFeedAfterFinish()
+			throws IOException {
+		final JsonPushParser parser = getJsonPushParser((token, value) -> {
+		});
+		parser.feed(bytes("1"), 0, 1);
+		parser.finish();
+		parser.feed(bytes(" "), 0, 1);
+	}
+
+	@Test
+	public void testArrayElementsForAllChunkSizes()
+			throws IOException {
+		final String json = " [ {\"foo\":[1,2],\"bar\":\"],\\\"[\"} , 3 , \"\u00e9\" ,[{},[]], true, null, {}, -1.5e3 ] ";
+		final List<JsonElement> expected = new ArrayList<>();
+		new JsonParser().parse(json).getAsJsonArray().forEach(expected::add);
+		final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		for ( int chunkSize = 1; chunkSize <= bytes.length; chunkSize++ ) {
+			final List<JsonElement> actual = new ArrayList<>();
+			final JsonPushParser parser = JsonReaders.<JsonElement>getJsonArrayPushParser(JsonElement.class, gson, actual::add);
+			feed(parser, bytes, chunkSize);
+			parser.finish();
+			assertThat("by " + chunkSize, actual, is(expected));
+		}
+	}
+
+	@Test
+	public void testArrayElementsAreBoundOnceComplete()
+			throws IOException {
+		final List<Item> items = new ArrayList<>();
+		final JsonPushParser parser = JsonReaders.<Item>getJsonArrayPushParser(Item.class, gson, items::add);
+		parser.feed(bytes("[{\"i\":1},{\"i\""), 0, 13);
+		assertThat(items.size(), is(1));
+		assertThat(items.get(0).i, is(1));
+		parser.feed(bytes(":2}"), 0, 3);
+		assertThat(items.size(), is(2));
+		assertThat(items.get(1).i, is(2));
+		parser.feed(bytes("]"), 0, 1);
+		parser.finish();
+	}
+
+	@Test(expected = MalformedJsonException.class)
+	public void testArrayElementsRejectNonArrays()
+			throws IOException {
+		getJsonArrayPushParser(Item.class, gson, item -> {
+		}).feed(bytes("{\"i\":1}"), 0, 7);
+	}
+
+	private static void feed(final JsonPushParser parser, final byte[] bytes, final int chunkSize)
+			throws IOException {
+		for ( int offset = 0; offset < bytes.length; offset += chunkSize ) {
+			// Every chunk is fed from a separate array in order to make sure the retained bytes are copied
+			parser.feed(Arrays.copyOfRange(bytes, offset, Math.min(offset + chunkSize, bytes.length)), 0, Math.min(chunkSize, bytes.length - offset));
+		}
+	}
+
+	private static byte[] bytes(final String s) {
+		return s.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static List<String> trace(final JsonReader jsonReader)
+			throws IOException {
+		final List<String> trace = new ArrayList<>();
+		while ( true ) {
+			final JsonToken token = jsonReader.peek();
+			switch ( token ) {
+			case BEGIN_ARRAY:
+				jsonReader.beginArray();
+				trace.add(token.toString());
+				break;
+			case END_ARRAY:
+				jsonReader.endArray();
+				trace.add(token.toString());
+				break;
+			case BEGIN_OBJECT:
+				jsonReader.beginObject();
+				trace.add(token.toString());
+				break;
+			case END_OBJECT:
+				jsonReader.endObject();
+				trace.add(token.toString());
+				break;
+			case NAME:
+				trace.add(token + " " + jsonReader.nextName());
+				break;
+			case STRING:
+			case NUMBER:
+				trace.add(token + " " + jsonReader.nextString());
+				break;
+			case BOOLEAN:
+				trace.add(token + " " + jsonReader.nextBoolean());
+				break;
+			case NULL:
+				jsonReader.nextNull();
+				trace.add(token.toString());
+				break;
+			case END_DOCUMENT:
+				trace.add(token.toString());
+				return trace;
+			default:
+				throw new AssertionError(token);
+			}
+		}
+	}
+
+	private static final class Item {
+
+		private final Integer i = null;
+
+	}
+
+}
@@ -0,0 +1,37 @@
+package lsh.ext.gson;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import com.google.gson.internal.JsonReaderInternalAccess;
+import com.google.gson.stream.JsonReader;
+import org.junit.Test;
+
+import static lsh.ext.gson.JsonReaderNamePromotions.isNamePromoted;
+import static lsh.ext.gson.JsonReaderNamePromotions.isSupported;
+import static lsh.ext.gson.JsonReaderNamePromotions.setNameNotPromoted;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class JsonReaderNamePromotionsTest {
+
+	@Test
+	public void testIsSupported() {
+		assertThat(isSupported(), is(true));
+	}
+
+	@Test
+	public void testNamePromotion()
+			throws IOException {
+		final JsonReader jsonReader = new JsonReader(new StringReader("{\"foo\":1}"));
+		jsonReader.beginObject();
+		jsonReader.hasNext();
+		assertThat(isNamePromoted(jsonReader), is(false));
+		JsonReaderInternalAccess.INSTANCE.promoteNameToValue(jsonReader);
+		assertThat(isNamePromoted(jsonReader), is(true));
+		setNameNotPromoted(jsonReader);
+		assertThat(isNamePromoted(jsonReader), is(false));
+		assertThat(jsonReader.nextName(), is("foo"));
+	}
+
+}
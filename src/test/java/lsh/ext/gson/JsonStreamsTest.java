@@ -5,12 +5,16 @@ import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 import com.google.gson.stream.MalformedJsonException;
 import org.junit.Test;
 
+import static lsh.ext.gson.JsonObjectMergePredicates.neverReplaceLeft;
 import static lsh.ext.gson.JsonStreams.copyTo;
+import static lsh.ext.gson.JsonStreams.mergeTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
@@ -69,6 +73,46 @@ public final class JsonStreamsTest {
 		copyTo(jsonReader, jsonWriter, false);
 	}
 
+	@Test
+	public void testMergeTo()
+			throws IOException {
+		final Writer writer = new StringWriter();
+		mergeTo(newLenientJsonReader("{\"a\":1,\"b\":{\"c\":[1,2],\"d\":{\"e\":1}},\"f\":[{\"g\":1}],\"h\":true}"),
+				newLenientJsonReader("{\"i\":0,\"b\":{\"d\":{\"j\":2},\"c\":[3]},\"a\":2,\"k\":{}}"),
+				new JsonWriter(writer));
+		assertThat(writer.toString(), is("{\"a\":2,\"b\":{\"c\":[3],\"d\":{\"e\":1,\"j\":2}},\"f\":[{\"g\":1}],\"h\":true,\"i\":0,\"k\":{}}"));
+	}
+
+	@Test
+	public void testMergeToWithNeverReplaceLeft()
+			throws IOException {
+		final Writer writer = new StringWriter();
+		mergeTo(newLenientJsonReader("{\"a\":1,\"b\":{\"c\":1}}"), newLenientJsonReader("{\"b\":{\"c\":2,\"d\":2},\"a\":2,\"e\":2}"),
+				new JsonWriter(writer), neverReplaceLeft());
+		assertThat(writer.toString(), is("{\"a\":1,\"b\":{\"c\":1}}"));
+	}
+
+	@Test
+	public void testMergeToWithPathAwarePredicate()
+			throws IOException {
+		final Writer writer = new StringWriter();
+		mergeTo(newLenientJsonReader("{\"a\":{\"x\":1,\"y\":1},\"x\":1}"), newLenientJsonReader("{\"x\":2,\"a\":{\"y\":2,\"x\":2}}"),
+				new JsonWriter(writer), new IJsonObjectMergePredicate() {
+					@Override
+					public boolean replace(final String key, final JsonObject leftObject, final JsonElement leftValue, final JsonObject rightObject,
+							final JsonElement rightValue) {
+						throw new AssertionError();
+					}
+
+					@Override
+					public boolean replace(final String path, final String key, final JsonObject leftObject, final JsonElement leftValue,
+							final JsonObject rightObject, final JsonElement rightValue) {
+						return !path.equals("/a/x");
+					}
+				});
+		assertThat(writer.toString(), is("{\"a\":{\"x\":1,\"y\":2},\"x\":2}"));
+	}
+
 	private static JsonReader newLenientJsonReader(final String json) {
 		final JsonReader reader = new JsonReader(new StringReader(json));
 		reader.setLenient(true);
@@ -1,12 +1,16 @@
 package lsh.ext.gson;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 import com.google.gson.stream.JsonReader;
 import org.junit.Test;
 
 import static lsh.ext.gson.Json.isJsonValid;
+import static lsh.ext.gson.Json.isStrictJsonValid;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
@@ -36,4 +40,34 @@ public final class JsonTest {
 		assertThat(isJsonValid(new JsonReader(new StringReader(INVALID_JSON))), is(false));
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void isStrictJsonValidForBytes() {
+		assertThat(isStrictJsonValid(VALID_JSON.getBytes(StandardCharsets.UTF_8)), is(true));
+		assertThat(isStrictJsonValid(INVALID_JSON.getBytes(StandardCharsets.UTF_8)), is(false));
+	}
+
+	@Test
+	public void isStrictJsonValidForByteBuffer() {
+		assertThat(isStrictJsonValid(ByteBuffer.wrap(VALID_JSON.getBytes(StandardCharsets.UTF_8))), is(true));
+		assertThat(isStrictJsonValid(ByteBuffer.wrap(INVALID_JSON.getBytes(StandardCharsets.UTF_8))), is(false));
+	}
+
+	@Test
+	public void isStrictJsonValidForInputStream()
+			throws IOException {
+		assertThat(isStrictJsonValid(new ByteArrayInputStream(VALID_JSON.getBytes(StandardCharsets.UTF_8))), is(true));
+		assertThat(isStrictJsonValid(new ByteArrayInputStream(INVALID_JSON.getBytes(StandardCharsets.UTF_8))), is(false));
+	}
+
+	@Test
+	public void isStrictJsonValidFollowsRfc7159Strictly()
+			throws IOException {
+		final String jsonWithTab = "{\"foo\": \"b\tar\"}";
+		assertThat(isJsonValid(jsonWithTab), is(true));
+		assertThat(isStrictJsonValid(jsonWithTab.getBytes(StandardCharsets.UTF_8)), is(false));
+		final String jsonWithBom = '\ufeff' + VALID_JSON;
+		assertThat(isJsonValid(jsonWithBom), is(true));
+		assertThat(isStrictJsonValid(jsonWithBom.getBytes(StandardCharsets.UTF_8)), is(false));
+	}
+
+}
@@ -0,0 +1,126 @@
+package lsh.ext.gson;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import static lsh.ext.gson.JsonValidator.getJsonValidator;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public final class JsonValidatorTest {
+
+	private static final String[] validJsons = {
+			"{}",
+			"[]",
+			" { \"foo\" : [ 1 , -2.5e+3 , 0 , 0.5 , 1E2 , true , false , null , \"\" ] , \"bar\" : { } } \r\n\t",
+			"1",
+			"-0",
+			"\"a\\\"\\\\\\/\\b\\f\\n\\r\\t\\u00e9\"",
+			"\"\u00e9\u20ac\ud83d\ude00\"",
+			"[[[[[]]]]]",
+			"null"
+	};
+
+	private static final String[] invalidJsons = {
+			"",
+			" ",
+			"[1,]",
+			"[01]",
+			"[1.]",
+			"[-]",
+			"[1e]",
+			"{\"a\":1}{}",
+			"[1] 2",
+			"[\"\\u12\"]",
+			"[\"\\x\"]",
+			"[\"\t\"]",
+			"{a:1}",
+			"['a']",
+			"[NaN]",
+			"[1 2]",
+			"{\"a\" 1}",
+			"{\"a\":}",
+			"[tru]",
+			"[truex]",
+			"[",
+			"]",
+			"{\"a\":1,}"
+	};
+
+	@Test
+	public void testValidJsons() {
+		for ( final String json : validJsons ) {
+			assertThat(json, validate(json.getBytes(StandardCharsets.UTF_8)), is(-1L));
+		}
+	}
+
+	@Test
+	public void testInvalidJsons() {
+		for ( final String json : invalidJsons ) {
+			assertThat(json, validate(json.getBytes(StandardCharsets.UTF_8)) >= 0, is(true));
+		}
+	}
+
+	@Test
+	public void testErrorOffset() {
+		assertThat(validate("[1,]".getBytes(StandardCharsets.UTF_8)), is(3L));
+		assertThat(validate("{\"foo\":[tru]}".getBytes(StandardCharsets.UTF_8)), is(11L));
+		assertThat(validate("[1,2".getBytes(StandardCharsets.UTF_8)), is(4L));
+	}
+
+	@Test
+	public void testMalformedUtf8() {
+		assertThat(validate(new byte[] { '"', (byte) 0xC0, (byte) 0x80, '"' }), is(1L));
+		assertThat(validate(new byte[] { '"', (byte) 0xED, (byte) 0xA0, (byte) 0x80, '"' }), is(2L));
+		assertThat(validate(new byte[] { '"', (byte) 0xE2, (byte) 0x82, '"' }), is(3L));
+		assertThat(validate(new byte[] { '"', (byte) 0x80, '"' }), is(1L));
+	}
+
+	@Test
+	public void testMaxDepth() {
+		final JsonValidator validator = getJsonValidator(2);
+		assertThat(validator.feed("[[]]".getBytes(StandardCharsets.UTF_8), 0, 4) && validator.finish(), is(true));
+		validator.reset();
+		assertThat(validator.feed("[[[]]]".getBytes(StandardCharsets.UTF_8), 0, 6), is(false));
+		assertThat(validator.getErrorOffset(), is(2L));
+	}
+
+	@Test
+	public void testFeedByteByByte() {
+		for ( final String json : validJsons ) {
+			final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+			final JsonValidator validator = getJsonValidator();
+			for ( int i = 0; i < bytes.length; i++ ) {
+				assertThat(json, validator.feed(bytes, i, 1), is(true));
+			}
+			assertThat(json, validator.finish(), is(true));
+		}
+		final JsonValidator validator = getJsonValidator();
+		final byte[] bytes = "{\"foo\":[1,2,x]}".getBytes(StandardCharsets.UTF_8);
+		for ( int i = 0; i < bytes.length && validator.feed(bytes, i, 1); i++ ) {
+		}
+		assertThat(validator.getErrorOffset(), is(12L));
+	}
+
+	@Test
+	public void testFeedDirectByteBuffer() {
+		final byte[] bytes = validJsons[2].getBytes(StandardCharsets.UTF_8);
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+		buffer.put(bytes);
+		buffer.flip();
+		final JsonValidator validator = getJsonValidator();
+		assertThat(validator.feed(buffer) && validator.finish(), is(true));
+		assertThat(buffer.hasRemaining(), is(false));
+	}
+
+	private static long validate(final byte[] bytes) {
+		final JsonValidator validator = getJsonValidator();
+		if ( validator.feed(bytes, 0, bytes.length) ) {
+			validator.finish();
+		}
+		return validator.getErrorOffset();
+	}
+
+}
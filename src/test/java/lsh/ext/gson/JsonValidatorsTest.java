@@ -0,0 +1,164 @@
+package lsh.ext.gson;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import lsh.ext.gson.JsonValidationResult.RecordError;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static lsh.ext.gson.JsonValidators.validateJsonArray;
+import static lsh.ext.gson.JsonValidators.validateJsonLines;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public final class JsonValidatorsTest {
+
+	private static final Executor directExecutor = Runnable::run;
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testValidateJsonLines() {
+		final String json = "{\"foo\":1}\n[1,2,3]\r\n\n  \n\"bar\"\n{\"baz\":{\"qux\":[\"é\\n\"]}}\n";
+		for ( int chunkSize = 1; chunkSize <= json.length() + 1; chunkSize++ ) {
+			final JsonValidationResult result = validateJsonLines(toByteBuffer(json), directExecutor, chunkSize);
+			assertThat(result.isValid(), is(true));
+			assertThat(result.getRecordCount(), is(4L));
+		}
+	}
+
+	@Test
+	public void testValidateJsonLinesReportsAllInvalidLines() {
+		final String json = "{\"foo\":1}\n{\"foo\":}\n\n[1,2\n[1]\ntrue false";
+		for ( int chunkSize = 1; chunkSize <= json.length() + 1; chunkSize++ ) {
+			final JsonValidationResult result = validateJsonLines(toByteBuffer(json), directExecutor, chunkSize);
+			assertThat(result.isValid(), is(false));
+			assertThat(result.getRecordCount(), is(5L));
+			final List<RecordError> errors = result.getErrors();
+			assertThat(errors.size(), is(3));
+			assertRecordError(errors.get(0), 1, 17);
+			assertRecordError(errors.get(1), 3, 24);
+			assertRecordError(errors.get(2), 5, 34);
+		}
+	}
+
+	@Test
+	public void testValidateJsonLinesForEmptyInput() {
+		final JsonValidationResult result = validateJsonLines(toByteBuffer(""), directExecutor, 16);
+		assertThat(result.isValid(), is(true));
+		assertThat(result.getRecordCount(), is(0L));
+	}
+
+	@Test
+	public void testValidateJsonArray() {
+		final String json = " [ {\"foo\":[1,2]} , {\"bar\":\"},{\"} ,[{},[]],{\"baz\":[{\"a\":\"],[\"},{}]}, 3, \"é\" ] ";
+		for ( int chunkSize = 1; chunkSize <= json.length() + 1; chunkSize++ ) {
+			final JsonValidationResult result = validateJsonArray(toByteBuffer(json), directExecutor, chunkSize);
+			assertThat(result.isValid(), is(true));
+			assertThat(result.getRecordCount(), is(6L));
+		}
+	}
+
+	@Test
+	public void testValidateJsonArrayReportsFirstError() {
+		final String json = "[{\"foo\":1},{\"bar\":\"},{\"},{\"baz\":},{\"qux\":}]";
+		for ( int chunkSize = 1; chunkSize <= json.length() + 1; chunkSize++ ) {
+			final JsonValidationResult result = validateJsonArray(toByteBuffer(json), directExecutor, chunkSize);
+			assertThat(result.isValid(), is(false));
+			assertThat(result.getErrors().size(), is(1));
+			assertRecordError(result.getErrors().get(0), 2, 32);
+		}
+	}
+
+	@Test
+	public void testValidateJsonArrayForEmptyArray() {
+		final JsonValidationResult result = validateJsonArray(toByteBuffer("[]"), directExecutor, 1);
+		assertThat(result.isValid(), is(true));
+		assertThat(result.getRecordCount(), is(0L));
+	}
+
+	@Test
+	public void testValidateJsonArrayForEmptyInput() {
+		final JsonValidationResult result = validateJsonArray(toByteBuffer("  "), directExecutor, 1);
+		assertThat(result.isValid(), is(false));
+		assertRecordError(result.getErrors().get(0), 0, 2);
+	}
+
+	@Test
+	public void testValidateJsonArrayRejectsNonArrays() {
+		final JsonValidationResult result = validateJsonArray(toByteBuffer(" {\"foo\":[{},{}]}"), directExecutor, 4);
+		assertThat(result.isValid(), is(false));
+		assertRecordError(result.getErrors().get(0), 0, 1);
+	}
+
+	@Test
+	public void testValidateJsonArrayDoesNotChangeBufferPosition() {
+		final ByteBuffer buffer = toByteBuffer("[{},{}]");
+		validateJsonArray(buffer, directExecutor, 2);
+		assertThat(buffer.position(), is(0));
+	}
+
+	@Test
+	public void testValidateJsonArrayOnExecutor()
+			throws InterruptedException {
+		final StringBuilder builder = new StringBuilder("[");
+		for ( int i = 0; i < 10_000; i++ ) {
+			builder.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(",\"name\":\"},{").append(i).append("\"}");
+		}
+		builder.append(']');
+		final ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			final JsonValidationResult result = validateJsonArray(toByteBuffer(builder.toString()), executorService, 1000);
+			assertThat(result.isValid(), is(true));
+			assertThat(result.getRecordCount(), is(10_000L));
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void testValidateJsonLinesForPath()
+			throws IOException {
+		final Path path = temporaryFolder.newFile().toPath();
+		Files.write(path, "{}\n[\n{}\n".getBytes(StandardCharsets.UTF_8));
+		final JsonValidationResult result = validateJsonLines(path, directExecutor, 2);
+		assertThat(result.getRecordCount(), is(3L));
+		assertThat(result.getErrors().size(), is(1));
+		assertRecordError(result.getErrors().get(0), 1, 4);
+	}
+
+	@Test
+	public void testValidateJsonArrayForPath()
+			throws IOException {
+		final Path path = temporaryFolder.newFile().toPath();
+		Files.write(path, "[{},{},{}]".getBytes(StandardCharsets.UTF_8));
+		final JsonValidationResult result = validateJsonArray(path, directExecutor, 3);
+		assertThat(result.isValid(), is(true));
+		assertThat(result.getRecordCount(), is(3L));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testValidateJsonLinesRejectsNonPositiveChunkSize() {
+		validateJsonLines(toByteBuffer("{}"), directExecutor, 0);
+	}
+
+	private static ByteBuffer toByteBuffer(final String json) {
+		return ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void assertRecordError(final RecordError error, final long expectedRecordIndex, final long expectedOffset) {
+		assertThat(error.toString(), error.getRecordIndex(), is(expectedRecordIndex));
+		assertThat(error.toString(), error.getOffset(), is(expectedOffset));
+	}
+
+}
@@ -0,0 +1,119 @@
+package lsh.ext.gson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static lsh.ext.gson.JsonReaders.getMappedFileJsonReader;
+import static lsh.ext.gson.MappedFileInputStream.getMappedFileInputStream;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class MappedFileInputStreamTest {
+
+	private static final Gson gson = new Gson();
+
+	private static final String json = "[{\"foo\":\"bär\",\"baz\":[1,2.5,true,null]},{\"qux\":\"€\\n\\u00e9\"},{}]";
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testReadAcrossWindows()
+			throws IOException {
+		final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		final Path path = write(bytes);
+		for ( int windowSize = 1; windowSize <= bytes.length + 1; windowSize++ ) {
+			try ( final InputStream inputStream = getMappedFileInputStream(path, windowSize) ) {
+				final byte[] actual = new byte[bytes.length];
+				int offset = 0;
+				for ( int read; (read = inputStream.read(actual, offset, actual.length - offset)) > 0; ) {
+					offset += read;
+				}
+				assertThat(offset, is(bytes.length));
+				assertThat(actual, is(bytes));
+				assertThat(inputStream.read(), is(-1));
+			}
+		}
+	}
+
+	@Test
+	public void testSkip()
+			throws IOException {
+		final Path path = write("0123456789".getBytes(StandardCharsets.UTF_8));
+		try ( final InputStream inputStream = getMappedFileInputStream(path, 3) ) {
+			assertThat(inputStream.read(), is((int) '0'));
+			assertThat(inputStream.skip(4), is(4L));
+			assertThat(inputStream.read(), is((int) '5'));
+			assertThat(inputStream.skip(100), is(4L));
+			assertThat(inputStream.read(), is(-1));
+		}
+	}
+
+	@Test
+	public void testSkipTwice()
+			throws IOException {
+		final Path path = write("0123456789".getBytes(StandardCharsets.UTF_8));
+		try ( final InputStream inputStream = getMappedFileInputStream(path, 3) ) {
+			assertThat(inputStream.skip(2), is(2L));
+			assertThat(inputStream.skip(3), is(3L));
+			assertThat(inputStream.read(), is((int) '5'));
+			assertThat(inputStream.skip(1), is(1L));
+			assertThat(inputStream.skip(1), is(1L));
+			assertThat(inputStream.read(), is((int) '8'));
+		}
+	}
+
+	@Test
+	public void testMappedFileJsonReader()
+			throws IOException {
+		final Path path = write(json.getBytes(StandardCharsets.UTF_8));
+		final JsonElement expected = gson.fromJson(new JsonReader(new StringReader(json)), JsonElement.class);
+		for ( final int windowSize : new int[]{ 1, 3, 7, 1 << 16 } ) {
+			try ( final JsonReader jsonReader = getMappedFileJsonReader(path, windowSize) ) {
+				assertThat(gson.fromJson(jsonReader, JsonElement.class), is(expected));
+			}
+		}
+	}
+
+	@Test
+	public void testMappedFileJsonReaderForEmptyFile()
+			throws IOException {
+		try ( final JsonReader jsonReader = getMappedFileJsonReader(write(new byte[0])) ) {
+			assertThat(gson.fromJson(jsonReader, JsonElement.class), is((JsonElement) null));
+		}
+	}
+
+	@Test(expected = ClosedChannelException.class)
+	public void testClose()
+			throws IOException {
+		final InputStream inputStream = getMappedFileInputStream(write(new byte[]{ '[', ']' }), 1);
+		inputStream.close();
+		inputStream.read();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNonPositiveWindowSize()
+			throws IOException {
+		getMappedFileInputStream(write(new byte[0]), 0);
+	}
+
+	private Path write(final byte[] bytes)
+			throws IOException {
+		final Path path = temporaryFolder.newFile().toPath();
+		Files.write(path, bytes);
+		return path;
+	}
+
+}
@@ -1,7 +1,10 @@
 package lsh.ext.gson;
 
+import lsh.ext.gson.Numbers.NumberType;
+import lsh.ext.gson.Numbers.ParsedNumber;
 import org.junit.Test;
 
+import static lsh.ext.gson.Numbers.tryParse;
 import static lsh.ext.gson.Numbers.tryParseLongOrDouble;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
@@ -9,6 +12,15 @@ import static org.hamcrest.MatcherAssert.assertThat;
 
 public final class NumbersTest {
 
+	private static final String[] numbers = {
+			"0", "-0", "+1", "2", "-2", "9223372036854775807", "-9223372036854775808", "9223372036854775808", "-9223372036854775809",
+			"3.14", "-3.14", "0.0", "-0.0", "1.", ".5", "1e5", "1E-5", "-1.5e+10", "0.001", "123456789012345", "1234567890.12345",
+			"3.141592653589793", "1e22", "1e23", "4.9e-324", "1.7976931348623157e308", "1e400", "0.000000000000000000000000001",
+			"NaN", "-Infinity", " 2 ", "1.5f", "0x1p3"
+	};
+
+	private static final String[] notNumbers = { "", "-", "+", ".", "foo", "1e", "1e+", "1.2.3", "--1", "1-", "e5" };
+
 	@Test
 	public void testTryParseLongOrDouble() {
 		assertThat(tryParseLongOrDouble("2"), is(2L));
@@ -16,4 +28,59 @@ public final class NumbersTest {
 		assertThat(tryParseLongOrDouble("foo"), nullValue());
 	}
 
+	@Test
+	public void testTryParseIsConsistentWithJdk() {
+		final ParsedNumber parsedNumber = new ParsedNumber();
+		for ( final String number : numbers ) {
+			assertThat(number, tryParse(number, parsedNumber), is(true));
+			assertThat(number, parsedNumber.toNumber(), is(parseWithJdk(number)));
+		}
+		for ( final String notNumber : notNumbers ) {
+			assertThat(notNumber, tryParse(notNumber, parsedNumber), is(false));
+			assertThat(notNumber, parsedNumber.getNumberType(), is(NumberType.NONE));
+		}
+	}
+
+	@Test
+	public void testTryParseForCharSequenceWindow() {
+		final ParsedNumber parsedNumber = new ParsedNumber();
+		assertThat(tryParse("[12,3.5]", 1, 3, parsedNumber), is(true));
+		assertThat(parsedNumber.getNumberType(), is(NumberType.LONG));
+		assertThat(parsedNumber.getLongValue(), is(12L));
+		assertThat(tryParse("[12,3.5]", 4, 7, parsedNumber), is(true));
+		assertThat(parsedNumber.getNumberType(), is(NumberType.DOUBLE));
+		assertThat(parsedNumber.getDoubleValue(), is(3.5));
+	}
+
+	@Test
+	public void testTryParseForCharArrayWindow() {
+		final ParsedNumber parsedNumber = new ParsedNumber();
+		final char[] chars = "[12,-3e2]".toCharArray();
+		assertThat(tryParse(chars, 1, 2, parsedNumber), is(true));
+		assertThat(parsedNumber.getLongValue(), is(12L));
+		assertThat(tryParse(chars, 4, 4, parsedNumber), is(true));
+		assertThat(parsedNumber.getDoubleValue(), is(-300.0));
+		assertThat(tryParse(chars, 0, 3, parsedNumber), is(false));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testGetLongValueForDouble() {
+		final ParsedNumber parsedNumber = new ParsedNumber();
+		tryParse("1.5", parsedNumber);
+		parsedNumber.getLongValue();
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testTryParseForOutOfBoundsWindow() {
+		tryParse("123".toCharArray(), 2, 2, new ParsedNumber());
+	}
+
+	private static Number parseWithJdk(final String s) {
+		try {
+			return Long.parseLong(s);
+		} catch ( final NumberFormatException ignored ) {
+			return Double.parseDouble(s);
+		}
+	}
+
 }
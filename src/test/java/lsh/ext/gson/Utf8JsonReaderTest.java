@@ -0,0 +1,324 @@
+package lsh.ext.gson;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import org.junit.Test;
+
+import static lsh.ext.gson.JsonReaders.getUtf8JsonReader;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class Utf8JsonReaderTest {
+
+	private static final Gson gson = new Gson();
+
+	private static final String[] jsons = {
+			"{}",
+			"[]",
+			"",
+			"   ",
+			" { \"foo\" : [ 1 , -2.5e+3 , 0 , 0.5 , 1E2 , true , false , null , \"\" ] , \"bar\" : { } } \r\n\t",
+			"1",
+			"-0",
+			"[9223372036854775807, 9223372036854775808, -9223372036854775808, -9223372036854775809, 1e999]",
+			"\"a\\\"\\\\\\/\\b\\f\\n\\r\\t\\u00e9\\u20AC\\'\"",
+			"\"\u00e9\u20ac\ud83d\ude00\"",
+			"[[[[[]]]]]",
+			"[TRUE, False, nULL]",
+			"[\"a\tb\"]",
+			"\ufeff",
+			"\ufeff[1]",
+			"\ufeff\ufeff[1]",
+			"[\ufeff1]",
+			"{\"a\":{\"b\":[1,{\"c\":\"d\"}]},\"e\":[]}",
+			"\n\n  [\n1,\n2\n]",
+			"[1,]",
+			"[01]",
+			"[1.]",
+			"[-]",
+			"[1e]",
+			"[.5]",
+			"[0x10]",
+			"[1 2]",
+			"[1}",
+			"{\"a\":1]",
+			"{\"a\" 1}",
+			"{\"a\":}",
+			"{\"a\":1,}",
+			"{a:1}",
+			"['a']",
+			"[\"\\x\"]",
+			"[\"a",
+			"[\"a\\",
+			"[tru]",
+			"[truex]",
+			"nul",
+			"[",
+			"]",
+			"{\"a\"",
+			"{\"a\":",
+			"1 2",
+			"{}{}"
+	};
+
+	@Test
+	public void testTokensForBytes() {
+		for ( final String json : jsons ) {
+			assertThat(json, trace(getUtf8JsonReader(json.getBytes(StandardCharsets.UTF_8))), is(trace(new JsonReader(new StringReader(json)))));
+		}
+	}
+
+	@Test
+	public void testTokensForByteBuffers() {
+		for ( final String json : jsons ) {
+			final byte[] bytes = ("##" + json + "##").getBytes(StandardCharsets.UTF_8);
+			final ByteBuffer heapBuffer = ByteBuffer.wrap(bytes, 2, bytes.length - 4).slice();
+			final ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length - 4);
+			directBuffer.put(bytes, 2, bytes.length - 4).flip();
+			final List<String> expected = trace(new JsonReader(new StringReader(json)));
+			assertThat(json, trace(getUtf8JsonReader(heapBuffer)), is(expected));
+			assertThat(json, trace(getUtf8JsonReader(directBuffer)), is(expected));
+			assertThat(json, directBuffer.position(), is(0));
+		}
+	}
+
+	@Test
+	public void testTokensForInputStreams() {
+		for ( final String json : jsons ) {
+			assertThat(json, trace(getUtf8JsonReader(new OneByteInputStream(json.getBytes(StandardCharsets.UTF_8)))),
+					is(trace(new JsonReader(new StringReader(json)))));
+		}
+	}
+
+	@Test
+	public void testLongValuesForInputStreams() {
+		final StringBuilder builder = new StringBuilder("[\"");
+		for ( int i = 0; i < 20_000; i++ ) {
+			builder.append(i % 100 == 0 ? "\\n" : i % 10 == 0 ? "\u00e9" : "a");
+		}
+		builder.append("\", \"");
+		for ( int i = 0; i < 20_000; i++ ) {
+			builder.append("\u20ac");
+		}
+		builder.append("\", 1");
+		for ( int i = 0; i < 10_000; i++ ) {
+			builder.append('0');
+		}
+		builder.append(".5]");
+		final String json = builder.toString();
+		final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		final List<String> expected = trace(new JsonReader(new StringReader(json)));
+		assertThat(trace(getUtf8JsonReader(new ByteArrayInputStream(bytes))), is(expected));
+		assertThat(trace(getUtf8JsonReader(new OneByteInputStream(bytes))), is(expected));
+		assertThat(trace(getUtf8JsonReader(bytes)), is(expected));
+	}
+
+	@Test
+	public void testSkipValue()
+			throws IOException {
+		final StringBuilder builder = new StringBuilder("[{\"a\":[\"");
+		for ( int i = 0; i < 20_000; i++ ) {
+			builder.append("\\\"\u00e9");
+		}
+		builder.append("\", 1.5, {\"b\": null}]}, \"c\"]");
+		final JsonReader jsonReader = getUtf8JsonReader(new OneByteInputStream(builder.toString().getBytes(StandardCharsets.UTF_8)));
+		jsonReader.beginArray();
+		jsonReader.skipValue();
+		assertThat(jsonReader.getPath(), is("$[1]"));
+		assertThat(jsonReader.nextString(), is("c"));
+		jsonReader.endArray();
+		assertThat(jsonReader.peek(), is(JsonToken.END_DOCUMENT));
+	}
+
+	@Test
+	public void testNumbersFromStrings()
+			throws IOException {
+		final JsonReader jsonReader = getUtf8JsonReader("[\"12\", 1.0, 1e2, \"1.5\", \"x\", \"NaN\"]".getBytes(StandardCharsets.UTF_8));
+		jsonReader.beginArray();
+		assertThat(jsonReader.nextInt(), is(12));
+		assertThat(jsonReader.nextLong(), is(1L));
+		assertThat(jsonReader.nextInt(), is(100));
+		try {
+			jsonReader.nextLong();
+			throw new AssertionError();
+		} catch ( final NumberFormatException ignored ) {
+			// The unparsed string remains buffered
+		}
+		assertThat(jsonReader.nextDouble(), is(1.5));
+		try {
+			jsonReader.nextDouble();
+			throw new AssertionError();
+		} catch ( final NumberFormatException ignored ) {
+			// The unparsed string remains buffered
+		}
+		assertThat(jsonReader.nextString(), is("x"));
+		try {
+			jsonReader.nextDouble();
+			throw new AssertionError();
+		} catch ( final MalformedJsonException ignored ) {
+			// Non-finite doubles are allowed in lenient mode only
+		}
+		jsonReader.setLenient(true);
+		assertThat(Double.isNaN(jsonReader.nextDouble()), is(true));
+		jsonReader.endArray();
+	}
+
+	@Test
+	public void testLenientMultipleTopLevelValues()
+			throws IOException {
+		final JsonReader jsonReader = getUtf8JsonReader("1 \"foo\"\n{}".getBytes(StandardCharsets.UTF_8));
+		jsonReader.setLenient(true);
+		assertThat(jsonReader.nextInt(), is(1));
+		assertThat(jsonReader.nextString(), is("foo"));
+		jsonReader.beginObject();
+		jsonReader.endObject();
+		assertThat(jsonReader.hasNext(), is(false));
+		assertThat(jsonReader.peek(), is(JsonToken.END_DOCUMENT));
+	}
+
+	@Test
+	public void testToString()
+			throws IOException {
+		final JsonReader jsonReader = getUtf8JsonReader("{\"a\":\n[1]}".getBytes(StandardCharsets.UTF_8));
+		jsonReader.beginObject();
+		jsonReader.nextName();
+		jsonReader.beginArray();
+		assertThat(jsonReader.toString(), is("Utf8JsonReader at line 2 column 2 path $.a[0]"));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testClose()
+			throws IOException {
+		final JsonReader jsonReader = getUtf8JsonReader("[]".getBytes(StandardCharsets.UTF_8));
+		jsonReader.close();
+		jsonReader.peek();
+	}
+
+	@Test
+	public void testGsonBinding() {
+		final String json = "{\"names\":[\"foo\",\"b\\u00e4r\"],\"counts\":{\"foo\":1,\"bar\":2},\"labels\":{\"1\":\"one\",\"2\":\"two\"},\"nested\":{\"names\":[],"
+				+ "\"counts\":{},\"labels\":{},\"nested\":null}}";
+		final Wrapper expected = gson.fromJson(json, Wrapper.class);
+		final Wrapper actual = gson.fromJson(getUtf8JsonReader(json.getBytes(StandardCharsets.UTF_8)), Wrapper.class);
+		assertThat(gson.toJson(actual), is(gson.toJson(expected)));
+		assertThat(actual.labels.get(2), is("two"));
+	}
+
+	@Test
+	public void testGsonBindingForIntegerKeyedMaps() {
+		final String json = "{\"1\":{\"-2\":[true]},\"3\":{}}";
+		final Type type = new TypeToken<Map<Integer, Map<Long, List<Boolean>>>>() {
+		}.getType();
+		final Map<Integer, Map<Long, List<Boolean>>> expected = gson.fromJson(json, type);
+		final Map<Integer, Map<Long, List<Boolean>>> actual = gson.fromJson(getUtf8JsonReader(new OneByteInputStream(json.getBytes(StandardCharsets.UTF_8))),
+				type);
+		assertThat(actual, is(expected));
+		assertThat(actual.get(1).get(-2L).get(0), is(true));
+	}
+
+	@Test
+	public void testGsonBindingForJsonElements() {
+		final String json = "{\"a\":[1,-2.5,\"\u00e9\\t\",true,null,{\"b\":{}}],\"c\":12345678901234567890}";
+		final Type type = new TypeToken<JsonElement>() {
+		}.getType();
+		final JsonElement expected = gson.fromJson(json, type);
+		final JsonElement actual = gson.fromJson(getUtf8JsonReader(new OneByteInputStream(json.getBytes(StandardCharsets.UTF_8))), type);
+		assertThat(actual, is(expected));
+	}
+
+	private static List<String> trace(final JsonReader jsonReader) {
+		final List<String> trace = new ArrayList<>();
+		try {
+			while ( true ) {
+				final JsonToken token = jsonReader.peek();
+				switch ( token ) {
+				case BEGIN_ARRAY:
+					jsonReader.beginArray();
+					trace.add(token.toString());
+					break;
+				case END_ARRAY:
+					jsonReader.endArray();
+					trace.add(token.toString());
+					break;
+				case BEGIN_OBJECT:
+					jsonReader.beginObject();
+					trace.add(token.toString());
+					break;
+				case END_OBJECT:
+					jsonReader.endObject();
+					trace.add(token.toString());
+					break;
+				case NAME:
+					trace.add(token + " " + jsonReader.nextName());
+					break;
+				case STRING:
+				case NUMBER:
+					trace.add(token + " " + jsonReader.nextString());
+					break;
+				case BOOLEAN:
+					trace.add(token + " " + jsonReader.nextBoolean());
+					break;
+				case NULL:
+					jsonReader.nextNull();
+					trace.add(token.toString());
+					break;
+				case END_DOCUMENT:
+					trace.add(token.toString());
+					return trace;
+				default:
+					throw new AssertionError(token);
+				}
+				trace.add(jsonReader.getPath());
+			}
+		} catch ( final IOException | RuntimeException ex ) {
+			trace.add(ex.getClass().getName());
+			return trace;
+		}
+	}
+
+	private static final class Wrapper {
+
+		private List<String> names;
+		private Map<String, Integer> counts;
+		private Map<Integer, String> labels;
+		private Wrapper nested;
+
+	}
+
+	private static final class OneByteInputStream
+			extends InputStream {
+
+		private final ByteArrayInputStream inputStream;
+
+		private OneByteInputStream(final byte[] bytes) {
+			inputStream = new ByteArrayInputStream(bytes);
+		}
+
+		@Override
+		public int read() {
+			return inputStream.read();
+		}
+
+		@Override
+		public int read(final byte[] bytes, final int offset, final int length) {
+			return inputStream.read(bytes, offset, Math.min(length, 1));
+		}
+
+	}
+
+}
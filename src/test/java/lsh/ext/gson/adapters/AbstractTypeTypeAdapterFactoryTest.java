@@ -1,11 +1,17 @@
 package lsh.ext.gson.adapters;
 
+import java.util.HashMap;
+
+import com.google.common.collect.ImmutableMap;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.annotations.SerializedName;
 import org.junit.Test;
 
 import static lsh.ext.gson.adapters.AbstractTypeTypeAdapterFactory.getAbstractTypeTypeAdapterFactory;
+import static lsh.ext.gson.adapters.AbstractTypeTypeAdapterFactory.getInlineAbstractTypeTypeAdapterFactory;
+import static lsh.ext.gson.adapters.TypeIdResolvers.getRegistryTypeIdResolver;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -16,6 +22,20 @@ public final class AbstractTypeTypeAdapterFactoryTest {
 			.registerTypeAdapterFactory(getAbstractTypeTypeAdapterFactory("$T", "$V"))
 			.create();
 
+	private static final Gson registryGson = new GsonBuilder()
+			.registerTypeAdapterFactory(getAbstractTypeTypeAdapterFactory("$T", "$V", getRegistryTypeIdResolver(ImmutableMap.of("1", Foo.class))))
+			.create();
+
+	private static final ITypeIdResolver inlineTypeIdResolver = getRegistryTypeIdResolver(ImmutableMap.of(
+			"baz", Baz.class,
+			"maps", Maps.class,
+			"conflicting", Conflicting.class
+	));
+
+	private static final Gson inlineGson = new GsonBuilder()
+			.registerTypeAdapterFactory(getInlineAbstractTypeTypeAdapterFactory("@type", inlineTypeIdResolver, 32))
+			.create();
+
 	@Test
 	public void testWrite() {
 		final Value foo = new Value(new Foo());
@@ -41,6 +61,106 @@ public final class AbstractTypeTypeAdapterFactoryTest {
 		gson.fromJson(json, Value.class);
 	}
 
+	@Test
+	public void testWriteWithRegistry() {
+		final Value foo = new Value(new Foo());
+		assertThat(registryGson.toJson(foo), is("{\"value\":{\"$T\":\"1\",\"$V\":{}}}"));
+	}
+
+	@Test
+	public void testReadWithRegistry() {
+		final Value value = registryGson.fromJson("{\"value\":{\"$T\":\"1\",\"$V\":{}}}", Value.class);
+		assertThat(value.value, instanceOf(Foo.class));
+	}
+
+	@Test(expected = JsonSyntaxException.class)
+	public void testReadWithRegistryForNotRegisteredType() {
+		final String json = "{\"value\":{\"$T\":\"" + Bar.class.getTypeName() + "\",\"$V\":{}}}";
+		registryGson.fromJson(json, Value.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWriteWithRegistryForNotRegisteredType() {
+		registryGson.toJson(new Value(new Bar()));
+	}
+
+	@Test
+	public void testWriteInline() {
+		final Value value = new Value(new Baz(1, new Point(2, 3), "four"));
+		assertThat(inlineGson.toJson(value), is("{\"value\":{\"@type\":\"baz\",\"i\":1,\"point\":{\"x\":2,\"y\":3},\"s\":\"four\"}}"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWriteInlineForConflictingTypeProperty() {
+		inlineGson.toJson(new Value(new Conflicting()));
+	}
+
+	@Test
+	public void testReadInline() {
+		final String json = "{\"value\":{\"point\":{\"x\":2,\"y\":3},\"unknown\":{\"foo\":[true,null]},\"i\":\"1\",\"@type\":\"baz\",\"s\":\"four\"}}";
+		final Value value = inlineGson.fromJson(json, Value.class);
+		assertThat(value.value, instanceOf(Baz.class));
+		final Baz baz = (Baz) value.value;
+		assertThat(baz.i, is(1));
+		assertThat(baz.point.x, is(2));
+		assertThat(baz.point.y, is(3));
+		assertThat(baz.s, is("four"));
+	}
+
+	@Test
+	public void testReadInlineWithMaps() {
+		final String json = "{\"value\":{\"before\":{\"a\":1,\"b\":2},\"ids\":{\"3\":\"c\"},\"@type\":\"maps\",\"after\":{\"d\":4},\"names\":{\"5\":\"e\"}}}";
+		final Value value = inlineGson.fromJson(json, Value.class);
+		assertThat(value.value, instanceOf(Maps.class));
+		final Maps maps = (Maps) value.value;
+		assertThat(maps.before, is(ImmutableMap.of("a", 1, "b", 2)));
+		assertThat(maps.ids, is(ImmutableMap.of(3, "c")));
+		assertThat(maps.after, is(ImmutableMap.of("d", 4)));
+		assertThat(maps.names, is(ImmutableMap.of(5L, "e")));
+	}
+
+	@Test
+	public void testReadInlineForTypePropertyAtLookAheadLimit() {
+		// The name, the array beginning, 29 elements and the array end make exactly 32 look-ahead tokens
+		final String json = "{\"value\":{\"unknown\":[1,2,3,4,5,6,7,8,9,10,11,12,13,14,15,16,17,18,19,20,21,22,23,24,25,26,27,28,29],\"@type\":\"baz\",\"i\":1}}";
+		final Value value = inlineGson.fromJson(json, Value.class);
+		assertThat(value.value, instanceOf(Baz.class));
+		assertThat(((Baz) value.value).i, is(1));
+	}
+
+	@Test(expected = JsonSyntaxException.class)
+	public void testReadInlineForTypePropertyBeyondLookAheadLimit() {
+		final String json = "{\"value\":{\"unknown\":[1,2,3,4,5,6,7,8,9,10,11,12,13,14,15,16,17,18,19,20,21,22,23,24,25,26,27,28,29,30],\"@type\":\"baz\"}}";
+		inlineGson.fromJson(json, Value.class);
+	}
+
+	@Test(expected = JsonSyntaxException.class)
+	public void testReadInlineForTooFarTypeProperty() {
+		final String json = "{\"value\":{\"unknown\":[1,2,3,4,5,6,7,8,9,10,11,12,13,14,15,16,17,18,19,20,21,22,23,24,25,26,27,28,29,30,31,32],\"@type\":\"baz\"}}";
+		inlineGson.fromJson(json, Value.class);
+	}
+
+	@Test
+	public void testReadInlineForTooFarTypePropertyDoesNotReadBeyondLimit() {
+		final StringBuilder json = new StringBuilder("{\"value\":{\"unknown\":[0");
+		for ( int i = 1; i < 64; i++ ) {
+			json.append(',').append(i);
+		}
+		// The malformed tail must never be reached
+		json.append(",}");
+		try {
+			inlineGson.fromJson(json.toString(), Value.class);
+			throw new AssertionError();
+		} catch ( final JsonSyntaxException ex ) {
+			assertThat(ex.getCause().getMessage().startsWith("Expected @type within 32 tokens"), is(true));
+		}
+	}
+
+	@Test(expected = JsonSyntaxException.class)
+	public void testReadInlineForMissingTypeProperty() {
+		inlineGson.fromJson("{\"value\":{\"i\":1}}", Value.class);
+	}
+
 	private static final class Value {
 
 		private final Abstract value;
@@ -62,4 +182,49 @@ public final class AbstractTypeTypeAdapterFactoryTest {
 			extends Abstract {
 	}
 
-}
\ No newline at end of file
+	private static final class Baz
+			extends Abstract {
+
+		private final int i;
+		private final Point point;
+		private final String s;
+
+		private Baz(final int i, final Point point, final String s) {
+			this.i = i;
+			this.point = point;
+			this.s = s;
+		}
+
+	}
+
+	private static final class Maps
+			extends Abstract {
+
+		private final HashMap<String, Integer> before = null;
+		private final HashMap<Integer, String> ids = null;
+		private final HashMap<String, Integer> after = null;
+		private final HashMap<Long, String> names = null;
+
+	}
+
+	private static final class Conflicting
+			extends Abstract {
+
+		@SerializedName("@type")
+		private final String type = "conflicting";
+
+	}
+
+	private static final class Point {
+
+		private final int x;
+		private final int y;
+
+		private Point(final int x, final int y) {
+			this.x = x;
+			this.y = y;
+		}
+
+	}
+
+}
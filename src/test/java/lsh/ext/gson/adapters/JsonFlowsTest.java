@@ -0,0 +1,224 @@
+package lsh.ext.gson.adapters;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.junit.Test;
+
+import static lsh.ext.gson.adapters.JsonFlows.getJsonReaderPublisher;
+import static lsh.ext.gson.adapters.JsonFlows.getJsonWriterSubscriber;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public final class JsonFlowsTest {
+
+	private static final Gson gson = new Gson();
+
+	private static final Executor directExecutor = Runnable::run;
+
+	@Test
+	public void testPublisherToSubscriber()
+			throws ExecutionException, InterruptedException {
+		final StringWriter writer = new StringWriter();
+		final CompletableFuture<Void> completion = new CompletableFuture<>();
+		final IPublisher<Integer> publisher = getJsonReaderPublisher(Integer.class, gson, new JsonReader(new StringReader("[1,2,3,4,5]")), directExecutor);
+		publisher.subscribe(getJsonWriterSubscriber(Integer.class, gson, new JsonWriter(writer), 2, completion));
+		completion.get();
+		assertThat(writer.toString(), is("[1,2,3,4,5]"));
+	}
+
+	@Test
+	public void testPublisherToSubscriberOnExecutor()
+			throws ExecutionException, InterruptedException {
+		final int count = 10_000;
+		final String json = IntStream.range(0, count)
+				.mapToObj(String::valueOf)
+				.collect(Collectors.joining(",", "[", "]"));
+		final ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			final StringWriter writer = new StringWriter();
+			final CompletableFuture<Void> completion = new CompletableFuture<>();
+			getJsonReaderPublisher(Integer.class, gson, new JsonReader(new StringReader(json)), executorService)
+					.subscribe(getJsonWriterSubscriber(Integer.class, gson, new JsonWriter(writer), 16, completion));
+			completion.get();
+			assertThat(writer.toString(), is(json));
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void testPublisherParsesRequestedElementsOnly() {
+		final ClosingJsonReader in = new ClosingJsonReader("[1,2,3,4]");
+		final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+		JsonFlows.<Integer>getJsonReaderPublisher(Integer.class, gson, in, directExecutor).subscribe(subscriber);
+		subscriber.subscription.request(2);
+		assertThat(subscriber.elements, is(ImmutableList.of(1, 2)));
+		assertThat(subscriber.completed, is(false));
+		subscriber.subscription.request(Long.MAX_VALUE);
+		subscriber.subscription.request(Long.MAX_VALUE);
+		assertThat(subscriber.elements, is(ImmutableList.of(1, 2, 3, 4)));
+		assertThat(subscriber.completed, is(true));
+		assertThat(in.closed, is(true));
+	}
+
+	@Test
+	public void testPublisherCompletesOnExactDemand() {
+		final ClosingJsonReader in = new ClosingJsonReader("[1,2,3]");
+		final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+		JsonFlows.<Integer>getJsonReaderPublisher(Integer.class, gson, in, directExecutor).subscribe(subscriber);
+		subscriber.subscription.request(3);
+		assertThat(subscriber.elements, is(ImmutableList.of(1, 2, 3)));
+		assertThat(subscriber.completed, is(true));
+		assertThat(in.closed, is(true));
+	}
+
+	@Test
+	public void testPublisherClosesReaderOnCancel() {
+		final ClosingJsonReader in = new ClosingJsonReader("[1,2,3,4]");
+		final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+		JsonFlows.<Integer>getJsonReaderPublisher(Integer.class, gson, in, directExecutor).subscribe(subscriber);
+		subscriber.subscription.request(1);
+		subscriber.subscription.cancel();
+		subscriber.subscription.request(1);
+		assertThat(subscriber.elements, is(ImmutableList.of(1)));
+		assertThat(subscriber.completed, is(false));
+		assertThat(subscriber.error, is((Throwable) null));
+		assertThat(in.closed, is(true));
+	}
+
+	@Test
+	public void testPublisherSignalsParsingErrors() {
+		final ClosingJsonReader in = new ClosingJsonReader("[1,\"foo\"]");
+		final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+		JsonFlows.<Integer>getJsonReaderPublisher(Integer.class, gson, in, directExecutor).subscribe(subscriber);
+		subscriber.subscription.request(10);
+		assertThat(subscriber.elements, is(ImmutableList.of(1)));
+		assertThat(subscriber.error, instanceOf(JsonSyntaxException.class));
+		assertThat(in.closed, is(true));
+	}
+
+	@Test
+	public void testPublisherSignalsNonPositiveRequests() {
+		final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+		JsonFlows.<Integer>getJsonReaderPublisher(Integer.class, gson, new ClosingJsonReader("[1]"), directExecutor).subscribe(subscriber);
+		subscriber.subscription.request(0);
+		assertThat(subscriber.error, instanceOf(IllegalArgumentException.class));
+	}
+
+	@Test
+	public void testPublisherRejectsSecondSubscriber() {
+		final IPublisher<Integer> publisher = getJsonReaderPublisher(Integer.class, gson, new ClosingJsonReader("[1]"), directExecutor);
+		publisher.subscribe(new RecordingSubscriber<>());
+		final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+		publisher.subscribe(subscriber);
+		assertThat(subscriber.error, instanceOf(IllegalStateException.class));
+	}
+
+	@Test
+	public void testSubscriberFailsOnTypeAdapterErrors()
+			throws InterruptedException {
+		final Gson failingGson = new GsonBuilder()
+				.registerTypeAdapter(Integer.class, new TypeAdapter<Integer>() {
+					@Override
+					public void write(final JsonWriter out, final Integer value)
+							throws IOException {
+						if ( value == 2 ) {
+							throw new IllegalStateException();
+						}
+						out.value(value);
+					}
+
+					@Override
+					public Integer read(final JsonReader in)
+							throws IOException {
+						return in.nextInt();
+					}
+				})
+				.create();
+		final ClosingJsonReader in = new ClosingJsonReader("[1,2,3]");
+		final CompletableFuture<Void> completion = new CompletableFuture<>();
+		JsonFlows.<Integer>getJsonReaderPublisher(Integer.class, failingGson, in, directExecutor)
+				.subscribe(getJsonWriterSubscriber(Integer.class, failingGson, new JsonWriter(new StringWriter()), 1, completion));
+		try {
+			completion.get();
+			throw new AssertionError();
+		} catch ( final ExecutionException ex ) {
+			assertThat(ex.getCause(), instanceOf(IllegalStateException.class));
+		}
+		assertThat(in.closed, is(true));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSubscriberRejectsNonPositiveBatchSize() {
+		getJsonWriterSubscriber(Integer.class, gson, new JsonWriter(new StringWriter()), 0, new CompletableFuture<>());
+	}
+
+	private static final class ClosingJsonReader
+			extends JsonReader {
+
+		private boolean closed;
+
+		private ClosingJsonReader(final String json) {
+			super(new StringReader(json));
+		}
+
+		@Override
+		public void close()
+				throws IOException {
+			closed = true;
+			super.close();
+		}
+
+	}
+
+	private static final class RecordingSubscriber<T>
+			implements ISubscriber<T> {
+
+		private final List<T> elements = new ArrayList<>();
+
+		private ISubscription subscription;
+		private Throwable error;
+		private boolean completed;
+
+		@Override
+		public void onSubscribe(final ISubscription subscription) {
+			this.subscription = subscription;
+		}
+
+		@Override
+		public void onNext(final T element) {
+			elements.add(element);
+		}
+
+		@Override
+		public void onError(final Throwable throwable) {
+			error = throwable;
+		}
+
+		@Override
+		public void onComplete() {
+			completed = true;
+		}
+
+	}
+
+}
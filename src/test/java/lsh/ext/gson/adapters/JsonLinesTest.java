@@ -0,0 +1,56 @@
+package lsh.ext.gson.adapters;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+import org.junit.Test;
+
+import static lsh.ext.gson.adapters.JsonLines.getJsonLinesIterator;
+import static lsh.ext.gson.adapters.JsonLines.getJsonLinesStream;
+import static lsh.ext.gson.adapters.JsonLines.write;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public final class JsonLinesTest {
+
+	private static final Gson gson = new Gson();
+
+	@Test
+	public void testGetJsonLinesIterator()
+			throws Exception {
+		final Iterator<List<Integer>> unit = getJsonLinesIterator(List.class, gson, new StringReader("[1]\n[2,3]\r\n\n[]\n"));
+		assertThat(unit instanceof AutoCloseable, is(true));
+		assertThat(unit.hasNext(), is(true));
+		assertThat(unit.next(), is(ImmutableList.of(1.0)));
+		assertThat(unit.hasNext(), is(true));
+		assertThat(unit.next(), is(ImmutableList.of(2.0, 3.0)));
+		assertThat(unit.hasNext(), is(true));
+		assertThat(unit.next(), is(ImmutableList.of()));
+		assertThat(unit.hasNext(), is(false));
+	}
+
+	@Test
+	public void testGetJsonLinesStream() {
+		try ( final Stream<Integer> unit = getJsonLinesStream(Integer.class, gson, new JsonReader(new StringReader("1\n2\n4\n8"))) ) {
+			assertThat(unit.collect(Collectors.toList()), is(ImmutableList.of(1, 2, 4, 8)));
+		}
+	}
+
+	@Test
+	public void testWrite()
+			throws Exception {
+		final StringWriter writer = new StringWriter();
+		final Gson prettyGson = new GsonBuilder().setPrettyPrinting().create();
+		write(List.class, prettyGson, ImmutableList.of(ImmutableList.of(1), ImmutableList.of(2, 3), ImmutableList.of()).iterator(), writer);
+		assertThat(writer.toString(), is("[1]\n[2,3]\n[]\n"));
+	}
+
+}
@@ -1,13 +1,23 @@
 package lsh.ext.gson.adapters;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Type;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
 import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.spi.json.GsonJsonProvider;
@@ -97,6 +107,127 @@ public final class JsonPathTypeAdapterFactoryTest {
 		assertThat(wrapper.fooRef, nullValue());
 	}
 
+	@Test
+	public void testGetJsonPathTypeAdapterFactoryWithDefaultConfigurationAndBoundFields() {
+		final TypeAdapterFactory unit = getJsonPathTypeAdapterFactory();
+		final Gson gson = new GsonBuilder()
+				.registerTypeAdapterFactory(unit)
+				.create();
+		final WrapperWithBoundFields wrapper = gson.fromJson("{\"id\":1,\"l1\":{\"skip\":[1,2,3],\"l2\":[{\"foo\":\"A\"},{\"foo\":\"B\"}]},\"l2\":false}",
+				WrapperWithBoundFields.class);
+		assertThat(wrapper.id, is(1));
+		assertThat(wrapper.l1, is(ImmutableMap.of("skip", ImmutableList.of(1.0, 2.0, 3.0), "l2", ImmutableList.of(ImmutableMap.of("foo", "A"),
+				ImmutableMap.of("foo", "B")))));
+		assertThat(wrapper.fooRef, is("B"));
+		assertThat(wrapper.skipRef, is(2));
+	}
+
+	@Test
+	public void testGetJsonPathTypeAdapterFactoryWithDefaultConfigurationAndNotStreamablePaths() {
+		final TypeAdapterFactory unit = getJsonPathTypeAdapterFactory();
+		final Gson gson = new GsonBuilder()
+				.registerTypeAdapterFactory(unit)
+				.create();
+		final WrapperWithNotStreamablePath wrapper = gson.fromJson("{\"l1\":{\"l2\":{\"l3\":{\"foo\":\"Foo!\"}}}}", WrapperWithNotStreamablePath.class);
+		assertThat(wrapper.fooRef, is("Foo!"));
+		assertThat(wrapper.fooRefs, is(ImmutableList.of("Foo!")));
+	}
+
+	@Test
+	public void testGetJsonPathTypeAdapterFactoryWithDefaultConfigurationAndNull() {
+		final TypeAdapterFactory unit = getJsonPathTypeAdapterFactory();
+		final Gson gson = new GsonBuilder()
+				.registerTypeAdapterFactory(unit)
+				.create();
+		assertThat(gson.fromJson("null", Wrapper.class), nullValue());
+	}
+
+	@Test
+	public void testGetJsonPathTypeAdapterFactoryWithDefaultConfigurationAndInheritedFields() {
+		final TypeAdapterFactory unit = getJsonPathTypeAdapterFactory();
+		final Gson gson = new GsonBuilder()
+				.registerTypeAdapterFactory(unit)
+				.create();
+		final DerivedWrapper wrapper = gson.fromJson("{\"l1\":{\"l2\":{\"l3\":{\"foo\":\"Foo!\",\"bar\":[\"A\",\"B\",\"C\"]}}}}", DerivedWrapper.class);
+		assertThat(((BaseWrapper) wrapper).fooRef, is("Foo!"));
+		assertThat(wrapper.barRef, is("A"));
+	}
+
+	@Test
+	public void testGetJsonPathTypeAdapterFactoryWithDefaultConfigurationAndGenericFields() {
+		final TypeAdapterFactory unit = getJsonPathTypeAdapterFactory();
+		final Gson gson = new GsonBuilder()
+				.registerTypeAdapterFactory(unit)
+				.create();
+		final ItemsWrapper wrapper = gson.fromJson("{\"l1\":{\"items\":[{\"name\":\"A\"},{\"name\":\"B\"}]}}", ItemsWrapper.class);
+		assertThat(((GenericWrapper<Item>) wrapper).item.name, is("A"));
+		assertThat(wrapper.items.size(), is(2));
+		assertThat(wrapper.items.get(1).name, is("B"));
+	}
+
+	@Test
+	public void testGetJsonPathTypeAdapterFactoryWithDefaultConfigurationAndNestedGenericFields() {
+		final TypeAdapterFactory unit = getJsonPathTypeAdapterFactory();
+		final Gson gson = new GsonBuilder()
+				.registerTypeAdapterFactory(unit)
+				.create();
+		final Type type = new TypeToken<ListsWrapper<Item>>() {
+		}.getType();
+		final ListsWrapper<Item> wrapper = gson.fromJson("{\"l1\":{\"items\":[[{\"name\":\"A\"}],[{\"name\":\"B\"}]]}}", type);
+		assertThat(((GenericWrapper<List<Item>>) wrapper).item.get(0).name, is("A"));
+		assertThat(wrapper.lists.get(1).get(0).name, is("B"));
+		assertThat(wrapper.arrays[1][0].name, is("B"));
+	}
+
+	@Test
+	public void testGetJsonPathTypeAdapterFactoryWithDefaultConfigurationSkipsNotBoundProperties()
+			throws IOException {
+		final TypeAdapterFactory unit = getJsonPathTypeAdapterFactory();
+		final Gson gson = new GsonBuilder()
+				.registerTypeAdapterFactory(unit)
+				.create();
+		final SkipCountingJsonReader jsonReader = new SkipCountingJsonReader("{\"unused\":{\"foo\":[1,2]},\"l1\":{\"l2\":{\"l3\":{\"foo\":\"Foo!\","
+				+ "\"bar\":[\"A\",\"B\",\"C\"],\"baz\":{\"k1\":\"v1\"}}}}}");
+		final Wrapper wrapper = gson.fromJson(jsonReader, Wrapper.class);
+		assertThat(wrapper.fooRef, is("Foo!"));
+		assertThat(wrapper.barRef, is("A"));
+		assertThat(wrapper.bazRef, is(ImmutableMap.of("k1", "v1")));
+		assertThat(jsonReader.skipCount, is(3));
+	}
+
+	@Test
+	public void testGetJsonPathTypeAdapterFactoryWithDefaultConfigurationAndRootPropertyPaths()
+			throws IOException {
+		final TypeAdapterFactory unit = getJsonPathTypeAdapterFactory();
+		final Gson gson = new GsonBuilder()
+				.registerTypeAdapterFactory(unit)
+				.create();
+		final SkipCountingJsonReader jsonReader = new SkipCountingJsonReader("{\"unused\":[1,2],\"l1\":{\"skip\":[1,2,3],\"l2\":[{\"foo\":\"A\"},"
+				+ "{\"foo\":\"B\"}]}}");
+		final WrapperWithRootPropertyPath wrapper = gson.fromJson(jsonReader, WrapperWithRootPropertyPath.class);
+		assertThat(wrapper.fooRefs, is(ImmutableList.of("A", "B")));
+		assertThat(wrapper.skipRef, is(2));
+		assertThat(jsonReader.skipCount, is(1));
+	}
+
+	@Test
+	public void testGetJsonPathTypeAdapterFactoryWithDefaultConfigurationAndCustomDelegate() {
+		final TypeAdapterFactory unit = getJsonPathTypeAdapterFactory();
+		final Gson gson = new GsonBuilder()
+				.registerTypeAdapter(WrapperWithRootNames.class, (JsonDeserializer<WrapperWithRootNames>) (jsonElement, type, context) -> {
+					final WrapperWithRootNames wrapper = new WrapperWithRootNames();
+					wrapper.rootNames = jsonElement.getAsJsonObject().entrySet().stream()
+							.map(Map.Entry::getKey)
+							.collect(Collectors.toSet());
+					return wrapper;
+				})
+				.registerTypeAdapterFactory(unit)
+				.create();
+		final WrapperWithRootNames wrapper = gson.fromJson("{\"id\":1,\"l1\":{\"l2\":{\"l3\":{\"foo\":\"Foo!\"}}}}", WrapperWithRootNames.class);
+		assertThat(wrapper.rootNames, is(ImmutableSet.of("id", "l1")));
+		assertThat(wrapper.fooRef, is("Foo!"));
+	}
+
 	private static Configuration getJsonPathConfiguration(final Gson gson) {
 		return Configuration.builder()
 				.jsonProvider(new GsonJsonProvider(gson))
@@ -124,6 +255,114 @@ public final class JsonPathTypeAdapterFactoryTest {
 
 	}
 
+	private static final class WrapperWithBoundFields {
+
+		private final int id = Integer.valueOf(0);
+
+		private final Map<String, ?> l1 = null;
+
+		@JsonPathExpression("$.l1.l2[1].foo")
+		private final String fooRef = null;
+
+		@JsonPathExpression("$.l1.skip[1]")
+		private final int skipRef = Integer.valueOf(0);
+
+	}
+
+	private static final class WrapperWithNotStreamablePath {
+
+		@JsonPathExpression("$.l1.l2.l3.foo")
+		private final String fooRef = null;
+
+		@JsonPathExpression("$..foo")
+		private final List<String> fooRefs = null;
+
+	}
+
+	private static final class WrapperWithRootPropertyPath {
+
+		@JsonPathExpression("$.l1.l2[*].foo")
+		private final List<String> fooRefs = null;
+
+		@JsonPathExpression("$.l1.skip[1]")
+		private final int skipRef = Integer.valueOf(0);
+
+	}
+
+	private static final class WrapperWithRootNames {
+
+		private Set<String> rootNames;
+
+		@JsonPathExpression("$.l1.l2.l3.foo")
+		private final String fooRef = null;
+
+	}
+
+	private static class BaseWrapper {
+
+		@JsonPathExpression("$.l1.l2.l3.foo")
+		private final String fooRef = null;
+
+	}
+
+	private static final class DerivedWrapper
+			extends BaseWrapper {
+
+		@JsonPathExpression("$.l1.l2.l3.bar[0]")
+		private final String barRef = null;
+
+	}
+
+	private static class GenericWrapper<T> {
+
+		@JsonPathExpression("$.l1.items[0]")
+		private final T item = null;
+
+	}
+
+	private static final class ItemsWrapper
+			extends GenericWrapper<Item> {
+
+		@JsonPathExpression("$.l1.items")
+		private final List<Item> items = null;
+
+	}
+
+	private static final class ListsWrapper<E>
+			extends GenericWrapper<List<E>> {
+
+		@JsonPathExpression("$.l1.items")
+		private final List<? extends List<E>> lists = null;
+
+		@JsonPathExpression("$.l1.items")
+		private final E[][] arrays = null;
+
+	}
+
+	private static final class Item {
+
+		private final String name = null;
+
+	}
+
+	private static final class SkipCountingJsonReader
+			extends JsonReader {
+
+		private int skipCount;
+
+		private SkipCountingJsonReader(final String json) {
+			super(new StringReader(json));
+		}
+
+		@Override
+		public void skipValue()
+				throws IOException {
+			skipCount++;
+			super.skipValue();
+		}
+
+	}
+
 	private static void configureJsonPathGlobally(final JsonProvider jsonProvider, final MappingProvider gsonMappingProvider) {
 		Configuration.setDefaults(new Configuration.Defaults() {
 			@Override
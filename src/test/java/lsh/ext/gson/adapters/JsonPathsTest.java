@@ -0,0 +1,61 @@
+package lsh.ext.gson.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.spi.json.GsonJsonProvider;
+import com.jayway.jsonpath.spi.mapper.GsonMappingProvider;
+import org.junit.Test;
+
+import static lsh.ext.gson.JsonElements.jsonPrimitive;
+import static lsh.ext.gson.adapters.JsonPaths.compile;
+import static lsh.ext.gson.adapters.JsonPaths.getCacheHitCount;
+import static lsh.ext.gson.adapters.JsonPaths.getCacheMissCount;
+import static lsh.ext.gson.adapters.JsonPaths.getCacheSize;
+import static lsh.ext.gson.adapters.JsonPaths.getMaxCacheSize;
+import static lsh.ext.gson.adapters.JsonPaths.read;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public final class JsonPathsTest {
+
+	private static final Gson gson = new Gson();
+
+	private static final Configuration configuration = Configuration.builder()
+			.jsonProvider(new GsonJsonProvider(gson))
+			.mappingProvider(new GsonMappingProvider(gson))
+			.build();
+
+	@Test
+	public void testCompile() {
+		final long hitCount = getCacheHitCount();
+		final long missCount = getCacheMissCount();
+		final JsonPath jsonPath = compile("$.testCompile[0]");
+		assertThat(compile("$.testCompile[0]"), sameInstance(jsonPath));
+		assertThat(getCacheHitCount() - hitCount, is(1L));
+		assertThat(getCacheMissCount() - missCount, is(1L));
+	}
+
+	@Test
+	public void testCompileIsBounded() {
+		for ( int i = 0; i < getMaxCacheSize() * 2; i++ ) {
+			compile("$.testCompileIsBounded" + i);
+		}
+		assertThat(getCacheSize() <= getMaxCacheSize(), is(true));
+	}
+
+	@Test
+	public void testRead() {
+		final JsonElement result = read(gson.fromJson("{\"foo\":{\"bar\":[1,2,3]}}", JsonElement.class), "$.foo.bar[1]", configuration);
+		assertThat(result, is(jsonPrimitive(2)));
+	}
+
+	@Test(expected = PathNotFoundException.class)
+	public void testReadNotExistingPath() {
+		read(gson.fromJson("{\"foo\":{}}", JsonElement.class), "$.foo.bar", configuration);
+	}
+
+}
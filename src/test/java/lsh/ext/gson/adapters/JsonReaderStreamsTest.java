@@ -0,0 +1,104 @@
+package lsh.ext.gson.adapters;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static lsh.ext.gson.adapters.CloseableIterators.forEachAndTryClose;
+import static lsh.ext.gson.adapters.JsonReaderStreams.getJsonReaderStream;
+import static lsh.ext.gson.adapters.JsonReaderStreams.getMappedFileIterator;
+import static lsh.ext.gson.adapters.JsonReaderStreams.getMappedFileStream;
+import static lsh.ext.gson.adapters.JsonReaderStreams.getParallelJsonReaderStream;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public final class JsonReaderStreamsTest {
+
+	private static final Gson gson = new Gson();
+
+	private static final int count = 10000;
+
+	private static final String json = IntStream.range(0, count)
+			.mapToObj(i -> "{\"i\":" + i + '}')
+			.collect(Collectors.joining(",", "[", "]"));
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testGetJsonReaderStream() {
+		try ( final Stream<Integer> stream = getJsonReaderStream(Integer.class, gson, new JsonReader(new StringReader("[1,2,4,8]"))) ) {
+			assertThat(stream.collect(Collectors.toList()), is(ImmutableList.of(1, 2, 4, 8)));
+		}
+	}
+
+	@Test
+	public void testGetParallelJsonReaderStreamPreservesOrder() {
+		try ( final Stream<Item> stream = getParallelJsonReaderStream(Item.class, gson, new JsonReader(new StringReader(json)), true) ) {
+			final List<Integer> actual = stream.map(item -> item.i)
+					.collect(Collectors.toList());
+			assertThat(actual, is(IntStream.range(0, count).boxed().collect(Collectors.toList())));
+		}
+	}
+
+	@Test
+	public void testGetParallelJsonReaderStreamUnordered() {
+		try ( final Stream<Item> stream = getParallelJsonReaderStream(Item.class, gson, new JsonReader(new StringReader(json)), false) ) {
+			assertThat(stream.mapToLong(item -> item.i).sum(), is((long) count * (count - 1) / 2));
+		}
+	}
+
+	@Test
+	public void testGetParallelJsonReaderStreamForEmptyArray() {
+		try ( final Stream<Item> stream = getParallelJsonReaderStream(Item.class, gson, new JsonReader(new StringReader("[]")), true) ) {
+			assertThat(stream.count(), is(0L));
+		}
+	}
+
+	@Test
+	public void testGetMappedFileIterator()
+			throws Exception {
+		final Iterator<Item> iterator = getMappedFileIterator(Item.class, gson, writeJson());
+		final long[] sum = { 0 };
+		forEachAndTryClose(iterator, item -> sum[0] += item.i);
+		assertThat(sum[0], is((long) count * (count - 1) / 2));
+	}
+
+	@Test
+	public void testGetMappedFileStream()
+			throws IOException {
+		try ( final Stream<Item> stream = getMappedFileStream(Item.class, gson, writeJson()) ) {
+			final List<Integer> actual = stream.map(item -> item.i)
+					.collect(Collectors.toList());
+			assertThat(actual, is(IntStream.range(0, count).boxed().collect(Collectors.toList())));
+		}
+	}
+
+	private Path writeJson()
+			throws IOException {
+		final Path path = temporaryFolder.newFile().toPath();
+		Files.write(path, json.getBytes(StandardCharsets.UTF_8));
+		return path;
+	}
+
+	private static final class Item {
+
+		private final Integer i = null;
+
+	}
+
+}
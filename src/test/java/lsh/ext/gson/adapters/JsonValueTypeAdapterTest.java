@@ -1,6 +1,8 @@
 package lsh.ext.gson.adapters;
 
 import java.io.IOException;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
 import javax.json.JsonValue;
 
 import com.google.gson.TypeAdapter;
@@ -10,6 +12,7 @@ import static javax.json.Json.createArrayBuilder;
 import static javax.json.Json.createObjectBuilder;
 
 import static lsh.ext.gson.adapters.JsonValueTypeAdapter.getJsonValueTypeAdapter;
+import static lsh.ext.gson.adapters.JsonValueTypeAdapter.getLazyJsonValueTypeAdapter;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
@@ -43,4 +46,70 @@ public final class JsonValueTypeAdapterTest {
 		assertThat(unit.fromJson(JSON_VALUE_JSON), is(jsonValue));
 	}
 
+	@Test
+	public void testReadIsInterchangeableWithProviderValues()
+			throws IOException {
+		final TypeAdapter<JsonValue> unit = getJsonValueTypeAdapter();
+		final JsonValue actual = unit.fromJson(JSON_VALUE_JSON);
+		assertThat(jsonValue, is(actual));
+		assertThat(actual.hashCode(), is(jsonValue.hashCode()));
+		assertThat(actual.toString(), is(JSON_VALUE_JSON));
+	}
+
+	@Test
+	public void testReadAccessors()
+			throws IOException {
+		final TypeAdapter<JsonValue> unit = getJsonValueTypeAdapter();
+		final JsonObject jsonObject = (JsonObject) unit.fromJson(JSON_VALUE_JSON);
+		assertThat(jsonObject.getBoolean("boolean"), is(true));
+		assertThat(jsonObject.getInt("integer"), is(3));
+		assertThat(jsonObject.getJsonNumber("integer").isIntegral(), is(true));
+		assertThat(jsonObject.getString("string"), is("foo"));
+		assertThat(jsonObject.getString("integer", "default"), is("default"));
+		assertThat(jsonObject.isNull("null"), is(true));
+		final JsonArray jsonArray = jsonObject.getJsonArray("array");
+		assertThat(jsonArray.getBoolean(0), is(false));
+		assertThat(jsonArray.getInt(1), is(2));
+		assertThat(jsonArray.getString(2), is("bar"));
+		assertThat(jsonArray.isNull(3), is(true));
+		assertThat(jsonArray.getInt(4, -1), is(-1));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testReadIsImmutable()
+			throws IOException {
+		final TypeAdapter<JsonValue> unit = getJsonValueTypeAdapter();
+		final JsonObject jsonObject = (JsonObject) unit.fromJson(JSON_VALUE_JSON);
+		jsonObject.put("foo", JsonValue.NULL);
+	}
+
+	@Test
+	public void testLazyRead()
+			throws IOException {
+		final TypeAdapter<JsonValue> unit = getLazyJsonValueTypeAdapter();
+		final JsonValue actual = unit.fromJson(JSON_VALUE_JSON);
+		assertThat(actual, is(jsonValue));
+		assertThat(jsonValue, is(actual));
+		assertThat(actual.toString(), is(JSON_VALUE_JSON));
+	}
+
+	@Test
+	public void testLazyReadAccessors()
+			throws IOException {
+		final TypeAdapter<JsonValue> unit = getLazyJsonValueTypeAdapter();
+		final JsonObject jsonObject = (JsonObject) unit.fromJson("{\"a\":1,\"b\":{\"c\":[1,[2.5,{}],\"d\"]},\"a\":2,\"e\":null,\"f\":5,\"g\":6,\"h\":7,\"i\":8,"
+				+ "\"j\":9,\"k\":10}");
+		assertThat(jsonObject.size(), is(9));
+		assertThat(jsonObject.getInt("a"), is(2));
+		assertThat(jsonObject.getInt("k"), is(10));
+		assertThat(jsonObject.containsKey("z"), is(false));
+		final JsonArray jsonArray = jsonObject.getJsonObject("b").getJsonArray("c");
+		assertThat(jsonArray.size(), is(3));
+		assertThat(jsonArray.getJsonArray(1).getJsonNumber(0).doubleValue(), is(2.5));
+		assertThat(jsonArray.getJsonArray(1).getJsonObject(1).isEmpty(), is(true));
+		assertThat(jsonArray.getString(2), is("d"));
+		assertThat(jsonObject.isNull("e"), is(true));
+		assertThat(jsonObject.keySet().iterator().next(), is("a"));
+	}
+
 }
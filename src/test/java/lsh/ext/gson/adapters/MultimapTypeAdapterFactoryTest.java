@@ -1,8 +1,10 @@
 package lsh.ext.gson.adapters;
 
 import java.lang.reflect.Type;
+import java.util.Map.Entry;
 
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.Multimap;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -10,6 +12,7 @@ import com.google.gson.reflect.TypeToken;
 import org.junit.Test;
 
 import static lsh.ext.gson.adapters.MultimapTypeAdapterFactory.getMultimapTypeAdapterFactory;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
@@ -36,6 +39,16 @@ public final class MultimapTypeAdapterFactoryTest {
 		assertThat(multimap, is(createMultimap()));
 	}
 
+	@Test
+	public void testReadWithCollector() {
+		final Gson gson = new GsonBuilder()
+				.registerTypeAdapterFactory(getMultimapTypeAdapterFactory(ImmutableListMultimap.toImmutableListMultimap(Entry::getKey, Entry::getValue)))
+				.create();
+		final Multimap<String, Object> multimap = gson.fromJson(SIMPLE_MULTIMAP_JSON, stringToObjectMultimapType);
+		assertThat(multimap, instanceOf(ImmutableListMultimap.class));
+		assertThat(multimap, is(createMultimap()));
+	}
+
 	private static Multimap<String, Object> createMultimap() {
 		final Multimap<String, Object> multimap = ArrayListMultimap.create();
 		multimap.put("1", "foo");
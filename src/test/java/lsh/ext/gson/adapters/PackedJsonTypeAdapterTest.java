@@ -17,6 +17,7 @@ import com.google.gson.stream.JsonWriter;
 import org.junit.Test;
 
 import static lsh.ext.gson.adapters.PackedJsonTypeAdapter.getPackedJsonTypeAdapter;
+import static lsh.ext.gson.adapters.PackedJsonTypeAdapter.getRawPackedJsonTypeAdapter;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 
@@ -48,6 +49,28 @@ public final class PackedJsonTypeAdapterTest {
 		assertThat(innerJsonElement, is(inner()));
 	}
 
+	@Test
+	public void testReadRaw()
+			throws IOException {
+		final TypeAdapter<String> unit = getRawPackedJsonTypeAdapter();
+		final JsonReader jsonReader = new JsonReader(new StringReader("{ \"foo\" : [ 1.0 , 1e400 , 12345678901234567890 ] , \"bar\" : \"\\u0062ar\" } 1"));
+		final String innerJson = unit.read(jsonReader);
+		assertThat(innerJson, is("{\"foo\":[1.0,1e400,12345678901234567890],\"bar\":\"bar\"}"));
+	}
+
+	@Test
+	public void testWriteRaw()
+			throws IOException {
+		final TypeAdapter<String> unit = getRawPackedJsonTypeAdapter();
+		final Writer writer = new StringWriter();
+		final JsonWriter jsonWriter = new JsonWriter(writer);
+		jsonWriter.beginArray();
+		unit.write(jsonWriter, INNER_JSON);
+		unit.write(jsonWriter, INNER_JSON);
+		jsonWriter.endArray();
+		assertThat(writer.toString(), is('[' + INNER_JSON + ',' + INNER_JSON + ']'));
+	}
+
 	@Test
 	public void testJsonAdapter() {
 		final Outer outer = gson.fromJson(OUTER_JSON, Outer.class);
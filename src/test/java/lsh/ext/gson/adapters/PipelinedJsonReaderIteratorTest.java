@@ -0,0 +1,170 @@
+package lsh.ext.gson.adapters;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static lsh.ext.gson.adapters.JsonReaderStreams.getPipelinedJsonReaderIterator;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public final class PipelinedJsonReaderIteratorTest {
+
+	private static final Gson gson = new Gson();
+
+	private static final int count = 10_000;
+
+	private static final String json = IntStream.range(0, count)
+			.mapToObj(i -> "{\"i\":" + i + '}')
+			.collect(Collectors.joining(",", "[", "]"));
+
+	private static final List<Integer> expected = IntStream.range(0, count)
+			.boxed()
+			.collect(Collectors.toList());
+
+	private ExecutorService executorService;
+
+	@Before
+	public void setUp() {
+		executorService = Executors.newFixedThreadPool(4);
+	}
+
+	@After
+	public void tearDown() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	public void testOrdered()
+			throws Exception {
+		for ( final int depth : new int[]{ 1, 16 } ) {
+			final Iterator<Item> iterator = getPipelinedJsonReaderIterator(Item.class, gson, new JsonReader(new StringReader(json)), executorService, depth,
+					true);
+			assertThat(collect(iterator), is(expected));
+		}
+	}
+
+	@Test
+	public void testOrderedOnSingleThread()
+			throws Exception {
+		final ExecutorService singleThreadExecutor = Executors.newSingleThreadExecutor();
+		try {
+			final Iterator<Item> iterator = getPipelinedJsonReaderIterator(Item.class, gson, new JsonReader(new StringReader(json)), singleThreadExecutor, 4,
+					true);
+			assertThat(collect(iterator), is(expected));
+		} finally {
+			singleThreadExecutor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testUnordered()
+			throws Exception {
+		final Iterator<Item> iterator = getPipelinedJsonReaderIterator(Item.class, gson, new JsonReader(new StringReader(json)), executorService, 16, false);
+		final List<Integer> actual = collect(iterator);
+		Collections.sort(actual);
+		assertThat(actual, is(expected));
+	}
+
+	@Test
+	public void testEmptyArray()
+			throws Exception {
+		final Iterator<Item> iterator = getPipelinedJsonReaderIterator(Item.class, gson, new JsonReader(new StringReader("[]")), executorService, 4, true);
+		assertThat(collect(iterator), is(ImmutableList.of()));
+	}
+
+	@Test
+	public void testBindingErrorIsRethrownInOrder() {
+		final Iterator<Integer> iterator = getPipelinedJsonReaderIterator(Integer.class, gson, new JsonReader(new StringReader("[1,\"foo\",3]")),
+				executorService, 4, true);
+		assertThat(iterator.next(), is(1));
+		try {
+			iterator.next();
+			throw new AssertionError();
+		} catch ( final JsonSyntaxException ignored ) {
+			// The element cannot be bound
+		}
+		assertThat(iterator.next(), is(3));
+		assertThat(iterator.hasNext(), is(false));
+	}
+
+	@Test
+	public void testReadingErrorIsRethrown() {
+		final Iterator<Integer> iterator = getPipelinedJsonReaderIterator(Integer.class, gson, new JsonReader(new StringReader("[1,")), executorService, 4,
+				true);
+		assertThat(iterator.next(), is(1));
+		try {
+			iterator.next();
+			throw new AssertionError();
+		} catch ( final RuntimeException ex ) {
+			assertThat(ex.getCause() instanceof IOException, is(true));
+		}
+		assertThat(iterator.hasNext(), is(false));
+	}
+
+	@Test
+	public void testCloseClosesReader()
+			throws Exception {
+		final ClosingJsonReader in = new ClosingJsonReader(json);
+		final Iterator<Item> iterator = getPipelinedJsonReaderIterator(Item.class, gson, in, executorService, 2, true);
+		assertThat(iterator.next().i, is(0));
+		CloseableIterators.tryClose(iterator);
+		assertThat(iterator.hasNext(), is(false));
+		executorService.shutdown();
+		executorService.awaitTermination(1, TimeUnit.MINUTES);
+		assertThat(in.closed, is(true));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNonPositiveDepth() {
+		getPipelinedJsonReaderIterator(Item.class, gson, new JsonReader(new StringReader("[]")), executorService, 0, true);
+	}
+
+	private static List<Integer> collect(final Iterator<Item> iterator)
+			throws Exception {
+		final List<Integer> list = new ArrayList<>();
+		CloseableIterators.forEachAndTryClose(iterator, item -> list.add(item.i));
+		return list;
+	}
+
+	private static final class ClosingJsonReader
+			extends JsonReader {
+
+		private volatile boolean closed;
+
+		private ClosingJsonReader(final String json) {
+			super(new StringReader(json));
+		}
+
+		@Override
+		public void close()
+				throws IOException {
+			closed = true;
+			super.close();
+		}
+
+	}
+
+	private static final class Item {
+
+		private final Integer i = null;
+
+	}
+
+}